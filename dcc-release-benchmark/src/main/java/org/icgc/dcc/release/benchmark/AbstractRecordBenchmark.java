@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.benchmark;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Common setup of the record processing benchmarks: a fixed, seeded sample of generated records of the
+ * {@link RecordType} under test which the benchmark methods cycle through, one record per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public abstract class AbstractRecordBenchmark {
+
+  /**
+   * Constants.
+   */
+  private static final int RECORD_COUNT = 1024;
+  private static final int RECORD_MASK = RECORD_COUNT - 1;
+  private static final long SEED = 42L;
+
+  /**
+   * Configuration.
+   */
+  @Param
+  protected RecordType type;
+
+  /**
+   * State.
+   */
+  protected ObjectNode[] records;
+  private int index;
+
+  @Setup
+  public void setUpRecords() throws Exception {
+    records = new RecordGenerator(SEED).generate(type, RECORD_COUNT).toArray(new ObjectNode[RECORD_COUNT]);
+    index = 0;
+
+    setUp();
+  }
+
+  /**
+   * Template method for the benchmark specific preparation which depends on the generated {@link #records}.
+   */
+  protected void setUp() throws Exception {
+    // No-op by default
+  }
+
+  /**
+   * @return the index of the record to be processed by the current operation
+   */
+  protected final int nextIndex() {
+    return index++ & RECORD_MASK;
+  }
+
+  protected final ObjectNode nextRecord() {
+    return records[nextIndex()];
+  }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.benchmark;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import lombok.val;
+
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
+import org.apache.spark.sql.types.ArrayType;
+import org.apache.spark.sql.types.StructType;
+import org.icgc.dcc.release.core.util.JacksonFactory;
+import org.icgc.dcc.release.job.export.function.CreateRow;
+import org.icgc.dcc.release.job.export.model.ExportType;
+import org.icgc.dcc.release.job.export.util.SchemaGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Benchmarks the conversion of SSM export records to Spark {@link Row}s by {@link CreateRow} against the former
+ * conversion through a JSON string and a {@code Map}, kept here as the {@link #jsonRoundTrip()} baseline.
+ * <p>
+ * The throughput is in rows per second. The GC profiler enabled by {@link BenchmarkMain} reports the allocation rate and
+ * the GC time ({@code gc.time}) of both.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class CreateRowBenchmark {
+
+  /**
+   * Constants.
+   */
+  private static final ExportType EXPORT_TYPE = ExportType.SSM;
+  private static final int RECORD_COUNT = 1024;
+  private static final int RECORD_MASK = RECORD_COUNT - 1;
+  private static final long SEED = 42L;
+  private static final ObjectMapper MAPPER = JacksonFactory.MAPPER;
+
+  /**
+   * State.
+   */
+  private StructType schema;
+  private CreateRow createRow;
+  private ObjectNode[] records;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    schema = new SchemaGenerator().createDataType(EXPORT_TYPE);
+    createRow = new CreateRow(EXPORT_TYPE, schema);
+
+    val random = new Random(SEED);
+    records = new ObjectNode[RECORD_COUNT];
+    for (int i = 0; i < RECORD_COUNT; i++) {
+      records[i] = generateRecord(random, schema);
+    }
+  }
+
+  @Benchmark
+  public Row direct() {
+    return createRow.call(nextRecord());
+  }
+
+  @Benchmark
+  public Row jsonRoundTrip() throws Exception {
+    Map<String, Object> map = MAPPER.readValue(nextRecord().toString(), new TypeReference<Map<String, Object>>() {});
+
+    return createMapRow(map, schema);
+  }
+
+  private ObjectNode nextRecord() {
+    return records[index++ & RECORD_MASK];
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Row createMapRow(Map<String, Object> map, StructType schema) {
+    val fields = schema.fields();
+    val values = new Object[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      val value = map.get(fields[i].name());
+      if (value instanceof List) {
+        val elementType = (StructType) ((ArrayType) fields[i].dataType()).elementType();
+        val rows = new Row[((List<?>) value).size()];
+        int j = 0;
+        for (val element : (List<Map<String, Object>>) value) {
+          rows[j++] = createMapRow(element, elementType);
+        }
+        values[i] = Arrays.asList(rows);
+      } else {
+        values[i] = value == null ? null : String.valueOf(value);
+      }
+    }
+
+    return RowFactory.create(values);
+  }
+
+  /**
+   * Generates a record of {@code schema} with text values, a few numeric ones which have to be converted and two to
+   * four elements per nested array.
+   */
+  private static ObjectNode generateRecord(Random random, StructType schema) {
+    val record = MAPPER.createObjectNode();
+    for (val field : schema.fields()) {
+      val name = field.name();
+      if (field.dataType() instanceof ArrayType) {
+        val elementType = (StructType) ((ArrayType) field.dataType()).elementType();
+        val array = record.putArray(name);
+        for (int i = 2 + random.nextInt(3); i > 0; i--) {
+          array.add(generateRecord(random, elementType));
+        }
+      } else if (name.endsWith("_start") || name.endsWith("_end") || name.endsWith("_count")) {
+        record.put(name, random.nextInt(250_000_000));
+      } else if (random.nextInt(10) == 0) {
+        record.putNull(name);
+      } else {
+        record.put(name, name.substring(0, Math.min(name.length(), 4)) + Long.toString(random.nextLong(), 36));
+      }
+    }
+
+    return record;
+  }
+
+}
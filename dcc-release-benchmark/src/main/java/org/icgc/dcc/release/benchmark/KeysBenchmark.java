@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -15,35 +15,44 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.mask.function;
+package org.icgc.dcc.release.benchmark;
 
-import static com.google.common.base.Joiner.on;
-import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE;
-import lombok.val;
+import java.util.List;
 
-import org.apache.spark.api.java.function.Function;
+import org.icgc.dcc.release.core.function.KeyFields;
+import org.icgc.dcc.release.core.util.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.base.Joiner;
 
-public class RebuildMutation implements Function<ObjectNode, ObjectNode> {
+/**
+ * Benchmarks the composite key construction of {@link Keys#getKey(ObjectNode, java.util.Collection)} and the
+ * {@link KeyFields} pair function built on top of it.
+ */
+public class KeysBenchmark extends AbstractRecordBenchmark {
 
   /**
-   * Joiner to use to concatenate the "from" and "to" allele fields.
+   * State.
    */
-  private static final Joiner MUTATION_JOINER = on(">");
+  private List<String> keyFields;
+  private KeyFields keyFieldsFunction;
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    val mutatedFromAllele = row.get(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE).textValue();
-    val mutatedToAllele = row.get(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE).textValue();
-    val mutation = MUTATION_JOINER.join(mutatedFromAllele, mutatedToAllele);
+  protected void setUp() {
+    keyFields = type.getKeyFields();
+    keyFieldsFunction = new KeyFields(keyFields);
+  }
 
-    row.put(NORMALIZER_MUTATION, mutation);
+  @Benchmark
+  public String getKey() {
+    return Keys.getKey(nextRecord(), keyFields);
+  }
 
-    return row;
+  @Benchmark
+  public Tuple2<String, ObjectNode> keyFields() throws Exception {
+    return keyFieldsFunction.call(nextRecord());
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.benchmark;
+
+import static com.google.common.collect.Sets.newLinkedHashSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MARKING;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_OBSERVATION_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CONTROL_GENOTYPE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE;
+import static org.icgc.dcc.common.core.model.Marking.CONTROLLED;
+import static org.icgc.dcc.common.core.model.Marking.MASKED;
+import static org.icgc.dcc.common.core.model.Marking.OPEN;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import lombok.val;
+
+import org.icgc.dcc.common.core.model.Marking;
+import org.icgc.dcc.common.core.model.SpecialValue;
+import org.icgc.dcc.release.job.mask.function.MaskSensitiveRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
+
+/**
+ * Benchmarks the masking of generated {@code ssm_p} rows by the fused {@link MaskSensitiveRow} against the former chain
+ * of surrogate id, marking, deep copying masked row generation and mutation rebuilding map functions, kept here as the
+ * {@link #chained()} baseline.
+ * <p>
+ * Both only overwrite the derived fields of their input, so the generated rows are reused across invocations. The
+ * throughput is in input rows per second. The GC profiler enabled by {@link BenchmarkMain} reports the allocation rate
+ * and bytes per row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class MaskRowBenchmark {
+
+  /**
+   * Constants.
+   */
+  private static final int ROW_COUNT = 1024;
+  private static final int ROW_MASK = ROW_COUNT - 1;
+  private static final long SEED = 42L;
+  private static final String[] BASES = { "A", "C", "G", "T" };
+  private static final String[] TEXT_FIELDS = {
+      "analysis_id", "analyzed_sample_id", "mutation_type", "chromosome", "expressed_allele", "verification_status",
+      "verification_platform", "biological_validation_status", "biological_validation_platform", "project_id",
+      "_study" };
+  private static final String[] NUMBER_FIELDS = {
+      "chromosome_start", "chromosome_end", "chromosome_strand", "total_read_count", "mutant_allele_read_count" };
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Splitter ALLELES_SPLITTER = Splitter.on("/");
+  private static final Joiner MUTATION_JOINER = Joiner.on(">");
+
+  /**
+   * Configuration.
+   */
+  @Param({ "0.05", "0.5" })
+  public double sensitiveRatio;
+
+  /**
+   * State.
+   */
+  private final MaskSensitiveRow maskSensitiveRow = new MaskSensitiveRow();
+  private ObjectNode[] rows;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    val random = new Random(SEED);
+    rows = new ObjectNode[ROW_COUNT];
+    for (int i = 0; i < ROW_COUNT; i++) {
+      rows[i] = generateRow(random, random.nextDouble() < sensitiveRatio);
+    }
+  }
+
+  @Benchmark
+  public Iterable<ObjectNode> fused() throws Exception {
+    return maskSensitiveRow.call(nextRow());
+  }
+
+  @Benchmark
+  public List<ObjectNode> chained() {
+    val row = nextRow();
+    row.put(NORMALIZER_OBSERVATION_ID, UUID.randomUUID().toString());
+    row.put(NORMALIZER_MARKING, (isSensitive(row) ? CONTROLLED : OPEN).getTupleValue());
+
+    val rows = Lists.<ObjectNode> newArrayList();
+    rows.add(row);
+    if (Marking.from(row.get(NORMALIZER_MARKING).textValue()).get() == CONTROLLED) {
+      val mask = row.deepCopy();
+      mask.put(SUBMISSION_OBSERVATION_CONTROL_GENOTYPE, (String) SpecialValue.NO_VALUE);
+      mask.put(SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE, (String) SpecialValue.NO_VALUE);
+      mask.put(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE,
+          row.get(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE).textValue());
+      mask.put(NORMALIZER_MARKING, MASKED.getTupleValue());
+      mask.put(NORMALIZER_OBSERVATION_ID, UUID.randomUUID().toString());
+      rows.add(mask);
+    }
+
+    for (val result : rows) {
+      val mutatedFromAllele = result.get(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE).textValue();
+      val mutatedToAllele = result.get(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE).textValue();
+      result.put(NORMALIZER_MUTATION, MUTATION_JOINER.join(mutatedFromAllele, mutatedToAllele));
+    }
+
+    return rows;
+  }
+
+  private ObjectNode nextRow() {
+    return rows[index++ & ROW_MASK];
+  }
+
+  private static boolean isSensitive(ObjectNode row) {
+    val referenceGenomeAllele = row.get(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE).textValue();
+    val controlAlleles = newLinkedHashSet(
+        ALLELES_SPLITTER.split(row.get(SUBMISSION_OBSERVATION_CONTROL_GENOTYPE).textValue()));
+    val tumourAlleles = newLinkedHashSet(
+        ALLELES_SPLITTER.split(row.get(SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE).textValue()));
+    tumourAlleles.remove(row.get(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE).textValue());
+
+    for (val allele : controlAlleles) {
+      if (!referenceGenomeAllele.equals(allele)) {
+        return true;
+      }
+    }
+    for (val allele : tumourAlleles) {
+      if (!referenceGenomeAllele.equals(allele)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Generates a row whose control genotype reveals a germline variant when {@code sensitive}.
+   */
+  private static ObjectNode generateRow(Random random, boolean sensitive) {
+    val referenceAllele = BASES[random.nextInt(BASES.length)];
+    val mutatedToAllele = otherBase(random, referenceAllele);
+    val controlAllele = sensitive ? otherBase(random, referenceAllele) : referenceAllele;
+
+    val row = MAPPER.createObjectNode();
+    for (val field : TEXT_FIELDS) {
+      row.put(field, Long.toString(random.nextLong(), 36));
+    }
+    for (val field : NUMBER_FIELDS) {
+      row.put(field, (long) random.nextInt(250_000_000));
+    }
+    row.put(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE, referenceAllele);
+    row.put(SUBMISSION_OBSERVATION_CONTROL_GENOTYPE, referenceAllele + "/" + controlAllele);
+    row.put(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE, referenceAllele);
+    row.put(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE, mutatedToAllele);
+    row.put(SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE, referenceAllele + "/" + mutatedToAllele);
+    row.put("quality_score", random.nextDouble());
+    row.put("probability", random.nextDouble());
+
+    return row;
+  }
+
+  private static String otherBase(Random random, String base) {
+    String other;
+    do {
+      other = BASES[random.nextInt(BASES.length)];
+    } while (other.equals(base));
+
+    return other;
+  }
+
+}
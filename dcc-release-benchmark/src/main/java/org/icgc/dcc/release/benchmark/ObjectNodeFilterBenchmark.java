@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.benchmark;
+
+import org.icgc.dcc.release.core.util.ObjectNodeFilter;
+import org.icgc.dcc.release.core.util.ObjectNodeFilter.FilterMode;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Benchmarks {@link ObjectNodeFilter} in both filter modes.
+ * <p>
+ * The filter modifies its input in place, so every operation works on a fresh copy of the record. The {@link #copy()}
+ * baseline measures the copy alone and should be subtracted from the other results, both for the throughput and for
+ * the allocation rate.
+ */
+public class ObjectNodeFilterBenchmark extends AbstractRecordBenchmark {
+
+  /**
+   * State.
+   */
+  private ObjectNodeFilter includeFilter;
+  private ObjectNodeFilter excludeFilter;
+
+  @Override
+  protected void setUp() {
+    includeFilter = new ObjectNodeFilter(FilterMode.INCLUDE, type.getFilterFields());
+    excludeFilter = new ObjectNodeFilter(FilterMode.EXCLUDE, type.getFilterFields());
+  }
+
+  @Benchmark
+  public ObjectNode copy() {
+    return nextRecord().deepCopy();
+  }
+
+  @Benchmark
+  public ObjectNode include() {
+    return includeFilter.filter(nextRecord().deepCopy());
+  }
+
+  @Benchmark
+  public ObjectNode exclude() {
+    return excludeFilter.filter(nextRecord().deepCopy());
+  }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.benchmark;
+
+import static org.icgc.dcc.release.core.util.ObjectNodes.MAPPER;
+
+import org.icgc.dcc.release.core.function.ParseObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Benchmarks {@link ParseObjectNode} which reads the JSON text lines of the job inputs and outputs.
+ */
+public class ParseObjectNodeBenchmark extends AbstractRecordBenchmark {
+
+  /**
+   * State.
+   */
+  private final ParseObjectNode<ObjectNode> parseObjectNode = new ParseObjectNode<>(ObjectNode.class);
+  private String[] lines;
+
+  @Override
+  protected void setUp() throws Exception {
+    lines = new String[records.length];
+    for (int i = 0; i < records.length; i++) {
+      lines[i] = MAPPER.writeValueAsString(records[i]);
+    }
+  }
+
+  @Benchmark
+  public ObjectNode parse() throws Exception {
+    return parseObjectNode.call(lines[nextIndex()]);
+  }
+
+}
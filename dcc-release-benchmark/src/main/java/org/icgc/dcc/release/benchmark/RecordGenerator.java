@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.benchmark;
+
+import static org.icgc.dcc.release.core.util.ObjectNodes.MAPPER;
+
+import java.util.List;
+import java.util.Random;
+
+import lombok.NonNull;
+import lombok.val;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Generates deterministic records which resemble the donor, observation and gene records of a release in shape, width
+ * and nesting depth. Values are drawn from small vocabularies so that string lengths and cardinalities are close to the
+ * real data.
+ */
+public class RecordGenerator {
+
+  /**
+   * Constants.
+   */
+  private static final List<String> PROJECTS = ImmutableList.of(
+      "BRCA-US", "PACA-CA", "LIRI-JP", "CLLE-ES", "MALY-DE", "OV-AU", "PRAD-UK", "LICA-FR");
+  private static final List<String> CHROMOSOMES = ImmutableList.of(
+      "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16", "17", "18", "19", "20",
+      "21", "22", "X", "Y", "MT");
+  private static final List<String> BASES = ImmutableList.of("A", "C", "G", "T");
+  private static final List<String> SEXES = ImmutableList.of("male", "female");
+  private static final List<String> VITAL_STATUSES = ImmutableList.of("alive", "deceased");
+  private static final List<String> SPECIMEN_TYPES = ImmutableList.of(
+      "Primary tumour - solid tissue", "Normal - blood derived", "Metastatic tumour - lymph node",
+      "Normal - tissue adjacent to primary");
+  private static final List<String> CONSEQUENCE_TYPES = ImmutableList.of(
+      "missense_variant", "synonymous_variant", "intron_variant", "upstream_gene_variant", "downstream_gene_variant",
+      "frameshift_variant", "stop_gained", "3_prime_UTR_variant");
+  private static final List<String> BIOTYPES = ImmutableList.of(
+      "protein_coding", "lincRNA", "processed_pseudogene", "miRNA", "antisense");
+  private static final List<String> PLATFORMS = ImmutableList.of(
+      "Illumina HiSeq", "Illumina GA sequencing", "SOLiD sequencing", "Ion Torrent PGM");
+  private static final List<String> FUNCTIONAL_IMPACTS = ImmutableList.of("High", "Medium", "Low", "Unknown");
+
+  /**
+   * State.
+   */
+  private final Random random;
+
+  public RecordGenerator(long seed) {
+    this.random = new Random(seed);
+  }
+
+  public List<ObjectNode> generate(@NonNull RecordType type, int count) {
+    val records = Lists.<ObjectNode> newArrayListWithCapacity(count);
+    for (int i = 0; i < count; i++) {
+      records.add(generate(type, i));
+    }
+
+    return records;
+  }
+
+  public ObjectNode generate(@NonNull RecordType type, int id) {
+    switch (type) {
+    case DONOR:
+      return donor(id);
+    case OBSERVATION:
+      return observation(id);
+    case GENE:
+      return gene(id);
+    default:
+      throw new IllegalArgumentException("Unsupported record type " + type);
+    }
+  }
+
+  private ObjectNode donor(int id) {
+    val donor = MAPPER.createObjectNode();
+    donor.put("_donor_id", "DO" + id);
+    donor.put("_project_id", pick(PROJECTS));
+    donor.put("donor_id", "donor_" + random.nextInt(1000000));
+    donor.put("donor_sex", pick(SEXES));
+    donor.put("donor_vital_status", pick(VITAL_STATUSES));
+    donor.put("donor_age_at_diagnosis", 20 + random.nextInt(70));
+    donor.put("donor_age_at_enrollment", 20 + random.nextInt(70));
+    donor.put("donor_age_at_last_followup", 20 + random.nextInt(70));
+    donor.put("donor_diagnosis_icd10", "C" + random.nextInt(100) + "." + random.nextInt(10));
+    donor.put("donor_interval_of_last_followup", random.nextInt(5000));
+    donor.put("donor_relapse_interval", optional(random.nextInt(3000)));
+    donor.put("donor_relapse_type", optional("distant recurrence/metastasis"));
+    donor.put("donor_survival_time", optional(random.nextInt(5000)));
+    donor.put("donor_tumour_stage_at_diagnosis", optional("T" + random.nextInt(4) + "N" + random.nextInt(3) + "M0"));
+    donor.put("donor_tumour_staging_system_at_diagnosis", optional("AJCC"));
+    donor.put("disease_status_last_followup", "complete remission");
+    donor.put("prior_malignancy", "no");
+    donor.put("cancer_type_prior_malignancy", (String) null);
+    donor.put("cancer_history_first_degree_relative", "unknown");
+    donor.put("_summary_available_data_types", random.nextInt(8));
+    donor.put("_studies", "PCAWG");
+    donor.put("_state", "live");
+
+    val specimens = donor.putArray("specimen");
+    val specimenCount = 1 + random.nextInt(4);
+    for (int i = 0; i < specimenCount; i++) {
+      specimens.add(specimen(id, i));
+    }
+
+    return donor;
+  }
+
+  private ObjectNode specimen(int donorId, int id) {
+    val specimen = MAPPER.createObjectNode();
+    specimen.put("_specimen_id", "SP" + (donorId * 10 + id));
+    specimen.put("specimen_id", "specimen_" + random.nextInt(1000000));
+    specimen.put("specimen_type", pick(SPECIMEN_TYPES));
+    specimen.put("specimen_type_other", (String) null);
+    specimen.put("specimen_interval", random.nextInt(1000));
+    specimen.put("specimen_donor_treatment_type", "no treatment");
+    specimen.put("specimen_processing", "fresh");
+    specimen.put("specimen_storage", "frozen, liquid nitrogen");
+    specimen.put("tumour_confirmed", random.nextBoolean() ? "yes" : "no");
+    specimen.put("tumour_histological_type", "8500/3");
+    specimen.put("tumour_grade", optional("G" + (1 + random.nextInt(3))));
+    specimen.put("tumour_stage", optional("II"));
+    specimen.put("percentage_cellularity", optional("41-60%"));
+    specimen.put("level_of_cellularity", optional("moderate"));
+    specimen.put("digital_image_of_stained_section", optional("http://example.org/image/" + random.nextInt(100000)));
+
+    val samples = specimen.putArray("sample");
+    val sampleCount = 1 + random.nextInt(3);
+    for (int i = 0; i < sampleCount; i++) {
+      val sample = samples.addObject();
+      sample.put("_sample_id", "SA" + ((donorId * 10 + id) * 10 + i));
+      sample.put("analyzed_sample_id", "sample_" + random.nextInt(1000000));
+      sample.put("analyzed_sample_interval", optional(random.nextInt(100)));
+      sample.put("percentage_cellularity", (String) null);
+      sample.put("level_of_cellularity", (String) null);
+      sample.put("study", optional("1"));
+      sample.put("_sequence_data", false);
+      sample.put("available_raw_sequence_data", random.nextBoolean());
+    }
+
+    return specimen;
+  }
+
+  private ObjectNode observation(int id) {
+    val reference = pick(BASES);
+    val mutated = pick(BASES);
+    val start = 1 + random.nextInt(200000000);
+
+    val observation = MAPPER.createObjectNode();
+    observation.put("_mutation_id", "MU" + id);
+    observation.put("_donor_id", "DO" + random.nextInt(20000));
+    observation.put("_project_id", pick(PROJECTS));
+    observation.put("_specimen_id", "SP" + random.nextInt(200000));
+    observation.put("_sample_id", "SA" + random.nextInt(2000000));
+    observation.put("_matched_sample_id", "SA" + random.nextInt(2000000));
+    observation.put("analyzed_sample_id", "sample_" + random.nextInt(1000000));
+    observation.put("matched_sample_id", "sample_" + random.nextInt(1000000));
+    observation.put("mutation_type", "single base substitution");
+    observation.put("chromosome", pick(CHROMOSOMES));
+    observation.put("chromosome_start", start);
+    observation.put("chromosome_end", start);
+    observation.put("chromosome_strand", 1);
+    observation.put("assembly_version", "GRCh37");
+    observation.put("reference_genome_allele", reference);
+    observation.put("mutated_from_allele", reference);
+    observation.put("mutated_to_allele", mutated);
+    observation.put("mutation", reference + ">" + mutated);
+    observation.put("control_genotype", reference + "/" + reference);
+    observation.put("tumour_genotype", reference + "/" + mutated);
+    observation.put("expressed_allele", (String) null);
+    observation.put("quality_score", optional(random.nextInt(100)));
+    observation.put("probability", (String) null);
+    observation.put("total_read_count", random.nextInt(200));
+    observation.put("mutant_allele_read_count", random.nextInt(100));
+    observation.put("verification_status", "not tested");
+    observation.put("verification_platform", (String) null);
+    observation.put("biological_validation_status", (String) null);
+    observation.put("biological_validation_platform", (String) null);
+    observation.put("_type", "ssm");
+    observation.put("_study", optional("PCAWG"));
+
+    val consequences = observation.putArray("consequence");
+    val consequenceCount = 1 + random.nextInt(6);
+    for (int i = 0; i < consequenceCount; i++) {
+      val consequence = consequences.addObject();
+      consequence.put("consequence_type", pick(CONSEQUENCE_TYPES));
+      consequence.put("aa_mutation", "R" + random.nextInt(1000) + "W");
+      consequence.put("cds_mutation", "c." + random.nextInt(3000) + reference + ">" + mutated);
+      consequence.put("gene_affected", "ENSG" + String.format("%011d", random.nextInt(60000)));
+      consequence.put("transcript_affected", "ENST" + String.format("%011d", random.nextInt(200000)));
+      consequence.put("gene_build_version", "75");
+      consequence.put("note", (String) null);
+      consequence.put("_gene_id", "ENSG" + String.format("%011d", random.nextInt(60000)));
+      consequence.put("_transcript_id", "ENST" + String.format("%011d", random.nextInt(200000)));
+      consequence.put("functional_impact_prediction_summary", pick(FUNCTIONAL_IMPACTS));
+    }
+
+    val observations = observation.putArray("observation");
+    val observationCount = 1 + random.nextInt(2);
+    for (int i = 0; i < observationCount; i++) {
+      val element = observations.addObject();
+      element.put("analysis_id", "analysis_" + random.nextInt(100000));
+      element.put("raw_data_repository", "EGA");
+      element.put("raw_data_accession", "EGAS" + String.format("%011d", random.nextInt(100000)));
+      element.put("platform", pick(PLATFORMS));
+      element.put("sequencing_strategy", "WGS");
+      element.put("alignment_algorithm", "BWA");
+      element.put("variation_calling_algorithm", "MuTect");
+      element.put("other_analysis_algorithm", (String) null);
+      element.put("seq_coverage", optional(random.nextInt(100)));
+      element.put("experimental_protocol", (String) null);
+      element.put("base_calling_algorithm", (String) null);
+      element.put("marking", "OPEN");
+      element.put("observation_id", "OB" + random.nextInt(10000000));
+      element.put("_matched_sample_id_ref", (String) null);
+      element.put("_study_ref", (String) null);
+    }
+
+    return observation;
+  }
+
+  private ObjectNode gene(int id) {
+    val start = 1 + random.nextInt(200000000);
+    val end = start + random.nextInt(2000000);
+
+    val gene = MAPPER.createObjectNode();
+    gene.put("_gene_id", "ENSG" + String.format("%011d", id));
+    gene.put("symbol", "GENE" + id);
+    gene.put("name", "gene family member " + random.nextInt(100));
+    gene.put("biotype", pick(BIOTYPES));
+    gene.put("chromosome", pick(CHROMOSOMES));
+    gene.put("start", start);
+    gene.put("end", end);
+    gene.put("strand", random.nextBoolean() ? 1 : -1);
+    gene.put("description", "Generated gene " + id + " [Source:HGNC Symbol;Acc:" + random.nextInt(50000) + "]");
+    gene.put("canonical_transcript_id", "ENST" + String.format("%011d", random.nextInt(200000)));
+
+    val synonyms = gene.putArray("synonyms");
+    for (int i = random.nextInt(5); i > 0; i--) {
+      synonyms.add("SYN" + random.nextInt(100000));
+    }
+
+    val externalDbIds = gene.putObject("external_db_ids");
+    externalDbIds.putArray("entrez_gene").add(String.valueOf(random.nextInt(100000)));
+    externalDbIds.putArray("hgnc").add(String.valueOf(random.nextInt(50000)));
+    externalDbIds.putArray("uniprotkb_swissprot").add("P" + random.nextInt(100000));
+    externalDbIds.putArray("omim_gene").add(String.valueOf(random.nextInt(1000000)));
+
+    val transcripts = gene.putArray("transcripts");
+    val transcriptCount = 1 + random.nextInt(8);
+    for (int i = 0; i < transcriptCount; i++) {
+      transcripts.add(transcript(start, end));
+    }
+
+    return gene;
+  }
+
+  private ObjectNode transcript(int geneStart, int geneEnd) {
+    val transcript = MAPPER.createObjectNode();
+    transcript.put("transcript_id", "ENST" + String.format("%011d", random.nextInt(200000)));
+    transcript.put("transcript_name", "GENE-" + (200 + random.nextInt(100)));
+    transcript.put("transcript_biotype", pick(BIOTYPES));
+    transcript.put("is_canonical", random.nextBoolean());
+    transcript.put("length", random.nextInt(10000));
+    transcript.put("length_amino_acid", random.nextInt(3000));
+    transcript.put("length_cds", random.nextInt(9000));
+    transcript.put("number_of_exons", 0);
+    transcript.put("seq_exon_start", geneStart);
+    transcript.put("seq_exon_end", geneEnd);
+    transcript.put("coding_region_start", geneStart + random.nextInt(1000));
+    transcript.put("coding_region_end", geneEnd - random.nextInt(1000));
+    transcript.put("translation_id", "ENSP" + String.format("%011d", random.nextInt(200000)));
+    transcript.put("start_exon", 0);
+    transcript.put("end_exon", 0);
+
+    val exons = transcript.putArray("exons");
+    val exonCount = 2 + random.nextInt(19);
+    val exonLength = Math.max(1, (geneEnd - geneStart) / exonCount);
+    for (int i = 0; i < exonCount; i++) {
+      val exonStart = geneStart + i * exonLength;
+      val exon = exons.addObject();
+      exon.put("start", exonStart);
+      exon.put("end", exonStart + exonLength / 2);
+      exon.put("cdna_start", i * exonLength);
+      exon.put("cdna_end", i * exonLength + exonLength / 2);
+      exon.put("genomic_coding_start", exonStart);
+      exon.put("genomic_coding_end", exonStart + exonLength / 2);
+      exon.put("phase", random.nextInt(3));
+      exon.put("end_phase", random.nextInt(3));
+    }
+    transcript.put("number_of_exons", exonCount);
+    transcript.put("end_exon", exonCount - 1);
+
+    val domains = transcript.putArray("domains");
+    for (int i = random.nextInt(4); i > 0; i--) {
+      domains.add(domain());
+    }
+
+    return transcript;
+  }
+
+  private ObjectNode domain() {
+    val start = random.nextInt(1000);
+    val domain = MAPPER.createObjectNode();
+    domain.put("interpro_id", "IPR" + String.format("%06d", random.nextInt(100000)));
+    domain.put("hit_name", "PF" + String.format("%05d", random.nextInt(20000)));
+    domain.put("gff_source", "Pfam");
+    domain.put("description", "Generated protein domain");
+    domain.put("start", start);
+    domain.put("end", start + random.nextInt(300));
+
+    return domain;
+  }
+
+  private <T> T pick(List<T> values) {
+    return values.get(random.nextInt(values.size()));
+  }
+
+  /**
+   * Roughly a quarter of the optional clinical values are missing in the submissions.
+   */
+  private String optional(String value) {
+    return random.nextInt(4) == 0 ? null : value;
+  }
+
+  private Integer optional(int value) {
+    return random.nextInt(4) == 0 ? null : value;
+  }
+
+}
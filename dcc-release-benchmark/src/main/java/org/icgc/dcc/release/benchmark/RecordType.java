@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.benchmark;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.List;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Shapes of the records which dominate the release pipeline, together with the paths the core primitives are typically
+ * applied with to each of them.
+ */
+@Getter
+@RequiredArgsConstructor(access = PRIVATE)
+public enum RecordType {
+
+  DONOR(
+      "specimen.sample",
+      ImmutableList.of("_donor_id", "_project_id"),
+      ImmutableSet.of("_donor_id", "_project_id", "donor_id", "donor_sex", "specimen._specimen_id",
+          "specimen.sample._sample_id", "specimen.sample.analyzed_sample_id")),
+
+  OBSERVATION(
+      "observation",
+      ImmutableList.of("_mutation_id", "_donor_id", "_project_id"),
+      ImmutableSet.of("_mutation_id", "_donor_id", "_project_id", "chromosome", "chromosome_start",
+          "consequence.gene_affected", "consequence.consequence_type", "observation.analysis_id")),
+
+  GENE(
+      "transcripts",
+      ImmutableList.of("_gene_id"),
+      ImmutableSet.of("_gene_id", "symbol", "biotype", "chromosome", "start", "end", "transcripts.transcript_id",
+          "transcripts.exons.start", "transcripts.exons.end"));
+
+  /**
+   * Path of the nested collection the record is unwound by.
+   */
+  private final String unwindPath;
+
+  /**
+   * Fields the record is keyed by before a join or a group-by.
+   */
+  private final List<String> keyFields;
+
+  /**
+   * Fields retained by an include filter.
+   */
+  private final Set<String> filterFields;
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.benchmark;
+
+import org.icgc.dcc.release.core.util.SmileSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Benchmarks the Smile based Kryo {@link SmileSerializer} of {@link ObjectNode}s, the baseline of
+ * {@link ObjectNodeSerializerBenchmark}.
+ */
+public class SmileSerializerBenchmark extends AbstractRecordBenchmark {
+
+  /**
+   * Constants.
+   */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * State.
+   */
+  private final Kryo kryo = new Kryo();
+  private final SmileSerializer serializer = new SmileSerializer();
+  private final Output output = new Output(BUFFER_SIZE, -1);
+  private final Input input = new Input();
+  private byte[][] serialized;
+
+  @Override
+  protected void setUp() {
+    serialized = new byte[records.length][];
+    for (int i = 0; i < records.length; i++) {
+      output.clear();
+      serializer.write(kryo, output, records[i]);
+      serialized[i] = output.toBytes();
+    }
+  }
+
+  @Benchmark
+  public int write() {
+    output.clear();
+    serializer.write(kryo, output, nextRecord());
+
+    return output.position();
+  }
+
+  @Benchmark
+  public ObjectNode read() {
+    input.setBuffer(serialized[nextIndex()]);
+
+    return serializer.read(kryo, input, ObjectNode.class);
+  }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.benchmark;
+
+import static java.lang.Double.parseDouble;
+import static java.lang.Long.parseLong;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.icgc.dcc.common.core.util.Joiners.TAB;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import lombok.val;
+
+import org.apache.hadoop.io.Text;
+import org.icgc.dcc.common.core.model.FieldNames;
+import org.icgc.dcc.common.core.model.ValueType;
+import org.icgc.dcc.release.core.function.TranslateMissingCode;
+import org.icgc.dcc.release.core.submission.SubmissionFileField;
+import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+import org.icgc.dcc.release.core.submission.SubmissionFiles;
+import org.icgc.dcc.release.job.stage.util.RowTransformer;
+import org.icgc.dcc.release.job.stage.util.TabTokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Benchmarks the creation of staged {@code ssm_p} rows from line records by the compiled {@link RowTransformer} and
+ * the {@link TabTokenizer} against the former splitting of the line and chain of trimming, missing code translation,
+ * code list translation and value type conversion map functions, kept here as the {@link #chained()} baseline.
+ * <p>
+ * The throughput is in rows per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class StageRowBenchmark {
+
+  /**
+   * Constants.
+   */
+  private static final String PROJECT_NAME = "LIRI-JP";
+  private static final int RECORD_COUNT = 1024;
+  private static final int RECORD_MASK = RECORD_COUNT - 1;
+  private static final long SEED = 42L;
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TranslateMissingCode TRANSLATE_MISSING_CODE = new TranslateMissingCode();
+
+  /**
+   * State.
+   */
+  private SubmissionFileSchema schema;
+  private RowTransformer transformer;
+  private final TabTokenizer tokenizer = new TabTokenizer();
+  private Text[] records;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    schema = createSsmPSchema();
+    transformer = RowTransformer.compile(schema);
+
+    val random = new Random(SEED);
+    records = new Text[RECORD_COUNT];
+    for (int i = 0; i < RECORD_COUNT; i++) {
+      records[i] = new Text(TAB.join(generateRecord(random, schema.getFields())));
+    }
+  }
+
+  @Benchmark
+  public ObjectNode fused() {
+    return transformer.transform(tokenizer.reset(nextRecord()), PROJECT_NAME);
+  }
+
+  @Benchmark
+  public ObjectNode chained() {
+    val fields = schema.getFields();
+    val values = SubmissionFiles.parseLine(nextRecord().toString());
+    val row = MAPPER.createObjectNode();
+    for (int i = 0; i < fields.size(); i++) {
+      row.put(fields.get(i).getName(), i < values.length ? values[i] : "");
+    }
+    row.put(FieldNames.PROJECT_ID, PROJECT_NAME);
+
+    // Each step walks the fields of the row again
+    row.fieldNames().forEachRemaining(fieldName -> row.put(fieldName, row.get(fieldName).textValue().trim()));
+    TRANSLATE_MISSING_CODE.call(row);
+    for (val field : fields) {
+      val value = row.get(field.getName()).textValue();
+      if (field.getTerms() != null && value != null && field.getTerms().containsKey(value)) {
+        row.put(field.getName(), field.getTerms().get(value));
+      }
+    }
+    for (val field : fields) {
+      val value = row.path(field.getName()).textValue();
+      if (value == null) {
+        continue;
+      } else if (field.getType() == ValueType.DECIMAL) {
+        row.put(field.getName(), parseDouble(value));
+      } else if (field.getType() == ValueType.INTEGER) {
+        row.put(field.getName(), parseLong(value));
+      } else {
+        row.put(field.getName(), value);
+      }
+    }
+
+    return row;
+  }
+
+  private Text nextRecord() {
+    return records[index++ & RECORD_MASK];
+  }
+
+  /**
+   * Generates the values of a line with padding whitespace, missing codes and code list terms.
+   */
+  private static String[] generateRecord(Random random, List<SubmissionFileField> fields) {
+    val values = new String[fields.size()];
+    for (int i = 0; i < values.length; i++) {
+      val field = fields.get(i);
+      if (random.nextInt(10) == 0) {
+        values[i] = random.nextBoolean() ? "-888" : "";
+      } else if (field.getTerms() != null) {
+        val codes = ImmutableList.copyOf(field.getTerms().keySet());
+        values[i] = codes.get(random.nextInt(codes.size()));
+      } else if (field.getType() == ValueType.INTEGER) {
+        values[i] = Integer.toString(random.nextInt(250_000_000));
+      } else if (field.getType() == ValueType.DECIMAL) {
+        values[i] = Double.toString(random.nextDouble());
+      } else {
+        values[i] = " " + Long.toString(random.nextLong(), 36) + " ";
+      }
+    }
+
+    return values;
+  }
+
+  private static SubmissionFileSchema createSsmPSchema() {
+    val platforms = ImmutableMap.of("1", "Illumina HiSeq", "2", "Illumina GA", "3", "SOLiD", "4", "PacBio RS");
+    val chromosomes = ImmutableMap.<String, String> builder();
+    for (int i = 1; i <= 22; i++) {
+      chromosomes.put(Integer.toString(i), Integer.toString(i));
+    }
+    chromosomes.put("23", "X").put("24", "Y").put("25", "MT");
+
+    return new SubmissionFileSchema("ssm_p", "^ssm_p\\.[a-zA-Z0-9]+\\.txt(?:\\.gz|\\.bz2)?$", ImmutableList.of(
+        text("analysis_id"),
+        text("analyzed_sample_id"),
+        terms("mutation_type", ImmutableMap.of("1", "single base substitution", "2", "insertion of <=200bp",
+            "3", "deletion of <=200bp", "4", "multiple base substitution (>=2bp and <=200bp)")),
+        terms("chromosome", chromosomes.build()),
+        field("chromosome_start", ValueType.INTEGER),
+        field("chromosome_end", ValueType.INTEGER),
+        field("chromosome_strand", ValueType.INTEGER),
+        text("reference_genome_allele"),
+        text("control_genotype"),
+        text("mutated_from_allele"),
+        text("mutated_to_allele"),
+        text("tumour_genotype"),
+        text("expressed_allele"),
+        field("quality_score", ValueType.DECIMAL),
+        field("probability", ValueType.DECIMAL),
+        field("total_read_count", ValueType.INTEGER),
+        field("mutant_allele_read_count", ValueType.INTEGER),
+        terms("verification_status", ImmutableMap.of("1", "tested", "2", "not tested")),
+        terms("verification_platform", platforms),
+        terms("biological_validation_status", ImmutableMap.of("1", "valid", "2", "invalid", "3", "not tested")),
+        terms("biological_validation_platform", platforms)));
+  }
+
+  private static SubmissionFileField text(String name) {
+    return field(name, ValueType.TEXT);
+  }
+
+  private static SubmissionFileField field(String name, ValueType type) {
+    return new SubmissionFileField(name, type, false, null);
+  }
+
+  private static SubmissionFileField terms(String name, Map<String, String> terms) {
+    return new SubmissionFileField(name, ValueType.TEXT, false, terms);
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -15,35 +15,38 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.stage.function;
+package org.icgc.dcc.release.benchmark;
 
-import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
-import lombok.val;
-
-import org.apache.spark.api.java.function.Function;
+import org.icgc.dcc.release.core.function.Unwind;
+import org.openjdk.jmh.annotations.Benchmark;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
-public class TrimValues implements Function<ObjectNode, ObjectNode> {
+/**
+ * Benchmarks {@link Unwind} of the nested collection of each record type, both with and without the parent fields.
+ */
+public class UnwindBenchmark extends AbstractRecordBenchmark {
 
-  @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    trim(row);
+  /**
+   * State.
+   */
+  private Unwind unwind;
+  private Unwind unwindToParent;
 
-    return row;
+  @Override
+  protected void setUp() {
+    unwind = Unwind.unwind(type.getUnwindPath());
+    unwindToParent = Unwind.unwindToParent(type.getUnwindPath());
   }
 
-  private void trim(ObjectNode row) {
-    row.fieldNames().forEachRemaining(fieldName -> trimField(row, fieldName));
+  @Benchmark
+  public Iterable<ObjectNode> unwind() throws Exception {
+    return unwind.call(nextRecord());
   }
 
-  private void trimField(ObjectNode row, String fieldName) {
-    val fieldValue = textValue(row, fieldName);
-
-    if (fieldValue != null) {
-      val trimmed = fieldValue.trim();
-      row.put(fieldName, trimmed);
-    }
+  @Benchmark
+  public Iterable<ObjectNode> unwindToParent() throws Exception {
+    return unwindToParent.call(nextRecord());
   }
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -15,26 +15,30 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.summarize.function;
+package org.icgc.dcc.release.benchmark;
 
-import static org.icgc.dcc.common.core.model.FieldNames.GENE_DONORS;
-import static org.icgc.dcc.release.core.util.ObjectNodes.createObject;
-import lombok.val;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.icgc.dcc.release.core.util.WriteObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
 
-import org.apache.spark.api.java.function.Function2;
+import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
-public class CombineGeneStats implements Function2<ObjectNode, ObjectNode, ObjectNode> {
+/**
+ * Benchmarks {@link WriteObjectNode} which encodes the records of the job outputs as Smile sequence file values.
+ */
+public class WriteObjectNodeBenchmark extends AbstractRecordBenchmark {
 
-  @Override
-  public ObjectNode call(ObjectNode aggr1, ObjectNode aggr2) throws Exception {
-    val resultObject = createObject();
-    val donorsArray = resultObject.withArray(GENE_DONORS);
-    donorsArray.addAll(aggr1.withArray(GENE_DONORS));
-    donorsArray.addAll(aggr2.withArray(GENE_DONORS));
+  /**
+   * State.
+   */
+  private final WriteObjectNode<ObjectNode> writeObjectNode = new WriteObjectNode<>(ObjectNode.class);
 
-    return resultObject;
+  @Benchmark
+  public Tuple2<NullWritable, BytesWritable> write() throws Exception {
+    return writeObjectNode.call(nextRecord());
   }
 
-}
\ No newline at end of file
+}
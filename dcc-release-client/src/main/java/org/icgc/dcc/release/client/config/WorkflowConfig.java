@@ -17,12 +17,18 @@
  */
 package org.icgc.dcc.release.client.config;
 
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import lombok.val;
+
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.spark.api.java.JavaSparkContext;
+import org.icgc.dcc.release.client.core.JobScheduler;
+import org.icgc.dcc.release.core.task.TaskCheckpoints;
 import org.icgc.dcc.release.core.task.TaskExecutor;
+import org.icgc.dcc.release.core.task.TaskMetricsCollector;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -51,8 +57,28 @@ public class WorkflowConfig {
   }
 
   @Bean
-  public TaskExecutor taskExecutor(ExecutorService executor, JavaSparkContext sparkContext, FileSystem fileSystem) {
-    return new TaskExecutor(executor, sparkContext, fileSystem);
+  public JobScheduler jobScheduler(ExecutorService executor, @Value("${workflow.parallel}") boolean parallel) {
+    return new JobScheduler(executor, parallel);
+  }
+
+  @Bean
+  public TaskExecutor taskExecutor(ExecutorService executor, JavaSparkContext sparkContext, FileSystem fileSystem,
+      @Value("${workflow.checkpoint}") boolean checkpoint, @Value("${workflow.metrics}") boolean metrics) {
+    // Skips tasks committed by a previous, interrupted execution of the workflow
+    val checkpoints = checkpoint ? Optional.of(new TaskCheckpoints(fileSystem)) : Optional.<TaskCheckpoints> empty();
+    // Reports the wall time, I/O, shuffle and spill of every task
+    val collector = metrics ?
+        Optional.of(createMetricsCollector(sparkContext, fileSystem)) :
+        Optional.<TaskMetricsCollector> empty();
+
+    return new TaskExecutor(executor, sparkContext, fileSystem, checkpoints, collector);
+  }
+
+  private static TaskMetricsCollector createMetricsCollector(JavaSparkContext sparkContext, FileSystem fileSystem) {
+    val collector = new TaskMetricsCollector(fileSystem);
+    sparkContext.sc().addSparkListener(collector);
+
+    return collector;
   }
 
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.client.core;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.job.Job;
+import org.icgc.dcc.release.core.job.JobType;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Executes the jobs of a workflow as a dependency graph.
+ * <p>
+ * A job depends on every preceding job that produces a file type it consumes or produces, or that consumes a file type
+ * it produces. Jobs without a dependency between them run concurrently when {@code parallel} is set, otherwise one
+ * after another in the supplied order.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JobScheduler {
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final ExecutorService executor;
+
+  /**
+   * Configuration.
+   */
+  private final boolean parallel;
+
+  /**
+   * Executes {@code jobs}, which must be in topological order, with {@code action}. Fails fast on the first job failure.
+   */
+  public void execute(@NonNull List<Job> jobs, @NonNull Consumer<Job> action) {
+    val dependencies = resolveDependencies(jobs);
+    val service = new ExecutorCompletionService<Job>(executor);
+    val pending = Lists.newLinkedList(jobs);
+    val completed = EnumSet.noneOf(JobType.class);
+    int running = 0;
+
+    while (!pending.isEmpty() || running > 0) {
+      val iterator = pending.iterator();
+      while (iterator.hasNext() && (parallel || running == 0)) {
+        val job = iterator.next();
+        if (completed.containsAll(dependencies.get(job.getType()))) {
+          iterator.remove();
+          submit(service, job, action);
+          running++;
+        }
+      }
+
+      val job = await(service);
+      completed.add(job.getType());
+      running--;
+    }
+  }
+
+  static Map<JobType, Set<JobType>> resolveDependencies(List<Job> jobs) {
+    val dependencies = Maps.<JobType, Set<JobType>> newEnumMap(JobType.class);
+    for (int i = 0; i < jobs.size(); i++) {
+      val job = jobs.get(i);
+      val jobDependencies = EnumSet.noneOf(JobType.class);
+      for (val previous : jobs.subList(0, i)) {
+        if (isDependent(job, previous)) {
+          jobDependencies.add(previous.getType());
+        }
+      }
+
+      log.info("Job '{}' depends on {}", job.getType(), jobDependencies);
+      dependencies.put(job.getType(), jobDependencies);
+    }
+
+    return dependencies;
+  }
+
+  private static boolean isDependent(Job job, Job previous) {
+    // Read after write, write after write and write after read
+    return intersects(previous.getProducedFileTypes(), job.getConsumedFileTypes())
+        || intersects(previous.getProducedFileTypes(), job.getProducedFileTypes())
+        || intersects(previous.getConsumedFileTypes(), job.getProducedFileTypes());
+  }
+
+  private static boolean intersects(Set<FileType> left, Set<FileType> right) {
+    return !Sets.intersection(left, right).isEmpty();
+  }
+
+  private static void submit(CompletionService<Job> service, Job job, Consumer<Job> action) {
+    log.info("Submitting job '{}'...", job.getType());
+    service.submit(() -> {
+      action.accept(job);
+
+      return job;
+    });
+  }
+
+  @SneakyThrows
+  private static Job await(CompletionService<Job> service) {
+    try {
+      return service.take().get();
+    } catch (ExecutionException e) {
+      // Jobs still running are left to finish on their own
+      throw e.getCause();
+    }
+  }
+
+}
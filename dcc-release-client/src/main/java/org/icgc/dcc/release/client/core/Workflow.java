@@ -20,8 +20,10 @@ package org.icgc.dcc.release.client.core;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Stopwatch.createStarted;
 import static com.google.common.base.Strings.repeat;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
 
 import java.util.List;
+import java.util.Optional;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -39,6 +41,7 @@ import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
 import org.icgc.dcc.release.core.submission.SubmissionFileSystem;
 import org.icgc.dcc.release.core.submission.SubmissionMetadataService;
 import org.icgc.dcc.release.core.task.TaskExecutor;
+import org.icgc.dcc.release.core.task.TaskMetrics;
 import org.icgc.dcc.release.core.util.LazyTable;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
@@ -52,6 +55,11 @@ import com.google.common.collect.Table;
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class Workflow {
 
+  /**
+   * Constants.
+   */
+  private static final int TOP_TASK_COUNT = 10;
+
   /**
    * Submission dependencies.
    */
@@ -62,6 +70,8 @@ public class Workflow {
   @NonNull
   private final TaskExecutor taskExecutor;
   @NonNull
+  private final JobScheduler jobScheduler;
+  @NonNull
   private final Mailer mailer;
 
   /**
@@ -82,50 +92,76 @@ public class Workflow {
   }
 
   private void executeJobs(Table<String, String, List<Path>> submissionFiles, WorkflowContext workflowContext) {
-    for (val jobType : JobType.getTopologicalSortOrder()) {
-      // Filter
-      val included = workflowContext.isIncluded(jobType);
-      if (!included) {
-        continue;
-      }
+    // Filter
+    val jobs = JobType.getTopologicalSortOrder().stream()
+        .filter(workflowContext::isIncluded)
+        .map(this::findJob)
+        .collect(toImmutableList());
 
-      // Resolve
-      val job = findJob(jobType);
-      val jobContext = createJobContext(jobType, workflowContext, submissionFiles);
+    jobScheduler.execute(jobs, job -> executeJob(job, workflowContext, submissionFiles));
+  }
 
-      val watch = createStarted();
-      log.info("{}", repeat("-", 100));
-      log.info("Executing job '{}'...", jobType);
-      log.info("{}", repeat("-", 100));
+  private void executeJob(Job job, WorkflowContext workflowContext, Table<String, String, List<Path>> submissionFiles) {
+    // Resolve
+    val jobType = job.getType();
+    val jobContext = createJobContext(jobType, workflowContext, submissionFiles);
 
-      // Execute
+    val watch = createStarted();
+    log.info("{}", repeat("-", 100));
+    log.info("Executing job '{}'...", jobType);
+    log.info("{}", repeat("-", 100));
+
+    // Execute
+    try {
+      job.execute(jobContext);
+    } catch (Exception e) {
       try {
-        job.execute(jobContext);
-      } catch (Exception e) {
-        log.warn("Emailing '{}' failed job summary...", jobType);
-        val summary = new JobSummary(jobType, watch);
-        mailer.sendFailedJob(summary, e);
-
-        throw e;
+        reportTasks(jobContext);
+      } catch (Exception reportException) {
+        log.warn("Failed to report '{}' task metrics: {}", jobType, reportException.getMessage());
       }
 
-      log.info("{}", repeat("-", 100));
-      log.info("Finished executing job '{}' in {}", jobType, watch);
-      log.info("{}", repeat("-", 100));
-
-      // Notify
-      log.info("Emailing '{}' job summary...", jobType);
+      log.warn("Emailing '{}' failed job summary...", jobType);
       val summary = new JobSummary(jobType, watch);
-      mailer.sendJobSummary(summary);
+      mailer.sendFailedJob(summary, e);
+
+      throw e;
     }
+
+    log.info("{}", repeat("-", 100));
+    log.info("Finished executing job '{}' in {}", jobType, watch);
+    log.info("{}", repeat("-", 100));
+
+    // Report
+    val topTasks = reportTasks(jobContext);
+
+    // Notify
+    log.info("Emailing '{}' job summary...", jobType);
+    val summary = new JobSummary(jobType, watch, topTasks);
+    mailer.sendJobSummary(summary);
+  }
+
+  private List<TaskMetrics> reportTasks(JobContext jobContext) {
+    val metrics = taskExecutor.report(jobContext);
+    val topTasks = metrics.subList(0, Math.min(TOP_TASK_COUNT, metrics.size()));
+    for (val task : topTasks) {
+      log.info("[{}] Task '{}' took {} ms: {} records read, {} records written, {} shuffle bytes written, "
+          + "{} bytes spilled to disk",
+          task.getJobType(), task.getTaskName(), task.getWallTime(), task.getRecordsRead(), task.getRecordsWritten(),
+          task.getShuffleBytesWritten(), task.getDiskBytesSpilled());
+    }
+
+    return topTasks;
   }
 
   private Table<String, String, List<Path>> resolveInputFiles(WorkflowContext workflowContext) {
     return new LazyTable<String, String, List<Path>>(() -> {
       List<SubmissionFileSchema> metadata = submissionMetadata.getMetadata();
 
+      Path indexPath = SubmissionFileSystem.getIndexPath(workflowContext.getWorkingDir());
+
       return submissionFileSystem.getFiles(workflowContext.getInputDirs(), workflowContext.getProjectNames(),
-          metadata);
+          metadata, Optional.of(indexPath));
     });
   }
 
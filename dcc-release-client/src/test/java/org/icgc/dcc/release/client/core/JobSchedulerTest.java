@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.client.core;
+
+import static com.google.common.base.Stopwatch.createStarted;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.job.Job;
+import org.icgc.dcc.release.core.job.JobContext;
+import org.icgc.dcc.release.core.job.JobType;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
+
+public class JobSchedulerTest {
+
+  /**
+   * Constants.
+   */
+  private static final long JOB_DURATION_MS = 200;
+
+  /**
+   * Test data in topological order.
+   */
+  private static final List<Job> JOBS = ImmutableList.of(
+      job(JobType.STAGE, ImmutableSet.of(), ImmutableSet.of(FileType.DONOR, FileType.SSM_P)),
+      job(JobType.MASK, ImmutableSet.of(FileType.SSM_P), ImmutableSet.of(FileType.SSM_P_MASKED)),
+      job(JobType.IMAGE, ImmutableSet.of(FileType.DONOR), ImmutableSet.of(FileType.SPECIMEN_SURROGATE_KEY_IMAGE)),
+      job(JobType.ANNOTATE, ImmutableSet.of(FileType.SSM_P_MASKED), ImmutableSet.of(FileType.SSM_S)),
+      job(JobType.IMPORT, ImmutableSet.of(), ImmutableSet.of(FileType.GENE)),
+      job(JobType.FATHMM, ImmutableSet.of(FileType.SSM_S, FileType.GENE), ImmutableSet.of(FileType.OBSERVATION_FATHMM)),
+      job(JobType.EXPORT, ImmutableSet.of(FileType.SSM_P), ImmutableSet.of()));
+
+  @Test
+  public void testResolveDependencies() {
+    val dependencies = JobScheduler.resolveDependencies(JOBS);
+
+    assertThat(dependencies.get(JobType.STAGE)).isEmpty();
+    assertThat(dependencies.get(JobType.MASK)).containsOnly(JobType.STAGE);
+    assertThat(dependencies.get(JobType.IMAGE)).containsOnly(JobType.STAGE);
+    assertThat(dependencies.get(JobType.ANNOTATE)).containsOnly(JobType.MASK);
+    assertThat(dependencies.get(JobType.IMPORT)).isEmpty();
+    assertThat(dependencies.get(JobType.FATHMM)).containsOnly(JobType.ANNOTATE, JobType.IMPORT);
+    assertThat(dependencies.get(JobType.EXPORT)).containsOnly(JobType.STAGE);
+  }
+
+  @Test
+  public void testExecuteParallel() {
+    val scheduler = new JobScheduler(Executors.newCachedThreadPool(), true);
+    val executions = Maps.<JobType, Execution> newConcurrentMap();
+
+    val watch = createStarted();
+    scheduler.execute(JOBS, job -> executions.put(job.getType(), execute()));
+    val elapsed = watch.elapsed(MILLISECONDS);
+
+    assertThat(executions).hasSize(JOBS.size());
+    verifyOrder(JobScheduler.resolveDependencies(JOBS), executions);
+
+    // Critical path is STAGE -> MASK -> ANNOTATE -> FATHMM
+    assertThat(elapsed).isLessThan(JOBS.size() * JOB_DURATION_MS);
+  }
+
+  @Test
+  public void testExecuteSequential() {
+    val scheduler = new JobScheduler(MoreExecutors.sameThreadExecutor(), false);
+    val order = Lists.<JobType> newArrayList();
+
+    scheduler.execute(JOBS, job -> order.add(job.getType()));
+
+    assertThat(order).containsExactly(JOBS.stream().map(Job::getType).toArray(JobType[]::new));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testExecuteFailure() {
+    val scheduler = new JobScheduler(Executors.newCachedThreadPool(), true);
+
+    scheduler.execute(JOBS, job -> {
+      if (job.getType() == JobType.MASK) {
+        throw new IllegalStateException("Failed");
+      }
+    });
+  }
+
+  private static void verifyOrder(Map<JobType, Set<JobType>> dependencies, Map<JobType, Execution> executions) {
+    for (val entry : dependencies.entrySet()) {
+      val start = executions.get(entry.getKey()).getStart();
+      for (val dependency : entry.getValue()) {
+        assertThat(start).isGreaterThanOrEqualTo(executions.get(dependency).getEnd());
+      }
+    }
+  }
+
+  @SneakyThrows
+  private static Execution execute() {
+    val start = System.nanoTime();
+    Thread.sleep(JOB_DURATION_MS);
+
+    return new Execution(start, System.nanoTime());
+  }
+
+  private static Job job(JobType type, Set<FileType> consumed, Set<FileType> produced) {
+    return new TestJob(type, consumed, produced);
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  private static class Execution {
+
+    private final long start;
+    private final long end;
+
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  private static class TestJob implements Job {
+
+    private final JobType type;
+    private final Set<FileType> consumedFileTypes;
+    private final Set<FileType> producedFileTypes;
+
+    @Override
+    public void execute(JobContext jobContext) {
+      // No-op
+    }
+
+  }
+
+}
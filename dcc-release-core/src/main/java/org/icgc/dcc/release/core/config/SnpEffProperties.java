@@ -41,4 +41,9 @@ public class SnpEffProperties implements Serializable {
   private String geneBuildVersion;
   private int maxFileSizeMb;
 
+  /**
+   * Maximum number of variants in flight to a single forked SnpEff process.
+   */
+  private int predictionWindowSize = 1000;
+
 }
@@ -20,6 +20,7 @@ package org.icgc.dcc.release.core.function;
 import static org.icgc.dcc.common.core.model.SpecialValue.NO_VALUE;
 import static org.icgc.dcc.common.core.model.SpecialValue.isDeprecatedValue;
 import static org.icgc.dcc.common.core.model.SpecialValue.isFullMissingCode;
+import lombok.NonNull;
 import lombok.val;
 
 import org.apache.spark.api.java.function.Function;
@@ -45,7 +46,10 @@ public class TranslateMissingCode implements Function<ObjectNode, ObjectNode> {
     return row;
   }
 
-  private static boolean isMissingCode(String value) {
+  /**
+   * @return {@code true} if {@code value} is empty, a missing code or a former missing code
+   */
+  public static boolean isMissingCode(@NonNull String value) {
     return value.isEmpty() || isFullMissingCode(value) || isDeprecatedValue(value);
   }
 
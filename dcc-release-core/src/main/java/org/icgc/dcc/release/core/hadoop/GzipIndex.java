@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.hadoop;
+
+import static com.google.common.collect.Lists.newArrayList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+/**
+ * Seek index of the member boundaries of a multi-member gzip file. Every entry is a point at which decompression can
+ * start independently of the preceding data.
+ * <p>
+ * Entries are kept at least {@code spacing} uncompressed bytes apart, which bounds the size of the index of files made
+ * of many small members (e.g. the 64KB blocks of {@code bgzip}).
+ * <p>
+ * A file whose first member is larger than the {@code limit} given to {@link #build(InputStream, long, long)} is not
+ * read any further: it is indexed by that single entry and, as with a single-member file, is not split.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GzipIndex {
+
+  /**
+   * Length and modification time of the indexed file.
+   */
+  private long length;
+  private long modificationTime;
+
+  private long uncompressedLength;
+  private List<Entry> entries = newArrayList();
+
+  public static GzipIndex build(@NonNull InputStream inputStream, long spacing) throws IOException {
+    return build(inputStream, spacing, Long.MAX_VALUE);
+  }
+
+  public static GzipIndex build(@NonNull InputStream inputStream, long spacing, long limit) throws IOException {
+    val index = new GzipIndex();
+    val entries = index.getEntries();
+
+    try (val in = new GzipMemberInputStream(inputStream, 0)) {
+      val buffer = new byte[64 * 1024];
+      long uncompressedOffset = 0;
+      int memberCount = 0;
+      byte lastByte = '\n';
+
+      int n;
+      while ((n = in.read(buffer, 0, buffer.length)) != -1) {
+        // A read never spans two members
+        if (in.getMemberCount() != memberCount) {
+          memberCount = in.getMemberCount();
+
+          val previous = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+          if (previous == null || uncompressedOffset - previous.getUncompressedOffset() >= spacing) {
+            entries.add(new Entry(in.getMemberOffset(), uncompressedOffset, isLineStart(lastByte, buffer[0])));
+          }
+        }
+
+        uncompressedOffset += n;
+        lastByte = buffer[n - 1];
+
+        if (memberCount == 1 && uncompressedOffset > limit) {
+          // Most likely a plain gzip file which would have to be decompressed in full to learn nothing more
+          return index;
+        }
+      }
+
+      index.setUncompressedLength(uncompressedOffset);
+    }
+
+    return index;
+  }
+
+  private static boolean isLineStart(byte lastByte, byte firstByte) {
+    // As with LineReader, lines end with '\n', '\r' or "\r\n". A '\n' following a '\r' ends the previous line
+    return lastByte == '\n' || lastByte == '\r' && firstByte != '\n';
+  }
+
+  /**
+   * Start of a member.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Entry {
+
+    private long compressedOffset;
+    private long uncompressedOffset;
+
+    /**
+     * Whether a line starts at the first byte of the member.
+     */
+    private boolean lineStart;
+
+  }
+
+}
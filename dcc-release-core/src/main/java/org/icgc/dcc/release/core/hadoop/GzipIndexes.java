@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.hadoop;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Optional;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hashing;
+
+/**
+ * Cache of {@link GzipIndex}es. An index is stored under a name derived from the path, length and modification time of
+ * the indexed file, so a changed file is never read with a stale index.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class GzipIndexes {
+
+  /**
+   * Constants.
+   */
+  public static final long DEFAULT_SPACING = 4L * 1024L * 1024L;
+
+  private static final String INDEX_EXTENSION = ".index";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  public static boolean exists(@NonNull FileSystem fileSystem, @NonNull Path indexDir, @NonNull FileStatus file) {
+    return exists(fileSystem, getIndexPath(indexDir, file));
+  }
+
+  @SneakyThrows
+  public static Optional<GzipIndex> readIndex(@NonNull FileSystem fileSystem, @NonNull Path indexDir,
+      @NonNull FileStatus file) {
+    val indexPath = getIndexPath(indexDir, file);
+    if (!exists(fileSystem, indexPath)) {
+      return Optional.empty();
+    }
+
+    @Cleanup
+    val inputStream = fileSystem.open(indexPath);
+
+    return Optional.of(MAPPER.readValue(inputStream, GzipIndex.class));
+  }
+
+  /**
+   * Indexes {@code file}, which is read no further than {@code limit} uncompressed bytes if its first member is larger.
+   */
+  @SneakyThrows
+  public static GzipIndex writeIndex(@NonNull FileSystem fileSystem, @NonNull Path indexDir, @NonNull FileStatus file,
+      long limit) {
+    val path = file.getPath();
+    log.info("Indexing gzip members of '{}'...", path);
+
+    GzipIndex index;
+    try (val inputStream = fileSystem.open(path)) {
+      index = GzipIndex.build(inputStream, DEFAULT_SPACING, limit);
+    }
+
+    index.setLength(file.getLen());
+    index.setModificationTime(file.getModificationTime());
+
+    val indexPath = getIndexPath(indexDir, file);
+    log.info("Writing gzip index of '{}' with {} entries to '{}'", path, index.getEntries().size(), indexPath);
+
+    // Written aside and renamed, so that concurrent readers never see a partial index
+    val tempPath = indexPath.suffix("." + System.nanoTime());
+    try (val outputStream = fileSystem.create(tempPath, true)) {
+      MAPPER.writeValue(outputStream, index);
+    }
+    if (!fileSystem.rename(tempPath, indexPath)) {
+      fileSystem.delete(tempPath, false);
+    }
+
+    return index;
+  }
+
+  private static Path getIndexPath(Path indexDir, FileStatus file) {
+    val key = file.getPath().toUri().getPath() + ":" + file.getLen() + ":" + file.getModificationTime();
+    val name = Hashing.md5().hashString(key, UTF_8).toString();
+
+    return new Path(indexDir, name + INDEX_EXTENSION);
+  }
+
+  @SneakyThrows
+  private static boolean exists(FileSystem fileSystem, Path path) {
+    return fileSystem.exists(path);
+  }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.hadoop;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Decompresses a stream of one or more concatenated gzip members, as written by {@code bgzip}, {@code pigz} or a plain
+ * {@code cat} of gzip files.
+ * <p>
+ * Unlike {@link java.util.zip.GZIPInputStream} it keeps track of the compressed offset of the member being read and
+ * never returns the bytes of two members from a single {@link #read(byte[], int, int)}, so the member boundaries of the
+ * decompressed data can be indexed.
+ */
+public class GzipMemberInputStream extends InputStream {
+
+  /**
+   * Constants.
+   */
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int DEFLATE = 8;
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Dependencies.
+   */
+  private final InputStream in;
+
+  /**
+   * State.
+   */
+  private final Inflater inflater = new Inflater(true);
+  private final CRC32 crc = new CRC32();
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private long bufferOffset;
+  private int bufferPos;
+  private int bufferLimit;
+  private boolean member;
+
+  /**
+   * Compressed offset of the header of the member being read.
+   */
+  @Getter
+  private long memberOffset;
+
+  /**
+   * Number of members started so far.
+   */
+  @Getter
+  private int memberCount;
+
+  /**
+   * @param in the compressed stream, positioned at the start of a member
+   * @param offset the compressed offset of the first byte of {@code in}
+   */
+  public GzipMemberInputStream(@NonNull InputStream in, long offset) {
+    this.in = in;
+    this.bufferOffset = offset;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] b = new byte[1];
+    return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+
+    while (true) {
+      if (!member && !readHeader()) {
+        return -1;
+      }
+
+      if (inflater.needsInput()) {
+        if (bufferPos == bufferLimit && !fill()) {
+          throw new EOFException("Unexpected end of gzip member at offset " + memberOffset);
+        }
+
+        // The inflater holds on to the input until it is finished
+        inflater.setInput(buffer, bufferPos, bufferLimit - bufferPos);
+        bufferPos = bufferLimit;
+      }
+
+      int n = inflate(b, off, len);
+      if (n > 0) {
+        crc.update(b, off, n);
+      }
+
+      if (inflater.finished()) {
+        bufferPos = bufferLimit - inflater.getRemaining();
+        readTrailer();
+        member = false;
+      } else if (n == 0 && inflater.needsDictionary()) {
+        throw new ZipException("Unsupported gzip preset dictionary at offset " + memberOffset);
+      }
+
+      if (n > 0) {
+        return n;
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    inflater.end();
+    in.close();
+  }
+
+  private int inflate(byte[] b, int off, int len) throws ZipException {
+    try {
+      return inflater.inflate(b, off, len);
+    } catch (DataFormatException e) {
+      throw new ZipException("Invalid gzip member at offset " + memberOffset + ": " + e.getMessage());
+    }
+  }
+
+  private boolean readHeader() throws IOException {
+    if (bufferPos == bufferLimit && !fill()) {
+      // Clean end of the last member
+      return false;
+    }
+
+    memberOffset = bufferOffset + bufferPos;
+    if (readUShort() != GZIP_MAGIC) {
+      throw new ZipException("Not in gzip format at offset " + memberOffset);
+    }
+    if (readUByte() != DEFLATE) {
+      throw new ZipException("Unsupported gzip compression method at offset " + memberOffset);
+    }
+
+    int flags = readUByte();
+
+    // MTIME, XFL and OS
+    skip(6);
+
+    if ((flags & FEXTRA) != 0) {
+      skip(readUShort());
+    }
+    if ((flags & FNAME) != 0) {
+      skipString();
+    }
+    if ((flags & FCOMMENT) != 0) {
+      skipString();
+    }
+    if ((flags & FHCRC) != 0) {
+      skip(2);
+    }
+
+    inflater.reset();
+    crc.reset();
+    member = true;
+    memberCount++;
+
+    return true;
+  }
+
+  private void readTrailer() throws IOException {
+    long expectedCrc = readUInt();
+    long expectedSize = readUInt();
+    if (expectedCrc != crc.getValue() || expectedSize != (inflater.getBytesWritten() & 0xFFFFFFFFL)) {
+      throw new ZipException("Corrupt gzip trailer of member at offset " + memberOffset);
+    }
+  }
+
+  private long readUInt() throws IOException {
+    return readUShort() | (long) readUShort() << 16;
+  }
+
+  private int readUShort() throws IOException {
+    return readUByte() | readUByte() << 8;
+  }
+
+  private int readUByte() throws IOException {
+    if (bufferPos == bufferLimit && !fill()) {
+      throw new EOFException("Unexpected end of gzip header or trailer at offset " + memberOffset);
+    }
+
+    return buffer[bufferPos++] & 0xFF;
+  }
+
+  private void skipString() throws IOException {
+    while (readUByte() != 0) {
+      // Zero terminated
+    }
+  }
+
+  private void skip(int n) throws IOException {
+    for (int i = 0; i < n; i++) {
+      readUByte();
+    }
+  }
+
+  private boolean fill() throws IOException {
+    bufferOffset += bufferLimit;
+    bufferPos = 0;
+    bufferLimit = 0;
+
+    int n = in.read(buffer, 0, buffer.length);
+    if (n <= 0) {
+      return false;
+    }
+
+    bufferLimit = n;
+    return true;
+  }
+
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.hadoop;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileSplit;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.hadoop.util.LineReader;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * {@link TextInputFormat} which splits the gzip files having a {@link GzipIndex} in {@link #INDEX_DIR_PROPERTY} into
+ * ranges of members of balanced uncompressed size. Each range is decompressed independently, so a large file is read
+ * by many tasks instead of a single one. Files without a splittable index are split by {@link TextInputFormat}.
+ * <p>
+ * Member boundaries need not be line boundaries. As with {@link org.apache.hadoop.mapred.LineRecordReader}, a line
+ * belongs to the split it starts in and is read past the end of the split when needed.
+ */
+public class IndexedGzipInputFormat extends TextInputFormat {
+
+  /**
+   * Constants.
+   */
+  public static final String INDEX_DIR_PROPERTY = "dcc.gzip.index.dir";
+  public static final String SPLIT_SIZE_PROPERTY = "dcc.gzip.split.size";
+  public static final long DEFAULT_SPLIT_SIZE = 256L * 1024L * 1024L;
+
+  @Override
+  public InputSplit[] getSplits(JobConf job, int numSplits) throws IOException {
+    val splits = super.getSplits(job, numSplits);
+    val indexDir = job.get(INDEX_DIR_PROPERTY);
+    if (indexDir == null) {
+      return splits;
+    }
+
+    val splitSize = job.getLong(SPLIT_SIZE_PROPERTY, DEFAULT_SPLIT_SIZE);
+    val indexed = Maps.<Path, Boolean> newHashMap();
+    val result = Lists.<InputSplit> newArrayList();
+    for (val split : splits) {
+      val fileSplit = (FileSplit) split;
+      val path = fileSplit.getPath();
+      if (!indexed.containsKey(path)) {
+        val fileSystem = path.getFileSystem(job);
+        val status = fileSystem.getFileStatus(path);
+        val index = GzipIndexes.readIndex(fileSystem, new Path(indexDir), status);
+        val splittable = index.isPresent() && index.get().getEntries().size() > 1;
+        if (splittable) {
+          val blocks = fileSystem.getFileBlockLocations(status, 0, status.getLen());
+          result.addAll(createSplits(path, index.get(), splitSize, blocks));
+        }
+
+        indexed.put(path, splittable);
+      }
+
+      if (!indexed.get(path)) {
+        result.add(split);
+      }
+    }
+
+    return result.toArray(new InputSplit[result.size()]);
+  }
+
+  @Override
+  public RecordReader<LongWritable, Text> getRecordReader(InputSplit split, JobConf job, Reporter reporter)
+      throws IOException {
+    if (split instanceof IndexedGzipSplit) {
+      reporter.setStatus(split.toString());
+      return new IndexedGzipRecordReader(job, (IndexedGzipSplit) split);
+    }
+
+    return super.getRecordReader(split, job, reporter);
+  }
+
+  /**
+   * Groups consecutive index entries into splits of about {@code splitSize} uncompressed bytes each. A split is placed
+   * on the hosts of the block holding its first member.
+   */
+  static List<IndexedGzipSplit> createSplits(@NonNull Path path, @NonNull GzipIndex index, long splitSize,
+      @NonNull BlockLocation[] blocks) throws IOException {
+    val entries = index.getEntries();
+    val uncompressedLength = index.getUncompressedLength();
+    val count = Math.max(1, (uncompressedLength + splitSize - 1) / splitSize);
+    val target = uncompressedLength / count;
+
+    val splits = Lists.<IndexedGzipSplit> newArrayList();
+    int first = 0;
+    for (int i = 1; i <= entries.size(); i++) {
+      val last = i == entries.size();
+      val compressedEnd = last ? index.getLength() : entries.get(i).getCompressedOffset();
+      val uncompressedEnd = last ? uncompressedLength : entries.get(i).getUncompressedOffset();
+
+      val start = entries.get(first);
+      if (last || uncompressedEnd - start.getUncompressedOffset() >= target) {
+        val hosts = getHosts(blocks, start.getCompressedOffset());
+        splits.add(new IndexedGzipSplit(path, start.getCompressedOffset(), compressedEnd - start.getCompressedOffset(),
+            hosts, start.getUncompressedOffset(), uncompressedEnd, start.isLineStart()));
+        first = i;
+      }
+    }
+
+    return splits;
+  }
+
+  private static String[] getHosts(BlockLocation[] blocks, long offset) throws IOException {
+    for (val block : blocks) {
+      if (offset >= block.getOffset() && offset < block.getOffset() + block.getLength()) {
+        return block.getHosts();
+      }
+    }
+
+    return new String[] {};
+  }
+
+  /**
+   * Range of members of an indexed gzip file. The start and length are compressed offsets, which is what the
+   * scheduler looks at, while the records are bounded by the uncompressed offsets.
+   */
+  @Getter
+  public static class IndexedGzipSplit extends FileSplit {
+
+    private long uncompressedStart;
+    private long uncompressedEnd;
+    private boolean lineStart;
+
+    protected IndexedGzipSplit() {
+      // For deserialization
+      super();
+    }
+
+    public IndexedGzipSplit(Path file, long start, long length, String[] hosts, long uncompressedStart,
+        long uncompressedEnd, boolean lineStart) {
+      super(file, start, length, hosts);
+      this.uncompressedStart = uncompressedStart;
+      this.uncompressedEnd = uncompressedEnd;
+      this.lineStart = lineStart;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+      super.write(out);
+      out.writeLong(uncompressedStart);
+      out.writeLong(uncompressedEnd);
+      out.writeBoolean(lineStart);
+    }
+
+    @Override
+    public void readFields(DataInput in) throws IOException {
+      super.readFields(in);
+      uncompressedStart = in.readLong();
+      uncompressedEnd = in.readLong();
+      lineStart = in.readBoolean();
+    }
+
+    @Override
+    public String toString() {
+      return super.toString() + "[" + uncompressedStart + "-" + uncompressedEnd + "]";
+    }
+
+  }
+
+  /**
+   * Reads the lines starting within the uncompressed range of an {@link IndexedGzipSplit}. Keys are uncompressed
+   * offsets, so only the first line of a file has the key 0.
+   */
+  public static class IndexedGzipRecordReader implements RecordReader<LongWritable, Text> {
+
+    private final LineReader reader;
+    private final long start;
+    private final long end;
+    private long pos;
+
+    public IndexedGzipRecordReader(@NonNull JobConf job, @NonNull IndexedGzipSplit split) throws IOException {
+      val path = split.getPath();
+      val inputStream = path.getFileSystem(job).open(path);
+      inputStream.seek(split.getStart());
+
+      this.reader = new LineReader(new GzipMemberInputStream(inputStream, split.getStart()), job);
+      this.start = split.getUncompressedStart();
+      this.end = split.getUncompressedEnd();
+      this.pos = start;
+
+      if (!split.isLineStart()) {
+        // Belongs to the previous split
+        pos += reader.readLine(new Text(), 0, Integer.MAX_VALUE);
+      }
+    }
+
+    @Override
+    public boolean next(LongWritable key, Text value) throws IOException {
+      if (pos >= end) {
+        return false;
+      }
+
+      key.set(pos);
+      int n = reader.readLine(value, Integer.MAX_VALUE, Integer.MAX_VALUE);
+      if (n == 0) {
+        return false;
+      }
+
+      pos += n;
+      return true;
+    }
+
+    @Override
+    public LongWritable createKey() {
+      return new LongWritable();
+    }
+
+    @Override
+    public Text createValue() {
+      return new Text();
+    }
+
+    @Override
+    public long getPos() throws IOException {
+      return pos;
+    }
+
+    @Override
+    public float getProgress() throws IOException {
+      return end == start ? 1.0f : Math.min(1.0f, (pos - start) / (float) (end - start));
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+
+  }
+
+}
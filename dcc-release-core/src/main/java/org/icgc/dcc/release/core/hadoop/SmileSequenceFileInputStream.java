@@ -31,6 +31,7 @@ import org.apache.hadoop.io.DataOutputBuffer;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.io.SequenceFile.Reader;
 import org.icgc.dcc.release.core.util.JacksonFactory;
+import org.icgc.dcc.release.core.util.SmileRecords;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -67,7 +68,7 @@ public class SmileSequenceFileInputStream extends InputStream {
 
     val writable = new BytesWritable();
     reader.getCurrentValue(writable);
-    buffer = new Buffer(writable.copyBytes());
+    buffer = new Buffer(writable);
 
     return true;
   }
@@ -82,8 +83,8 @@ public class SmileSequenceFileInputStream extends InputStream {
     private int position = 0;
 
     @SneakyThrows
-    public Buffer(byte[] smileEncodedBytes) {
-      val json = JacksonFactory.SMILE_READER.<ObjectNode> readValue(smileEncodedBytes);
+    public Buffer(BytesWritable smileEncodedBytes) {
+      val json = SmileRecords.<ObjectNode> readValue(JacksonFactory.SMILE_READER, smileEncodedBytes);
       data = JacksonFactory.MAPPER.writeValueAsBytes(json);
     }
 
@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.release.core.job;
 
+import java.util.Set;
+
 /**
  * Represents a logical unit of processing within a workflow.
  */
@@ -24,6 +26,16 @@ public interface Job {
 
   JobType getType();
 
+  /**
+   * File types read by the job. Used to resolve which jobs of a workflow may run concurrently.
+   */
+  Set<FileType> getConsumedFileTypes();
+
+  /**
+   * File types written (or deleted) by the job. Used to resolve which jobs of a workflow may run concurrently.
+   */
+  Set<FileType> getProducedFileTypes();
+
   void execute(JobContext jobContext);
 
 }
@@ -17,8 +17,13 @@
  */
 package org.icgc.dcc.release.core.job;
 
+import java.util.Collections;
+import java.util.List;
+
 import lombok.Value;
 
+import org.icgc.dcc.release.core.task.TaskMetrics;
+
 import com.google.common.base.Stopwatch;
 
 @Value
@@ -27,4 +32,19 @@ public class JobSummary {
   JobType type;
   Stopwatch watch;
 
+  /**
+   * Most expensive tasks of the job.
+   */
+  List<TaskMetrics> topTasks;
+
+  public JobSummary(JobType type, Stopwatch watch) {
+    this(type, watch, Collections.emptyList());
+  }
+
+  public JobSummary(JobType type, Stopwatch watch, List<TaskMetrics> topTasks) {
+    this.type = type;
+    this.watch = watch;
+    this.topTasks = topTasks;
+  }
+
 }
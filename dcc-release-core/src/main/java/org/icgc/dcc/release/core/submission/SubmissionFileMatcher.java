@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.submission;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import lombok.NonNull;
+import lombok.val;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Matches file names against the patterns of all the {@link SubmissionFileSchema}s at once.
+ * <p>
+ * The patterns are combined into a single alternation where each pattern is wrapped into a capturing group, so the
+ * group which participated in the match identifies the schema. Each file type has its own file name pattern, so a file
+ * belongs to one schema at most.
+ */
+final class SubmissionFileMatcher {
+
+  private final List<SubmissionFileSchema> schemas;
+  private final Pattern pattern;
+
+  /**
+   * Index of the group wrapping the pattern of the schema, by schema index.
+   */
+  private final int[] groups;
+
+  SubmissionFileMatcher(@NonNull List<SubmissionFileSchema> schemas) {
+    this.schemas = ImmutableList.copyOf(schemas);
+    this.groups = new int[schemas.size()];
+
+    val regex = new StringBuilder();
+    int group = 1;
+    for (int i = 0; i < schemas.size(); i++) {
+      val schemaPattern = schemas.get(i).getPattern();
+      if (i > 0) {
+        regex.append('|');
+      }
+      regex.append('(').append(schemaPattern).append(')');
+
+      groups[i] = group;
+      group += 1 + Pattern.compile(schemaPattern).matcher("").groupCount();
+    }
+
+    this.pattern = Pattern.compile(regex.toString());
+  }
+
+  Optional<SubmissionFileSchema> match(@NonNull String fileName) {
+    if (schemas.isEmpty()) {
+      return Optional.empty();
+    }
+
+    val matcher = pattern.matcher(fileName);
+    if (!matcher.matches()) {
+      return Optional.empty();
+    }
+
+    for (int i = 0; i < groups.length; i++) {
+      if (matcher.group(groups[i]) != null) {
+        return Optional.of(schemas.get(i));
+      }
+    }
+
+    return Optional.empty();
+  }
+
+}
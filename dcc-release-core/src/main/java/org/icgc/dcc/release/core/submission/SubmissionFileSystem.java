@@ -19,10 +19,19 @@ package org.icgc.dcc.release.core.submission;
 
 import static com.google.common.base.Stopwatch.createStarted;
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.stream.Collectors.toList;
+import static org.icgc.dcc.release.core.task.TaskCheckpoints.MANIFESTS_DIR_NAME;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -31,17 +40,23 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.icgc.dcc.common.core.model.ValueType;
+import org.icgc.dcc.release.core.submission.SubmissionFileIndex.Directory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import com.google.common.collect.ImmutableList;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Table;
 import com.google.common.collect.TreeBasedTable;
 
 /**
  * Service for interacting with the DCC submission file system.
+ * <p>
+ * The release directories are listed level by level with the directories of a level listed concurrently. When an index
+ * path is provided, the listings are persisted there and the listing of a directory is reused by the following runs
+ * until the modification time of the directory changes. Indexed project directories of projects which are not requested
+ * are neither statted nor listed, their listings are carried over for the runs which request them.
  */
 @Slf4j
 @Lazy
@@ -49,12 +64,28 @@ import com.google.common.collect.TreeBasedTable;
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class SubmissionFileSystem {
 
+  /**
+   * Constants.
+   */
+  public static final String INDEX_FILE_NAME = "submission_files.index";
+
+  private static final int LISTING_THREADS = 16;
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   /**
    * Dependencies.
    */
   @NonNull
   private final FileSystem fileSystem;
 
+  /**
+   * Returns the location of the submission files index of the {@code workingDir}. The index is kept with the task
+   * manifests, so it survives the clean up of the working directory.
+   */
+  public static Path getIndexPath(@NonNull String workingDir) {
+    return new Path(new Path(workingDir, MANIFESTS_DIR_NAME), INDEX_FILE_NAME);
+  }
+
   @NonNull
   @SneakyThrows
   public Table<String, String, List<Path>> getFiles(String releaseDir, List<String> projectNames,
@@ -63,27 +94,42 @@ public class SubmissionFileSystem {
   }
 
   @NonNull
-  @SneakyThrows
   public Table<String, String, List<Path>> getFiles(List<String> releaseDirs, List<String> projectNames,
       List<SubmissionFileSchema> metadata) {
+    return getFiles(releaseDirs, projectNames, metadata, Optional.empty());
+  }
+
+  @NonNull
+  public Table<String, String, List<Path>> getFiles(@NonNull List<String> releaseDirs,
+      @NonNull List<String> projectNames, @NonNull List<SubmissionFileSchema> metadata,
+      @NonNull Optional<Path> indexPath) {
     val watch = createStarted();
     log.info("Resolving submission files...");
 
+    val matcher = new SubmissionFileMatcher(metadata);
+    val cached = indexPath.map(this::readIndex).orElseGet(SubmissionFileIndex::new);
+    val index = listDirectories(releaseDirs, projectNames, matcher, cached);
+    indexPath.ifPresent(path -> writeIndex(path, index));
+
     val table = TreeBasedTable.<String, String, List<Path>> create();
-    for (String dir : releaseDirs) {
-      val iterator = fileSystem.listFiles(new Path(dir), true);
-
-      // for every file in the release dir
-      while (iterator.hasNext()) {
-        val status = iterator.next();
-        val path = status.getPath();
-
-        // check to see if the file matches any of the specified filename patterns in the list of supported schemas
-        for (val schema : metadata) {
-          val name = path.getName();
-          if (name.matches(schema.getPattern())) {
-            addFile(projectNames, schema, path, table);
-          }
+    for (val entry : index.getDirectories().entrySet()) {
+      val dir = new Path(entry.getKey());
+      val projectName = dir.getName();
+      if (isTestProject(projectName)) {
+        // Skip test projects
+        continue;
+      }
+
+      if (!projectNames.contains(projectName)) {
+        // Skip unspecified projects
+        continue;
+      }
+
+      // check to see if the file matches any of the specified filename patterns in the list of supported schemas
+      for (val fileName : entry.getValue().getFiles()) {
+        val schema = matcher.match(fileName);
+        if (schema.isPresent()) {
+          addFile(schema.get(), projectName, fileSystem.makeQualified(new Path(dir, fileName)), table);
         }
       }
     }
@@ -92,20 +138,134 @@ public class SubmissionFileSystem {
     return table;
   }
 
-  private void addFile(List<String> projectNames, SubmissionFileSchema schema, Path path,
-      Table<String, String, List<Path>> files) {
-    val schemaName = schema.getName();
-    val projectName = path.getParent().getName();
-    if (isTestProject(projectName)) {
-      // Skip test projects
-      return;
+  @SneakyThrows
+  private SubmissionFileIndex listDirectories(List<String> releaseDirs, List<String> projectNames,
+      SubmissionFileMatcher matcher, SubmissionFileIndex cached) {
+    val index = new SubmissionFileIndex();
+    int reused = 0;
+    int skipped = 0;
+
+    @Cleanup("shutdown")
+    ExecutorService executor = Executors.newFixedThreadPool(LISTING_THREADS);
+    List<Path> level = releaseDirs.stream().map(dir -> normalize(new Path(dir))).collect(toList());
+    while (!level.isEmpty()) {
+      val listings = Maps.<Path, Future<Directory>> newLinkedHashMap();
+      for (val dir : level) {
+        if (!index.getDirectories().containsKey(dir.toString())) {
+          val cachedDirectory = cached.getDirectories().get(dir.toString());
+          listings.put(dir, executor.submit(listDirectory(dir, cachedDirectory)));
+        }
+      }
+
+      List<Path> nextLevel = newArrayList();
+      for (val listing : listings.entrySet()) {
+        val dir = listing.getKey();
+        val directory = listing.getValue().get();
+        if (directory == cached.getDirectories().get(dir.toString())) {
+          reused++;
+        }
+
+        index.getDirectories().put(dir.toString(), directory);
+        for (val subdir : directory.getDirectories()) {
+          val path = new Path(dir, subdir);
+          val cachedDirectory = cached.getDirectories().get(path.toString());
+          if (isUnrequestedProject(path, cachedDirectory, projectNames, matcher)) {
+            retainDirectories(path, cached, index);
+            skipped++;
+          } else {
+            nextLevel.add(path);
+          }
+        }
+      }
+
+      level = nextLevel;
     }
 
-    if (!projectNames.contains(projectName)) {
-      // Skip unspecified projects
-      return;
+    log.info("Indexed {} submission directories ({} unchanged, {} unrequested projects skipped)",
+        index.getDirectories().size(), reused, skipped);
+    return index;
+  }
+
+  private static boolean isUnrequestedProject(Path dir, Directory cachedDirectory, List<String> projectNames,
+      SubmissionFileMatcher matcher) {
+    if (cachedDirectory == null) {
+      // Unknown directories may lead to requested projects
+      return false;
     }
 
+    val projectName = dir.getName();
+    if (projectNames.contains(projectName) && !isTestProject(projectName)) {
+      return false;
+    }
+
+    // Only directories holding submission files are projects
+    return cachedDirectory.getFiles().stream().anyMatch(fileName -> matcher.match(fileName).isPresent());
+  }
+
+  private static void retainDirectories(Path dir, SubmissionFileIndex cached, SubmissionFileIndex index) {
+    val prefix = dir.toString() + Path.SEPARATOR;
+    for (val entry : cached.getDirectories().entrySet()) {
+      val path = entry.getKey();
+      if (path.equals(dir.toString()) || path.startsWith(prefix)) {
+        index.getDirectories().putIfAbsent(path, entry.getValue());
+      }
+    }
+  }
+
+  private Callable<Directory> listDirectory(Path dir, Directory cachedDirectory) {
+    return () -> {
+      // Read before listing, so a concurrent change leaves a stale time behind rather than a stale listing
+      val modificationTime = fileSystem.getFileStatus(dir).getModificationTime();
+      if (cachedDirectory != null && isTracked(modificationTime)
+          && cachedDirectory.getModificationTime() == modificationTime) {
+        return cachedDirectory;
+      }
+
+      List<String> files = newArrayList();
+      List<String> dirs = newArrayList();
+      for (val status : fileSystem.listStatus(dir)) {
+        if (status.isDirectory()) {
+          dirs.add(status.getPath().getName());
+        } else if (status.isFile()) {
+          files.add(status.getPath().getName());
+        }
+      }
+
+      Collections.sort(files);
+      Collections.sort(dirs);
+
+      return new Directory(modificationTime, files, dirs);
+    };
+  }
+
+  @SneakyThrows
+  private SubmissionFileIndex readIndex(Path indexPath) {
+    if (!fileSystem.exists(indexPath)) {
+      return new SubmissionFileIndex();
+    }
+
+    try {
+      @Cleanup
+      val inputStream = fileSystem.open(indexPath);
+
+      return MAPPER.readValue(inputStream, SubmissionFileIndex.class);
+    } catch (Exception e) {
+      log.warn("Could not read submission files index '{}'. Listing all directories: {}", indexPath, e.getMessage());
+      return new SubmissionFileIndex();
+    }
+  }
+
+  @SneakyThrows
+  private void writeIndex(Path indexPath, SubmissionFileIndex index) {
+    log.info("Writing submission files index to '{}'", indexPath);
+    @Cleanup
+    val outputStream = fileSystem.create(indexPath, true);
+    MAPPER.writeValue(outputStream, index);
+  }
+
+  private static void addFile(SubmissionFileSchema schema, String projectName, Path path,
+      Table<String, String, List<Path>> files) {
+    val schemaName = schema.getName();
     List<Path> paths = files.get(schemaName, projectName);
     if (paths == null) {
       paths = newArrayList();
@@ -115,8 +275,18 @@ public class SubmissionFileSystem {
     paths.add(path);
   }
 
+  private static boolean isTracked(long modificationTime) {
+    // File systems which do not track the modification time of directories report 0
+    return modificationTime > 0;
+  }
+
   private static boolean isTestProject(String projectName) {
     return projectName.startsWith("TEST");
   }
 
+  private static Path normalize(Path path) {
+    // Listed paths are qualified while the configured ones are usually not
+    return new Path(path.toUri().getPath());
+  }
+
 }
@@ -17,13 +17,17 @@
  */
 package org.icgc.dcc.release.core.submission;
 
-import static com.google.common.collect.Iterables.toArray;
-import static org.icgc.dcc.common.core.util.Splitters.TAB;
+import lombok.val;
 
 import org.apache.hadoop.fs.Path;
 
 public class SubmissionFiles {
 
+  /**
+   * Constants.
+   */
+  private static final char TAB = '\t';
+
   public static Path getProjectPath(Path projectFilePath) {
     return projectFilePath.getParent();
   }
@@ -32,8 +36,25 @@ public class SubmissionFiles {
     return projectPath.getName();
   }
 
+  /**
+   * Splits {@code line} by tabs straight into an array, without the intermediate collections of a {@code Splitter}.
+   */
   public static String[] parseLine(String line) {
-    return toArray(TAB.split(line), String.class);
+    int count = 1;
+    for (int i = line.indexOf(TAB); i != -1; i = line.indexOf(TAB, i + 1)) {
+      count++;
+    }
+
+    val values = new String[count];
+    int start = 0;
+    for (int i = 0; i < count - 1; i++) {
+      val end = line.indexOf(TAB, start);
+      values[i] = line.substring(start, end);
+      start = end + 1;
+    }
+    values[count - 1] = line.substring(start);
+
+    return values;
   }
 
 }
@@ -18,6 +18,7 @@
 package org.icgc.dcc.release.core.task;
 
 import java.util.Optional;
+import java.util.Set;
 
 import lombok.Getter;
 import lombok.NonNull;
@@ -33,6 +34,8 @@ import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.util.Partitions;
 
+import com.google.common.collect.Sets;
+
 @Slf4j
 @Getter
 @RequiredArgsConstructor
@@ -47,6 +50,19 @@ public class DefaultTaskContext implements TaskContext {
   @NonNull
   private final Optional<String> projectName;
   private final boolean compressOutput;
+  @NonNull
+  private final Optional<TaskCheckpoints> checkpoints;
+
+  /**
+   * State.
+   */
+  private final Set<String> inputs = Sets.newConcurrentHashSet();
+  private final Set<String> outputs = Sets.newConcurrentHashSet();
+
+  public DefaultTaskContext(JobContext jobContext, JavaSparkContext sparkContext, FileSystem fileSystem,
+      Optional<String> projectName, boolean compressOutput) {
+    this(jobContext, sparkContext, fileSystem, projectName, compressOutput, Optional.empty());
+  }
 
   @Override
   public Optional<String> getProjectName() {
@@ -66,10 +82,19 @@ public class DefaultTaskContext implements TaskContext {
   }
 
   @Override
-  @SneakyThrows
   public void delete(FileType fileType) {
     log.info("Deleting {} dir '{}'", fileType, getPath(fileType));
-    fileSystem.delete(new Path(getPath(fileType)), true);
+    delete(getPath(fileType));
+  }
+
+  @Override
+  @SneakyThrows
+  public void delete(String path) {
+    if (checkpoints.isPresent()) {
+      checkpoints.get().delete(jobContext, path);
+    } else {
+      fileSystem.delete(new Path(path), true);
+    }
   }
 
   @Override
@@ -78,4 +103,14 @@ public class DefaultTaskContext implements TaskContext {
     return fileSystem.exists(new Path(getPath(fileType)));
   }
 
-}
\ No newline at end of file
+  @Override
+  public void addInput(@NonNull String path) {
+    inputs.add(path);
+  }
+
+  @Override
+  public void addOutput(@NonNull String path) {
+    outputs.add(path);
+  }
+
+}
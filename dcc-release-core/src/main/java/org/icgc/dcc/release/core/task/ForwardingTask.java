@@ -41,4 +41,9 @@ public class ForwardingTask implements Task {
     return delegate.getType();
   }
 
+  @Override
+  public boolean isCheckpointable() {
+    return delegate.isCheckpointable();
+  }
+
 }
\ No newline at end of file
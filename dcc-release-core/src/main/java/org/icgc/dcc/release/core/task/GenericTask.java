@@ -100,6 +100,7 @@ public abstract class GenericTask implements Task {
 
     val sparkContext = taskContext.getSparkContext();
     val path = taskContext.getPath(inputFileType);
+    taskContext.addInput(path);
     if (!checkExistence(taskContext.getFileSystem(), path)) {
       return taskContext.getSparkContext().emptyRDD();
     }
@@ -124,6 +125,7 @@ public abstract class GenericTask implements Task {
 
     val sparkContext = taskContext.getSparkContext();
     val filePath = taskContext.getPath(inputFileType);
+    taskContext.addInput(filePath);
 
     if (!exists(sparkContext, filePath)) {
       log.debug("{} does not exist. Skipping...", filePath);
@@ -138,6 +140,7 @@ public abstract class GenericTask implements Task {
 
   protected JavaRDD<ObjectNode> readUnpartitionedInput(TaskContext taskContext, FileType inputFileType) {
     val filePath = taskContext.getPath(inputFileType);
+    taskContext.addInput(filePath);
     val sparkContext = taskContext.getSparkContext();
     if (!exists(sparkContext, filePath)) {
       log.debug("{} does not exist. Skipping...", filePath);
@@ -161,6 +164,7 @@ public abstract class GenericTask implements Task {
   protected JavaPairRDD<String, ObjectNode> readUnpartitionedSequenceFileInput(TaskContext taskContext,
       FileType inputFileType) {
     val filePath = taskContext.getPath(inputFileType);
+    taskContext.addInput(filePath);
     val sparkContext = taskContext.getSparkContext();
     if (!exists(sparkContext, filePath)) {
       log.debug("{} does not exist. Skipping...", filePath);
@@ -176,12 +180,14 @@ public abstract class GenericTask implements Task {
 
   protected void writeOutput(TaskContext taskContext, JavaRDD<ObjectNode> processed, FileType outputFileType) {
     val outputPath = taskContext.getPath(outputFileType);
+    taskContext.addOutput(outputPath);
 
     writeOutput(processed, outputPath, taskContext.isCompressOutput());
   }
 
   protected <T> void writeOutput(TaskContext taskContext, JavaRDD<T> processed, FileType outputFileType, Class<T> clazz) {
     val outputPath = taskContext.getPath(outputFileType);
+    taskContext.addOutput(outputPath);
 
     writeOutput(processed, outputPath, taskContext.isCompressOutput(), clazz);
   }
@@ -204,6 +210,7 @@ public abstract class GenericTask implements Task {
   }
 
   protected void writeDocOutput(TaskContext taskContext, JavaRDD<Document> processed, String outputPath) {
+    taskContext.addOutput(outputPath);
     if (taskContext.isCompressOutput()) {
       DocumentRDDs.saveAsSequenceIdObjectNodeFile(processed, outputPath);
     } else {
@@ -219,6 +226,7 @@ public abstract class GenericTask implements Task {
 
     val sparkContext = taskContext.getSparkContext();
     val filePath = taskContext.getPath(inputFileType);
+    taskContext.addInput(filePath);
     if (!exists(sparkContext, filePath)) {
       log.debug("{} does not exist. Skipping...", filePath);
 
@@ -231,6 +239,7 @@ public abstract class GenericTask implements Task {
   private static <T> JavaRDD<T> readAllInput(TaskContext taskContext, JobConf conf, FileType inputFileType,
       Class<T> clazz) {
     val fileTypePath = new Path(taskContext.getJobContext().getWorkingDir(), inputFileType.getDirName());
+    taskContext.addInput(fileTypePath.toString());
     val inputPaths = resolveInputPaths(taskContext, fileTypePath);
 
     return inputPaths.stream()
@@ -251,6 +260,7 @@ public abstract class GenericTask implements Task {
   private static <T> JavaPairRDD<String, T> readAllSequenceFileInput(TaskContext taskContext, JobConf conf,
       FileType inputFileType, Class<T> clazz) {
     val fileTypePath = new Path(taskContext.getJobContext().getWorkingDir(), inputFileType.getDirName());
+    taskContext.addInput(fileTypePath.toString());
     val inputPaths = inputFileType.isPartitioned() ?
         resolveInputPaths(taskContext, fileTypePath) :
         singleton(fileTypePath);
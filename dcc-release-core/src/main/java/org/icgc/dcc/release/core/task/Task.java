@@ -37,6 +37,14 @@ public interface Task {
     return TaskPriority.NORMAL;
   }
 
+  /**
+   * Whether a committed execution of the task may be skipped on restart. Tasks exposing in-memory results to their job
+   * or reading sources outside of the file system must opt out.
+   */
+  default boolean isCheckpointable() {
+    return true;
+  }
+
   void execute(TaskContext taskContext);
 
   static String getName(Class<? extends Task> taskClass, String... info) {
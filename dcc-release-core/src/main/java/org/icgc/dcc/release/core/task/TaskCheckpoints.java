@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.task;
+
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.release.core.job.JobContext;
+import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.TaskManifest.InputFile;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Commits success manifests of executed tasks and resolves which of them may be skipped on restart.
+ * <p>
+ * A manifest records the fingerprints of the inputs read by the task and by the tasks of the same job that completed
+ * before it, so results derived from broadcast state are invalidated together with the files it was built from. A
+ * manifest is valid as long as these fingerprints are unchanged, all the recorded outputs exist and the release and its
+ * projects are the same.
+ * <p>
+ * Input fingerprints are computed once per job and manifests are read once per working directory. Cached fingerprints
+ * are dropped as soon as a task writes or deletes the paths they cover.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TaskCheckpoints {
+
+  /**
+   * Constants.
+   */
+  public static final String MANIFESTS_DIR_NAME = "_manifests";
+  private static final String MANIFEST_EXTENSION = ".json";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final FileSystem fileSystem;
+
+  /**
+   * State.
+   */
+  private final Map<JobType, Set<String>> jobInputs = Maps.newConcurrentMap();
+  private final Map<JobType, Map<String, InputFile>> jobFingerprints = Maps.newConcurrentMap();
+  private final Map<Path, Map<Path, TaskManifest>> manifests = Maps.newConcurrentMap();
+
+  /**
+   * Checks if {@code task} has a valid manifest. Outputs of an invalid manifest are deleted so the task can be
+   * re-executed.
+   */
+  public boolean isCommitted(@NonNull JobContext jobContext, @NonNull Task task) {
+    if (!task.isCheckpointable()) {
+      return false;
+    }
+
+    val manifestPath = getManifestPath(jobContext, task.getName());
+    val manifest = getManifests(jobContext).get(manifestPath);
+    if (manifest == null) {
+      return false;
+    }
+
+    if (!isValid(jobContext, manifest)) {
+      log.info("Manifest of task '{}' is outdated. Deleting its outputs...", task.getName());
+      deleteOutputs(manifest);
+      deleteManifest(jobContext, manifestPath);
+
+      return false;
+    }
+
+    // Skipped tasks still contribute their inputs to the state of the job
+    addJobInputs(jobContext, manifest.getInputs().stream().map(InputFile::getPath).collect(toImmutableList()));
+
+    return true;
+  }
+
+  public void commit(@NonNull JobContext jobContext, @NonNull Task task, Optional<String> projectName,
+      @NonNull Collection<String> inputs, @NonNull Collection<String> outputs) {
+    val allInputs = ImmutableSet.<String> builder()
+        .addAll(getJobInputs(jobContext))
+        .addAll(inputs)
+        .build();
+    addJobInputs(jobContext, inputs);
+
+    if (outputs.isEmpty()) {
+      // Whatever a task writes through custom writers is unknown, so no fingerprint of the job can be trusted anymore
+      jobFingerprints.remove(jobContext.getType());
+    } else {
+      invalidateFingerprints(outputs);
+    }
+
+    if (!task.isCheckpointable() || outputs.isEmpty()) {
+      return;
+    }
+
+    val manifest = new TaskManifest(
+        task.getName(),
+        projectName.orElse(null),
+        jobContext.getReleaseName(),
+        jobContext.getProjectNames(),
+        allInputs.stream().map(input -> getInputFile(jobContext, input)).collect(toImmutableList()),
+        ImmutableSet.copyOf(outputs).asList());
+
+    val manifestPath = getManifestPath(jobContext, task.getName());
+    writeManifest(manifestPath, manifest);
+    getManifests(jobContext).put(manifestPath, manifest);
+  }
+
+  /**
+   * Deletes {@code path} except for the outputs of valid manifests and the manifests themselves.
+   */
+  public void delete(@NonNull JobContext jobContext, @NonNull String path) {
+    val retained = Sets.<Path> newHashSet();
+    retained.add(getManifestsDir(jobContext));
+
+    for (val manifest : getManifests(jobContext).values()) {
+      if (isValid(jobContext, manifest)) {
+        for (val output : manifest.getOutputs()) {
+          retained.add(normalize(new Path(output)));
+        }
+      }
+    }
+
+    delete(normalize(new Path(path)), retained);
+    invalidateFingerprints(ImmutableSet.of(path));
+  }
+
+  @SneakyThrows
+  private void delete(Path path, Set<Path> retained) {
+    if (!fileSystem.exists(path) || retained.contains(path)) {
+      return;
+    }
+
+    if (isAncestor(path, retained)) {
+      for (val status : fileSystem.listStatus(path)) {
+        delete(normalize(status.getPath()), retained);
+      }
+    } else {
+      fileSystem.delete(path, true);
+    }
+  }
+
+  private boolean isValid(JobContext jobContext, TaskManifest manifest) {
+    // Outputs of other releases or project selections must not leak into this execution
+    if (!Objects.equals(jobContext.getReleaseName(), manifest.getReleaseName())
+        || !Objects.equals(jobContext.getProjectNames(), manifest.getReleaseProjectNames())) {
+      return false;
+    }
+
+    for (val output : manifest.getOutputs()) {
+      if (!exists(new Path(output))) {
+        return false;
+      }
+    }
+
+    for (val input : manifest.getInputs()) {
+      if (!input.equals(getInputFile(jobContext, input.getPath()))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private InputFile getInputFile(JobContext jobContext, String path) {
+    return jobFingerprints.computeIfAbsent(jobContext.getType(), type -> Maps.newConcurrentMap())
+        .computeIfAbsent(path, this::fingerprint);
+  }
+
+  @SneakyThrows
+  private InputFile fingerprint(String path) {
+    val inputPath = new Path(path);
+    if (!fileSystem.exists(inputPath)) {
+      return new InputFile(path, -1, -1);
+    }
+
+    long length = 0;
+    long modificationTime = fileSystem.getFileStatus(inputPath).getModificationTime();
+    val files = fileSystem.listFiles(inputPath, true);
+    while (files.hasNext()) {
+      val file = files.next();
+      length += file.getLen();
+      modificationTime = Math.max(modificationTime, file.getModificationTime());
+    }
+
+    return new InputFile(path, length, modificationTime);
+  }
+
+  private void deleteOutputs(TaskManifest manifest) {
+    for (val output : manifest.getOutputs()) {
+      delete(new Path(output));
+    }
+
+    invalidateFingerprints(manifest.getOutputs());
+  }
+
+  /**
+   * Drops the cached fingerprints of all jobs covering, or covered by, the changed {@code paths}.
+   */
+  private void invalidateFingerprints(Collection<String> paths) {
+    val changed = paths.stream().map(path -> normalize(new Path(path)).toString()).collect(toImmutableList());
+    for (val fingerprints : jobFingerprints.values()) {
+      fingerprints.keySet().removeIf(input -> {
+        val inputPath = normalize(new Path(input)).toString();
+
+        return changed.stream().anyMatch(path -> isRelated(inputPath, path));
+      });
+    }
+  }
+
+  private void deleteManifest(JobContext jobContext, Path manifestPath) {
+    delete(manifestPath);
+    getManifests(jobContext).remove(manifestPath);
+  }
+
+  private Map<Path, TaskManifest> getManifests(JobContext jobContext) {
+    return manifests.computeIfAbsent(getManifestsDir(jobContext), this::readManifests);
+  }
+
+  private Set<String> getJobInputs(JobContext jobContext) {
+    return jobInputs.getOrDefault(jobContext.getType(), ImmutableSet.of());
+  }
+
+  private void addJobInputs(JobContext jobContext, Collection<String> inputs) {
+    jobInputs.computeIfAbsent(jobContext.getType(), type -> Sets.newConcurrentHashSet()).addAll(inputs);
+  }
+
+  @SneakyThrows
+  private TaskManifest readManifest(Path manifestPath) {
+    @Cleanup
+    val inputStream = fileSystem.open(manifestPath);
+
+    return MAPPER.readValue(inputStream, TaskManifest.class);
+  }
+
+  @SneakyThrows
+  private Map<Path, TaskManifest> readManifests(Path manifestsDir) {
+    val manifests = Maps.<Path, TaskManifest> newConcurrentMap();
+    if (!exists(manifestsDir)) {
+      return manifests;
+    }
+
+    val files = fileSystem.listFiles(manifestsDir, true);
+    while (files.hasNext()) {
+      val path = normalize(files.next().getPath());
+      if (path.getName().endsWith(MANIFEST_EXTENSION)) {
+        manifests.put(path, readManifest(path));
+      }
+    }
+
+    return manifests;
+  }
+
+  @SneakyThrows
+  private void writeManifest(Path manifestPath, TaskManifest manifest) {
+    log.info("Committing manifest of task '{}' to '{}'", manifest.getTaskName(), manifestPath);
+    @Cleanup
+    val outputStream = fileSystem.create(manifestPath, true);
+    MAPPER.writeValue(outputStream, manifest);
+  }
+
+  @SneakyThrows
+  private boolean exists(Path path) {
+    return fileSystem.exists(path);
+  }
+
+  @SneakyThrows
+  private void delete(Path path) {
+    fileSystem.delete(path, true);
+  }
+
+  private static Path getManifestPath(JobContext jobContext, String taskName) {
+    val jobManifestsDir = new Path(getManifestsDir(jobContext), jobContext.getType().name().toLowerCase());
+
+    return new Path(jobManifestsDir, taskName.replaceAll("[^\\w.=-]", "_") + MANIFEST_EXTENSION);
+  }
+
+  private static Path getManifestsDir(JobContext jobContext) {
+    return normalize(new Path(jobContext.getWorkingDir(), MANIFESTS_DIR_NAME));
+  }
+
+  private static boolean isRelated(String path, String otherPath) {
+    return path.equals(otherPath)
+        || path.startsWith(otherPath + Path.SEPARATOR)
+        || otherPath.startsWith(path + Path.SEPARATOR);
+  }
+
+  private static boolean isAncestor(Path path, Set<Path> paths) {
+    val prefix = path.toString() + Path.SEPARATOR;
+
+    return paths.stream().anyMatch(p -> p.toString().startsWith(prefix));
+  }
+
+  private static Path normalize(Path path) {
+    // Listed paths are qualified while the recorded ones are usually not
+    return new Path(path.toUri().getPath());
+  }
+
+}
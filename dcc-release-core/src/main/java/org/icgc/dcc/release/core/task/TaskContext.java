@@ -38,8 +38,20 @@ public interface TaskContext {
 
   void delete(FileType fileType);
 
+  void delete(String path);
+
   boolean exists(FileType fileType);
 
   boolean isCompressOutput();
 
+  /**
+   * Records {@code path} as read by the executing task.
+   */
+  void addInput(String path);
+
+  /**
+   * Records {@code path} as written by the executing task.
+   */
+  void addOutput(String path);
+
 }
\ No newline at end of file
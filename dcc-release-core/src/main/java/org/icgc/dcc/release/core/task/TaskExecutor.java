@@ -19,8 +19,11 @@ package org.icgc.dcc.release.core.task;
 
 import static com.google.common.base.Stopwatch.createStarted;
 import static com.google.common.base.Throwables.propagate;
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.CompletionService;
@@ -37,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.icgc.dcc.release.core.job.JobContext;
+import org.icgc.dcc.release.core.job.JobType;
 
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
@@ -55,6 +59,19 @@ public class TaskExecutor {
   protected final JavaSparkContext sparkContext;
   @NonNull
   protected final FileSystem fileSystem;
+  @NonNull
+  protected final Optional<TaskCheckpoints> checkpoints;
+  @NonNull
+  protected final Optional<TaskMetricsCollector> metrics;
+
+  public TaskExecutor(ExecutorService executor, JavaSparkContext sparkContext, FileSystem fileSystem) {
+    this(executor, sparkContext, fileSystem, Optional.empty());
+  }
+
+  public TaskExecutor(ExecutorService executor, JavaSparkContext sparkContext, FileSystem fileSystem,
+      Optional<TaskCheckpoints> checkpoints) {
+    this(executor, sparkContext, fileSystem, checkpoints, Optional.empty());
+  }
 
   public void execute(@NonNull JobContext jobContext, Collection<? extends Task> tasks) {
     execute(jobContext, tasks, true);
@@ -64,6 +81,19 @@ public class TaskExecutor {
     execute(jobContext, tasks, false);
   }
 
+  /**
+   * Reports the metrics of the tasks of the job executed so far, if metrics are collected.
+   * 
+   * @return the task metrics, most expensive tasks first
+   */
+  public List<TaskMetrics> report(@NonNull JobContext jobContext) {
+    if (!metrics.isPresent()) {
+      return emptyList();
+    }
+
+    return metrics.get().report(jobContext.getType(), jobContext.getWorkingDir());
+  }
+
   public void shutdown() {
     log.info("Cancelling all tasks...");
     sparkContext.cancelAllJobs();
@@ -92,6 +122,11 @@ public class TaskExecutor {
     for (val entry : submitTasks) {
       val task = entry.getKey();
       val projectName = entry.getValue();
+      if (isCommitted(jobContext, task)) {
+        log.info("Skipping task '{}' committed by a previous execution", task.getName());
+        continue;
+      }
+
       submitTask(service, jobContext, task, projectName);
       taskCount++;
 
@@ -128,39 +163,79 @@ public class TaskExecutor {
       Optional<String> projectName) {
     log.info("Submitting '{}' task...", task.getName());
     val taskContext = createTaskContext(jobContext, projectName);
+    val jobGroup = resolveJobGroup(jobContext.getType(), task);
 
     // Submit async
     service.submit(() -> {
       Stopwatch watch = createStarted();
-      prepareSubmission(task);
+      prepareSubmission(jobContext, task, jobGroup);
+      startMetrics(jobContext, task, projectName, jobGroup);
 
       try {
         task.execute(taskContext);
       } catch (Exception e) {
         log.error("Failed to execute task '{}'", task.getName());
         throw e;
+      } finally {
+        finishMetrics(jobGroup, watch);
       }
 
+      commit(jobContext, task, taskContext);
+
       return task.getName() + " - " + watch;
     });
   }
 
-  private void prepareSubmission(Task task) {
+  private void prepareSubmission(JobContext jobContext, Task task, String jobGroup) {
     val interrupt = true;
     val description = "Task of type " + task.getType();
 
-    sparkContext.setJobGroup(task.getName(), description, interrupt);
-    setPriority(task.getPriority());
+    sparkContext.setJobGroup(jobGroup, description, interrupt);
+    setPool(jobContext.getType(), task.getPriority());
   }
 
-  private void setPriority(TaskPriority priority) {
+  private static String resolveJobGroup(JobType jobType, Task task) {
+    // Concurrent jobs may run tasks of the same name, so the job group is qualified to keep their metrics apart
+    return jobType.name().toLowerCase() + "/" + task.getName();
+  }
+
+  private void setPool(JobType jobType, TaskPriority priority) {
     // This setting is thread local. It will be visible only to the current task.
     // See http://spark.apache.org/docs/latest/job-scheduling.html#fair-scheduler-pools
-    sparkContext.setLocalProperty("spark.scheduler.pool", priority.getPool());
+    sparkContext.setLocalProperty("spark.scheduler.pool", resolvePool(jobType, priority));
+  }
+
+  private static String resolvePool(JobType jobType, TaskPriority priority) {
+    // Jobs of a workflow may run concurrently, so each one gets a pool of its own to share the cluster fairly
+    return priority.getPool() == null ? jobType.name().toLowerCase() : priority.getPool();
+  }
+
+  private boolean isCommitted(JobContext jobContext, Task task) {
+    return checkpoints.isPresent() && checkpoints.get().isCommitted(jobContext, task);
+  }
+
+  private void commit(JobContext jobContext, Task task, DefaultTaskContext taskContext) {
+    if (checkpoints.isPresent()) {
+      checkpoints.get().commit(jobContext, task, taskContext.getProjectName(), taskContext.getInputs(),
+          taskContext.getOutputs());
+    }
+  }
+
+  private void startMetrics(JobContext jobContext, Task task, Optional<String> projectName, String jobGroup) {
+    if (metrics.isPresent()) {
+      metrics.get().start(jobGroup, jobContext.getType(), task, projectName);
+    }
+  }
+
+  private void finishMetrics(String jobGroup, Stopwatch watch) {
+    if (metrics.isPresent()) {
+      metrics.get().finish(jobGroup, watch.elapsed(MILLISECONDS));
+    }
   }
 
-  private TaskContext createTaskContext(JobContext jobContext, Optional<String> projectName) {
-    return new DefaultTaskContext(jobContext, sparkContext, fileSystem, projectName, jobContext.isCompressOutput());
+  private DefaultTaskContext createTaskContext(JobContext jobContext, Optional<String> projectName) {
+    return new DefaultTaskContext(jobContext, sparkContext, fileSystem, projectName, jobContext.isCompressOutput(),
+        checkpoints);
   }
 
   private ExecutorCompletionService<String> createCompletionService() {
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.task;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.val;
+
+import org.icgc.dcc.release.core.job.JobType;
+
+/**
+ * Execution metrics of a task, aggregated over all the Spark tasks of the Spark jobs it submitted.
+ */
+@Data
+@NoArgsConstructor
+public class TaskMetrics {
+
+  private JobType jobType;
+  private String taskName;
+  private String projectName;
+
+  /**
+   * Wall time of the task execution in milliseconds.
+   */
+  private long wallTime;
+
+  /**
+   * Sum of the executor run times of the Spark tasks in milliseconds.
+   */
+  private long executorRunTime;
+  private int stageCount;
+  private int sparkTaskCount;
+  private int failedSparkTaskCount;
+
+  private long recordsRead;
+  private long recordsWritten;
+  private long bytesRead;
+  private long bytesWritten;
+  private long shuffleBytesRead;
+  private long shuffleBytesWritten;
+  private long memoryBytesSpilled;
+  private long diskBytesSpilled;
+
+  public TaskMetrics(@NonNull JobType jobType, @NonNull String taskName, String projectName) {
+    this.jobType = jobType;
+    this.taskName = taskName;
+    this.projectName = projectName;
+  }
+
+  synchronized void addStage() {
+    stageCount++;
+  }
+
+  synchronized void addSparkTask(org.apache.spark.executor.TaskMetrics metrics, boolean successful) {
+    sparkTaskCount++;
+    if (!successful) {
+      failedSparkTaskCount++;
+    }
+
+    executorRunTime += metrics.executorRunTime();
+    memoryBytesSpilled += metrics.memoryBytesSpilled();
+    diskBytesSpilled += metrics.diskBytesSpilled();
+
+    if (metrics.inputMetrics().isDefined()) {
+      val input = metrics.inputMetrics().get();
+      recordsRead += input.recordsRead();
+      bytesRead += input.bytesRead();
+    }
+    if (metrics.outputMetrics().isDefined()) {
+      val output = metrics.outputMetrics().get();
+      recordsWritten += output.recordsWritten();
+      bytesWritten += output.bytesWritten();
+    }
+    if (metrics.shuffleReadMetrics().isDefined()) {
+      shuffleBytesRead += metrics.shuffleReadMetrics().get().totalBytesRead();
+    }
+    if (metrics.shuffleWriteMetrics().isDefined()) {
+      shuffleBytesWritten += metrics.shuffleWriteMetrics().get().shuffleBytesWritten();
+    }
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.task;
+
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.reverseOrder;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.JavaSparkListener;
+import org.apache.spark.scheduler.SparkListenerStageCompleted;
+import org.apache.spark.scheduler.SparkListenerStageSubmitted;
+import org.apache.spark.scheduler.SparkListenerTaskEnd;
+import org.icgc.dcc.release.core.job.JobType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Maps;
+
+/**
+ * Collects the {@link TaskMetrics} of the tasks submitted by the {@link TaskExecutor}.
+ * <p>
+ * Every task runs its Spark jobs in a job group of its own. The collector maps the stages of these jobs back to the
+ * task through the job group property and aggregates the metrics of their Spark tasks. Note that the Spark listener
+ * bus is asynchronous, so the metrics of the very last Spark tasks may be reported shortly after the task finished.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TaskMetricsCollector extends JavaSparkListener {
+
+  /**
+   * Constants.
+   */
+  public static final String METRICS_DIR_NAME = "_metrics";
+  private static final String JOB_GROUP_PROPERTY = "spark.jobGroup.id";
+  private static final String REPORT_EXTENSION = ".json";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final FileSystem fileSystem;
+
+  /**
+   * State.
+   */
+  private final Map<String, TaskMetrics> jobGroupMetrics = Maps.newConcurrentMap();
+  private final Map<Integer, TaskMetrics> stageMetrics = Maps.newConcurrentMap();
+
+  public void start(@NonNull String jobGroup, @NonNull JobType jobType, @NonNull Task task,
+      @NonNull Optional<String> projectName) {
+    jobGroupMetrics.put(jobGroup, new TaskMetrics(jobType, task.getName(), projectName.orElse(null)));
+  }
+
+  public void finish(@NonNull String jobGroup, long wallTime) {
+    val metrics = jobGroupMetrics.get(jobGroup);
+    if (metrics != null) {
+      metrics.setWallTime(wallTime);
+    }
+  }
+
+  /**
+   * Writes the metrics of the tasks of the {@code jobType} executed so far to
+   * {@code <workingDir>/_metrics/<jobtype>.json} and stops tracking them.
+   * 
+   * @return the reported metrics, most expensive tasks first
+   */
+  public List<TaskMetrics> report(@NonNull JobType jobType, @NonNull String workingDir) {
+    val metrics = jobGroupMetrics.values().stream()
+        .filter(m -> m.getJobType() == jobType)
+        .sorted(comparing(TaskMetrics::getWallTime, reverseOrder()))
+        .collect(toImmutableList());
+
+    jobGroupMetrics.values().removeAll(metrics);
+    writeReport(getReportPath(jobType, workingDir), metrics);
+
+    return metrics;
+  }
+
+  @Override
+  public void onStageSubmitted(SparkListenerStageSubmitted stageSubmitted) {
+    val properties = stageSubmitted.properties();
+    if (properties == null) {
+      return;
+    }
+
+    val jobGroup = properties.getProperty(JOB_GROUP_PROPERTY);
+    val metrics = jobGroup == null ? null : jobGroupMetrics.get(jobGroup);
+    if (metrics == null) {
+      return;
+    }
+
+    metrics.addStage();
+    stageMetrics.put(stageSubmitted.stageInfo().stageId(), metrics);
+  }
+
+  @Override
+  public void onTaskEnd(SparkListenerTaskEnd taskEnd) {
+    val metrics = stageMetrics.get(taskEnd.stageId());
+    if (metrics == null || taskEnd.taskMetrics() == null) {
+      return;
+    }
+
+    metrics.addSparkTask(taskEnd.taskMetrics(), taskEnd.taskInfo().successful());
+  }
+
+  @Override
+  public void onStageCompleted(SparkListenerStageCompleted stageCompleted) {
+    stageMetrics.remove(stageCompleted.stageInfo().stageId());
+  }
+
+  @SneakyThrows
+  private void writeReport(Path reportPath, List<TaskMetrics> metrics) {
+    log.info("Writing metrics of {} task(s) to '{}'", metrics.size(), reportPath);
+    @Cleanup
+    val outputStream = fileSystem.create(reportPath, true);
+    MAPPER.writerWithDefaultPrettyPrinter().writeValue(outputStream, metrics);
+  }
+
+  private static Path getReportPath(JobType jobType, String workingDir) {
+    return new Path(new Path(workingDir, METRICS_DIR_NAME), jobType.name().toLowerCase() + REPORT_EXTENSION);
+  }
+
+}
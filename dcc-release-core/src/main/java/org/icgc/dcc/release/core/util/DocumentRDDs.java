@@ -19,12 +19,12 @@ package org.icgc.dcc.release.core.util;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static lombok.AccessLevel.PRIVATE;
 import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_READER;
 import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_WRITER;
 import static org.icgc.dcc.release.core.util.ObjectNodes.MAPPER;
 import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
+import static org.icgc.dcc.release.core.util.SmileRecords.readValue;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -78,8 +78,8 @@ public final class DocumentRDDs {
 
   private static PairFunction<Tuple2<Text, BytesWritable>, String, ObjectNode> convertToIdAndSource() {
     return tuple -> {
-      String documentId = new String(tuple._1.copyBytes(), UTF_8);
-      ObjectNode value = (ObjectNode) SMILE_READER.readValue(tuple._2.copyBytes());
+      String documentId = tuple._1.toString();
+      ObjectNode value = readValue(SMILE_READER, tuple._2);
 
       return tuple(documentId, value);
     };
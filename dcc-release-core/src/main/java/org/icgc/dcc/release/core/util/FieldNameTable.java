@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.util;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.io.Resources.getResource;
+import static com.google.common.io.Resources.readLines;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A fixed table of the field names shared by the records of the release, so that serializers can write a small id
+ * instead of the name itself.
+ * <p>
+ * The table is bundled with the code, so the ids are the same for every executor of an application. Ids must not be
+ * persisted beyond the lifetime of an application.
+ */
+public final class FieldNameTable {
+
+  /**
+   * Constants.
+   */
+  public static final int UNKNOWN_ID = -1;
+  private static final String DEFAULT_FIELD_NAMES = "kryo/field-names.txt";
+  private static final FieldNameTable DEFAULT = new FieldNameTable(readFieldNames());
+
+  /**
+   * State.
+   */
+  private final List<String> names;
+  private final Map<String, Integer> ids;
+
+  public FieldNameTable(@NonNull List<String> names) {
+    this.names = ImmutableList.copyOf(names);
+
+    val ids = ImmutableMap.<String, Integer> builder();
+    for (int id = 0; id < names.size(); id++) {
+      ids.put(names.get(id), id);
+    }
+
+    this.ids = ids.build();
+  }
+
+  public static FieldNameTable getDefault() {
+    return DEFAULT;
+  }
+
+  public int getId(@NonNull String name) {
+    val id = ids.get(name);
+
+    return id == null ? UNKNOWN_ID : id;
+  }
+
+  public String getName(int id) {
+    checkArgument(id >= 0 && id < names.size(), "Unknown field name id %s", id);
+
+    return names.get(id);
+  }
+
+  @SneakyThrows
+  private static List<String> readFieldNames() {
+    return readLines(getResource(DEFAULT_FIELD_NAMES), UTF_8);
+  }
+
+}
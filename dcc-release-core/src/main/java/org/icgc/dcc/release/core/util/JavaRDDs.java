@@ -48,6 +48,7 @@ import org.icgc.dcc.common.hadoop.fs.FileSystems;
 import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
 import org.icgc.dcc.release.core.hadoop.CombineSequenceInputFormat;
 import org.icgc.dcc.release.core.hadoop.CombineTextInputFormat;
+import org.icgc.dcc.release.core.hadoop.IndexedGzipInputFormat;
 import org.slf4j.Logger;
 
 @Slf4j
@@ -68,6 +69,20 @@ public final class JavaRDDs {
     return (JavaHadoopRDD<LongWritable, Text>) hadoopRDD;
   }
 
+  /**
+   * Same as {@link #textFile(JavaSparkContext, String, JobConf)}, but splits the gzip files indexed in
+   * {@link IndexedGzipInputFormat#INDEX_DIR_PROPERTY}.
+   */
+  @NonNull
+  public static JavaHadoopRDD<LongWritable, Text> indexedTextFile(JavaSparkContext sparkContext, String paths,
+      JobConf conf) {
+    IndexedGzipInputFormat.setInputPaths(conf, paths);
+    val hadoopRDD = sparkContext.hadoopRDD(conf, IndexedGzipInputFormat.class, LongWritable.class, Text.class,
+        sparkContext.defaultMinPartitions());
+
+    return (JavaHadoopRDD<LongWritable, Text>) hadoopRDD;
+  }
+
   @NonNull
   public static <K, V> JavaHadoopRDD<K, V> sequenceFile(JavaSparkContext sparkContext, String paths,
       Class<K> keyClass, Class<V> valueClass) {
@@ -18,6 +18,7 @@
 package org.icgc.dcc.release.core.util;
 
 import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_READER;
+import static org.icgc.dcc.release.core.util.SmileRecords.readValue;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -31,7 +32,6 @@ import org.apache.spark.api.java.JavaSparkContext;
 import org.icgc.dcc.release.core.function.FormatObjectNode;
 import org.icgc.dcc.release.core.function.ParseObjectNode;
 
-import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -64,18 +64,14 @@ public final class ObjectNodeRDDs {
   @NonNull
   public static JavaRDD<ObjectNode> sequenceObjectNodeFile(JavaSparkContext sparkContext, String path, JobConf conf) {
     return JavaRDDs.sequenceFile(sparkContext, path, NullWritable.class, BytesWritable.class)
-        .map(tuple -> SMILE_READER.readValue(tuple._2.copyBytes()));
+        .map(tuple -> readValue(SMILE_READER, tuple._2));
   }
 
   public static <T> JavaRDD<T> sequenceObjectNodeFile(JavaSparkContext sparkContext, String path, JobConf conf,
       Class<T> clazz) {
 
     return JavaRDDs.sequenceFile(sparkContext, path, NullWritable.class, BytesWritable.class)
-        .map(tuple -> {
-          ObjectReader reader = JacksonFactory.SMILE_MAPPER.reader(clazz);
-
-          return reader.readValue(tuple._2.copyBytes());
-        });
+        .map(new ReadSequenceFile<T>(clazz));
   }
 
   @NonNull
@@ -93,7 +89,7 @@ public final class ObjectNodeRDDs {
   public static JavaRDD<ObjectNode> combineObjectNodeSequenceFile(@NonNull JavaSparkContext sparkContext,
       @NonNull String paths, @NonNull JobConf conf) {
     return JavaRDDs.combineSequenceFile(sparkContext, paths, conf)
-        .map(tuple -> SMILE_READER.readValue(tuple._2.copyBytes()));
+        .map(tuple -> readValue(SMILE_READER, tuple._2));
   }
 
   public static void saveAsTextObjectNodeFile(@NonNull JavaRDD<ObjectNode> rdd, @NonNull String path) {
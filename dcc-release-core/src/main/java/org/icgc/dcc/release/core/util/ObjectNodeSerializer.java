@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.util;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.release.core.util.FieldNameTable.UNKNOWN_ID;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BigIntegerNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.FloatNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.LongNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.ShortNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+/**
+ * Kryo serializer of {@link ObjectNode}s which writes the field names known to a {@link FieldNameTable} as ids.
+ * <p>
+ * Unlike {@link SmileSerializer}, which repeats every field name of every record, only the names missing from the table
+ * are written in full.
+ */
+@RequiredArgsConstructor
+public final class ObjectNodeSerializer extends Serializer<ObjectNode> {
+
+  /**
+   * Constants.
+   */
+  private static final JsonNodeFactory NODE_FACTORY = JsonNodeFactory.instance;
+
+  private static final int NULL_VALUE = 0;
+  private static final int FALSE_VALUE = 1;
+  private static final int TRUE_VALUE = 2;
+  private static final int SHORT_VALUE = 3;
+  private static final int INT_VALUE = 4;
+  private static final int LONG_VALUE = 5;
+  private static final int BIG_INTEGER_VALUE = 6;
+  private static final int FLOAT_VALUE = 7;
+  private static final int DOUBLE_VALUE = 8;
+  private static final int DECIMAL_VALUE = 9;
+  private static final int TEXT_VALUE = 10;
+  private static final int BINARY_VALUE = 11;
+  private static final int ARRAY_VALUE = 12;
+  private static final int OBJECT_VALUE = 13;
+
+  /**
+   * Field names with an id of 0 are written in full.
+   */
+  private static final int INLINE_NAME = 0;
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final FieldNameTable fieldNames;
+
+  public ObjectNodeSerializer() {
+    this(FieldNameTable.getDefault());
+  }
+
+  @Override
+  public void write(Kryo kryo, Output output, ObjectNode object) {
+    if (object == null) {
+      output.writeVarInt(NULL_VALUE, true);
+    } else {
+      writeObject(output, object);
+    }
+  }
+
+  @Override
+  public ObjectNode read(Kryo kryo, Input input, Class<ObjectNode> type) {
+    val valueType = input.readVarInt(true);
+    if (valueType == NULL_VALUE) {
+      return null;
+    }
+
+    checkState(valueType == OBJECT_VALUE, "Expected an object but found value type %s", valueType);
+
+    return readObject(input);
+  }
+
+  private void writeObject(Output output, ObjectNode object) {
+    output.writeVarInt(OBJECT_VALUE, true);
+    output.writeVarInt(object.size(), true);
+
+    val fields = object.fields();
+    while (fields.hasNext()) {
+      val field = fields.next();
+      writeFieldName(output, field.getKey());
+      writeNode(output, field.getValue());
+    }
+  }
+
+  private void writeFieldName(Output output, String name) {
+    val id = fieldNames.getId(name);
+    if (id == UNKNOWN_ID) {
+      output.writeVarInt(INLINE_NAME, true);
+      output.writeString(name);
+    } else {
+      output.writeVarInt(id + 1, true);
+    }
+  }
+
+  private void writeNode(Output output, JsonNode node) {
+    switch (node.getNodeType()) {
+    case NULL:
+      output.writeVarInt(NULL_VALUE, true);
+      break;
+    case BOOLEAN:
+      output.writeVarInt(node.booleanValue() ? TRUE_VALUE : FALSE_VALUE, true);
+      break;
+    case NUMBER:
+      writeNumber(output, node);
+      break;
+    case STRING:
+      output.writeVarInt(TEXT_VALUE, true);
+      output.writeString(node.textValue());
+      break;
+    case BINARY:
+      val bytes = ((BinaryNode) node).binaryValue();
+      output.writeVarInt(BINARY_VALUE, true);
+      output.writeVarInt(bytes.length, true);
+      output.writeBytes(bytes);
+      break;
+    case ARRAY:
+      output.writeVarInt(ARRAY_VALUE, true);
+      output.writeVarInt(node.size(), true);
+      for (val element : node) {
+        writeNode(output, element);
+      }
+      break;
+    case OBJECT:
+      writeObject(output, (ObjectNode) node);
+      break;
+    default:
+      throw new IllegalStateException("Unsupported node type " + node.getNodeType() + " of " + node);
+    }
+  }
+
+  private static void writeNumber(Output output, JsonNode node) {
+    if (node.isShort()) {
+      output.writeVarInt(SHORT_VALUE, true);
+      output.writeShort(node.shortValue());
+    } else if (node.isInt()) {
+      output.writeVarInt(INT_VALUE, true);
+      output.writeVarInt(node.intValue(), false);
+    } else if (node.isLong()) {
+      output.writeVarInt(LONG_VALUE, true);
+      output.writeVarLong(node.longValue(), false);
+    } else if (node.isBigInteger()) {
+      output.writeVarInt(BIG_INTEGER_VALUE, true);
+      output.writeString(node.bigIntegerValue().toString());
+    } else if (node.isFloat()) {
+      output.writeVarInt(FLOAT_VALUE, true);
+      output.writeFloat(node.floatValue());
+    } else if (node.isDouble()) {
+      output.writeVarInt(DOUBLE_VALUE, true);
+      output.writeDouble(node.doubleValue());
+    } else {
+      output.writeVarInt(DECIMAL_VALUE, true);
+      output.writeString(node.decimalValue().toString());
+    }
+  }
+
+  private ObjectNode readObject(Input input) {
+    val object = NODE_FACTORY.objectNode();
+    val size = input.readVarInt(true);
+    for (int i = 0; i < size; i++) {
+      val name = readFieldName(input);
+      object.set(name, readNode(input));
+    }
+
+    return object;
+  }
+
+  private String readFieldName(Input input) {
+    val id = input.readVarInt(true);
+
+    return id == INLINE_NAME ? input.readString() : fieldNames.getName(id - 1);
+  }
+
+  private JsonNode readNode(Input input) {
+    val valueType = input.readVarInt(true);
+    switch (valueType) {
+    case NULL_VALUE:
+      return NullNode.getInstance();
+    case FALSE_VALUE:
+      return BooleanNode.FALSE;
+    case TRUE_VALUE:
+      return BooleanNode.TRUE;
+    case SHORT_VALUE:
+      return ShortNode.valueOf(input.readShort());
+    case INT_VALUE:
+      return IntNode.valueOf(input.readVarInt(false));
+    case LONG_VALUE:
+      return LongNode.valueOf(input.readVarLong(false));
+    case BIG_INTEGER_VALUE:
+      return BigIntegerNode.valueOf(new BigInteger(input.readString()));
+    case FLOAT_VALUE:
+      return FloatNode.valueOf(input.readFloat());
+    case DOUBLE_VALUE:
+      return DoubleNode.valueOf(input.readDouble());
+    case DECIMAL_VALUE:
+      return DecimalNode.valueOf(new BigDecimal(input.readString()));
+    case TEXT_VALUE:
+      return TextNode.valueOf(input.readString());
+    case BINARY_VALUE:
+      return BinaryNode.valueOf(input.readBytes(input.readVarInt(true)));
+    case ARRAY_VALUE:
+      return readArray(input);
+    case OBJECT_VALUE:
+      return readObject(input);
+    default:
+      throw new IllegalStateException("Unknown value type " + valueType);
+    }
+  }
+
+  private JsonNode readArray(Input input) {
+    val array = NODE_FACTORY.arrayNode();
+    val size = input.readVarInt(true);
+    for (int i = 0; i < size; i++) {
+      array.add(readNode(input));
+    }
+
+    return array;
+  }
+
+}
@@ -18,6 +18,7 @@
 package org.icgc.dcc.release.core.util;
 
 import static org.icgc.dcc.release.core.util.JacksonFactory.createSmileObjectReader;
+import static org.icgc.dcc.release.core.util.SmileRecords.readValue;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
 import lombok.NonNull;
 import lombok.val;
@@ -45,7 +46,7 @@ public final class ReadKeySequenceFile<T> implements
     checkReader();
 
     val key = tuple._1.toString();
-    T value = reader.readValue(tuple._2.copyBytes());
+    T value = readValue(reader, tuple._2);
 
     return tuple(key, value);
   }
@@ -18,6 +18,7 @@
 package org.icgc.dcc.release.core.util;
 
 import static org.icgc.dcc.release.core.util.JacksonFactory.createSmileObjectReader;
+import static org.icgc.dcc.release.core.util.SmileRecords.readValue;
 import lombok.NonNull;
 
 import org.apache.hadoop.io.BytesWritable;
@@ -41,7 +42,7 @@ public final class ReadSequenceFile<T> implements Function<Tuple2<NullWritable,
   public T call(Tuple2<NullWritable, BytesWritable> tuple) throws Exception {
     checkReader();
 
-    return reader.readValue(tuple._2.copyBytes());
+    return readValue(reader, tuple._2);
   }
 
   private void checkReader() {
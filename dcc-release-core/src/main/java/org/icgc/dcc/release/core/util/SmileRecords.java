@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.util;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.IOException;
+
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+import org.apache.hadoop.io.BytesWritable;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Reads Smile encoded sequence file records.
+ * <p>
+ * Parses directly from the valid region of the {@link BytesWritable} backing array instead of
+ * {@link BytesWritable#copyBytes()}, which allocates a copy of every record. This is safe even though Hadoop reuses
+ * the writable between records because the value is fully materialized before the next record is read.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class SmileRecords {
+
+  public static <T> T readValue(@NonNull ObjectReader reader, @NonNull BytesWritable bytes) throws IOException {
+    return reader.readValue(bytes.getBytes(), 0, bytes.getLength());
+  }
+
+}
@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.icgc.dcc.common.core.util.Separators.TAB;
 import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_READER;
+import static org.icgc.dcc.release.core.util.SmileRecords.readValue;
 
 import java.io.BufferedWriter;
 import java.io.File;
@@ -79,7 +80,7 @@ public class SmileSequenceFileDecompressor {
     while (reader.next(key, value)) {
       out.write(key.toString());
       out.write(TAB);
-      val node = SMILE_READER.readValue(value.copyBytes());
+      val node = readValue(SMILE_READER, value);
       out.write(node.toString());
       out.newLine();
     }
@@ -89,7 +90,7 @@ public class SmileSequenceFileDecompressor {
     val key = NullWritable.get();
     val value = new BytesWritable();
     while (reader.next(key, value)) {
-      val node = SMILE_READER.readValue(value.copyBytes());
+      val node = readValue(SMILE_READER, value);
       out.write(node.toString());
       out.newLine();
     }
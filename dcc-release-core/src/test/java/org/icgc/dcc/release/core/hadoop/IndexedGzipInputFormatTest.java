@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.hadoop;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.Cleanup;
+import lombok.val;
+
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.JobConf;
+import org.icgc.dcc.release.core.hadoop.IndexedGzipInputFormat.IndexedGzipRecordReader;
+import org.icgc.dcc.release.core.hadoop.IndexedGzipInputFormat.IndexedGzipSplit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.io.CountingInputStream;
+
+public class IndexedGzipInputFormatTest {
+
+  /**
+   * Constants.
+   */
+  private static final int LINE_COUNT = 50000;
+  private static final int MEMBER_SIZE = 10000;
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Test
+  public void testSplits() throws IOException {
+    val text = createText();
+    val file = createMultiMemberFile(text);
+
+    @Cleanup
+    val inputStream = new FileInputStream(file);
+    val index = GzipIndex.build(inputStream, 0);
+    index.setLength(file.length());
+
+    assertThat(index.getUncompressedLength()).isEqualTo(text.length);
+    assertThat(index.getEntries()).hasSize((text.length + MEMBER_SIZE - 1) / MEMBER_SIZE);
+
+    val splits = IndexedGzipInputFormat.createSplits(new Path(file.getAbsolutePath()), index, 100000,
+        new BlockLocation[] {});
+    assertThat(splits.size()).isGreaterThan(1);
+
+    val lines = Lists.<String> newArrayList();
+    val keys = Lists.<Long> newArrayList();
+    for (val split : splits) {
+      readSplit(split, lines, keys);
+    }
+
+    assertThat(lines).hasSize(LINE_COUNT);
+    for (int i = 0; i < LINE_COUNT; i++) {
+      assertThat(lines.get(i)).isEqualTo(createLine(i));
+    }
+
+    assertThat(keys.get(0)).isEqualTo(0L);
+    assertThat(keys.subList(1, keys.size())).doesNotContain(0L);
+  }
+
+  @Test
+  public void testSplitsCarriageReturn() throws IOException {
+    // Lines alternately end with "\r\n" and '\r'
+    val text = new StringBuilder();
+    val boundaries = Lists.<Integer> newArrayList();
+    for (int i = 0; i < LINE_COUNT; i++) {
+      text.append(createLine(i)).append('\r');
+      if (i % 100 == 0 || i % 100 == 1) {
+        // Members end between '\r' and '\n' or after a lone '\r'
+        boundaries.add(text.length());
+      }
+      if (i % 2 == 0) {
+        text.append('\n');
+      }
+    }
+
+    val file = createMultiMemberFile(text.toString().getBytes(UTF_8), boundaries);
+
+    @Cleanup
+    val inputStream = new FileInputStream(file);
+    val index = GzipIndex.build(inputStream, 0);
+    index.setLength(file.length());
+
+    val entries = index.getEntries();
+    assertThat(entries).hasSize(boundaries.size() + 1);
+    for (int i = 1; i < entries.size(); i++) {
+      // Odd boundaries follow lone '\r's
+      assertThat(entries.get(i).isLineStart()).isEqualTo(i % 2 == 0);
+    }
+
+    // A split per member
+    val splits = IndexedGzipInputFormat.createSplits(new Path(file.getAbsolutePath()), index, 1,
+        new BlockLocation[] {});
+    assertThat(splits).hasSize(entries.size());
+
+    val lines = Lists.<String> newArrayList();
+    for (val split : splits) {
+      readSplit(split, lines, Lists.newArrayList());
+    }
+
+    assertThat(lines).hasSize(LINE_COUNT);
+    for (int i = 0; i < LINE_COUNT; i++) {
+      assertThat(lines.get(i)).isEqualTo(createLine(i));
+    }
+  }
+
+  @Test
+  public void testSplitHosts() throws IOException {
+    val text = createText();
+    val file = createMultiMemberFile(text);
+
+    @Cleanup
+    val inputStream = new FileInputStream(file);
+    val index = GzipIndex.build(inputStream, 0);
+    index.setLength(file.length());
+
+    val blockSize = file.length() / 2;
+    val blocks = new BlockLocation[] {
+        new BlockLocation(new String[] { "host1:50010" }, new String[] { "host1" }, 0, blockSize),
+        new BlockLocation(new String[] { "host2:50010" }, new String[] { "host2" }, blockSize,
+            file.length() - blockSize) };
+
+    val splits = IndexedGzipInputFormat.createSplits(new Path(file.getAbsolutePath()), index, 100000, blocks);
+    assertThat(splits.size()).isGreaterThan(2);
+    for (val split : splits) {
+      val host = split.getStart() < blockSize ? "host1" : "host2";
+      assertThat(split.getLocations()).containsExactly(host);
+    }
+  }
+
+  @Test
+  public void testBuildStopsAfterLargeFirstMember() throws IOException {
+    val text = createText();
+    val file = tmp.newFile("ssm_p.txt.gz");
+    try (val outputStream = new GZIPOutputStream(new FileOutputStream(file))) {
+      outputStream.write(text);
+    }
+
+    @Cleanup
+    val inputStream = new CountingInputStream(new FileInputStream(file));
+    val index = GzipIndex.build(inputStream, 0, MEMBER_SIZE);
+
+    assertThat(index.getEntries()).hasSize(1);
+    assertThat(inputStream.getCount()).isLessThan(file.length());
+  }
+
+  @Test
+  public void testBuildReadsMultiMemberFile() throws IOException {
+    val text = createText();
+    val file = createMultiMemberFile(text);
+
+    @Cleanup
+    val inputStream = new FileInputStream(file);
+    val index = GzipIndex.build(inputStream, 0, MEMBER_SIZE);
+
+    assertThat(index.getUncompressedLength()).isEqualTo(text.length);
+    assertThat(index.getEntries()).hasSize((text.length + MEMBER_SIZE - 1) / MEMBER_SIZE);
+  }
+
+  private static void readSplit(IndexedGzipSplit split, List<String> lines, List<Long> keys) throws IOException {
+    @Cleanup
+    val reader = new IndexedGzipRecordReader(new JobConf(), split);
+    val key = new LongWritable();
+    val value = new Text();
+    while (reader.next(key, value)) {
+      keys.add(key.get());
+      lines.add(value.toString());
+    }
+  }
+
+  private File createMultiMemberFile(byte[] text) throws IOException {
+    // Members end in the middle of lines
+    val boundaries = Lists.<Integer> newArrayList();
+    for (int offset = MEMBER_SIZE; offset < text.length; offset += MEMBER_SIZE) {
+      boundaries.add(offset);
+    }
+
+    return createMultiMemberFile(text, boundaries);
+  }
+
+  private File createMultiMemberFile(byte[] text, List<Integer> boundaries) throws IOException {
+    val file = tmp.newFile("ssm_p.txt.gz");
+
+    @Cleanup
+    val outputStream = new FileOutputStream(file);
+    int offset = 0;
+    for (val end : Iterables.concat(boundaries, ImmutableList.of(text.length))) {
+      val member = new GZIPOutputStream(outputStream);
+      member.write(text, offset, end - offset);
+      member.finish();
+      offset = end;
+    }
+
+    return file;
+  }
+
+  private static byte[] createText() {
+    val text = new StringBuilder();
+    for (int i = 0; i < LINE_COUNT; i++) {
+      text.append(createLine(i)).append('\n');
+    }
+
+    return text.toString().getBytes(UTF_8);
+  }
+
+  private static String createLine(int i) {
+    return "donor" + i + "\tsample" + i + "\t" + (i * 31 % 1000);
+  }
+
+}
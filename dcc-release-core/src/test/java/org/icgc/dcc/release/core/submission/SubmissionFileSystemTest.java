@@ -18,11 +18,15 @@
 package org.icgc.dcc.release.core.submission;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import java.io.File;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.conf.Configuration;
@@ -38,6 +42,7 @@ import org.junit.rules.TemporaryFolder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Table;
 
+import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -101,6 +106,82 @@ public class SubmissionFileSystemTest {
     assertThat(countFiles(result)).isEqualTo(21);
   }
 
+  @Test
+  public void test_index() {
+    val indexPath = new Path(workingFolder.getRoot().getAbsolutePath(), SubmissionFileSystem.INDEX_FILE_NAME);
+    val releaseDirs = Arrays.asList(submissionDir.getAbsolutePath(), pcawgDir.getAbsolutePath());
+    val listed = submissionFileSystem.getFiles(releaseDirs, PROJECTS, metadata, Optional.of(indexPath));
+    assertThat(countFiles(listed)).isEqualTo(21);
+    assertThat(new File(indexPath.toUri().getPath())).exists();
+
+    // Unchanged modification time: the indexed listing is reused
+    val projectDir = new File(submissionDir, "ICGC24/PROJ-01");
+    val modificationTime = projectDir.lastModified();
+    createFile(new File(projectDir, "ssm_p.2.txt"));
+    projectDir.setLastModified(modificationTime);
+    val indexed = submissionFileSystem.getFiles(releaseDirs, PROJECTS, metadata, Optional.of(indexPath));
+    assertThat(indexed).isEqualTo(listed);
+
+    // Changed modification time: the directory is listed again
+    projectDir.setLastModified(modificationTime + 1000);
+    val relisted = submissionFileSystem.getFiles(releaseDirs, PROJECTS, metadata, Optional.of(indexPath));
+    assertThat(countFiles(relisted)).isEqualTo(22);
+
+    // Subsets of projects are resolved from the same index
+    val subset = submissionFileSystem.getFiles(releaseDirs, ImmutableList.of("PROJ-01"), metadata,
+        Optional.of(indexPath));
+    assertThat(subset.columnKeySet()).containsOnly("PROJ-01");
+    assertThat(subset.get("ssm_p", "PROJ-01")).hasSize(2);
+  }
+
+  @Test
+  public void test_index_untracked_modification_time() {
+    val indexPath = new Path(workingFolder.getRoot().getAbsolutePath(), SubmissionFileSystem.INDEX_FILE_NAME);
+    val releaseDirs = Arrays.asList(submissionDir.getAbsolutePath());
+    val projectDir = new File(submissionDir, "ICGC24/PROJ-01");
+    projectDir.setLastModified(0);
+    val listed = submissionFileSystem.getFiles(releaseDirs, PROJECTS, metadata, Optional.of(indexPath));
+    assertThat(countFiles(listed)).isEqualTo(15);
+
+    // Directories without a modification time are listed again
+    createFile(new File(projectDir, "ssm_p.2.txt"));
+    projectDir.setLastModified(0);
+    val relisted = submissionFileSystem.getFiles(releaseDirs, PROJECTS, metadata, Optional.of(indexPath));
+    assertThat(countFiles(relisted)).isEqualTo(16);
+  }
+
+  @Test
+  public void test_index_project_names() throws Exception {
+    val indexPath = new Path(workingFolder.getRoot().getAbsolutePath(), SubmissionFileSystem.INDEX_FILE_NAME);
+    val releaseDirs = Arrays.asList(submissionDir.getAbsolutePath(), pcawgDir.getAbsolutePath());
+    submissionFileSystem.getFiles(releaseDirs, PROJECTS, metadata, Optional.of(indexPath));
+
+    // Only the requested indexed projects are statted
+    val spyFileSystem = spy(fileSystem);
+    val subset = new SubmissionFileSystem(spyFileSystem)
+        .getFiles(releaseDirs, ImmutableList.of("PROJ-01"), metadata, Optional.of(indexPath));
+    assertThat(subset.columnKeySet()).containsOnly("PROJ-01");
+    verify(spyFileSystem).getFileStatus(getPath(submissionDir, "ICGC24/PROJ-01"));
+    verify(spyFileSystem, never()).getFileStatus(getPath(submissionDir, "ICGC24/PROJ-02"));
+    verify(spyFileSystem, never()).getFileStatus(getPath(pcawgDir, "ICGC24/PROJ-0A"));
+
+    // Skipped projects are kept in the index
+    val spyAllFileSystem = spy(fileSystem);
+    val all = new SubmissionFileSystem(spyAllFileSystem).getFiles(releaseDirs, PROJECTS, metadata,
+        Optional.of(indexPath));
+    assertThat(countFiles(all)).isEqualTo(21);
+    verify(spyAllFileSystem, never()).listStatus(getPath(submissionDir, "ICGC24/PROJ-02"));
+  }
+
+  private static Path getPath(File dir, String child) {
+    return new Path(new File(dir, child).getAbsolutePath());
+  }
+
+  @SneakyThrows
+  private static void createFile(File file) {
+    FileUtils.touch(file);
+  }
+
   private int countFiles(Table<String, String, List<Path>> table) {
     int result = 0;
     for (val cell : table.cellSet()) {
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.core.task.TaskType.FILE_TYPE;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.icgc.dcc.release.core.job.DefaultJobContext;
+import org.icgc.dcc.release.core.job.JobContext;
+import org.icgc.dcc.release.core.job.JobType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import com.google.common.util.concurrent.MoreExecutors;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TaskCheckpointsTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  @Mock
+  JavaSparkContext sparkContext;
+
+  FileSystem fileSystem;
+  File workingDir;
+  File input;
+  File output;
+  AtomicInteger executions = new AtomicInteger();
+
+  @Before
+  @SneakyThrows
+  public void setUp() {
+    fileSystem = FileSystem.getLocal(new Configuration());
+    workingDir = tmp.newFolder("working");
+    input = new File(tmp.newFolder("input"), "donor.txt");
+    output = new File(new File(workingDir, "donor"), "part-00000");
+    write(input, "DO1");
+  }
+
+  @Test
+  public void testExecuteSkipsCommittedTask() {
+    execute();
+    execute();
+
+    assertThat(executions.get()).isEqualTo(1);
+    assertThat(output).exists();
+  }
+
+  @Test
+  public void testExecuteReexecutesTaskWithChangedInput() {
+    execute();
+    write(input, "DO1\nDO2");
+    execute();
+
+    assertThat(executions.get()).isEqualTo(2);
+    assertThat(contentOf(output)).isEqualTo("DO1\nDO2");
+  }
+
+  @Test
+  public void testExecuteReexecutesTaskWithMissingOutput() {
+    execute();
+    assertThat(output.delete()).isTrue();
+    execute();
+
+    assertThat(executions.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testDeleteRetainsCommittedOutputs() {
+    execute();
+    val uncommitted = new File(new File(workingDir, "specimen"), "part-00000");
+    write(uncommitted, "SP1");
+
+    val jobContext = createJobContext(createExecutor());
+    createTaskContext(jobContext).delete(workingDir.getAbsolutePath());
+
+    assertThat(output).exists();
+    assertThat(new File(workingDir, TaskCheckpoints.MANIFESTS_DIR_NAME)).exists();
+    assertThat(uncommitted.getParentFile()).doesNotExist();
+  }
+
+  @Test
+  public void testDeleteWithoutManifests() {
+    write(output, "DO1");
+
+    val jobContext = createJobContext(createExecutor());
+    createTaskContext(jobContext).delete(workingDir.getAbsolutePath());
+
+    assertThat(output.getParentFile()).doesNotExist();
+  }
+
+  @Test
+  @SneakyThrows
+  public void testDeleteReusesFingerprintsOfJob() {
+    val spiedFileSystem = spy(fileSystem);
+    val checkpoints = new TaskCheckpoints(spiedFileSystem);
+    execute(checkpoints);
+
+    val jobContext = createJobContext(createExecutor(checkpoints));
+    checkpoints.delete(jobContext, workingDir.getAbsolutePath());
+    checkpoints.delete(jobContext, workingDir.getAbsolutePath());
+
+    assertThat(output).exists();
+    verify(spiedFileSystem, times(1)).listFiles(new Path(input.getAbsolutePath()), true);
+  }
+
+  /**
+   * Simulates a workflow (re)start with a fresh executor.
+   */
+  private void execute() {
+    execute(new TaskCheckpoints(fileSystem));
+  }
+
+  private void execute(TaskCheckpoints checkpoints) {
+    val jobContext = createJobContext(createExecutor(checkpoints));
+    jobContext.execute(new Task() {
+
+      @Override
+      public TaskType getType() {
+        return FILE_TYPE;
+      }
+
+      @Override
+      @SneakyThrows
+      public void execute(TaskContext taskContext) {
+        executions.incrementAndGet();
+        taskContext.addInput(input.getAbsolutePath());
+        taskContext.addOutput(output.getParent());
+
+        // Fails if the outputs of an outdated execution were not deleted
+        assertThat(output).doesNotExist();
+        write(output, contentOf(input));
+      }
+
+    });
+  }
+
+  private TaskExecutor createExecutor() {
+    return createExecutor(new TaskCheckpoints(fileSystem));
+  }
+
+  private TaskExecutor createExecutor(TaskCheckpoints checkpoints) {
+    return new TaskExecutor(MoreExecutors.sameThreadExecutor(), sparkContext, fileSystem, Optional.of(checkpoints));
+  }
+
+  private JobContext createJobContext(TaskExecutor executor) {
+    return new DefaultJobContext(JobType.STAGE,
+        "",
+        ImmutableList.<String> of(),
+        Arrays.asList(""),
+        workingDir.getAbsolutePath(),
+        null,
+        executor,
+        false);
+  }
+
+  private TaskContext createTaskContext(JobContext jobContext) {
+    return new DefaultTaskContext(jobContext, sparkContext, fileSystem, Optional.empty(), false,
+        Optional.of(new TaskCheckpoints(fileSystem)));
+  }
+
+  @SneakyThrows
+  private static void write(File file, String content) {
+    file.getParentFile().mkdirs();
+    Files.write(content, file, Charsets.UTF_8);
+  }
+
+  @SneakyThrows
+  private static String contentOf(File file) {
+    return Files.toString(file, Charsets.UTF_8);
+  }
+
+}
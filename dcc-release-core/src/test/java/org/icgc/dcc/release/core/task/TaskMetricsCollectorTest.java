@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.core.task.TaskType.FILE_TYPE;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.icgc.dcc.release.core.job.DefaultJobContext;
+import org.icgc.dcc.release.core.job.JobContext;
+import org.icgc.dcc.release.core.job.JobType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+
+public class TaskMetricsCollectorTest {
+
+  @Rule
+  public TemporaryFolder tmp = new TemporaryFolder();
+
+  JavaSparkContext sparkContext;
+  FileSystem fileSystem;
+  File workingDir;
+  TaskMetricsCollector collector;
+  TaskExecutor taskExecutor;
+
+  @Before
+  @SneakyThrows
+  public void setUp() {
+    sparkContext = new JavaSparkContext(new SparkConf().setAppName("test").setMaster("local"));
+    fileSystem = FileSystem.getLocal(new Configuration());
+    workingDir = tmp.newFolder("working");
+
+    collector = new TaskMetricsCollector(fileSystem);
+    sparkContext.sc().addSparkListener(collector);
+    taskExecutor = new TaskExecutor(MoreExecutors.sameThreadExecutor(), sparkContext, fileSystem, Optional.empty(),
+        Optional.of(collector));
+  }
+
+  @After
+  public void tearDown() {
+    sparkContext.stop();
+  }
+
+  @Test
+  public void testReport() throws Exception {
+    val jobContext = createJobContext(JobType.STAGE);
+    val output = new File(workingDir, "output").getAbsolutePath();
+    jobContext.execute(task(taskContext -> taskContext.getSparkContext()
+        .parallelize(ImmutableList.of("a", "b", "c"), 2)
+        .saveAsTextFile(output)));
+    awaitListener();
+
+    val metrics = taskExecutor.report(jobContext);
+
+    assertThat(metrics).hasSize(1);
+    val taskMetrics = metrics.get(0);
+    assertThat(taskMetrics.getJobType()).isEqualTo(JobType.STAGE);
+    assertThat(taskMetrics.getProjectName()).isNull();
+    assertThat(taskMetrics.getStageCount()).isEqualTo(1);
+    assertThat(taskMetrics.getSparkTaskCount()).isEqualTo(2);
+    assertThat(taskMetrics.getFailedSparkTaskCount()).isEqualTo(0);
+    assertThat(taskMetrics.getRecordsWritten()).isEqualTo(3);
+
+    val report = new File(new File(workingDir, TaskMetricsCollector.METRICS_DIR_NAME), "stage.json");
+    assertThat(report).exists();
+    val reported = new ObjectMapper().readValue(report, TaskMetrics[].class);
+    assertThat(reported).containsExactly(taskMetrics);
+  }
+
+  @Test
+  public void testReportIsScopedToJob() {
+    val stageContext = createJobContext(JobType.STAGE);
+    val maskContext = createJobContext(JobType.MASK);
+    stageContext.execute(task(taskContext -> taskContext.getSparkContext().parallelize(ImmutableList.of(1)).count()));
+    maskContext.execute(task(taskContext -> taskContext.getSparkContext().parallelize(ImmutableList.of(1)).count()));
+    awaitListener();
+
+    assertThat(taskExecutor.report(stageContext)).hasSize(1);
+    assertThat(taskExecutor.report(stageContext)).isEmpty();
+    assertThat(taskExecutor.report(maskContext)).hasSize(1);
+  }
+
+  @SneakyThrows
+  private void awaitListener() {
+    // The listener bus is asynchronous
+    sparkContext.sc().listenerBus().waitUntilEmpty(10000);
+  }
+
+  private JobContext createJobContext(JobType jobType) {
+    return new DefaultJobContext(jobType,
+        "release",
+        ImmutableList.of("project"),
+        Arrays.asList(""),
+        workingDir.getAbsolutePath(),
+        null,
+        taskExecutor,
+        false);
+  }
+
+  private static Task task(Consumer<TaskContext> action) {
+    return new Task() {
+
+      @Override
+      public TaskType getType() {
+        return FILE_TYPE;
+      }
+
+      @Override
+      public boolean isCheckpointable() {
+        return false;
+      }
+
+      @Override
+      public void execute(TaskContext taskContext) {
+        action.accept(taskContext);
+      }
+
+    };
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.json.Jackson.toObjectNode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import lombok.val;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+
+public class ObjectNodeSerializerTest {
+
+  ObjectNodeSerializer serializer;
+  Kryo kryo;
+
+  @Before
+  public void setUp() {
+    serializer = new ObjectNodeSerializer(new FieldNameTable(ImmutableList.of("a", "b")));
+    kryo = new Kryo();
+  }
+
+  @Test
+  public void roundTripTest() throws Exception {
+    val sourceObj1 = toObjectNode("{\"a\":1,\"b\":\"x\",\"c\":null}");
+    val sourceObj3 = toObjectNode("{\"a\":[1,2.5,true,false,{\"b\":12345678901}],\"unknown\":{\"a\":\"\"}}");
+    val sourceObj4 = createAllNumbers();
+
+    val targets = roundTrip(sourceObj1, null, sourceObj3, sourceObj4);
+
+    assertThat(targets[0]).isEqualTo(sourceObj1);
+    assertThat(targets[1]).isNull();
+    assertThat(targets[2]).isEqualTo(sourceObj3);
+    assertThat(targets[3]).isEqualTo(sourceObj4);
+  }
+
+  @Test
+  public void defaultFieldNamesTest() throws Exception {
+    serializer = new ObjectNodeSerializer();
+    val sourceObj = toObjectNode("{\"_donor_id\":\"DO1\",\"_project_id\":\"PROJ-01\",\"not_a_field\":1}");
+
+    assertThat(roundTrip(sourceObj)[0]).isEqualTo(sourceObj);
+  }
+
+  @Test
+  public void knownFieldNamesTest() throws Exception {
+    val known = toObjectNode("{\"a\":1,\"b\":2}");
+    val unknown = toObjectNode("{\"c\":1,\"d\":2}");
+
+    assertThat(serializedSize(known)).isLessThan(serializedSize(unknown));
+  }
+
+  private ObjectNode[] roundTrip(ObjectNode... sources) {
+    val outStream = new ByteArrayOutputStream();
+    val output = new Output(outStream, 32);
+    for (val source : sources) {
+      serializer.write(kryo, output, source);
+    }
+    output.flush();
+
+    val input = new Input(new ByteArrayInputStream(outStream.toByteArray()), 32);
+    val targets = new ObjectNode[sources.length];
+    for (int i = 0; i < sources.length; i++) {
+      targets[i] = serializer.read(kryo, input, ObjectNode.class);
+    }
+
+    return targets;
+  }
+
+  private int serializedSize(ObjectNode source) {
+    val output = new Output(1024);
+    serializer.write(kryo, output, source);
+
+    return output.position();
+  }
+
+  private static ObjectNode createAllNumbers() {
+    val factory = JsonNodeFactory.instance;
+    val object = factory.objectNode();
+    object.set("short", factory.numberNode((short) -3));
+    object.set("int", factory.numberNode(-300));
+    object.set("long", factory.numberNode(Long.MIN_VALUE));
+    object.set("bigInteger", factory.numberNode(BigInteger.TEN.pow(30)));
+    object.set("float", factory.numberNode(1.5f));
+    object.set("double", factory.numberNode(-0.25));
+    object.set("decimal", factory.numberNode(new BigDecimal("1.50")));
+    object.set("binary", factory.binaryNode(new byte[] { 1, 2, 3 }));
+
+    return object;
+  }
+
+}
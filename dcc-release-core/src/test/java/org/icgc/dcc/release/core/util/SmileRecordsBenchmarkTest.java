@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.util;
+
+import static com.google.common.base.Stopwatch.createStarted;
+import static org.icgc.dcc.common.core.json.Jackson.toObjectNode;
+import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_READER;
+import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_WRITER;
+
+import java.lang.management.ManagementFactory;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Reports bytes allocated per record when reading Smile records with and without copying the writable.
+ */
+@Slf4j
+@Ignore("benchmark")
+public class SmileRecordsBenchmarkTest {
+
+  private static final int WARMUP_COUNT = 100_000;
+  private static final int RECORD_COUNT = 1_000_000;
+
+  @Test
+  public void testBenchmark() throws Exception {
+    val bytes = createRecord();
+
+    measure("copyBytes", bytes, WARMUP_COUNT, false);
+    measure("zero-copy", bytes, WARMUP_COUNT, true);
+
+    measure("copyBytes", bytes, RECORD_COUNT, false);
+    measure("zero-copy", bytes, RECORD_COUNT, true);
+  }
+
+  private static void measure(String name, BytesWritable bytes, int count, boolean zeroCopy) throws Exception {
+    val threadId = Thread.currentThread().getId();
+    val before = getAllocatedBytes(threadId);
+    val watch = createStarted();
+
+    for (int i = 0; i < count; i++) {
+      if (zeroCopy) {
+        SmileRecords.readValue(SMILE_READER, bytes);
+      } else {
+        SMILE_READER.readValue(bytes.copyBytes());
+      }
+    }
+
+    val allocated = getAllocatedBytes(threadId) - before;
+    log.info("[{}] {} records of {} bytes: {} bytes allocated / record in {}",
+        name, count, bytes.getLength(), allocated / count, watch);
+  }
+
+  private static BytesWritable createRecord() throws Exception {
+    val observation = toObjectNode("{"
+        + "\"_mutation_id\":\"MU1\",\"_donor_id\":\"DO1\",\"_project_id\":\"TEST-DCC\","
+        + "\"chromosome\":\"1\",\"chromosome_start\":12345,\"chromosome_end\":12345,"
+        + "\"mutated_from_allele\":\"A\",\"mutated_to_allele\":\"T\","
+        + "\"consequence\":[{\"consequence_type\":\"missense_variant\",\"aa_mutation\":\"Q119R\"}]}");
+
+    // Simulate a reused writable whose capacity exceeds the record length
+    val bytes = new BytesWritable();
+    val record = SMILE_WRITER.writeValueAsBytes(observation);
+    bytes.setCapacity(record.length * 2);
+    bytes.set(record, 0, record.length);
+
+    return bytes;
+  }
+
+  private static long getAllocatedBytes(long threadId) {
+    val threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    return threadBean.getThreadAllocatedBytes(threadId);
+  }
+
+}
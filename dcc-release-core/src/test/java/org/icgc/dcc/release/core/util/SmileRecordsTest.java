@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.json.Jackson.toObjectNode;
+import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_READER;
+import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_WRITER;
+import static org.icgc.dcc.release.core.util.JacksonFactory.createSmileObjectReader;
+
+import lombok.val;
+
+import org.apache.hadoop.io.BytesWritable;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class SmileRecordsTest {
+
+  @Test
+  public void testReadValue() throws Exception {
+    val source = toObjectNode("{\"a\":1,\"b\":[\"x\",\"y\"]}");
+    val bytes = new BytesWritable(SMILE_WRITER.writeValueAsBytes(source));
+
+    ObjectNode target = SmileRecords.readValue(SMILE_READER, bytes);
+
+    assertThat(target).isEqualTo(source);
+  }
+
+  @Test
+  public void testReadValueReusedWritable() throws Exception {
+    val longer = toObjectNode("{\"a\":\"a much longer value that leaves stale bytes behind\"}");
+    val shorter = toObjectNode("{\"a\":2}");
+
+    // Mimics Hadoop record readers which reuse the value instance
+    val bytes = new BytesWritable();
+    val longerBytes = SMILE_WRITER.writeValueAsBytes(longer);
+    bytes.set(longerBytes, 0, longerBytes.length);
+    ObjectNode first = SmileRecords.readValue(SMILE_READER, bytes);
+
+    val shorterBytes = SMILE_WRITER.writeValueAsBytes(shorter);
+    bytes.set(shorterBytes, 0, shorterBytes.length);
+    ObjectNode second = SmileRecords.readValue(SMILE_READER, bytes);
+
+    assertThat(bytes.getBytes().length).isGreaterThan(bytes.getLength());
+    assertThat(first).isEqualTo(longer);
+    assertThat(second).isEqualTo(shorter);
+  }
+
+  @Test
+  public void testReadValueTyped() throws Exception {
+    val bytes = new BytesWritable(SMILE_WRITER.writeValueAsBytes(toObjectNode("{\"value\":\"x\"}")));
+
+    Bean bean = SmileRecords.readValue(createSmileObjectReader(Bean.class), bytes);
+
+    assertThat(bean.value).isEqualTo("x");
+  }
+
+  public static class Bean {
+
+    public String value;
+
+  }
+
+}
@@ -94,6 +94,14 @@ public class SnpEffVCFToICGCConverter {
     return result.build();
   }
 
+  /**
+   * Returns the observation id carried by the {@code PRIM} INFO field of {@code variant} or {@code null} if it is
+   * missing.
+   */
+  public static String resolveObservationId(@NonNull VariantContext variant) {
+    return variant.hasAttribute(INFO_PRIM_FIELD) ? getObservationId(variant.getAttribute(INFO_PRIM_FIELD)) : null;
+  }
+
   private static String getObservationId(Object observationId) {
     @SuppressWarnings("unchecked")
     val observationIdList =
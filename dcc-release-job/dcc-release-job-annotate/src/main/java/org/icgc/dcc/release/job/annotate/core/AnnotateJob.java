@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.release.job.annotate.core;
 
+import java.util.Set;
+
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -30,6 +32,8 @@ import org.icgc.dcc.release.job.annotate.task.AnnotationTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableSet;
+
 @Component
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class AnnotateJob extends GenericJob {
@@ -51,6 +55,16 @@ public class AnnotateJob extends GenericJob {
     return JobType.ANNOTATE;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return ImmutableSet.of(SSM_INPUT_TYPE, SGV_INPUT_TYPE);
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.of(FileType.SSM_S, FileType.SGV_S);
+  }
+
   @Override
   @SneakyThrows
   public void execute(@NonNull JobContext jobContext) {
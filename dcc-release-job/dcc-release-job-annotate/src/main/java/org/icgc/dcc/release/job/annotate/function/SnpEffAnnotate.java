@@ -97,17 +97,24 @@ public class SnpEffAnnotate implements FlatMapFunction<Iterator<ObjectNode>, Obj
     @SneakyThrows
     public boolean hasNext() {
       try {
-        if (results.isEmpty() && !delegate.hasNext()) {
+        if (!results.isEmpty()) {
+          return true;
+        }
+
+        // Keep the SnpEff process busy with as many variants as the window allows
+        while (!predictor.isFull() && delegate.hasNext()) {
+          submit(delegate.next());
+        }
+
+        if (!predictor.hasPending()) {
           close();
 
           return false;
-        } else {
-          if (results.isEmpty()) {
-            predict(delegate.next());
-          }
-
-          return !results.isEmpty();
         }
+
+        collect(predictor.take());
+
+        return !results.isEmpty();
       } catch (Exception e) {
         close();
         throw e;
@@ -131,9 +138,7 @@ public class SnpEffAnnotate implements FlatMapFunction<Iterator<ObjectNode>, Obj
       throw new UnsupportedOperationException("Cannot remove a " + getClass().getName() + " iterator");
     }
 
-    public void predict(ObjectNode row) {
-      // Determine the prediction
-      val predictions = predict(row, predictor);
+    private void collect(List<SecondaryEntity> predictions) {
       postprocessEmptyResults(predictions);
       for (val prediction : predictions) {
         results.add(SecondaryObjectNodeConverter.convert(prediction, fileType));
@@ -146,7 +151,7 @@ public class SnpEffAnnotate implements FlatMapFunction<Iterator<ObjectNode>, Obj
       }
     }
 
-    private List<SecondaryEntity> predict(ObjectNode row, SnpEffPredictor predictor) {
+    private void submit(ObjectNode row) {
       // Extract row values
       val chromosome = row.get(fileType.getChromosomeFieldName()).textValue();
       val start = row.get(fileType.getChromosomeStartFieldName()).asLong();
@@ -157,7 +162,7 @@ public class SnpEffAnnotate implements FlatMapFunction<Iterator<ObjectNode>, Obj
       val reference = (ref.equals(MISSING_ALLELE)) ? "" : ref;
       val id = row.get(fileType.getObservationIdFieldName()).textValue();
 
-      return predictor.predict(chromosome, start, end, mutation, type, reference, id);
+      predictor.submit(chromosome, start, end, mutation, type, reference, id);
     }
 
     private static String getMutation(ObjectNode row, AnnotatedFileType fileType) {
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Keeps up to {@code windowSize} VCF lines in flight to a forked SnpEff {@link Process} and hands the predictions back
+ * in submission order.
+ * <p>
+ * Responses are correlated to requests by the observation id echoed back by SnpEff in the {@code PRIM} INFO field.
+ * Responses arriving out of order are buffered until their request reaches the head of the window.
+ */
+@Slf4j
+public class SnpEffPipeline {
+
+  /**
+   * Constants.
+   */
+  private static final int PREDICTION_TIMEOUT_MINUTES = 5;
+
+  /**
+   * Configuration.
+   */
+  @Getter
+  private final int windowSize;
+
+  /**
+   * Dependencies.
+   */
+  private final Process process;
+  @Getter
+  private final PrintStream stream;
+  private final SnpEffResultHandler resultHandler;
+  private final SnpEffLogHandler logHandler;
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  /**
+   * State.
+   */
+  private final BlockingQueue<SnpEffResult> queue = new LinkedBlockingQueue<SnpEffResult>();
+  private final Deque<String> pending = new ArrayDeque<String>();
+  private final Map<String, Deque<List<SecondaryEntity>>> received = Maps.newHashMap();
+  private boolean flushed = true;
+
+  @SneakyThrows
+  public SnpEffPipeline(@NonNull Process process, @NonNull AnnotatedFileType fileType,
+      @NonNull String geneBuildVersion, int windowSize) {
+    checkArgument(windowSize > 0, "Prediction window size must be positive: %s", windowSize);
+    this.windowSize = windowSize;
+    this.process = process;
+    this.stream = new PrintStream(process.getOutputStream(), false, UTF_8.name());
+    this.resultHandler = new SnpEffResultHandler(process.getInputStream(), queue, fileType, geneBuildVersion);
+    this.logHandler = new SnpEffLogHandler(process.getErrorStream());
+  }
+
+  public void start() {
+    executor.execute(resultHandler);
+    executor.execute(logHandler);
+  }
+
+  public boolean isFull() {
+    return pending.size() >= windowSize;
+  }
+
+  public boolean hasPending() {
+    return !pending.isEmpty();
+  }
+
+  /**
+   * Sends a VCF {@code line} for the observation {@code id} without waiting for its prediction.
+   */
+  public void submit(@NonNull String id, @NonNull String line) {
+    checkState(!isFull(), "Cannot submit more than %s variants without taking a prediction", windowSize);
+    stream.println(line);
+    pending.addLast(id);
+    flushed = false;
+
+    if (isFull()) {
+      flush();
+    }
+  }
+
+  /**
+   * Waits for the prediction of the oldest submitted variant.
+   */
+  @SneakyThrows
+  public List<SecondaryEntity> take() {
+    checkState(hasPending(), "No variants are awaiting a prediction");
+    val id = pending.removeFirst();
+
+    while (true) {
+      val buffered = received.get(id);
+      if (buffered != null) {
+        val predictions = buffered.removeFirst();
+        if (buffered.isEmpty()) {
+          received.remove(id);
+        }
+
+        return predictions;
+      }
+
+      val result = nextResult();
+      if (result.getId() == null || result.getId().equals(id)) {
+        return result.getEntities();
+      }
+
+      buffer(result);
+    }
+  }
+
+  public void stop() throws InterruptedException {
+    stream.close();
+    log.info("Exit code: {}", process.waitFor());
+
+    executor.shutdownNow();
+    executor.awaitTermination(1, MINUTES);
+  }
+
+  private SnpEffResult nextResult() throws InterruptedException {
+    val ready = queue.poll();
+    if (ready != null) {
+      return ready;
+    }
+
+    // Only push buffered lines to SnpEff once we actually have to wait on them
+    flush();
+
+    // Temporary fix for DCC-4663 to allow the calling task to fail if the timeout is exceeded
+    val result = queue.poll(PREDICTION_TIMEOUT_MINUTES, MINUTES);
+    val timeout = result == null; // Will always be non-null under normal circumstances
+    if (timeout) {
+      checkState(false,
+          "Timeout after waiting %s min for next prediction from SnpEff process. Exit code = %s",
+          PREDICTION_TIMEOUT_MINUTES,
+          process.isAlive() ? "<still running!>" : process.exitValue());
+    }
+
+    return result;
+  }
+
+  private void buffer(SnpEffResult result) {
+    Deque<List<SecondaryEntity>> buffered = received.get(result.getId());
+    if (buffered == null) {
+      buffered = new ArrayDeque<List<SecondaryEntity>>();
+      received.put(result.getId(), buffered);
+    }
+
+    buffered.addLast(result.getEntities());
+  }
+
+  private void flush() {
+    if (!flushed) {
+      stream.flush();
+      flushed = true;
+    }
+  }
+
+}
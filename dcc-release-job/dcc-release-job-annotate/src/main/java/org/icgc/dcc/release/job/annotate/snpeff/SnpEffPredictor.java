@@ -17,18 +17,9 @@
  */
 package org.icgc.dcc.release.job.annotate.snpeff;
 
-import static com.google.common.base.Preconditions.checkState;
-import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.concurrent.TimeUnit.MINUTES;
-
 import java.io.File;
-import java.io.PrintStream;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.broadinstitute.variant.variantcontext.VariantContext;
 import org.broadinstitute.variant.variantcontext.VariantContextBuilder;
@@ -64,11 +55,6 @@ import net.sf.picard.reference.IndexedFastaSequenceFile;
 @RequiredArgsConstructor
 public class SnpEffPredictor {
 
-  /**
-   * Constants
-   */
-  private static final int PREDICTION_TIMEOUT_MINUTES = 5;
-
   /**
    * Configuration.
    */
@@ -77,62 +63,67 @@ public class SnpEffPredictor {
   @NonNull
   private final AnnotatedFileType fileType;
 
-  /**
-   * State.
-   */
-  private BlockingQueue<List<SecondaryEntity>> queue = new ArrayBlockingQueue<List<SecondaryEntity>>(100);
-
   /**
    * Dependencies.
    */
-  private SnpEffProcess process;
-  private ExecutorService executor = Executors.newFixedThreadPool(2);
-  private PrintStream stream;
+  private SnpEffPipeline pipeline;
   private VCFEncoder encoder;
   private ICGCToVCFConverter converter;
 
   @SneakyThrows
   public void start() {
-    this.process = new SnpEffProcess(resolveJar(), resolveJava(), resolveDataDir(), properties.getDatabaseVersion());
-    this.stream = new PrintStream(process.getOutputStream(), false, UTF_8.name());
+    val process = new SnpEffProcess(resolveJar(), resolveJava(), resolveDataDir(), properties.getDatabaseVersion());
+    this.pipeline = new SnpEffPipeline(process, fileType, properties.getGeneBuildVersion(),
+        properties.getPredictionWindowSize());
     this.encoder = new VCFEncoder(createVCFHeader(), true);
     this.converter = new ICGCToVCFConverter(new IndexedFastaSequenceFile(resolveReferenceGenome()));
 
     // Start handler threads
-    executor.execute(new SnpEffResultHandler(process.getInputStream(), queue, fileType, properties
-        .getGeneBuildVersion()));
-    executor.execute(new SnpEffLogHandler(process.getErrorStream()));
+    pipeline.start();
     initializeSnpEff();
   }
 
-  @SneakyThrows
-  public List<SecondaryEntity> predict(String chromosome, long start, long end, String mutation, MutationType type,
-      String reference, String id) {
+  /**
+   * @return {@code true} if no more variants may be submitted before the oldest prediction is taken
+   */
+  public boolean isFull() {
+    return pipeline.isFull();
+  }
 
+  /**
+   * @return {@code true} if there are submitted variants whose predictions have not been taken yet
+   */
+  public boolean hasPending() {
+    return pipeline.hasPending();
+  }
+
+  /**
+   * Sends a variant to SnpEff without waiting for its prediction. Predictions are retrieved with {@link #take()} in
+   * submission order.
+   */
+  public void submit(String chromosome, long start, long end, String mutation, MutationType type,
+      String reference, String id) {
     val variant = createVariant(chromosome, start, end, mutation, type, reference, id);
     val line = encoder.encode(variant);
-    stream.println(line);
-    stream.flush();
+    pipeline.submit(id, line);
+  }
 
-    // Temporary fix for DCC-4663 to allow the calling task to fail if the timeout is exceeded
-    val predictions = queue.poll(PREDICTION_TIMEOUT_MINUTES, MINUTES);
-    val timeout = predictions == null; // Will always be non-null under normal circumstances
-    if (timeout) {
-      checkState(false,
-          "Timeout after waiting %s min for next prediction from SnpEff process. Exit code = %s",
-          PREDICTION_TIMEOUT_MINUTES,
-          process.isAlive() ? process.exitValue() : "<still running!>");
-    }
+  /**
+   * Waits for the prediction of the oldest submitted variant.
+   */
+  public List<SecondaryEntity> take() {
+    return pipeline.take();
+  }
 
-    return predictions;
+  public List<SecondaryEntity> predict(String chromosome, long start, long end, String mutation, MutationType type,
+      String reference, String id) {
+    submit(chromosome, start, end, mutation, type, reference, id);
+
+    return take();
   }
 
   public void stop() throws InterruptedException {
-    stream.close();
-    log.info("Exit code: {}", process.waitFor());
-
-    executor.shutdownNow();
-    executor.awaitTermination(1, MINUTES);
+    pipeline.stop();
   }
 
   @SneakyThrows
@@ -144,6 +135,7 @@ public class SnpEffPredictor {
     val file = File.createTempFile(prefix, null);
     file.deleteOnExit();
 
+    val stream = pipeline.getStream();
     val writer = VariantContextWriterFactory.create(file, stream, null);
     writer.writeHeader(createAnnotatedVCFHeader());
     stream.flush();
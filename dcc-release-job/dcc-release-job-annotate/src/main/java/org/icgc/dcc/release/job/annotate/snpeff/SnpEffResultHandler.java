@@ -24,7 +24,6 @@ import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
-import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.regex.Pattern;
 
@@ -35,7 +34,6 @@ import org.broadinstitute.variant.vcf.VCFHeaderVersion;
 import org.broadinstitute.variant.vcf.VCFInfoHeaderLine;
 import org.icgc.dcc.release.job.annotate.converter.SnpEffVCFToICGCConverter;
 import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
-import org.icgc.dcc.release.job.annotate.model.SecondaryEntity;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -59,12 +57,12 @@ public class SnpEffResultHandler implements Runnable {
    * State.
    */
   @NonNull
-  private final BlockingQueue<List<SecondaryEntity>> queue;
+  private final BlockingQueue<SnpEffResult> queue;
   @NonNull
   private final AnnotatedFileType fileType;
   private final SnpEffVCFToICGCConverter converter;
 
-  public SnpEffResultHandler(@NonNull InputStream input, @NonNull BlockingQueue<List<SecondaryEntity>> queue,
+  public SnpEffResultHandler(@NonNull InputStream input, @NonNull BlockingQueue<SnpEffResult> queue,
       @NonNull AnnotatedFileType fileType, @NonNull String geneBuildVersion) {
     this.input = input;
     this.queue = queue;
@@ -84,7 +82,8 @@ public class SnpEffResultHandler implements Runnable {
 
       val variant = decoder.decode(line);
       val secondaryEntities = converter.convert(variant, fileType);
-      queue.put(secondaryEntities);
+      val id = SnpEffVCFToICGCConverter.resolveObservationId(variant);
+      queue.put(new SnpEffResult(id, secondaryEntities));
     }
   }
 
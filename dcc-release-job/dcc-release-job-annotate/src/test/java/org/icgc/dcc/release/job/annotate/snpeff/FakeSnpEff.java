@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+
+import lombok.val;
+
+/**
+ * Stand-in for the SnpEff command line used to exercise {@link SnpEffPipeline} without the SnpEff jar, databases or
+ * reference genome.
+ * <p>
+ * Echoes every VCF line back with a fixed {@code EFF} annotation. Each time it has to wait for more input it pays
+ * {@code wakeupLatencyMs}, modelling the fixed cost of a round trip through the real process.
+ */
+public class FakeSnpEff {
+
+  public static final String EFFECT =
+      "missense_variant(MODERATE|MISSENSE|Gct/Act|A21T|100|ENSG00000000001|protein_coding|CODING|ENST00000000001|1|1)";
+
+  public static void main(String... args) throws IOException, InterruptedException {
+    val wakeupLatencyMs = args.length > 0 ? Long.parseLong(args[0]) : 0L;
+    val reader = new BufferedReader(new InputStreamReader(System.in, UTF_8));
+    val writer = new PrintStream(new FileOutputStream(FileDescriptor.out), false, UTF_8.name());
+
+    while (true) {
+      val waiting = !reader.ready();
+      if (waiting) {
+        writer.flush();
+      }
+
+      val line = reader.readLine();
+      if (line == null) {
+        break;
+      }
+
+      if (waiting && wakeupLatencyMs > 0) {
+        Thread.sleep(wakeupLatencyMs);
+      }
+
+      writer.println(line.startsWith("#") ? line : annotate(line));
+    }
+
+    writer.flush();
+  }
+
+  public static Process start(long wakeupLatencyMs) throws IOException {
+    val java = new File(System.getProperty("java.home"), "bin/java").getAbsolutePath();
+    val classPath = System.getProperty("java.class.path");
+
+    return new ProcessBuilder(java, "-cp", classPath, FakeSnpEff.class.getName(), String.valueOf(wakeupLatencyMs))
+        .start();
+  }
+
+  public static String createVCFLine(String id, long position) {
+    return "1\t" + position + "\t.\tA\tT\t.\t.\tPRIM=" + id + "\tGT\t0/0\t1/1";
+  }
+
+  private static String annotate(String line) {
+    val fields = line.split("\t");
+    fields[7] = fields[7] + ";EFF=" + EFFECT;
+
+    return String.join("\t", fields);
+  }
+
+}
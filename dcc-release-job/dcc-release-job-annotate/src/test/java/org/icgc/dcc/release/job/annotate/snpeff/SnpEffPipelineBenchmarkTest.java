@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static com.google.common.base.Stopwatch.createStarted;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.job.annotate.snpeff.FakeSnpEff.createVCFLine;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares the throughput of one-variant-at-a-time prediction with the pipelined window against {@link FakeSnpEff}.
+ */
+@Slf4j
+@Ignore("benchmark")
+public class SnpEffPipelineBenchmarkTest {
+
+  /**
+   * Constants.
+   */
+  private static final int VARIANT_COUNT = 5000;
+  private static final long WAKEUP_LATENCY_MS = 1;
+
+  @Test
+  public void testThroughput() throws Exception {
+    // Warm up the forked JVM path and the converter
+    run(1000, 1000);
+
+    val sequential = run(1, VARIANT_COUNT);
+    val pipelined = run(1000, VARIANT_COUNT);
+
+    log.info("Sequential: {} variants/s", sequential);
+    log.info("Pipelined:  {} variants/s", pipelined);
+    log.info("Speedup:    {}x", pipelined / sequential);
+    assertThat(pipelined).isGreaterThan(sequential);
+  }
+
+  private static double run(int windowSize, int variantCount) throws Exception {
+    val pipeline = new SnpEffPipeline(FakeSnpEff.start(WAKEUP_LATENCY_MS), AnnotatedFileType.SSM, "75", windowSize);
+    pipeline.start();
+
+    val watch = createStarted();
+    int submitted = 0;
+    int taken = 0;
+    while (submitted < variantCount || pipeline.hasPending()) {
+      while (!pipeline.isFull() && submitted < variantCount) {
+        val id = "id" + submitted;
+        pipeline.submit(id, createVCFLine(id, ++submitted));
+      }
+
+      pipeline.take();
+      taken++;
+    }
+    watch.stop();
+
+    pipeline.stop();
+    assertThat(taken).isEqualTo(variantCount);
+    log.info("Window {}: {} variants in {}", windowSize, variantCount, watch);
+
+    return variantCount * 1000.0 / Math.max(1, watch.elapsed(MILLISECONDS));
+  }
+
+}
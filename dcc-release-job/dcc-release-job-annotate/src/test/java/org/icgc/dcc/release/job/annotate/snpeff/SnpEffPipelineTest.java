@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.annotate.snpeff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.job.annotate.snpeff.FakeSnpEff.createVCFLine;
+
+import java.util.List;
+
+import lombok.val;
+
+import org.icgc.dcc.release.job.annotate.model.AnnotatedFileType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class SnpEffPipelineTest {
+
+  /**
+   * Constants.
+   */
+  private static final int WINDOW_SIZE = 16;
+  private static final int VARIANT_COUNT = 100;
+
+  /**
+   * Class under test.
+   */
+  SnpEffPipeline pipeline;
+
+  @Before
+  public void setUp() throws Exception {
+    this.pipeline = new SnpEffPipeline(FakeSnpEff.start(0), AnnotatedFileType.SSM, "75", WINDOW_SIZE);
+    pipeline.start();
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    pipeline.stop();
+  }
+
+  @Test
+  public void testTakePreservesSubmissionOrder() {
+    val ids = Lists.<String> newArrayList();
+    val submitted = Lists.<String> newArrayList();
+    for (int i = 0; i < VARIANT_COUNT; i++) {
+      ids.add("id" + i);
+    }
+
+    int next = 0;
+    int maxInFlight = 0;
+    while (next < ids.size() || pipeline.hasPending()) {
+      while (!pipeline.isFull() && next < ids.size()) {
+        val id = ids.get(next);
+        pipeline.submit(id, createVCFLine(id, next + 1));
+        next++;
+      }
+
+      maxInFlight = Math.max(maxInFlight, next - submitted.size());
+      val predictions = pipeline.take();
+      assertThat(predictions).hasSize(1);
+      submitted.add(predictions.get(0).getObservationId());
+    }
+
+    assertThat(submitted).isEqualTo(ids);
+    assertThat(maxInFlight).isEqualTo(WINDOW_SIZE);
+  }
+
+  @Test
+  public void testTakeWithDuplicateIds() {
+    pipeline.submit("id", createVCFLine("id", 1));
+    pipeline.submit("id", createVCFLine("id", 2));
+
+    val transcripts = Lists.<String> newArrayList();
+    while (pipeline.hasPending()) {
+      for (val prediction : pipeline.take()) {
+        assertThat(prediction.getObservationId()).isEqualTo("id");
+        transcripts.add(prediction.getTranscriptAffected());
+      }
+    }
+
+    assertThat(transcripts).containsExactly("ENST00000000001", "ENST00000000001");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testSubmitWhenFull() {
+    for (int i = 0; i <= WINDOW_SIZE; i++) {
+      pipeline.submit("id" + i, createVCFLine("id" + i, i + 1));
+    }
+  }
+
+}
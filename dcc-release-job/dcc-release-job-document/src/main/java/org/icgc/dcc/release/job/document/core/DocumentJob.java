@@ -24,6 +24,7 @@ import static org.icgc.dcc.release.job.document.util.DocumentTypes.getDocumentCl
 
 import java.lang.reflect.Constructor;
 import java.util.Map;
+import java.util.Set;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -57,6 +58,20 @@ import com.google.common.collect.Lists;
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class DocumentJob extends GenericJob {
 
+  /**
+   * Constants.
+   */
+  private static final Set<FileType> INPUT_FILE_TYPES = ImmutableSet.of(
+      FileType.DIAGRAM,
+      FileType.DRUG,
+      FileType.RELEASE_SUMMARY,
+      FileType.PROJECT_SUMMARY,
+      FileType.DONOR_SUMMARY,
+      FileType.GENE_SUMMARY,
+      FileType.GENE_SET_SUMMARY,
+      FileType.OBSERVATION_FI,
+      FileType.MUTATION);
+
   /**
    * Dependencies.
    */
@@ -72,6 +87,16 @@ public class DocumentJob extends GenericJob {
     return JobType.DOCUMENT;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return INPUT_FILE_TYPES;
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.copyOf(resolveOutputFileTypes());
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     clean(jobContext);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -15,12 +15,11 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.stage.function;
+package org.icgc.dcc.release.job.document.function;
 
-import static java.lang.Double.parseDouble;
-import static java.lang.Long.parseLong;
+import static com.google.common.base.Preconditions.checkArgument;
 
-import java.io.Serializable;
+import java.util.List;
 import java.util.Map;
 
 import lombok.NonNull;
@@ -28,50 +27,51 @@ import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import org.apache.spark.api.java.function.Function;
-import org.icgc.dcc.common.core.model.ValueType;
-import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+import org.icgc.dcc.release.job.document.vcf.model.VCFRecordKey;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Maps;
 
+/**
+ * Keys a VCF record line by its genome order. Contigs missing from the sequence dictionary are ordered after the known
+ * ones.
+ */
 @RequiredArgsConstructor
-public class ConvertValueType implements Function<ObjectNode, ObjectNode>, Serializable {
+public final class KeyVCFRecord implements Function<String, VCFRecordKey> {
 
+  /**
+   * Configuration.
+   */
   @NonNull
-  private final Map<String, ValueType> fieldTypes = Maps.newHashMap();
+  private final List<String> contigs;
 
-  public ConvertValueType(@NonNull SubmissionFileSchema schema) {
-    for (val field : schema.getFields()) {
-      fieldTypes.put(field.getName(), field.getType());
-    }
-  }
+  /**
+   * State.
+   */
+  private transient Map<String, Integer> contigIndexes;
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    for (val entry : fieldTypes.entrySet()) {
-      val fieldName = entry.getKey();
-      val fieldType = entry.getValue();
+  public VCFRecordKey call(String record) {
+    val contigEnd = record.indexOf('\t');
+    val positionEnd = record.indexOf('\t', contigEnd + 1);
+    checkArgument(contigEnd > 0 && positionEnd > contigEnd, "Malformed VCF record '%s'", record);
 
-      val value = row.path(fieldName).textValue();
-      if (value == null) {
-        continue;
-      }
+    val contig = record.substring(0, contigEnd);
+    val position = Integer.parseInt(record.substring(contigEnd + 1, positionEnd));
 
-      try {
-        if (fieldType == ValueType.DECIMAL) {
-          row.put(fieldName, parseDouble(value));
-        } else if (fieldType == ValueType.INTEGER) {
-          row.put(fieldName, parseLong(value));
-        } else {
-          row.put(fieldName, value);
-        }
-      } catch (Exception e) {
-        throw new IllegalArgumentException("Could not convert value " + "'" + value + "' in field " + fieldName
-            + "' with type " + fieldType, e);
+    return new VCFRecordKey(getContigIndex(contig), contig, position, record);
+  }
+
+  private int getContigIndex(String contig) {
+    if (contigIndexes == null) {
+      contigIndexes = Maps.newHashMapWithExpectedSize(contigs.size());
+      for (int i = 0; i < contigs.size(); i++) {
+        contigIndexes.put(contigs.get(i), i);
       }
     }
 
-    return row;
+    val index = contigIndexes.get(contig);
+
+    return index == null ? contigs.size() : index;
   }
 
-}
\ No newline at end of file
+}
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.release.job.document.function;
 
+import static java.lang.String.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.BufferedWriter;
@@ -25,7 +26,6 @@ import java.io.OutputStreamWriter;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.zip.GZIPOutputStream;
 
 import lombok.Cleanup;
 import lombok.NonNull;
@@ -34,16 +34,16 @@ import lombok.val;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.api.java.function.Function2;
 import org.icgc.dcc.common.hadoop.fs.FileSystems;
+import org.icgc.dcc.release.job.document.io.BgzfOutputStream;
 
+/**
+ * Writes the sorted VCF records of a partition to a BGZF chunk of its own. The chunks are not terminated, so that
+ * they can be concatenated in partition order into the final VCF file.
+ */
 @RequiredArgsConstructor
-public final class SaveVCFRecords implements FlatMapFunction<Iterator<String>, Void> {
-
-  @NonNull
-  private final String workingDir;
-  @NonNull
-  private final Map<String, String> fileSystemSettings;
+public final class SaveVCFRecords implements Function2<Integer, Iterator<String>, Iterator<String>> {
 
   /**
    * See
@@ -52,21 +52,38 @@ public final class SaveVCFRecords implements FlatMapFunction<Iterator<String>, V
    */
   public static final String VCF_FILE_NAME = "simple_somatic_mutation.aggregated.vcf.gz";
 
+  @NonNull
+  private final String chunksDir;
+  @NonNull
+  private final Map<String, String> fileSystemSettings;
+
+  /**
+   * @return the path of the written chunk, if the partition is not empty
+   */
   @Override
-  public Iterable<Void> call(Iterator<String> rows) throws Exception {
-    val vcfFilePath = new Path(workingDir, SaveVCFRecords.VCF_FILE_NAME);
+  public Iterator<String> call(Integer partition, Iterator<String> rows) throws Exception {
+    if (!rows.hasNext()) {
+      return Collections.emptyIterator();
+    }
+
+    val chunkPath = new Path(chunksDir, format("part-%05d", partition));
     val fileSystem = FileSystems.getFileSystem(fileSystemSettings);
-    @Cleanup
-    val writer = getWriter(vcfFilePath, fileSystem);
-    while (rows.hasNext()) {
-      writer.write(rows.next());
+    {
+      @Cleanup
+      val writer = getWriter(chunkPath, fileSystem);
+      while (rows.hasNext()) {
+        writer.write(rows.next());
+      }
     }
 
-    return Collections.emptyList();
+    return Collections.singletonList(chunkPath.toString()).iterator();
   }
 
-  private static BufferedWriter getWriter(Path vcfFilePath, FileSystem fileSystem) throws IOException {
-    return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(fileSystem.create(vcfFilePath)), UTF_8));
+  private static BufferedWriter getWriter(Path chunkPath, FileSystem fileSystem) throws IOException {
+    val terminate = false;
+
+    return new BufferedWriter(new OutputStreamWriter(new BgzfOutputStream(fileSystem.create(chunkPath), terminate),
+        UTF_8));
   }
 
-}
\ No newline at end of file
+}
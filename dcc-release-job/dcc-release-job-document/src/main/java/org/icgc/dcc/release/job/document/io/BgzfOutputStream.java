@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.document.io;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import lombok.NonNull;
+
+/**
+ * Writes the BGZF (blocked GNU zip format) flavour of gzip which is required for tabix indexing. See section 4.1 of
+ * the SAM specification: https://samtools.github.io/hts-specs/SAMv1.pdf
+ * <p>
+ * Every block is a complete gzip member, so streams written without the end-of-file marker (see
+ * {@link #BgzfOutputStream(OutputStream, boolean)}) may be concatenated byte-wise into a single valid file which is
+ * then terminated with {@link #EOF_BLOCK}.
+ */
+public class BgzfOutputStream extends OutputStream {
+
+  /**
+   * Constants.
+   */
+  public static final byte[] EOF_BLOCK = {
+      0x1f, (byte) 0x8b, 0x08, 0x04, 0x00, 0x00, 0x00, 0x00, 0x00, (byte) 0xff, 0x06, 0x00, 0x42, 0x43, 0x02, 0x00,
+      0x1b, 0x00, 0x03, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 };
+
+  /**
+   * Same as htslib, which leaves room for incompressible input to be stored within the 64 KB block limit.
+   */
+  private static final int MAX_INPUT_SIZE = 0xff00;
+  private static final int MAX_BLOCK_SIZE = 0x10000;
+  private static final int HEADER_SIZE = 18;
+  private static final int FOOTER_SIZE = 8;
+
+  /**
+   * Dependencies.
+   */
+  private final OutputStream outputStream;
+
+  /**
+   * Configuration.
+   */
+  private final boolean terminate;
+
+  /**
+   * State.
+   */
+  private final byte[] input = new byte[MAX_INPUT_SIZE];
+  private final byte[] block = new byte[MAX_BLOCK_SIZE];
+  private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+  private final Deflater storer = new Deflater(Deflater.NO_COMPRESSION, true);
+  private final CRC32 crc = new CRC32();
+  private int inputLength;
+  private boolean finished;
+
+  public BgzfOutputStream(@NonNull OutputStream outputStream) {
+    this(outputStream, true);
+  }
+
+  /**
+   * @param terminate whether {@link #EOF_BLOCK} is written on {@link #close()}
+   */
+  public BgzfOutputStream(@NonNull OutputStream outputStream, boolean terminate) {
+    this.outputStream = outputStream;
+    this.terminate = terminate;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    checkState(!finished, "Stream is finished");
+    if (inputLength == MAX_INPUT_SIZE) {
+      writeBlock();
+    }
+
+    input[inputLength++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    checkState(!finished, "Stream is finished");
+    while (len > 0) {
+      if (inputLength == MAX_INPUT_SIZE) {
+        writeBlock();
+      }
+
+      int count = Math.min(len, MAX_INPUT_SIZE - inputLength);
+      System.arraycopy(b, off, input, inputLength, count);
+      inputLength += count;
+      off += count;
+      len -= count;
+    }
+  }
+
+  /**
+   * Compresses the buffered input and releases the compressors. The underlying stream is left open.
+   */
+  public void finish() throws IOException {
+    if (finished) {
+      return;
+    }
+
+    if (inputLength > 0) {
+      writeBlock();
+    }
+    if (terminate) {
+      outputStream.write(EOF_BLOCK);
+    }
+
+    deflater.end();
+    storer.end();
+    finished = true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      finish();
+    } finally {
+      outputStream.close();
+    }
+  }
+
+  private void writeBlock() throws IOException {
+    int compressedLength = deflate(deflater);
+    if (compressedLength < 0) {
+      // Incompressible input
+      compressedLength = deflate(storer);
+      checkState(compressedLength >= 0, "Failed to store %s bytes in a BGZF block", inputLength);
+    }
+
+    crc.reset();
+    crc.update(input, 0, inputLength);
+
+    int blockSize = HEADER_SIZE + compressedLength + FOOTER_SIZE;
+    writeHeader(blockSize);
+    outputStream.write(block, 0, compressedLength);
+    writeInt((int) crc.getValue());
+    writeInt(inputLength);
+
+    inputLength = 0;
+  }
+
+  /**
+   * @return the compressed length, or {@code -1} if it does not fit a block
+   */
+  private int deflate(Deflater compressor) {
+    compressor.reset();
+    compressor.setInput(input, 0, inputLength);
+    compressor.finish();
+
+    int capacity = MAX_BLOCK_SIZE - HEADER_SIZE - FOOTER_SIZE;
+    int length = compressor.deflate(block, 0, capacity);
+
+    return compressor.finished() ? length : -1;
+  }
+
+  private void writeHeader(int blockSize) throws IOException {
+    // ID1, ID2, CM, FLG (FEXTRA)
+    outputStream.write(0x1f);
+    outputStream.write(0x8b);
+    outputStream.write(0x08);
+    outputStream.write(0x04);
+    // MTIME
+    writeInt(0);
+    // XFL, OS (unknown)
+    outputStream.write(0x00);
+    outputStream.write(0xff);
+    // XLEN
+    writeShort(6);
+    // BC subfield: SI1, SI2, SLEN, BSIZE (total block size minus 1)
+    outputStream.write('B');
+    outputStream.write('C');
+    writeShort(2);
+    writeShort(blockSize - 1);
+  }
+
+  private void writeShort(int value) throws IOException {
+    outputStream.write(value & 0xff);
+    outputStream.write((value >>> 8) & 0xff);
+  }
+
+  private void writeInt(int value) throws IOException {
+    writeShort(value & 0xffff);
+    writeShort((value >>> 16) & 0xffff);
+  }
+
+}
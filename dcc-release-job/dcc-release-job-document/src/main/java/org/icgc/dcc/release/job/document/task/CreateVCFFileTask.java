@@ -23,12 +23,18 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.icgc.dcc.common.core.model.FeatureTypes.FeatureType.SSM_TYPE;
 import static org.icgc.dcc.common.core.model.FieldNames.PROJECT_SUMMARY;
 import static org.icgc.dcc.common.core.model.FieldNames.getTestedTypeCountFieldName;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
 import static org.icgc.dcc.release.core.util.Partitions.getPartitionsCount;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.util.Collections;
+import java.util.List;
 
+import net.sf.picard.reference.IndexedFastaSequenceFile;
+import net.sf.samtools.SAMSequenceRecord;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.release.core.config.SnpEffProperties;
 import org.icgc.dcc.release.core.job.FileType;
@@ -37,22 +43,32 @@ import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.core.task.TaskType;
 import org.icgc.dcc.release.core.util.Configurations;
+import org.icgc.dcc.release.job.document.function.KeyVCFRecord;
 import org.icgc.dcc.release.job.document.function.MutationVCFConverter;
 import org.icgc.dcc.release.job.document.function.SaveVCFRecords;
+import org.icgc.dcc.release.job.document.io.BgzfOutputStream;
 import org.icgc.dcc.release.job.document.vcf.MutationVCFWriter;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.io.ByteStreams;
 
 import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class CreateVCFFileTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final String CHUNKS_DIR_NAME = "_vcf_chunks";
+
   @NonNull
   private final SnpEffProperties properties;
 
@@ -68,26 +84,64 @@ public class CreateVCFFileTask extends GenericTask {
     val releaseName = taskContext.getJobContext().getReleaseName();
     val fastaFile = resolveFastaFile();
 
-    val header = getVCFHeaderRDD(testedDonorCount, releaseName, fastaFile, taskContext);
+    val header = getVCFHeader(testedDonorCount, releaseName, fastaFile);
+    val contigs = resolveContigs(fastaFile);
 
     val input = readDocInput(taskContext, FileType.MUTATION_CENTRIC_DOCUMENT);
     val partitionsCount = getPartitionsCount(input);
+
+    // Range partitioned sort, so every partition holds a consecutive range of the genome
     val records = input.mapPartitions(new MutationVCFConverter(testedDonorCount, releaseName, properties))
-        .sortBy(key -> key, true, partitionsCount);
+        .sortBy(new KeyVCFRecord(contigs), true, partitionsCount);
 
-    val output = header.union(records);
-    save(output, taskContext);
+    save(header, records, taskContext);
   }
 
-  private void save(JavaRDD<String> output, TaskContext taskContext) {
+  private void save(String header, JavaRDD<String> records, TaskContext taskContext) {
+    val fileSystem = taskContext.getFileSystem();
     val workingDir = taskContext.getJobContext().getWorkingDir();
-    val fileSystemSettings = Configurations.getSettings(taskContext.getFileSystem().getConf());
+    val chunksDir = new Path(workingDir, CHUNKS_DIR_NAME);
+    val vcfPath = new Path(workingDir, SaveVCFRecords.VCF_FILE_NAME);
+    val fileSystemSettings = Configurations.getSettings(fileSystem.getConf());
+
+    // Every partition compresses its range in parallel. Chunk paths are collected in partition, i.e. genome, order
+    delete(fileSystem, chunksDir);
+    val chunks = records
+        .mapPartitionsWithIndex(new SaveVCFRecords(chunksDir.toString(), fileSystemSettings), true)
+        .collect();
+
+    concat(fileSystem, header, chunks, vcfPath);
+    delete(fileSystem, chunksDir);
+    taskContext.addOutput(vcfPath.toString());
+  }
+
+  @SneakyThrows
+  private static void concat(FileSystem fileSystem, String header, List<String> chunks, Path vcfPath) {
+    log.info("Concatenating {} VCF chunk(s) into '{}'...", chunks.size(), vcfPath);
+    @Cleanup
+    val output = fileSystem.create(vcfPath, true);
+
+    // The header is written once, in blocks of its own
+    val terminate = false;
+    val headerStream = new BgzfOutputStream(output, terminate);
+    headerStream.write(header.getBytes(UTF_8));
+    headerStream.finish();
+
+    // BGZF blocks are self-contained gzip members, so the compressed chunks are copied as is
+    for (val chunk : chunks) {
+      @Cleanup
+      val input = fileSystem.open(new Path(chunk));
+      ByteStreams.copy(input, output);
+    }
 
-    // Coalescing to 1 partition so only 1 instance of SaveVCFRecords function will be created and it will get the whole
-    // input
-    output.coalesce(1)
-        .mapPartitions(new SaveVCFRecords(workingDir, fileSystemSettings))
-        .count();
+    output.write(BgzfOutputStream.EOF_BLOCK);
+  }
+
+  @SneakyThrows
+  private static void delete(FileSystem fileSystem, Path path) {
+    if (fileSystem.exists(path)) {
+      fileSystem.delete(path, true);
+    }
   }
 
   private Integer resolveTotalSsmTestedDonorCount(TaskContext taskContext) {
@@ -112,8 +166,17 @@ public class CreateVCFFileTask extends GenericTask {
   }
 
   @SneakyThrows
-  private static JavaRDD<String> getVCFHeaderRDD(int testedDonorCount, String releaseName, File fastaFile,
-      TaskContext taskContext) {
+  private static List<String> resolveContigs(File fastaFile) {
+    @Cleanup
+    val sequenceFile = new IndexedFastaSequenceFile(fastaFile);
+
+    return sequenceFile.getSequenceDictionary().getSequences().stream()
+        .map(SAMSequenceRecord::getSequenceName)
+        .collect(toImmutableList());
+  }
+
+  @SneakyThrows
+  private static String getVCFHeader(int testedDonorCount, String releaseName, File fastaFile) {
     // Write header to buffer, flush and close within following block
     val buffer = new ByteArrayOutputStream();
     {
@@ -124,9 +187,8 @@ public class CreateVCFFileTask extends GenericTask {
 
     val header = buffer.toString(UTF_8.toString());
     checkState(!isNullOrEmpty(header), "Expected non-empty VCF header");
-    val sparkContext = taskContext.getSparkContext();
 
-    return sparkContext.parallelize(Collections.singletonList(header));
+    return header;
   }
 
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.document.vcf.model;
+
+import java.io.Serializable;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Genome order of a VCF record: by the position of its contig in the reference sequence dictionary, then by position.
+ * Contigs sharing an index (i.e. the ones missing from the dictionary) are ordered by name, and records at the same
+ * position by their text to keep the output deterministic.
+ */
+@Value
+public class VCFRecordKey implements Comparable<VCFRecordKey>, Serializable {
+
+  int contigIndex;
+  @NonNull
+  String contig;
+  int position;
+  @NonNull
+  String record;
+
+  @Override
+  public int compareTo(VCFRecordKey other) {
+    int result = Integer.compare(contigIndex, other.contigIndex);
+    if (result != 0) {
+      return result;
+    }
+
+    result = contig.compareTo(other.contig);
+    if (result != 0) {
+      return result;
+    }
+
+    result = Integer.compare(position, other.position);
+    if (result != 0) {
+      return result;
+    }
+
+    return record.compareTo(other.record);
+  }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.document.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Bytes;
+
+public class BgzfOutputStreamTest {
+
+  @Test
+  public void testWrite() throws IOException {
+    val data = createData(200_000);
+    val compressed = compress(data, true);
+
+    assertThat(decompress(compressed)).isEqualTo(data);
+    assertThat(endsWith(compressed, BgzfOutputStream.EOF_BLOCK)).isTrue();
+    assertBlocks(compressed);
+  }
+
+  @Test
+  public void testWriteIncompressible() throws IOException {
+    val data = new byte[100_000];
+    new Random(1).nextBytes(data);
+    val compressed = compress(data, true);
+
+    assertThat(decompress(compressed)).isEqualTo(data);
+    assertBlocks(compressed);
+  }
+
+  @Test
+  public void testConcat() throws IOException {
+    val first = createData(70_000);
+    val second = createData(10);
+
+    val concatenated = Bytes.concat(compress(first, false), compress(second, false), BgzfOutputStream.EOF_BLOCK);
+
+    assertThat(decompress(concatenated)).isEqualTo(Bytes.concat(first, second));
+    assertBlocks(concatenated);
+  }
+
+  private static void assertBlocks(byte[] compressed) {
+    // Walk the blocks through their BSIZE fields, which is what tabix does
+    int offset = 0;
+    while (offset < compressed.length) {
+      assertThat(compressed[offset] & 0xff).isEqualTo(0x1f);
+      assertThat(compressed[offset + 1] & 0xff).isEqualTo(0x8b);
+      assertThat(compressed[offset + 12]).isEqualTo((byte) 'B');
+      assertThat(compressed[offset + 13]).isEqualTo((byte) 'C');
+
+      val blockSize = ((compressed[offset + 16] & 0xff) | (compressed[offset + 17] & 0xff) << 8) + 1;
+      assertThat(blockSize).isLessThanOrEqualTo(0x10000);
+      offset += blockSize;
+    }
+
+    assertThat(offset).isEqualTo(compressed.length);
+  }
+
+  private static byte[] createData(int length) {
+    val data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) ('A' + i % 23);
+    }
+
+    return data;
+  }
+
+  private static byte[] compress(byte[] data, boolean terminate) throws IOException {
+    val buffer = new ByteArrayOutputStream();
+    try (BgzfOutputStream output = new BgzfOutputStream(buffer, terminate)) {
+      output.write(data);
+    }
+
+    return buffer.toByteArray();
+  }
+
+  private static byte[] decompress(byte[] compressed) throws IOException {
+    return ByteStreams.toByteArray(new GZIPInputStream(new ByteArrayInputStream(compressed)));
+  }
+
+  private static boolean endsWith(byte[] bytes, byte[] suffix) {
+    for (int i = 0; i < suffix.length; i++) {
+      if (bytes[bytes.length - suffix.length + i] != suffix[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+}
@@ -35,6 +35,8 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import com.google.common.collect.Sets;
+
 @Slf4j
 public class CreateVCFFileTaskTest extends AbstractJobTest {
 
@@ -69,6 +71,37 @@ public class CreateVCFFileTaskTest extends AbstractJobTest {
     printFile(vcfFile);
     assertThat(vcfFile.exists()).isTrue();
     assertThat(vcfFile.length()).isGreaterThan(1L);
+    verifyRecords(vcfFile);
+  }
+
+  @SneakyThrows
+  private static void verifyRecords(File vcfFile) {
+    // Header once, followed by the records grouped by contig and sorted by position
+    val reader = Files2.getCompressionAgnosticBufferedReader(vcfFile.getAbsolutePath());
+    val contigs = Sets.<String> newHashSet();
+    String previousContig = null;
+    int previousPosition = 0;
+    boolean header = true;
+    String line = null;
+    while ((line = reader.readLine()) != null) {
+      if (line.startsWith("#")) {
+        assertThat(header).isTrue();
+        continue;
+      }
+
+      header = false;
+      val fields = line.split("\t");
+      val contig = fields[0];
+      val position = Integer.parseInt(fields[1]);
+      if (contig.equals(previousContig)) {
+        assertThat(position).isGreaterThanOrEqualTo(previousPosition);
+      } else {
+        assertThat(contigs.add(contig)).isTrue();
+      }
+
+      previousContig = contig;
+      previousPosition = position;
+    }
   }
 
   @SneakyThrows
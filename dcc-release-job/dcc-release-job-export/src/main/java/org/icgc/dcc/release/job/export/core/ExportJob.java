@@ -28,9 +28,12 @@ import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.rmr;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -87,6 +90,20 @@ public class ExportJob extends GenericJob {
     return JobType.EXPORT;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return Stream.of(ExportType.values())
+        .map(ExportType::getInputFileType)
+        .filter(Objects::nonNull)
+        .collect(toImmutableSet());
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    // Archives are written to the export directory which is not a file type
+    return ImmutableSet.of();
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     if (exportProperties.isClean()) {
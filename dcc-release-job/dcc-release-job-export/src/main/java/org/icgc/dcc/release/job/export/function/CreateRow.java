@@ -17,34 +17,17 @@
  */
 package org.icgc.dcc.release.job.export.function;
 
-import static com.google.common.base.Preconditions.checkState;
-import static java.lang.String.format;
-import static org.icgc.dcc.release.job.export.util.DataTypeUtils.checkDataType;
-import static org.icgc.dcc.release.job.export.util.DataTypeUtils.convertValue;
-
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
-import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.spark.api.java.function.Function;
 import org.apache.spark.sql.Row;
-import org.apache.spark.sql.RowFactory;
-import org.apache.spark.sql.types.ArrayType;
 import org.apache.spark.sql.types.StructType;
-import org.icgc.dcc.common.core.json.Jackson;
-import org.icgc.dcc.release.core.util.ReleaseException;
 import org.icgc.dcc.release.job.export.model.ExportType;
+import org.icgc.dcc.release.job.export.record.RowConverter;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -58,79 +41,27 @@ public final class CreateRow implements Function<ObjectNode, Row> {
   @NonNull
   private final StructType exportTypeSchema;
 
+  /**
+   * State.
+   */
+  private transient RowConverter converter;
+
   @Override
   public Row call(ObjectNode json) {
-    val map = convert(json);
-    Row row = null;
     try {
-      row = createRow(map, exportType, exportTypeSchema);
+      return getConverter().convert(json);
     } catch (IllegalArgumentException e) {
-      log.error("Failed to convert row: {}", json);
+      log.error("Failed to convert '{}' row: {}", exportType.getId(), json);
       throw e;
     }
-
-    return row;
   }
 
-  @SneakyThrows
-  private Map<String, Object> convert(ObjectNode json) {
-    val jsonString = json.toString();
-    Map<String, Object> map = Maps.<String, Object> newHashMap();
-    map = Jackson.DEFAULT.readValue(jsonString, new TypeReference<Map<String, Object>>() {});
-
-    return map;
-  }
-
-  private Row createRow(Map<String, Object> map, ExportType exportType, StructType exportTypeSchema) {
-    val rowValues = Lists.newArrayList();
-    val schemaFields = Lists.newArrayList(exportTypeSchema.fields());
-
-    for (val field : schemaFields) {
-      val fieldName = field.name();
-      Object value = map.get(fieldName);
-      val dataType = field.dataType();
-      if (!checkDataType(value, dataType, fieldName)) {
-        try {
-          value = convertValue(value, dataType);
-        } catch (NumberFormatException e) {
-          val message = format("Failed to convert field %s to %s.", fieldName, dataType);
-          log.error(message);
-          throw new ReleaseException(message, e);
-        }
-      }
-
-      if (value == null) {
-        rowValues.add(null);
-      } else if (isSimpleType(value)) {
-        rowValues.add(value);
-      } else {
-        val childExportType = ExportType.getChildType(exportType, fieldName);
-        val arrayType = (ArrayType) dataType;
-        rowValues.add(convertArray(value, childExportType, (StructType) arrayType.elementType()));
-      }
+  private RowConverter getConverter() {
+    if (converter == null) {
+      converter = new RowConverter(exportTypeSchema);
     }
 
-    return create(rowValues);
-  }
-
-  private static Row create(List<? extends Object> rowValues) {
-    return RowFactory.create(rowValues.toArray(new Object[rowValues.size()]));
-  }
-
-  private List<Row> convertArray(Object value, ExportType exportType, StructType exportTypeSchema) {
-    checkState(value instanceof List);
-    @SuppressWarnings("unchecked")
-    List<Map<String, Object>> values = (List<Map<String, Object>>) value;
-
-    List<Row> result = values.stream()
-        .map(map -> createRow(map, exportType, exportTypeSchema))
-        .collect(Collectors.toList());
-
-    return result;
-  }
-
-  private static boolean isSimpleType(Object value) {
-    return !(value instanceof List);
+    return converter;
   }
 
-}
\ No newline at end of file
+}
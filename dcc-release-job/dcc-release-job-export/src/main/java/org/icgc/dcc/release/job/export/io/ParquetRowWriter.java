@@ -25,6 +25,7 @@ import java.io.File;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
+import org.apache.spark.HashPartitioner;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.sql.DataFrame;
 import org.apache.spark.sql.SQLContext;
@@ -56,11 +57,14 @@ public class ParquetRowWriter implements RowWriter {
   private DataFrame createDataFrame(JavaRDD<ObjectNode> input, TaskContext taskContext) {
     val partitionsNum = getPartitionsCount(input);
 
-    // Convert to ROW
+    // Convert to ROW. Unlike groupBy, the sort based shuffle never holds all the rows of a donor in memory and still
+    // makes them contiguous for the donor partitioned parquet writer
     val rowRdd = input
         .map(new CreateRow(exportType, exportTypeSchema))
-        .groupBy(new KeyByDonor(exportType.getIdPartitions()), partitionsNum * exportType.getParallelismMultiplier())
-        .flatMap(tuple -> tuple._2);
+        .keyBy(new KeyByDonor(exportType.getIdPartitions()))
+        .repartitionAndSortWithinPartitions(
+            new HashPartitioner(partitionsNum * exportType.getParallelismMultiplier()))
+        .values();
 
     return sqlContext.createDataFrame(rowRdd, exportTypeSchema);
   }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.export.record;
+
+import static java.lang.String.format;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import lombok.NonNull;
+import lombok.val;
+
+import org.apache.spark.sql.Row;
+import org.apache.spark.sql.RowFactory;
+import org.apache.spark.sql.types.ArrayType;
+import org.apache.spark.sql.types.DataType;
+import org.apache.spark.sql.types.DataTypes;
+import org.apache.spark.sql.types.StructType;
+import org.icgc.dcc.release.core.util.ReleaseException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.Lists;
+
+/**
+ * Converts {@code ObjectNode}s to {@link Row}s of a {@link StructType} without any intermediate representation.
+ * <p>
+ * The per-field conversions are resolved once, when the converter is created. Values whose JSON type does not match
+ * the field type are converted the way their Java counterpart's {@code toString()} would render them.
+ */
+public class RowConverter {
+
+  /**
+   * Configuration.
+   */
+  private final String[] fieldNames;
+  private final FieldConverter[] fieldConverters;
+
+  public RowConverter(@NonNull StructType schema) {
+    val fields = schema.fields();
+    this.fieldNames = new String[fields.length];
+    this.fieldConverters = new FieldConverter[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      fieldNames[i] = fields[i].name();
+      fieldConverters[i] = createFieldConverter(fields[i].name(), fields[i].dataType());
+    }
+  }
+
+  public Row convert(@NonNull JsonNode json) {
+    val values = new Object[fieldNames.length];
+    for (int i = 0; i < values.length; i++) {
+      val value = json.get(fieldNames[i]);
+      values[i] = value == null || value.isNull() ? null : fieldConverters[i].convert(value);
+    }
+
+    return RowFactory.create(values);
+  }
+
+  private static FieldConverter createFieldConverter(String fieldName, DataType dataType) {
+    if (DataTypes.StringType.equals(dataType)) {
+      return RowConverter::toStringValue;
+    } else if (DataTypes.IntegerType.equals(dataType)) {
+      return value -> value.isInt() ? value.intValue() : parse(fieldName, dataType, value, Integer::valueOf);
+    } else if (DataTypes.DoubleType.equals(dataType)) {
+      return value -> value.isNumber() ? value.doubleValue() : parse(fieldName, dataType, value, Double::valueOf);
+    } else if (dataType instanceof ArrayType && ((ArrayType) dataType).elementType() instanceof StructType) {
+      return createArrayConverter(fieldName, new RowConverter((StructType) ((ArrayType) dataType).elementType()));
+    }
+
+    return RowConverter::toJavaValue;
+  }
+
+  private static FieldConverter createArrayConverter(String fieldName, RowConverter elementConverter) {
+    return value -> {
+      if (!value.isArray()) {
+        throw new IllegalArgumentException(format("Field '%s' is not an array: %s", fieldName, value));
+      }
+
+      val rows = Lists.<Row> newArrayListWithCapacity(value.size());
+      for (val element : value) {
+        rows.add(elementConverter.convert(element));
+      }
+
+      return rows;
+    };
+  }
+
+  private static Object parse(String fieldName, DataType dataType, JsonNode value,
+      Function<String, Object> parser) {
+    try {
+      return parser.apply(toStringValue(value));
+    } catch (NumberFormatException e) {
+      throw new ReleaseException(format("Failed to convert field %s to %s.", fieldName, dataType), e);
+    }
+  }
+
+  private static Object toJavaValue(JsonNode value) {
+    if (value.isTextual()) {
+      return value.textValue();
+    } else if (value.isNumber()) {
+      return value.numberValue();
+    } else if (value.isBoolean()) {
+      return value.booleanValue();
+    }
+
+    return toStringValue(value);
+  }
+
+  private static String toStringValue(JsonNode value) {
+    if (value.isValueNode()) {
+      // Text, numbers and booleans render as String.valueOf() of their Java value
+      return value.asText();
+    }
+
+    val builder = new StringBuilder();
+    appendContainer(builder, value);
+
+    return builder.toString();
+  }
+
+  /**
+   * Renders arrays and objects like {@code List.toString()} and {@code Map.toString()}.
+   */
+  private static void appendContainer(StringBuilder builder, JsonNode value) {
+    if (value.isArray()) {
+      builder.append('[');
+      for (int i = 0; i < value.size(); i++) {
+        if (i > 0) {
+          builder.append(", ");
+        }
+        append(builder, value.get(i));
+      }
+      builder.append(']');
+    } else {
+      builder.append('{');
+      Iterator<Entry<String, JsonNode>> fields = value.fields();
+      while (fields.hasNext()) {
+        val field = fields.next();
+        builder.append(field.getKey()).append('=');
+        append(builder, field.getValue());
+        if (fields.hasNext()) {
+          builder.append(", ");
+        }
+      }
+      builder.append('}');
+    }
+  }
+
+  private static void append(StringBuilder builder, JsonNode value) {
+    if (value.isContainerNode()) {
+      appendContainer(builder, value);
+    } else {
+      builder.append(value.isNull() ? "null" : value.asText());
+    }
+  }
+
+  @FunctionalInterface
+  private interface FieldConverter {
+
+    Object convert(JsonNode value);
+
+  }
+
+}
@@ -64,6 +64,36 @@ public class CreateRowTest {
     assertThat(projectId).isInstanceOf(String.class);
   }
 
+  @Test
+  public void callTest_nonTextValues() {
+    function = new CreateRow(ExportType.SAMPLE, createStructType());
+    val sourceNode = $("{_project_id:1.5,_sample_id:['SA1','SA2'],analyzed_sample_id:{a:1,b:true},"
+        + "available_raw_sequence_data:[{raw_data_accession:123,repository:null}]}");
+
+    val row = function.call(sourceNode);
+    assertThat(row.get(0)).isEqualTo("1.5");
+    assertThat(row.get(1)).isEqualTo("[SA1, SA2]");
+    assertThat(row.get(2)).isEqualTo("{a=1, b=true}");
+
+    @SuppressWarnings("unchecked")
+    val seqDataArray = (List<Row>) row.get(3);
+    assertThat(seqDataArray).hasSize(1);
+    assertThat(seqDataArray.get(0).get(0)).isNull();
+    assertThat(seqDataArray.get(0).get(1)).isEqualTo("123");
+    assertThat(seqDataArray.get(0).get(2)).isNull();
+  }
+
+  @Test
+  public void callTest_missingFields() {
+    function = new CreateRow(ExportType.SAMPLE, createStructType());
+
+    val row = function.call($("{_sample_id:'SA000002'}"));
+    assertThat(row.length()).isEqualTo(4);
+    assertThat(row.get(0)).isNull();
+    assertThat(row.get(1)).isEqualTo("SA000002");
+    assertThat(row.get(3)).isNull();
+  }
+
   private static StructType createStructType() {
     val fields = Lists.<StructField> newArrayList();
     fields.add(DataTypes.createStructField("_project_id", DataTypes.StringType, true));
@@ -17,9 +17,9 @@
  */
 package org.icgc.dcc.release.job.fathmm.core;
 
-import lombok.Cleanup;
+import java.util.Set;
+
 import lombok.NonNull;
-import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
@@ -33,6 +33,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.google.common.collect.BiMap;
+import com.google.common.collect.ImmutableSet;
 
 /**
  * Please see http://fathmm.biocompute.org.uk/
@@ -49,6 +50,16 @@ public class FathmmJob extends GenericJob {
     return JobType.FATHMM;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return ImmutableSet.of(FileType.OBSERVATION, FileType.GENE);
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.of(FileType.OBSERVATION_FATHMM);
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     clean(jobContext);
@@ -69,11 +80,8 @@ public class FathmmJob extends GenericJob {
     return task.getTranscripts();
   }
 
-  @SneakyThrows
   private void predict(JobContext jobContext, BiMap<String, String> transcripts) {
-    @Cleanup
-    val predictFathmTask = new PredictFathmmTask(jdbcUrl, transcripts);
-    jobContext.execute(predictFathmTask);
+    jobContext.execute(new PredictFathmmTask(jdbcUrl, transcripts));
   }
 
 }
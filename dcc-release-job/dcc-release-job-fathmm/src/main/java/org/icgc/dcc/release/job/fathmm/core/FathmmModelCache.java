@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.fathmm.core;
+
+import static java.util.Collections.singleton;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import org.icgc.dcc.release.job.fathmm.model.FathmmModel;
+import org.icgc.dcc.release.job.fathmm.repository.FathmmLookup;
+
+import com.google.common.collect.Sets;
+
+/**
+ * {@link FathmmLookup} over an in-memory {@link FathmmModel} which loads the tables of a translation the first time
+ * its sequence is looked up. {@link FathmmPredictor} always starts with the sequence, so an executor reads the tables
+ * of the translations its partitions refer to once each.
+ * <p>
+ * Thread-safe, so that the concurrent tasks of an executor can share an instance.
+ */
+@RequiredArgsConstructor
+public class FathmmModelCache implements FathmmLookup {
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final FathmmModelLoader loader;
+
+  /**
+   * State.
+   */
+  private final FathmmModel model = new FathmmModel();
+  private final Set<String> translationIds = Sets.newHashSet();
+
+  @Override
+  public synchronized Map<String, Object> getSequence(@NonNull String translationId) {
+    if (translationIds.add(translationId)) {
+      loader.load(model, singleton(translationId));
+    }
+
+    return model.getSequence(translationId);
+  }
+
+  @Override
+  public synchronized Map<String, Object> getWeight(String weightId, String weights) {
+    return model.getWeight(weightId, weights);
+  }
+
+  @Override
+  public synchronized Map<String, Object> getUnweightedProbability(String sequenceId, int substitution) {
+    return model.getUnweightedProbability(sequenceId, substitution);
+  }
+
+  @Override
+  public synchronized List<Map<String, Object>> getDomains(int sequenceId, int substitution) {
+    return model.getDomains(sequenceId, substitution);
+  }
+
+  @Override
+  public synchronized Map<String, Object> getProbability(String hmm, Integer residue) {
+    return model.getProbability(hmm, residue);
+  }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.fathmm.core;
+
+import static com.google.common.base.Stopwatch.createStarted;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+import static org.icgc.dcc.release.job.fathmm.model.FathmmConstants.INHERITED;
+import static org.icgc.dcc.release.job.fathmm.model.FathmmModel.AMINO_ACIDS;
+import static org.icgc.dcc.release.job.fathmm.model.FathmmModel.PROBABILITY_WIDTH;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.release.job.fathmm.model.FathmmModel;
+import org.icgc.dcc.release.job.fathmm.model.FathmmModel.Domain;
+import org.icgc.dcc.release.job.fathmm.model.FathmmModel.Probabilities;
+import org.icgc.dcc.release.job.fathmm.model.FathmmModel.Protein;
+import org.icgc.dcc.release.job.fathmm.repository.FathmmRepository;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+
+/**
+ * Snapshots everything {@link FathmmPredictor} may read for a set of translations into a {@link FathmmModel}.
+ * <p>
+ * Issues a few queries per translation and per referenced HMM once, instead of several queries per consequence. See
+ * {@link FathmmModelCache} for loading translations as they are needed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FathmmModelLoader {
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final FathmmRepository repository;
+
+  public FathmmModel load(@NonNull Collection<String> translationIds) {
+    val model = new FathmmModel();
+    load(model, translationIds);
+
+    return model;
+  }
+
+  /**
+   * Adds the tables of {@code translationIds} to {@code model}, skipping the sequences and probabilities it already
+   * holds.
+   */
+  public void load(@NonNull FathmmModel model, @NonNull Collection<String> translationIds) {
+    val watch = createStarted();
+    log.debug("Loading FATHMM model for {} translations...", formatCount(translationIds.size()));
+
+    val probabilityIds = Sets.<String> newHashSet();
+    for (val translationId : translationIds) {
+      val sequence = repository.getSequence(translationId);
+      if (sequence == null) {
+        continue;
+      }
+
+      val sequenceId = (Integer) sequence.get("id");
+      model.addProtein(translationId, new Protein(sequenceId, sequence.get("sequence").toString()));
+      if (!model.hasDomains(sequenceId)) {
+        val sequenceDomains = loadDomains(sequenceId);
+        model.addDomains(sequenceId, sequenceDomains);
+
+        probabilityIds.add(sequenceId.toString());
+        for (val domain : sequenceDomains) {
+          probabilityIds.add(domain.getHmm());
+        }
+      }
+    }
+
+    for (val id : probabilityIds) {
+      if (model.hasProbabilities(id)) {
+        continue;
+      }
+
+      val rows = repository.getProbabilities(id);
+      if (!rows.isEmpty()) {
+        model.addProbabilities(id, createProbabilities(rows));
+      }
+
+      val weight = repository.getWeight(id, INHERITED);
+      if (weight != null) {
+        model.addWeight(id, toDouble(weight.get("disease")), toDouble(weight.get("other")));
+      }
+    }
+
+    log.debug("Finished loading FATHMM model for {} translations in {}", formatCount(translationIds.size()), watch);
+  }
+
+  private List<Domain> loadDomains(int sequenceId) {
+    val domains = ImmutableList.<Domain> builder();
+    for (val row : repository.getDomains(sequenceId)) {
+      domains.add(new Domain(
+          (String) row.get("hmm"),
+          toDouble(row.get("score")),
+          toInt(row.get("seq_begin")),
+          toInt(row.get("seq_end")),
+          toInt(row.get("hmm_begin")),
+          (String) row.get("align")));
+    }
+
+    return domains.build();
+  }
+
+  private static Probabilities createProbabilities(List<Map<String, Object>> rows) {
+    val positions = new int[rows.size()];
+    val values = new double[rows.size() * PROBABILITY_WIDTH];
+    for (int i = 0; i < rows.size(); i++) {
+      val row = rows.get(i);
+      positions[i] = toInt(row.get("position"));
+
+      val offset = i * PROBABILITY_WIDTH;
+      for (int j = 0; j < AMINO_ACIDS.length; j++) {
+        values[offset + j] = toDouble(row.get(AMINO_ACIDS[j]));
+      }
+      values[offset + AMINO_ACIDS.length] = toDouble(row.get("information"));
+    }
+
+    val first = rows.get(0);
+
+    return new Probabilities((String) first.get("accession"), (String) first.get("description"), positions, values);
+  }
+
+  private static int toInt(Object value) {
+    return ((Number) value).intValue();
+  }
+
+  private static double toDouble(Object value) {
+    return ((Number) value).doubleValue();
+  }
+
+}
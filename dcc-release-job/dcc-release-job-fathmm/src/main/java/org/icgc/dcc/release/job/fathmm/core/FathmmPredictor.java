@@ -36,20 +36,19 @@ import java.util.Map;
 import java.util.regex.Pattern;
 
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.StringUtils;
+import org.icgc.dcc.release.job.fathmm.repository.FathmmLookup;
 import org.icgc.dcc.release.job.fathmm.repository.FathmmRepository;
 
 import com.google.common.collect.Maps;
 
 /**
- * This is a java port for FatHMM using postgresql database
+ * This is a java port for FatHMM using postgresql database or an in-memory {@link FathmmLookup}.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class FathmmPredictor {
 
   /**
@@ -70,10 +69,30 @@ public class FathmmPredictor {
   /**
    * Dependencies.
    */
-  @NonNull
+  private final FathmmLookup lookup;
   private final FathmmRepository fathmmRepository;
 
+  /**
+   * Predicts against the database, persisting results to the {@code DCC_CACHE} table.
+   */
+  public FathmmPredictor(@NonNull FathmmRepository fathmmRepository) {
+    this.lookup = fathmmRepository;
+    this.fathmmRepository = fathmmRepository;
+  }
+
+  /**
+   * Predicts against the supplied lookup without any persistent cache.
+   */
+  public FathmmPredictor(@NonNull FathmmLookup lookup) {
+    this.lookup = lookup;
+    this.fathmmRepository = null;
+  }
+
   public Map<String, String> predict(String translationId, String aaChange) {
+    if (fathmmRepository == null) {
+      return calculateFATHMM(translationId, aaChange);
+    }
+
     Map<String, String> result = null;
     val cache = fathmmRepository.getFromCache(translationId, aaChange);
 
@@ -97,7 +116,7 @@ public class FathmmPredictor {
 
   // Calculate prediction for substitutions only via FATHMM database
   private Map<String, String> calculateFATHMM(String translationId, String aaChange) {
-    val sequence = fathmmRepository.getSequence(translationId);
+    val sequence = lookup.getSequence(translationId);
 
     // Check null
     if (sequence == null) {
@@ -135,7 +154,7 @@ public class FathmmPredictor {
     // //////////////////////////////////////////////////////////////////////////////
     for (val probability : probabilities) {
       val id = (String) probability.get("id");
-      val weight = fathmmRepository.getWeight(id, WEIGHT_TYPE);
+      val weight = lookup.getWeight(id, WEIGHT_TYPE);
 
       if (weight != null) {
         return result(probability, weight, aaChange);
@@ -145,10 +164,10 @@ public class FathmmPredictor {
     // //////////////////////////////////////////////////////////////////////////////
     // Unweighted non-domain based prediction
     // //////////////////////////////////////////////////////////////////////////////
-    val unweightedProbabilities = fathmmRepository
+    val unweightedProbabilities = lookup
         .getUnweightedProbability(sequenceId.toString(), substitutionPosition);
     if (unweightedProbabilities != null) {
-      val weight = fathmmRepository.getWeight((String) unweightedProbabilities.get("id"), WEIGHT_TYPE);
+      val weight = lookup.getWeight((String) unweightedProbabilities.get("id"), WEIGHT_TYPE);
       if (null != weight) {
         return result(unweightedProbabilities, weight, aaChange);
       }
@@ -158,7 +177,7 @@ public class FathmmPredictor {
   }
 
   private List<Map<String, Object>> getResidueProbabilities(int sequenceId, int substitutionPosition) {
-    val domainList = fathmmRepository.getDomains(sequenceId, substitutionPosition);
+    val domainList = lookup.getDomains(sequenceId, substitutionPosition);
     val facade = new ArrayList<Map<String, Object>>();
     for (val domain : domainList) {
       val start = Integer.parseInt(domain.get("seq_begin").toString());
@@ -168,7 +187,7 @@ public class FathmmPredictor {
 
       val residue = mapPosition(start, end, hmmBegin, align, substitutionPosition);
       if (residue != null) {
-        val probability = fathmmRepository.getProbability((String) domain.get("hmm"), Integer.parseInt(residue));
+        val probability = lookup.getProbability((String) domain.get("hmm"), Integer.parseInt(residue));
         if (probability != null) {
           facade.add(probability);
         }
@@ -17,6 +17,7 @@
  */
 package org.icgc.dcc.release.job.fathmm.function;
 
+import static java.util.Arrays.asList;
 import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_CONSEQUENCES;
 import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_CONSEQUENCES_AA_MUTATION;
 import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_CONSEQUENCES_CONSEQUENCE_FUNCTIONAL_IMPACT_PREDICTION;
@@ -24,17 +25,21 @@ import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_CONSEQUENCES
 import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_CONSEQUENCE_TYPES;
 import static org.icgc.dcc.release.core.util.ObjectNodes.MAPPER;
 
-import java.io.Closeable;
-import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.FlatMapFunction;
 import org.icgc.dcc.common.core.model.ConsequenceType;
+import org.icgc.dcc.release.job.fathmm.core.FathmmModelCache;
+import org.icgc.dcc.release.job.fathmm.core.FathmmModelLoader;
 import org.icgc.dcc.release.job.fathmm.core.FathmmPredictor;
 import org.icgc.dcc.release.job.fathmm.repository.FathmmRepository;
 
@@ -42,12 +47,20 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 @Slf4j
 @RequiredArgsConstructor
-public class PredictFathmm implements Function<ObjectNode, ObjectNode>, Closeable {
+public class PredictFathmm implements FlatMapFunction<Iterator<ObjectNode>, ObjectNode> {
+
+  /**
+   * Models of this JVM by repository URL. The tables of a translation are read once per executor, the first time any
+   * partition refers to it.
+   */
+  private static final ConcurrentMap<String, FathmmModelCache> MODELS = Maps.newConcurrentMap();
 
   /**
    * Configuration.
@@ -61,10 +74,31 @@ public class PredictFathmm implements Function<ObjectNode, ObjectNode>, Closeabl
    * State.
    */
   private transient FathmmPredictor predictor;
-  private transient FathmmRepository repository;
+
+  /**
+   * Predictions of the partition by translation id and amino acid change.
+   */
+  private transient Map<List<String>, Map<String, String>> predictions;
 
   @Override
-  public ObjectNode call(ObjectNode observation) throws Exception {
+  public Iterable<ObjectNode> call(Iterator<ObjectNode> partition) {
+    return () -> new AbstractIterator<ObjectNode>() {
+
+      @Override
+      protected ObjectNode computeNext() {
+        if (!partition.hasNext()) {
+          close();
+          return endOfData();
+        }
+
+        return predict(partition.next());
+      }
+
+    };
+  }
+
+  @SneakyThrows
+  private ObjectNode predict(ObjectNode observation) {
     val consequences = (ArrayNode) observation.get(OBSERVATION_CONSEQUENCES);
     val consequenceList = Lists.<JsonNode> newArrayList();
 
@@ -112,13 +146,6 @@ public class PredictFathmm implements Function<ObjectNode, ObjectNode>, Closeabl
     return aaMutation != null && !aaMutation.isMissingNode() && !aaMutation.isNull();
   }
 
-  @Override
-  public void close() throws IOException {
-    if (repository != null) {
-      repository.close();
-    }
-  }
-
   private ObjectNode calculateFATHMM(String translationIdStr, String aaMutationStr) {
     ObjectNode fathmmNode = null;
     val result = predict(translationIdStr, aaMutationStr);
@@ -134,11 +161,23 @@ public class PredictFathmm implements Function<ObjectNode, ObjectNode>, Closeabl
 
   private Map<String, String> predict(String translationIdStr, String aaMutationStr) {
     if (predictor == null) {
-      repository = new FathmmRepository(fathmmRepositoryUrl);
-      predictor = new FathmmPredictor(repository);
+      predictor = new FathmmPredictor(getModel(fathmmRepositoryUrl));
+      predictions = Maps.newHashMap();
     }
 
-    return predictor.predict(translationIdStr, aaMutationStr);
+    return predictions.computeIfAbsent(asList(translationIdStr, aaMutationStr),
+        key -> predictor.predict(translationIdStr, aaMutationStr));
+  }
+
+  private void close() {
+    predictor = null;
+    predictions = null;
+  }
+
+  private static FathmmModelCache getModel(String fathmmRepositoryUrl) {
+    // The repository stays open for the life of the JVM to load the translations of later partitions
+    return MODELS.computeIfAbsent(fathmmRepositoryUrl,
+        url -> new FathmmModelCache(new FathmmModelLoader(new FathmmRepository(url))));
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.fathmm.model;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Collections.emptyList;
+import static org.icgc.dcc.release.job.fathmm.model.FathmmConstants.INHERITED;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.icgc.dcc.release.job.fathmm.repository.FathmmLookup;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Compact, serializable snapshot of the FATHMM tables restricted to a set of translations.
+ * <p>
+ * Lookups return rows shaped like the ones produced by the JDBC repository so both can feed the same predictor. An
+ * empty model can be filled incrementally as translations are needed.
+ * 
+ * @see org.icgc.dcc.release.job.fathmm.core.FathmmModelLoader
+ */
+@RequiredArgsConstructor
+public class FathmmModel implements FathmmLookup, Serializable {
+
+  /**
+   * Amino acid columns of the {@code PROBABILITIES} table in storage order.
+   */
+  public static final String[] AMINO_ACIDS =
+      { "A", "C", "D", "E", "F", "G", "H", "I", "K", "L", "M", "N", "P", "Q", "R", "S", "T", "V", "W", "Y" };
+
+  /**
+   * Number of values stored per probability position: one per amino acid followed by the information.
+   */
+  public static final int PROBABILITY_WIDTH = AMINO_ACIDS.length + 1;
+
+  /**
+   * Data.
+   */
+  @NonNull
+  private final Map<String, Protein> proteins;
+  @NonNull
+  private final Map<Integer, List<Domain>> domains;
+  @NonNull
+  private final Map<String, Probabilities> probabilities;
+  /**
+   * {@link FathmmConstants#INHERITED} weights, the only ones the predictor reads.
+   */
+  @NonNull
+  private final Map<String, double[]> weights;
+
+  public FathmmModel() {
+    this(Maps.newHashMap(), Maps.newHashMap(), Maps.newHashMap(), Maps.newHashMap());
+  }
+
+  public void addProtein(@NonNull String translationId, @NonNull Protein protein) {
+    proteins.put(translationId, protein);
+  }
+
+  public void addDomains(int sequenceId, @NonNull List<Domain> sequenceDomains) {
+    domains.put(sequenceId, sequenceDomains);
+  }
+
+  public void addProbabilities(@NonNull String id, @NonNull Probabilities idProbabilities) {
+    probabilities.put(id, idProbabilities);
+  }
+
+  public void addWeight(@NonNull String id, double disease, double other) {
+    weights.put(id, new double[] { disease, other });
+  }
+
+  public boolean hasDomains(int sequenceId) {
+    return domains.containsKey(sequenceId);
+  }
+
+  public boolean hasProbabilities(@NonNull String id) {
+    return probabilities.containsKey(id) || weights.containsKey(id);
+  }
+
+  @Override
+  public Map<String, Object> getSequence(@NonNull String translationId) {
+    val protein = proteins.get(translationId);
+    if (protein == null) {
+      return null;
+    }
+
+    return ImmutableMap.<String, Object> of("id", protein.id, "sequence", protein.sequence);
+  }
+
+  @Override
+  public Map<String, Object> getWeight(@NonNull String weightId, @NonNull String weights) {
+    checkArgument(INHERITED.equals(weights), "Only %s weights are loaded, not %s", INHERITED, weights);
+    val weight = this.weights.get(weightId);
+    if (weight == null) {
+      return null;
+    }
+
+    return ImmutableMap.<String, Object> of("disease", weight[0], "other", weight[1]);
+  }
+
+  @Override
+  public Map<String, Object> getUnweightedProbability(@NonNull String sequenceId, int substitution) {
+    return getProbability(sequenceId, substitution);
+  }
+
+  @Override
+  public List<Map<String, Object>> getDomains(int sequenceId, int substitution) {
+    val result = Lists.<Map<String, Object>> newArrayList();
+    for (val domain : domains.getOrDefault(sequenceId, emptyList())) {
+      if (domain.seqBegin <= substitution && substitution <= domain.seqEnd) {
+        result.add(domain.toRow(sequenceId));
+      }
+    }
+
+    return result;
+  }
+
+  @Override
+  public Map<String, Object> getProbability(@NonNull String hmm, @NonNull Integer residue) {
+    val probability = probabilities.get(hmm);
+    if (probability == null) {
+      return null;
+    }
+
+    return probability.toRow(hmm, residue);
+  }
+
+  public int getProteinCount() {
+    return proteins.size();
+  }
+
+  public int getProbabilityCount() {
+    return probabilities.size();
+  }
+
+  @RequiredArgsConstructor
+  public static class Protein implements Serializable {
+
+    private final int id;
+    @NonNull
+    private final String sequence;
+
+  }
+
+  @RequiredArgsConstructor
+  public static class Domain implements Serializable {
+
+    @Getter
+    @NonNull
+    private final String hmm;
+    private final double score;
+    private final int seqBegin;
+    private final int seqEnd;
+    private final int hmmBegin;
+    @NonNull
+    private final String align;
+
+    private Map<String, Object> toRow(int sequenceId) {
+      val row = Maps.<String, Object> newHashMap();
+      row.put("id", sequenceId);
+      row.put("hmm", hmm);
+      row.put("score", score);
+      row.put("seq_begin", seqBegin);
+      row.put("seq_end", seqEnd);
+      row.put("hmm_begin", hmmBegin);
+      row.put("align", align);
+
+      return row;
+    }
+
+  }
+
+  /**
+   * Probabilities of all positions of an HMM or sequence, stored as {@link #PROBABILITY_WIDTH} values per position.
+   */
+  @RequiredArgsConstructor
+  public static class Probabilities implements Serializable {
+
+    private final String accession;
+    private final String description;
+    @NonNull
+    private final int[] positions;
+    @NonNull
+    private final double[] values;
+
+    private Map<String, Object> toRow(String id, int position) {
+      val index = Arrays.binarySearch(positions, position);
+      if (index < 0) {
+        return null;
+      }
+
+      val offset = index * PROBABILITY_WIDTH;
+      val row = Maps.<String, Object> newHashMap();
+      row.put("id", id);
+      row.put("position", position);
+      for (int i = 0; i < AMINO_ACIDS.length; i++) {
+        row.put(AMINO_ACIDS[i], values[offset + i]);
+      }
+      row.put("information", values[offset + AMINO_ACIDS.length]);
+      row.put("accession", accession);
+      row.put("description", description);
+
+      return row;
+    }
+
+  }
+
+}
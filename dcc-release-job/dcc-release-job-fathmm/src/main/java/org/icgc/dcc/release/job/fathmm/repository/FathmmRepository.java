@@ -40,7 +40,7 @@ import org.skife.jdbi.v2.Update;
 /**
  * This is a Data Access Object for FatHMM on postgresql database
  */
-public class FathmmRepository implements Closeable {
+public class FathmmRepository implements FathmmLookup, Closeable {
 
   /**
    * Constants.
@@ -54,6 +54,8 @@ public class FathmmRepository implements Closeable {
   private final Query<Map<String, Object>> domainQuery;
   private final Query<Map<String, Object>> probabilityQuery;
   private final Query<Map<String, Object>> weightQuery;
+  private final Query<Map<String, Object>> allDomainsQuery;
+  private final Query<Map<String, Object>> allProbabilitiesQuery;
   private final Update updateCache;
 
   public FathmmRepository(@NonNull String fathmmPostgresqlUri) {
@@ -73,6 +75,8 @@ public class FathmmRepository implements Closeable {
     this.domainQuery      = handle.createQuery("select * from \"DOMAINS\" where id=:sequenceId and :substitution between seq_begin and seq_end order by score");
     this.probabilityQuery = handle.createQuery("select a.*, b.* from \"PROBABILITIES\" a, \"LIBRARY\" b where a.id=b.id and a.id=:probId and a.position=:probPosition");
     this.weightQuery      = handle.createQuery(format("select disease, other from \"WEIGHTS\" where id=:wid and type='%s'\\:\\:weights_type", WEIGHT_TYPE));
+    this.allDomainsQuery  = handle.createQuery("select * from \"DOMAINS\" where id=:sequenceId order by score");
+    this.allProbabilitiesQuery = handle.createQuery("select a.*, b.* from \"PROBABILITIES\" a, \"LIBRARY\" b where a.id=b.id and a.id=:probId order by a.position");
     this.updateCache      = handle.createStatement("insert into \"DCC_CACHE\" (translation_id,  aa_mutation, score, prediction) values (:translationId, :aaChange, :score, :prediction)");
     // @formatter:on
   }
@@ -120,4 +124,18 @@ public class FathmmRepository implements Closeable {
     return probabilityQuery.bind("probId", hmm).bind("probPosition", residue).first();
   }
 
+  /**
+   * @return all domains of the sequence ordered by score
+   */
+  public List<Map<String, Object>> getDomains(int sequenceId) {
+    return allDomainsQuery.bind("sequenceId", sequenceId).list();
+  }
+
+  /**
+   * @return probabilities of all positions of the HMM or sequence {@code id} ordered by position
+   */
+  public List<Map<String, Object>> getProbabilities(@NonNull String id) {
+    return allProbabilitiesQuery.bind("probId", id).list();
+  }
+
 }
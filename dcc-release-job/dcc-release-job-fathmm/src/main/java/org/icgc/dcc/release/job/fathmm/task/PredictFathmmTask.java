@@ -17,9 +17,6 @@
  */
 package org.icgc.dcc.release.job.fathmm.task;
 
-import java.io.Closeable;
-import java.io.IOException;
-
 import lombok.NonNull;
 
 import org.apache.spark.api.java.JavaRDD;
@@ -30,11 +27,10 @@ import org.icgc.dcc.release.job.fathmm.function.PredictFathmm;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.BiMap;
 
-public class PredictFathmmTask extends GenericProcessTask implements Closeable {
+public class PredictFathmmTask extends GenericProcessTask {
 
   private final String jdbcUrl;
   private final BiMap<String, String> transcripts;
-  private PredictFathmm fathmmPredictor;
 
   public PredictFathmmTask(@NonNull String jdbcUrl, @NonNull BiMap<String, String> transcripts) {
     super(FileType.OBSERVATION, FileType.OBSERVATION_FATHMM);
@@ -43,23 +39,15 @@ public class PredictFathmmTask extends GenericProcessTask implements Closeable {
   }
 
   @Override
-  protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
-    return input.map(fathmmPredictor());
-  }
-
-  private PredictFathmm fathmmPredictor() {
-    if (fathmmPredictor == null) {
-      fathmmPredictor = new PredictFathmm(jdbcUrl, transcripts);
-    }
-
-    return fathmmPredictor;
+  public boolean isCheckpointable() {
+    // Changes of the FATHMM database are not visible to task manifests
+    return false;
   }
 
   @Override
-  public void close() throws IOException {
-    if (fathmmPredictor != null) {
-      fathmmPredictor.close();
-    }
+  protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
+    // The model is read on the executors, so only the translations of a partition are loaded
+    return input.mapPartitions(new PredictFathmm(jdbcUrl, transcripts));
   }
 
 }
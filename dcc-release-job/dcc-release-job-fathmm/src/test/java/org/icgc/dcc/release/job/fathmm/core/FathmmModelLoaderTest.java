@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.fathmm.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.val;
+
+import org.icgc.dcc.release.job.fathmm.model.FathmmModel;
+import org.icgc.dcc.release.job.fathmm.repository.FathmmRepository;
+import org.icgc.dcc.release.job.fathmm.util.AbstractPostgresTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public class FathmmModelLoaderTest extends AbstractPostgresTest {
+
+  private static final ImmutableMap<String, String> SUBSTITUTIONS = ImmutableMap.<String, String> builder()
+      .put("ENSP00000386181", "Q119R")
+      .put("ENSP00000305077", "E407G")
+      .put("ENSP00000395632", "E271G")
+      .put("ENSP00000367263", "D1697V")
+      .put("ENSP00000282388", "R211H")
+      .put("ENSP00000262109", "A251V")
+      .put("ENSP00000428635", "A157V")
+      .put("ENSP00000446447", "L195R")
+      .put("ENSP00000356972", "L293R")
+      .build();
+
+  private FathmmRepository repository;
+
+  /**
+   * Class under test.
+   */
+  private FathmmModelLoader loader;
+
+  @Before
+  public void setUp() {
+    repository = new FathmmRepository(dataSource);
+    loader = new FathmmModelLoader(repository);
+  }
+
+  @Test
+  public void testLoad() {
+    val model = loader.load(SUBSTITUTIONS.keySet());
+
+    assertThat(model.getProteinCount()).isEqualTo(SUBSTITUTIONS.size());
+    assertThat(model.getProbabilityCount()).isPositive();
+  }
+
+  @Test
+  public void testPredictionsMatchRepository() {
+    val model = loader.load(SUBSTITUTIONS.keySet());
+    val expected = new FathmmPredictor(repository);
+    val actual = new FathmmPredictor(model);
+
+    for (val entry : SUBSTITUTIONS.entrySet()) {
+      val translationId = entry.getKey();
+      val aaChange = entry.getValue();
+
+      assertThat(actual.predict(translationId, aaChange)).isEqualTo(expected.predict(translationId, aaChange));
+    }
+  }
+
+  @Test
+  public void testCachedPredictionsMatchRepository() {
+    val expected = new FathmmPredictor(repository);
+    val actual = new FathmmPredictor(new FathmmModelCache(loader));
+
+    for (val entry : SUBSTITUTIONS.entrySet()) {
+      val translationId = entry.getKey();
+      val aaChange = entry.getValue();
+
+      // The repository predictor misses DCC_CACHE once per substitution, so it returns the full prediction too
+      assertThat(actual.predict(translationId, aaChange)).isEqualTo(expected.predict(translationId, aaChange));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnloadedWeights() {
+    val model = loader.load(SUBSTITUTIONS.keySet());
+
+    model.getWeight("PF00001", "PROTEIN");
+  }
+
+  @Test
+  public void testWarnings() {
+    val model = loader.load(ImmutableList.of("ENSP00000386181", "ENSP00000000000"));
+    val predictor = new FathmmPredictor(model);
+
+    assertThat(predictor.predict("ENSP00000000000", "Q119R")).containsEntry("Warning", "No Sequence Record Found");
+    assertThat(predictor.predict("ENSP00000386181", "Q119")).containsEntry("Warning", "Invalid Substitution Format");
+  }
+
+  @Test
+  public void testEmpty() {
+    FathmmModel model = loader.load(ImmutableList.of());
+
+    assertThat(model.getProteinCount()).isZero();
+    assertThat(model.getProbabilityCount()).isZero();
+  }
+
+}
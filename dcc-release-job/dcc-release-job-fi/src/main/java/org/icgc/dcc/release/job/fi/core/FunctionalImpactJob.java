@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.release.job.fi.core;
 
+import java.util.Set;
+
 import lombok.NonNull;
 
 import org.icgc.dcc.release.core.job.FileType;
@@ -26,6 +28,8 @@ import org.icgc.dcc.release.core.job.JobType;
 import org.icgc.dcc.release.job.fi.task.CalculateImpactTask;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableSet;
+
 @Component
 public class FunctionalImpactJob extends GenericJob {
 
@@ -34,6 +38,16 @@ public class FunctionalImpactJob extends GenericJob {
     return JobType.FI;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return ImmutableSet.of(FileType.OBSERVATION_FATHMM);
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.of(FileType.OBSERVATION_FI);
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     clean(jobContext);
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.client;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Arrays.asList;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.id.client.core.IdClient;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * {@link IdClient} layer that resolves a batch of natural keys at once.
+ * <p>
+ * Keys are de-duplicated, looked up in a bounded cache shared by all clients of the executor JVM and only the misses
+ * are sent to the ID service, {@code concurrency} requests at a time. Surrogate ids never change once assigned, so the
+ * cache does not need to be invalidated between tasks. Clients configured with different cache sizes do not share a
+ * cache.
+ */
+@Slf4j
+public class BatchingIdClient {
+
+  /**
+   * Per-executor state.
+   */
+  private static final ConcurrentMap<List<Object>, Cache<List<String>, String>> CACHES = Maps.newConcurrentMap();
+  private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+      .setNameFormat("id-client-%d")
+      .setDaemon(true)
+      .build());
+
+  /**
+   * Configuration.
+   */
+  private final int concurrency;
+  private final long cacheSize;
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final IdClient delegate;
+
+  /**
+   * State.
+   */
+  private final AtomicLong requestCount = new AtomicLong();
+
+  public BatchingIdClient(@NonNull IdClient delegate, int concurrency, long cacheSize) {
+    checkArgument(concurrency > 0, "Concurrency must be positive: %s", concurrency);
+    this.delegate = delegate;
+    this.concurrency = concurrency;
+    this.cacheSize = cacheSize;
+  }
+
+  /**
+   * Resolves the surrogate ids of {@code keys}, creating the ones which do not exist yet.
+   * 
+   * @return surrogate ids keyed by natural key
+   */
+  public Map<List<String>, String> createIds(@NonNull IdType type, @NonNull Collection<List<String>> keys) {
+    val cache = getCache(type);
+    val ids = ImmutableMap.<List<String>, String> builder();
+
+    val misses = Lists.<List<String>> newArrayList();
+    for (val key : Sets.newLinkedHashSet(keys)) {
+      val id = cache.getIfPresent(key);
+      if (id == null) {
+        misses.add(key);
+      } else {
+        ids.put(key, id);
+      }
+    }
+
+    if (!misses.isEmpty()) {
+      log.debug("Resolving {} {} ids out of {} keys", misses.size(), type, keys.size());
+      val resolved = resolve(type, misses);
+      cache.putAll(resolved);
+      ids.putAll(resolved);
+    }
+
+    return ids.build();
+  }
+
+  /**
+   * @return the number of ids this client requested from the ID service
+   */
+  public long getRequestCount() {
+    return requestCount.get();
+  }
+
+  @SneakyThrows
+  private Map<List<String>, String> resolve(IdType type, List<List<String>> keys) {
+    val chunkSize = (keys.size() + concurrency - 1) / concurrency;
+    val futures = Lists.<Future<Map<List<String>, String>>> newArrayList();
+    for (val chunk : Lists.partition(keys, chunkSize)) {
+      val copy = ImmutableList.copyOf(chunk);
+      futures.add(EXECUTOR.submit(() -> resolveChunk(type, copy)));
+    }
+
+    val ids = Maps.<List<String>, String> newHashMapWithExpectedSize(keys.size());
+    for (val future : futures) {
+      ids.putAll(future.get());
+    }
+
+    requestCount.addAndGet(keys.size());
+
+    return ids;
+  }
+
+  private Map<List<String>, String> resolveChunk(IdType type, List<List<String>> keys) {
+    val ids = Maps.<List<String>, String> newHashMapWithExpectedSize(keys.size());
+    for (val key : keys) {
+      ids.put(key, type.createId(delegate, key));
+    }
+
+    return ids;
+  }
+
+  private Cache<List<String>, String> getCache(IdType type) {
+    return CACHES.computeIfAbsent(asList(type, cacheSize), k -> CacheBuilder.newBuilder()
+        .maximumSize(cacheSize)
+        .<List<String>, String> build());
+  }
+
+  /**
+   * Drops all cached ids of this executor.
+   */
+  public static void invalidateCaches() {
+    CACHES.clear();
+  }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.client;
+
+import java.util.List;
+
+import org.icgc.dcc.id.client.core.IdClient;
+
+/**
+ * Kinds of surrogate ids assigned by the ID job together with the {@link IdClient} call that creates each of them from
+ * its natural key.
+ */
+public enum IdType {
+
+  DONOR {
+
+    @Override
+    public String createId(IdClient client, List<String> key) {
+      return client.createDonorId(key.get(0), key.get(1));
+    }
+
+  },
+  SPECIMEN {
+
+    @Override
+    public String createId(IdClient client, List<String> key) {
+      return client.createSpecimenId(key.get(0), key.get(1));
+    }
+
+  },
+  SAMPLE {
+
+    @Override
+    public String createId(IdClient client, List<String> key) {
+      return client.createSampleId(key.get(0), key.get(1));
+    }
+
+  },
+  MUTATION {
+
+    @Override
+    public String createId(IdClient client, List<String> key) {
+      return client.createMutationId(key.get(0), key.get(1), key.get(2), key.get(3), key.get(4), key.get(5));
+    }
+
+  };
+
+  public abstract String createId(IdClient client, List<String> key);
+
+}
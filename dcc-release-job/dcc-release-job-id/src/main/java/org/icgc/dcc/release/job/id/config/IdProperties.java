@@ -37,4 +37,19 @@ public class IdProperties implements Serializable {
   boolean requestLoggingEnabled;
   boolean strictSSLCertificates;
 
+  /**
+   * Number of rows whose natural keys are resolved together.
+   */
+  int batchSize = 10000;
+
+  /**
+   * Number of concurrent requests to the ID service per batch.
+   */
+  int concurrency = 8;
+
+  /**
+   * Maximum number of surrogate ids cached per type on each executor.
+   */
+  long cacheSize = 1000000L;
+
 }
@@ -20,6 +20,8 @@ package org.icgc.dcc.release.job.id.core;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
 
+import java.util.Set;
+
 import org.icgc.dcc.id.client.core.IdClientFactory;
 import org.icgc.dcc.id.client.http.HttpIdClient;
 import org.icgc.dcc.id.client.http.webclient.WebClientConfig;
@@ -35,6 +37,8 @@ import org.icgc.dcc.release.job.id.task.AddSurrogateSpecimenIdTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableSet;
+
 import lombok.NonNull;
 import lombok.val;
 
@@ -57,6 +61,24 @@ public class IdJob extends GenericJob {
     return JobType.ID;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return ImmutableSet.of(
+        FileType.DONOR,
+        FileType.SPECIMEN,
+        FileType.SAMPLE,
+        FileType.SSM_P_MASKED);
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.of(
+        FileType.DONOR_SURROGATE_KEY,
+        FileType.SPECIMEN_SURROGATE_KEY,
+        FileType.SAMPLE_SURROGATE_KEY,
+        FileType.SSM_P_MASKED_SURROGATE_KEY);
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     clean(jobContext);
@@ -76,10 +98,10 @@ public class IdJob extends GenericJob {
     val idClientFactory = createIdClientFactory(releaseName);
 
     jobContext.execute(
-        new AddSurrogateDonorIdTask(idClientFactory),
-        new AddSurrogateSpecimenIdTask(idClientFactory),
-        new AddSurrogateSampleIdTask(idClientFactory),
-        new AddSurrogateMutationIdTask(idClientFactory));
+        new AddSurrogateDonorIdTask(idClientFactory, identifierProperties),
+        new AddSurrogateSpecimenIdTask(idClientFactory, identifierProperties),
+        new AddSurrogateSampleIdTask(idClientFactory, identifierProperties),
+        new AddSurrogateMutationIdTask(idClientFactory, identifierProperties));
   }
 
   private static String resolveReleaseName(String releaseName) {
@@ -17,30 +17,37 @@
  */
 package org.icgc.dcc.release.job.id.function;
 
+import static java.util.Arrays.asList;
+
+import java.util.List;
+
 import lombok.val;
 
 import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
 import org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames;
 import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.icgc.dcc.release.job.id.client.IdType;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class AddSurrogateDonorId extends AddSurrogateId {
 
-  public AddSurrogateDonorId(IdClientFactory idClientFactory) {
-    super(idClientFactory);
+  public AddSurrogateDonorId(IdClientFactory idClientFactory, IdProperties idProperties) {
+    super(idClientFactory, idProperties, IdType.DONOR);
   }
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
+  protected List<String> getKey(ObjectNode row) {
     val submittedDonorId = row.get(SubmissionFieldNames.SUBMISSION_DONOR_ID).textValue();
     val submittedProjectId = getSubmittedProjectId(row);
 
-    val donorId = client().createDonorId(submittedDonorId, submittedProjectId);
-
-    row.put(IdentifierFieldNames.SURROGATE_DONOR_ID, donorId);
+    return asList(submittedDonorId, submittedProjectId);
+  }
 
-    return row;
+  @Override
+  protected String getIdFieldName() {
+    return IdentifierFieldNames.SURROGATE_DONOR_ID;
   }
 
 }
\ No newline at end of file
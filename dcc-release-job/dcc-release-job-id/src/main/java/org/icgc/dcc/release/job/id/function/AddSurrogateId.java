@@ -17,29 +17,63 @@
  */
 package org.icgc.dcc.release.job.id.function;
 
+import java.util.Iterator;
+import java.util.List;
+
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.val;
 
-import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.FlatMapFunction;
 import org.icgc.dcc.common.core.model.FieldNames;
-import org.icgc.dcc.id.client.core.IdClient;
 import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.icgc.dcc.release.job.id.client.BatchingIdClient;
+import org.icgc.dcc.release.job.id.client.IdType;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 
+/**
+ * Assigns surrogate ids to a partition in batches of {@link IdProperties#getBatchSize()} rows so that each distinct
+ * natural key of a batch is resolved at most once.
+ */
 @RequiredArgsConstructor
-public abstract class AddSurrogateId implements Function<ObjectNode, ObjectNode> {
+public abstract class AddSurrogateId implements FlatMapFunction<Iterator<ObjectNode>, ObjectNode> {
 
   /**
    * Configuration.
    */
   @NonNull
   private final IdClientFactory idClientFactory;
-  private transient IdClient idClient;
+  @NonNull
+  private final IdProperties idProperties;
+  @NonNull
+  private final IdType idType;
+  private transient BatchingIdClient idClient;
+
+  @Override
+  public Iterable<ObjectNode> call(Iterator<ObjectNode> partition) {
+    val batches = Iterators.partition(partition, idProperties.getBatchSize());
+
+    return () -> Iterators.concat(Iterators.transform(batches, this::addIds));
+  }
+
+  /**
+   * @return the natural key of the {@code row}'s entity
+   */
+  protected abstract List<String> getKey(ObjectNode row);
 
-  protected IdClient client() {
+  /**
+   * @return the field name the surrogate id is written to
+   */
+  protected abstract String getIdFieldName();
+
+  protected BatchingIdClient client() {
     if (idClient == null) {
-      idClient = idClientFactory.create();
+      idClient = new BatchingIdClient(idClientFactory.create(), idProperties.getConcurrency(),
+          idProperties.getCacheSize());
     }
 
     return idClient;
@@ -49,4 +83,19 @@ public abstract class AddSurrogateId implements Function<ObjectNode, ObjectNode>
     return row.get(FieldNames.PROJECT_ID).textValue();
   }
 
-}
\ No newline at end of file
+  private Iterator<ObjectNode> addIds(List<ObjectNode> rows) {
+    val keys = Lists.<List<String>> newArrayListWithCapacity(rows.size());
+    for (val row : rows) {
+      keys.add(getKey(row));
+    }
+
+    val ids = client().createIds(idType, keys);
+    val idFieldName = getIdFieldName();
+    for (int i = 0; i < rows.size(); i++) {
+      rows.get(i).put(idFieldName, ids.get(keys.get(i)));
+    }
+
+    return rows.iterator();
+  }
+
+}
@@ -17,16 +17,22 @@
  */
 package org.icgc.dcc.release.job.id.function;
 
+import static java.util.Arrays.asList;
 import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_END;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CHROMOSOME_START;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATION_TYPE;
 import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
+
+import java.util.List;
+
 import lombok.val;
 
 import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
 import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.icgc.dcc.release.job.id.client.IdType;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -34,12 +40,12 @@ public class AddSurrogateMutationId extends AddSurrogateId {
 
   private static final String ASSEMBLY_VERSION = "GRCh37";
 
-  public AddSurrogateMutationId(IdClientFactory idClientFactory) {
-    super(idClientFactory);
+  public AddSurrogateMutationId(IdClientFactory idClientFactory, IdProperties idProperties) {
+    super(idClientFactory, idProperties, IdType.MUTATION);
   }
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
+  protected List<String> getKey(ObjectNode row) {
     val chromosome = row.get(SUBMISSION_OBSERVATION_CHROMOSOME).textValue();
     val chromosomeStart = textValue(row, SUBMISSION_OBSERVATION_CHROMOSOME_START);
     val chromosomeEnd = textValue(row, SUBMISSION_OBSERVATION_CHROMOSOME_END);
@@ -50,11 +56,12 @@ public class AddSurrogateMutationId extends AddSurrogateId {
     // TODO: get from meta file
     String assemblyVersion = ASSEMBLY_VERSION;
 
-    val mutationId = client()
-        .createMutationId(chromosome, chromosomeStart, chromosomeEnd, mutation, mutationType, assemblyVersion);
-
-    row.put(IdentifierFieldNames.SURROGATE_MUTATION_ID, mutationId);
+    return asList(chromosome, chromosomeStart, chromosomeEnd, mutation, mutationType, assemblyVersion);
+  }
 
-    return row;
+  @Override
+  protected String getIdFieldName() {
+    return IdentifierFieldNames.SURROGATE_MUTATION_ID;
   }
+
 }
\ No newline at end of file
@@ -17,29 +17,37 @@
  */
 package org.icgc.dcc.release.job.id.function;
 
+import static java.util.Arrays.asList;
+
+import java.util.List;
+
 import lombok.val;
 
 import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
 import org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames;
 import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.icgc.dcc.release.job.id.client.IdType;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class AddSurrogateSampleId extends AddSurrogateId {
 
-  public AddSurrogateSampleId(IdClientFactory idClientFactory) {
-    super(idClientFactory);
+  public AddSurrogateSampleId(IdClientFactory idClientFactory, IdProperties idProperties) {
+    super(idClientFactory, idProperties, IdType.SAMPLE);
   }
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
+  protected List<String> getKey(ObjectNode row) {
     val submittedSampleId = row.get(SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID).textValue();
     val submittedProjectId = getSubmittedProjectId(row);
-    val sampleId = client().createSampleId(submittedSampleId, submittedProjectId);
 
-    row.put(IdentifierFieldNames.SURROGATE_SAMPLE_ID, sampleId);
+    return asList(submittedSampleId, submittedProjectId);
+  }
 
-    return row;
+  @Override
+  protected String getIdFieldName() {
+    return IdentifierFieldNames.SURROGATE_SAMPLE_ID;
   }
 
 }
\ No newline at end of file
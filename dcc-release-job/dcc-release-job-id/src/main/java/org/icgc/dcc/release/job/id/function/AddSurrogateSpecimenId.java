@@ -17,29 +17,37 @@
  */
 package org.icgc.dcc.release.job.id.function;
 
+import static java.util.Arrays.asList;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_SPECIMEN_ID;
+
+import java.util.List;
+
 import lombok.val;
 
 import org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames;
 import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.icgc.dcc.release.job.id.client.IdType;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class AddSurrogateSpecimenId extends AddSurrogateId {
 
-  public AddSurrogateSpecimenId(IdClientFactory identifierConfig) {
-    super(identifierConfig);
+  public AddSurrogateSpecimenId(IdClientFactory identifierConfig, IdProperties idProperties) {
+    super(identifierConfig, idProperties, IdType.SPECIMEN);
   }
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
+  protected List<String> getKey(ObjectNode row) {
     val submittedSpecimenId = row.get(SUBMISSION_SPECIMEN_ID).textValue();
     val submittedProjectId = getSubmittedProjectId(row);
-    val specimenId = client().createSpecimenId(submittedSpecimenId, submittedProjectId);
 
-    row.put(IdentifierFieldNames.SURROGATE_SPECIMEN_ID, specimenId);
+    return asList(submittedSpecimenId, submittedProjectId);
+  }
 
-    return row;
+  @Override
+  protected String getIdFieldName() {
+    return IdentifierFieldNames.SURROGATE_SPECIMEN_ID;
   }
 
 }
\ No newline at end of file
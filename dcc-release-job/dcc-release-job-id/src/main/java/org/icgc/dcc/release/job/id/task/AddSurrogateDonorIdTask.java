@@ -22,20 +22,21 @@ import lombok.NonNull;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.id.client.core.IdClientFactory;
 import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 import org.icgc.dcc.release.job.id.function.AddSurrogateDonorId;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class AddSurrogateDonorIdTask extends AddSurrogateIdTask {
 
-  public AddSurrogateDonorIdTask(@NonNull IdClientFactory idClientFactory) {
-    super(FileType.DONOR, FileType.DONOR_SURROGATE_KEY, idClientFactory);
+  public AddSurrogateDonorIdTask(@NonNull IdClientFactory idClientFactory, @NonNull IdProperties idProperties) {
+    super(FileType.DONOR, FileType.DONOR_SURROGATE_KEY, idClientFactory, idProperties);
   }
 
   @Override
   protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
     return input
-        .map(new AddSurrogateDonorId(idClientFactory));
+        .mapPartitions(new AddSurrogateDonorId(idClientFactory, idProperties));
   }
 
 }
\ No newline at end of file
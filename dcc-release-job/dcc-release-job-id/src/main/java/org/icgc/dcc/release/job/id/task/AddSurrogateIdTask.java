@@ -20,6 +20,7 @@ package org.icgc.dcc.release.job.id.task;
 import org.icgc.dcc.id.client.core.IdClientFactory;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericProcessTask;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 
 public abstract class AddSurrogateIdTask extends GenericProcessTask {
 
@@ -33,10 +34,19 @@ public abstract class AddSurrogateIdTask extends GenericProcessTask {
    * Configuration.
    */
   protected final IdClientFactory idClientFactory;
+  protected final IdProperties idProperties;
 
-  public AddSurrogateIdTask(FileType inputFileType, FileType outputFileType, IdClientFactory idClientFactory) {
+  public AddSurrogateIdTask(FileType inputFileType, FileType outputFileType, IdClientFactory idClientFactory,
+      IdProperties idProperties) {
     super(inputFileType, outputFileType);
     this.idClientFactory = idClientFactory;
+    this.idProperties = idProperties;
+  }
+
+  @Override
+  public boolean isCheckpointable() {
+    // Identifiers assigned by the ID service are not visible to task manifests
+    return false;
   }
 
   // TODO: Implement combine/split sequence file and uncomment
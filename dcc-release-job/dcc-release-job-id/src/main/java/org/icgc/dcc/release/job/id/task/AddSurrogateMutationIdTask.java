@@ -22,20 +22,21 @@ import lombok.NonNull;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.id.client.core.IdClientFactory;
 import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 import org.icgc.dcc.release.job.id.function.AddSurrogateMutationId;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class AddSurrogateMutationIdTask extends AddSurrogateIdTask {
 
-  public AddSurrogateMutationIdTask(@NonNull IdClientFactory idClientFactory) {
-    super(FileType.SSM_P_MASKED, FileType.SSM_P_MASKED_SURROGATE_KEY, idClientFactory);
+  public AddSurrogateMutationIdTask(@NonNull IdClientFactory idClientFactory, @NonNull IdProperties idProperties) {
+    super(FileType.SSM_P_MASKED, FileType.SSM_P_MASKED_SURROGATE_KEY, idClientFactory, idProperties);
   }
 
   @Override
   protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
     return input
-        .map(new AddSurrogateMutationId(idClientFactory));
+        .mapPartitions(new AddSurrogateMutationId(idClientFactory, idProperties));
   }
 
 }
\ No newline at end of file
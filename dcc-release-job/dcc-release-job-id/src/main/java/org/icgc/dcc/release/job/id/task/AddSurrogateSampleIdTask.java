@@ -22,20 +22,21 @@ import lombok.NonNull;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.id.client.core.IdClientFactory;
 import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 import org.icgc.dcc.release.job.id.function.AddSurrogateSampleId;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class AddSurrogateSampleIdTask extends AddSurrogateIdTask {
 
-  public AddSurrogateSampleIdTask(@NonNull IdClientFactory idClientFactory) {
-    super(FileType.SAMPLE, FileType.SAMPLE_SURROGATE_KEY, idClientFactory);
+  public AddSurrogateSampleIdTask(@NonNull IdClientFactory idClientFactory, @NonNull IdProperties idProperties) {
+    super(FileType.SAMPLE, FileType.SAMPLE_SURROGATE_KEY, idClientFactory, idProperties);
   }
 
   @Override
   protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
     return input
-        .map(new AddSurrogateSampleId(idClientFactory));
+        .mapPartitions(new AddSurrogateSampleId(idClientFactory, idProperties));
   }
 
 }
\ No newline at end of file
@@ -22,20 +22,21 @@ import lombok.NonNull;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.id.client.core.IdClientFactory;
 import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.job.id.config.IdProperties;
 import org.icgc.dcc.release.job.id.function.AddSurrogateSpecimenId;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 public class AddSurrogateSpecimenIdTask extends AddSurrogateIdTask {
 
-  public AddSurrogateSpecimenIdTask(@NonNull IdClientFactory idClientFactory) {
-    super(FileType.SPECIMEN, FileType.SPECIMEN_SURROGATE_KEY, idClientFactory);
+  public AddSurrogateSpecimenIdTask(@NonNull IdClientFactory idClientFactory, @NonNull IdProperties idProperties) {
+    super(FileType.SPECIMEN, FileType.SPECIMEN_SURROGATE_KEY, idClientFactory, idProperties);
   }
 
   @Override
   protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
     return input
-        .map(new AddSurrogateSpecimenId(idClientFactory));
+        .mapPartitions(new AddSurrogateSpecimenId(idClientFactory, idProperties));
   }
 
 }
\ No newline at end of file
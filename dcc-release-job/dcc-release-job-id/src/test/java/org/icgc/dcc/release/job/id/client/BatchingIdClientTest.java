@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.client;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import lombok.val;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+
+public class BatchingIdClientTest {
+
+  /**
+   * Constants.
+   */
+  private static final int CONCURRENCY = 4;
+  private static final long CACHE_SIZE = 1000L;
+
+  LocalIdService service;
+
+  /**
+   * Class under test.
+   */
+  BatchingIdClient client;
+
+  @Before
+  public void setUp() {
+    BatchingIdClient.invalidateCaches();
+    this.service = new LocalIdService();
+    this.client = new BatchingIdClient(service.createClient(), CONCURRENCY, CACHE_SIZE);
+  }
+
+  @Test
+  public void testCreateIdsResolvesDistinctKeysOnce() {
+    val keys = Lists.<List<String>> newArrayList();
+    for (int i = 0; i < 1000; i++) {
+      keys.add(asList("DO" + (i % 10), "PROJ-XX"));
+    }
+
+    val ids = client.createIds(IdType.DONOR, keys);
+
+    assertThat(ids).hasSize(10);
+    assertThat(service.getRequestCount()).isEqualTo(10);
+    assertThat(client.getRequestCount()).isEqualTo(10);
+  }
+
+  @Test
+  public void testCreateIdsUsesExecutorCache() {
+    val keys = asList(asList("SA1", "PROJ-XX"), asList("SA2", "PROJ-XX"));
+    val first = client.createIds(IdType.SAMPLE, keys);
+
+    val other = new BatchingIdClient(service.createClient(), CONCURRENCY, CACHE_SIZE);
+    val second = other.createIds(IdType.SAMPLE, keys);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(service.getRequestCount()).isEqualTo(2);
+    assertThat(other.getRequestCount()).isZero();
+  }
+
+  @Test
+  public void testCreateIdsMatchesPerRowResolution() {
+    val keys = Lists.<List<String>> newArrayList();
+    for (int i = 0; i < 100; i++) {
+      keys.add(asList("1", String.valueOf(i % 7), String.valueOf(i % 7), "A>T", "1", "GRCh37"));
+    }
+
+    val ids = client.createIds(IdType.MUTATION, keys);
+
+    val perRow = service.createClient();
+    for (val key : keys) {
+      assertThat(ids.get(key)).isEqualTo(IdType.MUTATION.createId(perRow, key));
+    }
+    assertThat(service.getRequestCount()).isEqualTo(7 + keys.size());
+  }
+
+  @Test
+  public void testCreateIdsKeepsTypesApart() {
+    val key = asList("X1", "PROJ-XX");
+    val specimenId = client.createIds(IdType.SPECIMEN, asList(key)).get(key);
+    val sampleId = client.createIds(IdType.SAMPLE, asList(key)).get(key);
+
+    assertThat(specimenId).isNotEqualTo(sampleId);
+    assertThat(service.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testCreateIdsKeepsCacheSizesApart() {
+    val keys = asList(asList("SA1", "PROJ-XX"), asList("SA2", "PROJ-XX"));
+    val first = client.createIds(IdType.SAMPLE, keys);
+
+    val other = new BatchingIdClient(service.createClient(), CONCURRENCY, 1L);
+    val second = other.createIds(IdType.SAMPLE, keys);
+
+    assertThat(second).isEqualTo(first);
+    assertThat(other.getRequestCount()).isEqualTo(2);
+  }
+
+}
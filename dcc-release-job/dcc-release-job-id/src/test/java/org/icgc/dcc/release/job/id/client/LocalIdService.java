@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -15,54 +15,54 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.stage.function;
+package org.icgc.dcc.release.job.id.client;
 
-import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
+import static com.google.common.base.Preconditions.checkState;
 
-import java.util.Collections;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import lombok.NonNull;
+import lombok.val;
 
-import org.apache.spark.api.java.function.Function;
-import org.icgc.dcc.release.core.job.FileType;
-import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+import org.icgc.dcc.id.client.core.IdClient;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
 
-public final class CleanSensitiveFields implements Function<ObjectNode, ObjectNode> {
+/**
+ * In-process stand-in for the ID service which counts the {@code create*Id} requests it receives.
+ */
+public class LocalIdService {
 
   /**
-   * Don't clean SSM_P and SGV_P as their controlled fields required to run annotation.
+   * State.
    */
-  private static final List<String> SKIP_FILE_TYPES = ImmutableList.of(FileType.SSM_P.getId(), FileType.SGV_P.getId(),
-      FileType.SGV_M.getId());
+  private final Map<List<Object>, String> ids = Maps.newConcurrentMap();
+  private final AtomicInteger sequence = new AtomicInteger();
+  private final AtomicInteger requestCount = new AtomicInteger();
 
-  private final boolean skipCleanup;
-  private final List<String> controlledFields;
+  public int getRequestCount() {
+    return requestCount.get();
+  }
 
-  public CleanSensitiveFields(@NonNull SubmissionFileSchema schema) {
-    skipCleanup = SKIP_FILE_TYPES.contains(schema.getName());
+  public IdClient createClient() {
+    return (IdClient) Proxy.newProxyInstance(IdClient.class.getClassLoader(), new Class<?>[] { IdClient.class },
+        (proxy, method, args) -> {
+          val name = method.getName();
+          if (name.equals("close")) {
+            return null;
+          }
 
-    if (skipCleanup) {
-      controlledFields = Collections.emptyList();
-    } else {
-      controlledFields = schema.getFields().stream()
-          .filter(f -> f.isControlled())
-          .map(f -> f.getName())
-          .collect(toImmutableList());
-    }
-  }
+          checkState(name.startsWith("create") && name.endsWith("Id"), "Unsupported ID service call: %s", name);
+          requestCount.incrementAndGet();
 
-  @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    if (!skipCleanup) {
-      controlledFields.stream()
-          .forEach(fieldName -> row.remove(fieldName));
-    }
+          val key = ImmutableList.<Object> builder().add(name).addAll(Arrays.asList(args)).build();
 
-    return row;
+          return ids.computeIfAbsent(key, k -> String.valueOf(sequence.incrementAndGet()));
+        });
   }
 
-}
\ No newline at end of file
+}
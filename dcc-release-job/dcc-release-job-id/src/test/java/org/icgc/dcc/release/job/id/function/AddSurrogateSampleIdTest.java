@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.id.function;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FieldNames.PROJECT_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SAMPLE_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID;
+import static org.icgc.dcc.release.core.util.JacksonFactory.MAPPER;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import lombok.val;
+
+import org.icgc.dcc.id.client.core.IdClientFactory;
+import org.icgc.dcc.release.job.id.client.BatchingIdClient;
+import org.icgc.dcc.release.job.id.client.IdType;
+import org.icgc.dcc.release.job.id.client.LocalIdService;
+import org.icgc.dcc.release.job.id.config.IdProperties;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+public class AddSurrogateSampleIdTest {
+
+  /**
+   * Constants.
+   */
+  private static final String PROJECT = "PROJ-XX";
+
+  LocalIdService service;
+
+  /**
+   * Class under test.
+   */
+  AddSurrogateSampleId function;
+
+  @Before
+  public void setUp() {
+    BatchingIdClient.invalidateCaches();
+    this.service = new LocalIdService();
+
+    val idClientFactory = mock(IdClientFactory.class);
+    when(idClientFactory.create()).thenReturn(service.createClient());
+
+    // A batch size which does not divide the partition exercises the last, partial batch
+    val idProperties = new IdProperties().setBatchSize(3).setConcurrency(2).setCacheSize(100L);
+    this.function = new AddSurrogateSampleId(idClientFactory, idProperties);
+  }
+
+  @Test
+  public void testCallWritesIdsBackInRowOrder() throws Exception {
+    val sampleIds = asList("SA2", "SA1", "SA2", "SA3", "SA1", "SA1", "SA4");
+    val rows = Lists.<ObjectNode> newArrayList();
+    for (val sampleId : sampleIds) {
+      rows.add(createRow(sampleId));
+    }
+
+    val results = ImmutableList.copyOf(function.call(rows.iterator()));
+
+    val client = service.createClient();
+    assertThat(results).hasSize(sampleIds.size());
+    for (int i = 0; i < sampleIds.size(); i++) {
+      val result = results.get(i);
+      val key = asList(sampleIds.get(i), PROJECT);
+
+      assertThat(result.get(SUBMISSION_ANALYZED_SAMPLE_ID).textValue()).isEqualTo(sampleIds.get(i));
+      assertThat(result.get(SURROGATE_SAMPLE_ID).textValue()).isEqualTo(IdType.SAMPLE.createId(client, key));
+    }
+
+    // Duplicate keys resolve to the same id
+    assertThat(results.get(0).get(SURROGATE_SAMPLE_ID)).isEqualTo(results.get(2).get(SURROGATE_SAMPLE_ID));
+    assertThat(results.get(1).get(SURROGATE_SAMPLE_ID)).isEqualTo(results.get(5).get(SURROGATE_SAMPLE_ID));
+    assertThat(results.get(0).get(SURROGATE_SAMPLE_ID)).isNotEqualTo(results.get(1).get(SURROGATE_SAMPLE_ID));
+  }
+
+  @Test
+  public void testCallResolvesEachKeyOnce() throws Exception {
+    val rows = Lists.<ObjectNode> newArrayList();
+    for (int i = 0; i < 10; i++) {
+      rows.add(createRow("SA" + (i % 2)));
+    }
+
+    val results = ImmutableList.copyOf(function.call(rows.iterator()));
+
+    assertThat(results).hasSize(10);
+    assertThat(service.getRequestCount()).isEqualTo(2);
+  }
+
+  private static ObjectNode createRow(String sampleId) {
+    val row = MAPPER.createObjectNode();
+    row.put(SUBMISSION_ANALYZED_SAMPLE_ID, sampleId);
+    row.put(PROJECT_ID, PROJECT);
+
+    return row;
+  }
+
+}
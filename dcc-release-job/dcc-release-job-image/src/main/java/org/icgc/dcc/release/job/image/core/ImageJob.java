@@ -18,6 +18,7 @@
 package org.icgc.dcc.release.job.image.core;
 
 import java.util.Map;
+import java.util.Set;
 
 import lombok.NonNull;
 import lombok.val;
@@ -30,6 +31,8 @@ import org.icgc.dcc.release.job.image.task.AddSpecimenImageTask;
 import org.icgc.dcc.release.job.image.util.SpecimenImageResolver;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableSet;
+
 @Component
 public class ImageJob extends GenericJob {
 
@@ -38,6 +41,16 @@ public class ImageJob extends GenericJob {
     return JobType.IMAGE;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return ImmutableSet.of(FileType.SPECIMEN_SURROGATE_KEY);
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.of(FileType.SPECIMEN_SURROGATE_KEY_IMAGE);
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     clean(jobContext);
@@ -38,6 +38,12 @@ public class AddSpecimenImageTask extends GenericTask {
   private static final FileType INPUT_FILE_TYPE = FileType.SPECIMEN_SURROGATE_KEY;
   private final Map<String, String> specimenImageUrls;
 
+  @Override
+  public boolean isCheckpointable() {
+    // Image urls are resolved remotely
+    return false;
+  }
+
   @Override
   public void execute(TaskContext taskContext) {
     if (!hasInput(taskContext, INPUT_FILE_TYPE)) {
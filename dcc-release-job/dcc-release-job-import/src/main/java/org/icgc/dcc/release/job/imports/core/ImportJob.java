@@ -27,9 +27,13 @@ import static org.icgc.dcc.release.core.job.FileType.DRUG;
 import static org.icgc.dcc.release.core.job.FileType.GENE;
 import static org.icgc.dcc.release.core.job.FileType.GENE_SET;
 import static org.icgc.dcc.release.core.job.FileType.PROJECT;
+
+import java.util.Set;
+
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
+import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
@@ -38,6 +42,8 @@ import org.icgc.dcc.release.job.imports.task.MongoImportTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableSet;
+
 @Component
 @RequiredArgsConstructor(onConstructor = @__({ @Autowired }))
 public class ImportJob extends GenericJob {
@@ -58,6 +64,16 @@ public class ImportJob extends GenericJob {
     return JobType.IMPORT;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.of(PROJECT, GENE, GENE_SET, DIAGRAM, DRUG);
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     clean(jobContext);
@@ -65,6 +65,12 @@ public class MongoImportTask extends GenericTask {
     return Task.getName(this.getClass(), outputFileType.toString());
   }
 
+  @Override
+  public boolean isCheckpointable() {
+    // Changes in Mongo are not visible to task manifests
+    return false;
+  }
+
   @Override
   public void execute(TaskContext taskContext) {
     JavaRDD<ObjectNode> input = readInput(taskContext, createJobConf(taskContext), null);
@@ -26,6 +26,8 @@ import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.experimental.Accessors;
 
+import org.icgc.dcc.release.job.index.io.BulkSizer;
+
 @Data
 @Accessors(chain = true)
 @NoArgsConstructor
@@ -57,6 +59,28 @@ public class IndexProperties {
    */
   boolean bigDocumentsOnly = false;
 
+  /**
+   * Number of concurrent Spark tasks loading big documents.
+   */
+  int bigDocumentConcurrency = 4;
+
+  /**
+   * Initial, minimum and maximum source bytes of a bulk request.
+   */
+  long bulkBytes = BulkSizer.DEFAULT_BULK_BYTES;
+  long minBulkBytes = BulkSizer.DEFAULT_MIN_BULK_BYTES;
+  long maxBulkBytes = BulkSizer.DEFAULT_MAX_BULK_BYTES;
+
+  /**
+   * Maximum number of bulk requests in flight per Spark task.
+   */
+  int maxBulkRequestsInFlight = BulkSizer.DEFAULT_MAX_IN_FLIGHT;
+
+  /**
+   * Bulk request latency below which the bulk size and concurrency grow.
+   */
+  long bulkTargetLatencyMillis = BulkSizer.DEFAULT_TARGET_LATENCY_MILLIS;
+
   /**
    * Whether to create Elasticsearch index tarballs.
    */
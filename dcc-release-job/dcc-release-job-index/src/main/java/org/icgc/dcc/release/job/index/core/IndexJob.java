@@ -31,14 +31,17 @@ import static org.icgc.dcc.release.job.index.utils.IndexTasks.getIndexName;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.icgc.dcc.release.core.document.DocumentType;
+import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.GenericJob;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
 import org.icgc.dcc.release.core.task.DeleteFileTask;
 import org.icgc.dcc.release.core.task.Task;
 import org.icgc.dcc.release.job.index.config.IndexProperties;
+import org.icgc.dcc.release.job.index.io.BulkSettings;
 import org.icgc.dcc.release.job.index.service.IndexService;
 import org.icgc.dcc.release.job.index.service.IndexVerificationService;
 import org.icgc.dcc.release.job.index.task.EsExportTask;
@@ -74,6 +77,18 @@ public class IndexJob extends GenericJob {
     return JobType.INDEX;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return Stream.of(DocumentType.values())
+        .map(DocumentType::getOutputFileType)
+        .collect(toImmutableSet());
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.of();
+  }
+
   @Override
   public void execute(JobContext jobContext) {
     clean(jobContext);
@@ -197,7 +212,7 @@ public class IndexJob extends GenericJob {
   @SneakyThrows
   private Collection<Task> createIndexTasks(final String indexName, Set<DocumentType> indexTypes) {
     val indexTasks = ImmutableList.<Task> builder();
-    indexTasks.add(new IndexBigFilesTask(properties.getEsUri()));
+    indexTasks.add(new IndexBigFilesTask(properties.getEsUri(), properties.getBigDocumentConcurrency()));
 
     if (!properties.isBigDocumentsOnly()) {
       log.info("Big indexing documents only. Skip the rest index tasks creation...");
@@ -210,7 +225,17 @@ public class IndexJob extends GenericJob {
   }
 
   private IndexTask createIndexTask(String indexName, DocumentType documentType) {
-    return new IndexTask(properties.getEsUri(), indexName, documentType, properties.getBigDocumentThresholdMb());
+    return new IndexTask(properties.getEsUri(), indexName, documentType, properties.getBigDocumentThresholdMb(),
+        createBulkSettings());
+  }
+
+  private BulkSettings createBulkSettings() {
+    return new BulkSettings(
+        properties.getMinBulkBytes(),
+        properties.getMaxBulkBytes(),
+        properties.getBulkBytes(),
+        properties.getMaxBulkRequestsInFlight(),
+        properties.getBulkTargetLatencyMillis());
   }
 
   private Set<DocumentType> getIndexTypes() {
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.function;
+
+import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.getInputStream;
+import static org.icgc.dcc.release.job.index.io.DocumentWriterFactory.createStreamingDocumentWriter;
+import static org.icgc.dcc.release.job.index.utils.IndexTasks.getDocumentTypeFromFileName;
+import static org.icgc.dcc.release.job.index.utils.IndexTasks.getIdFromFileName;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.icgc.dcc.common.hadoop.fs.FileSystems;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Indexes the big documents saved by the {@code FilteringElasticSearchDocumentWriter}, one document at a time.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public final class BigDocumentIndexer implements FlatMapFunction<Iterator<String>, Void> {
+
+  private static final long serialVersionUID = -6130425227470383528L;
+
+  @NonNull
+  private final String esUri;
+  @NonNull
+  private final String indexName;
+  @NonNull
+  private final Map<String, String> fsSettings;
+
+  @Override
+  public Iterable<Void> call(Iterator<String> paths) throws Exception {
+    val fileSystem = FileSystems.getFileSystem(fsSettings);
+    @Cleanup
+    val documentWriter = createStreamingDocumentWriter(esUri, indexName);
+
+    while (paths.hasNext()) {
+      val path = new Path(paths.next());
+      val fileName = path.getName();
+      val type = getDocumentTypeFromFileName(fileName);
+      val id = getIdFromFileName(fileName);
+
+      log.info("Loading document {} to {} index type...", id, type.getName());
+      @Cleanup
+      val inputStream = getInputStream(fileSystem, path);
+      documentWriter.write(id, type, inputStream);
+    }
+
+    return Lists.newArrayList();
+  }
+
+}
@@ -22,10 +22,11 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
 import static org.icgc.dcc.common.core.util.Joiners.PATH;
 import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
+import static org.icgc.dcc.release.job.index.utils.EsExportArchives.createPartOutputStream;
+import static org.icgc.dcc.release.job.index.utils.IndexTasks.getEsExportPartsPath;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
@@ -40,21 +41,27 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.hadoop.fs.Path;
-import org.apache.spark.api.java.function.FlatMapFunction;
-import org.icgc.dcc.common.core.util.Separators;
+import org.apache.spark.api.java.function.Function2;
 import org.icgc.dcc.common.hadoop.fs.Configurations;
 import org.icgc.dcc.common.hadoop.fs.FileSystems;
 import org.icgc.dcc.release.core.document.Document;
 import org.icgc.dcc.release.core.util.JacksonFactory;
 import org.icgc.dcc.release.job.index.service.IndexService;
-import org.icgc.dcc.release.job.index.task.EsExportTask;
+import org.icgc.dcc.release.job.index.utils.EsExportArchives;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Iterators;
 
+/**
+ * Writes the documents of a partition as a part of the export archive of a document type and returns its path. The
+ * first part also holds the index settings and the type mapping.
+ * 
+ * @see EsExportArchives
+ */
 @Slf4j
 @RequiredArgsConstructor
-public final class CreateEsExportTar implements FlatMapFunction<Iterator<Document>, Void> {
+public final class CreateEsExportTar implements Function2<Integer, Iterator<Document>, Iterator<String>> {
 
   private static final ObjectMapper MAPPER = JacksonFactory.MAPPER;
 
@@ -68,18 +75,23 @@ public final class CreateEsExportTar implements FlatMapFunction<Iterator<Documen
   private final Map<String, String> fileSystemSettings;
 
   @Override
-  public Iterable<Void> call(Iterator<Document> documents) throws Exception {
-    if (!documents.hasNext()) {
+  public Iterator<String> call(Integer partitionIndex, Iterator<Document> documents) throws Exception {
+    // The settings and mapping must be the first entries of the archive, even if there are no documents before
+    val firstPart = partitionIndex == 0;
+    if (!firstPart && !documents.hasNext()) {
       log.warn("Empty partition.");
 
-      return Collections.emptyList();
+      return Collections.emptyIterator();
     }
 
-    log.info("Started processing '{}' file type...", documentTypeName);
-    val archivePath = getOutputPath(getArchiveName());
+    log.info("Started processing part {} of '{}' file type...", partitionIndex, documentTypeName);
+    val partPath = getPartPath(partitionIndex);
     @Cleanup
-    val tarOutputStream = getOutputStream(archivePath);
-    addMeta(tarOutputStream);
+    val outputStream = getOutputStream(partPath);
+    val tarOutputStream = createPartOutputStream(outputStream);
+    if (firstPart) {
+      addMeta(tarOutputStream);
+    }
 
     int docs = 0;
     while (documents.hasNext()) {
@@ -90,9 +102,11 @@ public final class CreateEsExportTar implements FlatMapFunction<Iterator<Documen
         log.info("Processed {} documents", docs);
       }
     }
-    tarOutputStream.finish();
 
-    return Collections.emptyList();
+    // Not finishing the tar stream on purpose. Closing the gzip stream completes the member of this part
+    tarOutputStream.flush();
+
+    return Iterators.singletonIterator(partPath.toString());
   }
 
   private void writeDocument(TarArchiveOutputStream tarOutputStream, Document document) throws Exception {
@@ -132,21 +146,17 @@ public final class CreateEsExportTar implements FlatMapFunction<Iterator<Documen
     return PATH.join(indexName, documentTypeName, documentId);
   }
 
-  private String getArchiveName() {
-    return format("%s_%s.tar.gz", indexName.toLowerCase(), documentTypeName);
-  }
-
-  private Path getOutputPath(String fileName) {
-    return new Path(workingDir + Separators.PATH + EsExportTask.ES_EXPORT_DIR + Separators.PATH + fileName);
+  private Path getPartPath(int partitionIndex) {
+    return new Path(getEsExportPartsPath(workingDir, indexName, documentTypeName), format("part-%05d.gz",
+        partitionIndex));
   }
 
-  private TarArchiveOutputStream getOutputStream(Path archivePath) throws IOException {
+  private GZIPOutputStream getOutputStream(Path partPath) throws IOException {
     val configuration = Configurations.fromMap(fileSystemSettings);
     val fileSystem = FileSystems.getFileSystem(configuration);
-    val archiveOutputStream = new GZIPOutputStream(new BufferedOutputStream(fileSystem.create(archivePath)));
-    log.info("Creating tar archive writer for archive file '{}'...", archivePath);
+    log.info("Creating tar archive writer for archive part '{}'...", partPath);
 
-    return createTarOutputStream(archiveOutputStream);
+    return new GZIPOutputStream(new BufferedOutputStream(fileSystem.create(partPath)));
   }
 
   private static void writeEntry(TarArchiveOutputStream tarOutputStream, ObjectNode source, String fileName)
@@ -165,13 +175,4 @@ public final class CreateEsExportTar implements FlatMapFunction<Iterator<Documen
     return entry;
   }
 
-  private static TarArchiveOutputStream createTarOutputStream(@NonNull OutputStream outputStream) {
-    log.debug("Creating tar output stream...");
-    val tarOutputStream = new TarArchiveOutputStream(outputStream);
-    tarOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
-    tarOutputStream.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
-
-    return tarOutputStream;
-  }
-
 }
\ No newline at end of file
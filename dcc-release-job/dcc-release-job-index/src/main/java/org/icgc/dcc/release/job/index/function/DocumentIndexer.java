@@ -23,19 +23,21 @@ import static org.icgc.dcc.release.job.index.utils.Documents.convertDocument;
 import java.util.Iterator;
 import java.util.Map;
 
-import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import org.apache.spark.api.java.function.FlatMapFunction;
 import org.icgc.dcc.release.core.document.Document;
+import org.icgc.dcc.release.job.index.io.BulkSettings;
 import org.icgc.dcc.release.job.index.io.DocumentWriterContext;
+import org.icgc.dcc.release.job.index.io.FilteringElasticSearchDocumentWriter;
+import org.icgc.dcc.release.job.index.io.IndexingStats;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
 
 @RequiredArgsConstructor
-public final class DocumentIndexer implements FlatMapFunction<Iterator<Document>, Void> {
+public final class DocumentIndexer implements FlatMapFunction<Iterator<Document>, IndexingStats> {
 
   private static final long serialVersionUID = 3834434199819463998L;
 
@@ -48,17 +50,23 @@ public final class DocumentIndexer implements FlatMapFunction<Iterator<Document>
   private final int documentThreshold;
   @NonNull
   private final String workingDir;
+  @NonNull
+  private final BulkSettings bulkSettings;
 
   @Override
-  public Iterable<Void> call(Iterator<Document> document) throws Exception {
-    @Cleanup
-    val documentWriter = createFilteringDocumentWriter(createDocumentWriterContext());
+  public Iterable<IndexingStats> call(Iterator<Document> document) throws Exception {
+    IndexingStats stats;
 
-    while (document.hasNext()) {
-      documentWriter.write(convertDocument(document.next()));
+    // Closing waits for the in-flight bulk requests. Its failure is suppressed by a failure of the writes.
+    try (FilteringElasticSearchDocumentWriter documentWriter =
+        createFilteringDocumentWriter(createDocumentWriterContext())) {
+      stats = documentWriter.getStats();
+      while (document.hasNext()) {
+        documentWriter.write(convertDocument(document.next()));
+      }
     }
 
-    return Lists.newArrayList();
+    return ImmutableList.of(stats);
   }
 
   private DocumentWriterContext createDocumentWriterContext() {
@@ -68,6 +76,7 @@ public final class DocumentIndexer implements FlatMapFunction<Iterator<Document>
         .workingDir(workingDir)
         .fsSettings(fsSettings)
         .esUri(esUri)
+        .bulkSettings(bulkSettings)
         .build();
   }
 
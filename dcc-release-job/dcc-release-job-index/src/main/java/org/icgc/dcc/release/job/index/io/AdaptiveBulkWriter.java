@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.io;
+
+import static com.google.common.base.Preconditions.checkState;
+import static com.google.common.base.Stopwatch.createStarted;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Batches documents into bulk requests sized by bytes and sends them asynchronously, applying backpressure to the
+ * caller.
+ * <p>
+ * The bulk size and the number of requests in flight are tuned by the {@link BulkSizer} from the observed latency and
+ * rejections. {@link #write} blocks while the maximum number of requests is in flight. Items rejected by a saturated
+ * cluster are retried with exponential backoff, any other failure fails the writer.
+ */
+@Slf4j
+public class AdaptiveBulkWriter implements Closeable {
+
+  /**
+   * Constants.
+   */
+  private static final int MAX_RETRIES = 10;
+  private static final long INITIAL_BACKOFF_MILLIS = 100;
+  private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+  /**
+   * Configuration.
+   */
+  private final String indexName;
+
+  /**
+   * Dependencies.
+   */
+  private final BulkClient client;
+  private final BulkSizer sizer;
+  private final ExecutorService executor;
+
+  /**
+   * State.
+   */
+  @Getter
+  private final IndexingStats stats = new IndexingStats();
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private List<BulkItem> batch = Lists.newArrayList();
+  private long batchBytes;
+  private int inFlight;
+
+  public AdaptiveBulkWriter(@NonNull BulkClient client, @NonNull String indexName, @NonNull BulkSizer sizer) {
+    this.client = client;
+    this.indexName = indexName;
+    this.sizer = sizer;
+    this.executor = Executors.newFixedThreadPool(sizer.getMaxInFlightLimit(), new ThreadFactoryBuilder()
+        .setNameFormat("bulk-" + indexName + "-%d")
+        .setDaemon(true)
+        .build());
+  }
+
+  public void write(@NonNull String id, @NonNull String type, @NonNull byte[] source) throws IOException {
+    checkFailure();
+    batch.add(new BulkItem(id, type, source));
+    batchBytes += source.length;
+
+    if (batchBytes >= sizer.getBulkBytes()) {
+      flush();
+    }
+  }
+
+  /**
+   * Sends the current batch once a request slot is available.
+   */
+  public void flush() throws IOException {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    val items = batch;
+    val bytes = batchBytes;
+    batch = Lists.newArrayList();
+    batchBytes = 0;
+
+    acquire();
+    executor.execute(() -> {
+      try {
+        send(items, bytes);
+      } catch (Throwable t) {
+        failure.compareAndSet(null, t);
+      } finally {
+        release();
+      }
+    });
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+      executor.shutdown();
+      awaitTermination();
+      checkFailure();
+      log.info("Indexed {} documents into '{}' with {} bulks ({} rejected items). Final {}", stats.getDocuments(),
+          indexName, stats.getBulks(), stats.getRejections(), sizer);
+    } finally {
+      executor.shutdownNow();
+      client.close();
+    }
+  }
+
+  private void send(List<BulkItem> items, long bytes) throws InterruptedException {
+    List<BulkItem> pending = items;
+    for (int attempt = 0;; attempt++) {
+      val watch = createStarted();
+      val result = client.execute(indexName, pending);
+      val latency = watch.elapsed(MILLISECONDS);
+      checkState(result.getFailures().isEmpty(), "Failed to index %s document(s) into '%s'. First failure: %s",
+          result.getFailures().size(), indexName, result.getFailures().isEmpty() ? null : result.getFailures().get(0));
+
+      if (result.getRejected().isEmpty()) {
+        sizer.onSuccess(latency);
+        break;
+      }
+
+      sizer.onRejected();
+      stats.addRejections(result.getRejected().size());
+      checkState(attempt < MAX_RETRIES, "Giving up on %s document(s) rejected by '%s' after %s retries",
+          result.getRejected().size(), indexName, MAX_RETRIES);
+
+      val backoff = getBackoff(attempt);
+      log.warn("{} of {} document(s) rejected by '{}' in {} ms. Retrying in {} ms...", result.getRejected().size(),
+          pending.size(), indexName, latency, backoff);
+      pending = select(pending, result.getRejected());
+      MILLISECONDS.sleep(backoff);
+    }
+
+    stats.addBulk(items.size(), bytes);
+  }
+
+  private synchronized void acquire() throws IOException {
+    try {
+      while (inFlight >= sizer.getMaxInFlight()) {
+        wait();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for a bulk request slot", e);
+    }
+
+    inFlight++;
+  }
+
+  private synchronized void release() {
+    inFlight--;
+    notifyAll();
+  }
+
+  private void awaitTermination() throws IOException {
+    try {
+      executor.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for bulk requests to complete", e);
+    }
+  }
+
+  private void checkFailure() throws IOException {
+    val t = failure.get();
+    if (t != null) {
+      throw new IOException("Failed to index documents into '" + indexName + "'", t);
+    }
+  }
+
+  private static List<BulkItem> select(List<BulkItem> items, List<Integer> positions) {
+    return positions.stream()
+        .map(items::get)
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Exponential backoff with jitter, so that the rejected writers of all the partitions do not retry in lockstep.
+   */
+  private static long getBackoff(int attempt) {
+    val backoff = min(MAX_BACKOFF_MILLIS, INITIAL_BACKOFF_MILLIS << attempt);
+
+    return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Adapts the size of bulk requests and the number of requests in flight to how the cluster copes with the load.
+ * <p>
+ * Both grow while bulk requests complete below the target latency and are halved as soon as the cluster rejects items
+ * (additive increase / multiplicative decrease). A fast request grows the bulk size by the minimum bulk size. Requests
+ * slower than twice the target latency halve the bulk size only, keeping the concurrency.
+ */
+@ToString
+public class BulkSizer {
+
+  /**
+   * Defaults.
+   */
+  public static final long DEFAULT_MIN_BULK_BYTES = 512L * 1024;
+  public static final long DEFAULT_MAX_BULK_BYTES = 32L * 1024 * 1024;
+  public static final long DEFAULT_BULK_BYTES = 5L * 1024 * 1024;
+  public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+  public static final long DEFAULT_TARGET_LATENCY_MILLIS = 2000;
+
+  /**
+   * Configuration.
+   */
+  private final long minBulkBytes;
+  private final long maxBulkBytes;
+  @Getter
+  private final int maxInFlightLimit;
+  private final long targetLatencyMillis;
+
+  /**
+   * State.
+   */
+  private long bulkBytes;
+  private int maxInFlight = 1;
+  private int successes;
+
+  public BulkSizer() {
+    this(DEFAULT_MIN_BULK_BYTES, DEFAULT_MAX_BULK_BYTES, DEFAULT_BULK_BYTES, DEFAULT_MAX_IN_FLIGHT,
+        DEFAULT_TARGET_LATENCY_MILLIS);
+  }
+
+  public BulkSizer(@NonNull BulkSettings settings) {
+    this(settings.getMinBulkBytes(), settings.getMaxBulkBytes(), settings.getBulkBytes(), settings.getMaxInFlight(),
+        settings.getTargetLatencyMillis());
+  }
+
+  public BulkSizer(long minBulkBytes, long maxBulkBytes, long bulkBytes, int maxInFlightLimit,
+      long targetLatencyMillis) {
+    checkArgument(0 < minBulkBytes && minBulkBytes <= bulkBytes && bulkBytes <= maxBulkBytes,
+        "Bulk size %s must be between %s and %s", bulkBytes, minBulkBytes, maxBulkBytes);
+    checkArgument(maxInFlightLimit > 0, "Max in-flight requests must be positive: %s", maxInFlightLimit);
+    this.minBulkBytes = minBulkBytes;
+    this.maxBulkBytes = maxBulkBytes;
+    this.bulkBytes = bulkBytes;
+    this.maxInFlightLimit = maxInFlightLimit;
+    this.targetLatencyMillis = targetLatencyMillis;
+  }
+
+  /**
+   * @return the number of source bytes after which a bulk request should be sent
+   */
+  public synchronized long getBulkBytes() {
+    return bulkBytes;
+  }
+
+  /**
+   * @return the number of bulk requests which may currently be in flight
+   */
+  public synchronized int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  public synchronized void onSuccess(long latencyMillis) {
+    if (latencyMillis > 2 * targetLatencyMillis) {
+      bulkBytes = max(minBulkBytes, bulkBytes / 2);
+      successes = 0;
+    } else if (latencyMillis < targetLatencyMillis) {
+      bulkBytes = min(maxBulkBytes, bulkBytes + minBulkBytes);
+
+      // Only open another slot once every current one has proven it is not overloading the cluster
+      if (++successes >= maxInFlight) {
+        maxInFlight = min(maxInFlightLimit, maxInFlight + 1);
+        successes = 0;
+      }
+    }
+  }
+
+  public synchronized void onRejected() {
+    bulkBytes = max(minBulkBytes, bulkBytes / 2);
+    maxInFlight = max(1, maxInFlight / 2);
+    successes = 0;
+  }
+
+}
@@ -31,5 +31,6 @@ public class DocumentWriterContext {
   String workingDir;
   Map<String, String> fsSettings;
   String esUri;
+  BulkSettings bulkSettings;
 
 }
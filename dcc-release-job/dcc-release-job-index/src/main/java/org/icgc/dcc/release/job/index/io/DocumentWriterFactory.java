@@ -37,10 +37,16 @@ public final class DocumentWriterFactory {
         context.getIndexName(), context.getEsUri());
   }
 
-  public static DocumentWriter createFilteringDocumentWriter(@NonNull DocumentWriterContext context) {
-    val writerContext = createContext(context.getIndexName(), context.getEsUri());
+  public static StreamingDocumentWriter createStreamingDocumentWriter(@NonNull String esUri, @NonNull String indexName) {
+    return new StreamingDocumentWriter(createContext(indexName, esUri));
+  }
+
+  public static FilteringElasticSearchDocumentWriter createFilteringDocumentWriter(
+      @NonNull DocumentWriterContext context) {
+    val bulkWriter = new AdaptiveBulkWriter(new TransportBulkClient(context.getEsUri()), context.getIndexName(),
+        new BulkSizer(context.getBulkSettings()));
 
-    return new FilteringElasticSearchDocumentWriter(writerContext, context.getDocumentThreshold(),
+    return new FilteringElasticSearchDocumentWriter(bulkWriter, context.getDocumentThreshold(),
         context.getWorkingDir(),
         context.getFsSettings());
   }
@@ -20,6 +20,7 @@ package org.icgc.dcc.release.job.index.io;
 import static org.icgc.dcc.release.job.index.utils.IndexTasks.getBigFileName;
 import static org.icgc.dcc.release.job.index.utils.IndexTasks.getBigFilesDir;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Map;
@@ -35,16 +36,14 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.hadoop.fs.FileSystems;
 import org.icgc.dcc.common.hadoop.fs.HadoopUtils;
-import org.icgc.dcc.dcc.common.es.impl.DefaultDocumentWriter;
-import org.icgc.dcc.dcc.common.es.impl.DocumentWriterContext;
 import org.icgc.dcc.dcc.common.es.model.IndexDocument;
 import org.icgc.dcc.release.core.util.JacksonFactory;
 
 /**
- * Filters out big documents and writes them to file system.
+ * Filters out big documents and writes them to file system. The rest are sent to the {@link AdaptiveBulkWriter}.
  */
 @Slf4j
-public class FilteringElasticSearchDocumentWriter extends DefaultDocumentWriter {
+public class FilteringElasticSearchDocumentWriter implements Closeable {
 
   /**
    * Configuration.
@@ -56,32 +55,43 @@ public class FilteringElasticSearchDocumentWriter extends DefaultDocumentWriter
   /**
    * Dependencies.
    */
+  private final AdaptiveBulkWriter bulkWriter;
   private FileSystem fileSystem;
 
   public FilteringElasticSearchDocumentWriter(
-      @NonNull DocumentWriterContext context,
+      @NonNull AdaptiveBulkWriter bulkWriter,
       int threshold,
       @NonNull String workingDir,
       @NonNull Map<String, String> fsSettings) {
-    super(context);
+    this.bulkWriter = bulkWriter;
     this.threshold = threshold * 1024 * 1024;
     this.workingDir = getBigFilesDir(workingDir);
     this.fsSettings = fsSettings;
   }
 
-  @Override
-  public void write(IndexDocument document) throws IOException {
-    byte[] source = createSource(document.getSource());
+  public void write(@NonNull IndexDocument document) throws IOException {
+    byte[] source = JacksonFactory.WRITER.writeValueAsBytes(document.getSource());
     if (isBigDocument(source.length)) {
       writeToFileSystem(document);
+      bulkWriter.getStats().addBigDocument();
     } else {
-      write(document.getId(), document.getType(), source);
+      bulkWriter.write(document.getId(), document.getType().getIndexType(), source);
     }
   }
 
+  public IndexingStats getStats() {
+    return bulkWriter.getStats();
+  }
+
   @Override
   public void close() throws IOException {
-    super.close();
+    // A failure to close the file system is suppressed by a failure of the bulk requests rather than hiding it
+    try (Closeable closeable = this::closeFileSystem) {
+      bulkWriter.close();
+    }
+  }
+
+  private void closeFileSystem() throws IOException {
     if (fileSystem != null) {
       log.info("Closing a FileSystem...");
       fileSystem.close();
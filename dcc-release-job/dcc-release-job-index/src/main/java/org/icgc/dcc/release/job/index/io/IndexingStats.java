@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.io;
+
+import static java.lang.Math.max;
+
+import java.io.Serializable;
+
+import lombok.Data;
+import lombok.NonNull;
+
+/**
+ * Counters of the documents indexed by a partition or, once merged, by a whole task.
+ */
+@Data
+public class IndexingStats implements Serializable {
+
+  private long documents;
+  private long bytes;
+  private long bulks;
+  private long rejections;
+  private long retries;
+  private long bigDocuments;
+
+  /**
+   * Wall time of the indexing in milliseconds. Only known once the stats of a whole task are merged.
+   */
+  private long elapsedMillis;
+
+  synchronized void addBulk(int documentCount, long byteCount) {
+    documents += documentCount;
+    bytes += byteCount;
+    bulks++;
+  }
+
+  synchronized void addRejections(int rejectionCount) {
+    rejections += rejectionCount;
+    retries++;
+  }
+
+  synchronized void addBigDocument() {
+    bigDocuments++;
+  }
+
+  public long getDocumentsPerSecond() {
+    return documents * 1000 / max(elapsedMillis, 1);
+  }
+
+  public double getMegabytesPerSecond() {
+    return bytes / 1024.0 / 1024.0 * 1000 / max(elapsedMillis, 1);
+  }
+
+  public IndexingStats merge(@NonNull IndexingStats other) {
+    documents += other.documents;
+    bytes += other.bytes;
+    bulks += other.bulks;
+    rejections += other.rejections;
+    retries += other.retries;
+    bigDocuments += other.bigDocuments;
+    elapsedMillis = max(elapsedMillis, other.elapsedMillis);
+
+    return this;
+  }
+
+}
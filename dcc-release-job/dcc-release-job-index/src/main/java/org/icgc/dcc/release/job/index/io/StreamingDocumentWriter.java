@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import lombok.Cleanup;
+import lombok.NonNull;
+import lombok.val;
+
+import org.icgc.dcc.dcc.common.es.impl.DefaultDocumentWriter;
+import org.icgc.dcc.dcc.common.es.impl.DocumentWriterContext;
+import org.icgc.dcc.release.core.document.DocumentType;
+import org.icgc.dcc.release.core.util.JacksonFactory;
+
+/**
+ * Writes documents read from Smile encoded streams. The source is transcoded token by token into the bulk request, so
+ * no {@code ObjectNode} tree of the (big) document is ever built.
+ */
+public class StreamingDocumentWriter extends DefaultDocumentWriter {
+
+  public StreamingDocumentWriter(@NonNull DocumentWriterContext context) {
+    super(context);
+  }
+
+  public void write(@NonNull String id, @NonNull DocumentType type, @NonNull InputStream smileSource)
+      throws IOException {
+    write(id, type::getName, transcode(smileSource));
+  }
+
+  private static byte[] transcode(InputStream smileSource) throws IOException {
+    val buffer = new ByteArrayOutputStream();
+    @Cleanup
+    val parser = JacksonFactory.SMILE_FACTORY.createParser(smileSource);
+    @Cleanup
+    val generator = JacksonFactory.MAPPER.getFactory().createGenerator(buffer);
+
+    parser.nextToken();
+    generator.copyCurrentStructure(parser);
+    generator.flush();
+
+    return buffer.toByteArray();
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.io;
+
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
+import static org.icgc.dcc.dcc.common.es.TransportClientFactory.createClient;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.rest.RestStatus;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * {@link BulkClient} sending the requests to an Elasticsearch cluster through the transport client.
+ */
+@RequiredArgsConstructor
+public class TransportBulkClient implements BulkClient {
+
+  @NonNull
+  private final Client client;
+
+  public TransportBulkClient(@NonNull String esUri) {
+    this(createClient(esUri, false));
+  }
+
+  @Override
+  public BulkResult execute(@NonNull String indexName, @NonNull List<BulkItem> items) {
+    val request = client.prepareBulk();
+    for (val item : items) {
+      request.add(new IndexRequest(indexName, item.getType(), item.getId()).source(item.getSource()));
+    }
+
+    try {
+      return createResult(request.get().getItems());
+    } catch (RuntimeException e) {
+      if (!isRejected(e)) {
+        throw e;
+      }
+
+      // The whole request was rejected by the node coordinating it
+      val rejected = IntStream.range(0, items.size()).boxed().collect(toImmutableList());
+
+      return new BulkResult(rejected, ImmutableList.of());
+    }
+  }
+
+  @Override
+  public void close() {
+    client.close();
+  }
+
+  private static boolean isRejected(Throwable t) {
+    // Rejections of remote nodes arrive wrapped, e.g. in a RemoteTransportException
+    return Throwables.getCausalChain(t).stream().anyMatch(EsRejectedExecutionException.class::isInstance);
+  }
+
+  private static BulkResult createResult(BulkItemResponse[] responses) {
+    val rejected = Lists.<Integer> newArrayList();
+    val failures = Lists.<String> newArrayList();
+    for (val response : responses) {
+      if (!response.isFailed()) {
+        continue;
+      }
+
+      if (response.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS) {
+        rejected.add(response.getItemId());
+      } else {
+        failures.add(response.getId() + ": " + response.getFailureMessage());
+      }
+    }
+
+    return new BulkResult(rejected, failures);
+  }
+
+}
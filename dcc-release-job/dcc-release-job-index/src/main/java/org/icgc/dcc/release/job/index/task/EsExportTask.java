@@ -17,11 +17,17 @@
  */
 package org.icgc.dcc.release.job.index.task;
 
+import static org.icgc.dcc.common.core.util.stream.Collectors.toImmutableList;
+import static org.icgc.dcc.release.job.index.utils.IndexTasks.getEsExportArchiveName;
+import static org.icgc.dcc.release.job.index.utils.IndexTasks.getEsExportPartsPath;
+
 import java.util.Map;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
 import org.apache.hadoop.fs.Path;
 import org.apache.spark.api.java.JavaRDD;
@@ -33,7 +39,13 @@ import org.icgc.dcc.release.core.task.TaskType;
 import org.icgc.dcc.release.core.util.Configurations;
 import org.icgc.dcc.release.job.index.function.CreateDocument;
 import org.icgc.dcc.release.job.index.function.CreateEsExportTar;
+import org.icgc.dcc.release.job.index.utils.EsExportArchives;
 
+/**
+ * Exports the documents of a type as a {@code tar.gz} archive loadable into Elasticsearch. Each partition writes its
+ * part of the archive in parallel, the parts are then concatenated on the driver.
+ */
+@Slf4j
 @RequiredArgsConstructor
 public class EsExportTask extends GenericIndexTask {
 
@@ -55,13 +67,26 @@ public class EsExportTask extends GenericIndexTask {
   }
 
   @Override
+  @SneakyThrows
   public void execute(TaskContext taskContext) {
     prepareDirs(taskContext);
-    readDocuments(taskContext)
-        .coalesce(1)
-        .mapPartitions(createExportTarFucntion(taskContext))
-        // Force calculation of the partition
-        .count();
+    val parts = readDocuments(taskContext)
+        .mapPartitionsWithIndex(createExportTarFucntion(taskContext), false)
+        .collect();
+
+    if (parts.isEmpty()) {
+      log.warn("No '{}' documents to export.", documentType.getName());
+      return;
+    }
+
+    val fileSystem = taskContext.getFileSystem();
+    val workingDir = taskContext.getJobContext().getWorkingDir();
+    val archivePath = new Path(new Path(workingDir, ES_EXPORT_DIR),
+        getEsExportArchiveName(indexName, documentType.getName()));
+    log.info("Concatenating {} parts into '{}'...", parts.size(), archivePath);
+    EsExportArchives.concatenate(fileSystem, parts.stream().map(Path::new).collect(toImmutableList()), archivePath);
+
+    fileSystem.delete(getEsExportPartsPath(workingDir, indexName, documentType.getName()), true);
   }
 
   private CreateEsExportTar createExportTarFucntion(TaskContext taskContext) {
@@ -17,45 +17,54 @@
  */
 package org.icgc.dcc.release.job.index.task;
 
-import static com.google.common.base.Preconditions.checkState;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Comparator.comparing;
 import static java.util.regex.Pattern.compile;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.checkExistence;
-import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.getInputStream;
 import static org.icgc.dcc.common.hadoop.fs.HadoopUtils.lsFile;
-import static org.icgc.dcc.release.core.util.JacksonFactory.SMILE_READER;
-import static org.icgc.dcc.release.job.index.io.DocumentWriterFactory.createDocumentWriter;
-import static org.icgc.dcc.release.job.index.utils.Documents.convertDocument;
 import static org.icgc.dcc.release.job.index.utils.IndexTasks.getBigFilesPath;
-import static org.icgc.dcc.release.job.index.utils.IndexTasks.getDocumentTypeFromFileName;
-import static org.icgc.dcc.release.job.index.utils.IndexTasks.getIdFromFileName;
 import static org.icgc.dcc.release.job.index.utils.IndexTasks.getIndexName;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
-import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
-import org.icgc.dcc.release.core.document.Document;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.core.task.TaskType;
+import org.icgc.dcc.release.core.util.Configurations;
+import org.icgc.dcc.release.job.index.function.BigDocumentIndexer;
 import org.icgc.dcc.release.job.index.utils.IndexTasks;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Lists;
 
+/**
+ * Indexes documents which were too big to be indexed by the {@link IndexTask}s.
+ * <p>
+ * The documents are spread over {@code concurrency} Spark tasks balanced by file size. Each Spark task loads its
+ * documents one at a time, so the executor memory required is bounded by the size of the biggest document.
+ */
 @Slf4j
 @RequiredArgsConstructor
 public class IndexBigFilesTask extends GenericTask {
 
+  /**
+   * Configuration.
+   */
   @NonNull
   private final String esUri;
+  private final int concurrency;
 
   @Override
   @SneakyThrows
@@ -66,35 +75,50 @@ public class IndexBigFilesTask extends GenericTask {
       return;
     }
 
+    val buckets = createBuckets(taskContext.getFileSystem(), files);
+    log.info("Loading {} big documents with {} concurrent tasks...", files.size(), buckets.size());
+
     val indexName = getIndexName(taskContext.getJobContext().getReleaseName());
-    @Cleanup
-    val documentWriter = createDocumentWriter(esUri, indexName);
+    taskContext.getSparkContext()
+        .parallelize(buckets, buckets.size())
+        .flatMap(bucket -> bucket)
+        .mapPartitions(new BigDocumentIndexer(esUri, indexName, getFileSystemConfig(taskContext)))
+
+        // Calling count() to trigger calculation of the RDD
+        .count();
+  }
 
-    int loadedDocsCount = 0;
+  /**
+   * Greedily assigns the files, biggest first, to the least loaded bucket.
+   */
+  @SneakyThrows
+  private List<List<String>> createBuckets(FileSystem fileSystem, Collection<Path> files) {
+    val statuses = Lists.<FileStatus> newArrayList();
     for (val file : files) {
-      val document = createDocument(taskContext.getFileSystem(), file);
-      log.info("[{}/{}] Loading document {} to {} index type...", ++loadedDocsCount, files.size(), document.getId(),
-          document.getType().getName());
-      documentWriter.write(convertDocument(document));
+      statuses.add(fileSystem.getFileStatus(file));
     }
-  }
+    statuses.sort(comparing(FileStatus::getLen).reversed());
 
-  private static Document createDocument(FileSystem fileSystem, Path path) {
-    val fileName = path.getName();
-    val type = getDocumentTypeFromFileName(fileName);
-    val id = getIdFromFileName(fileName);
-    val source = readSource(fileSystem, path);
-    checkState(source.isObject(), "Source is not a valid ObjectNode");
+    val bucketCount = min(max(concurrency, 1), statuses.size());
+    val buckets = Lists.<List<String>> newArrayListWithCapacity(bucketCount);
+    val bucketSizes = new long[bucketCount];
+    for (int i = 0; i < bucketCount; i++) {
+      buckets.add(Lists.newArrayList());
+    }
 
-    return new Document(type, id, source);
-  }
+    for (val status : statuses) {
+      int smallest = 0;
+      for (int i = 1; i < bucketCount; i++) {
+        if (bucketSizes[i] < bucketSizes[smallest]) {
+          smallest = i;
+        }
+      }
 
-  @SneakyThrows
-  private static ObjectNode readSource(FileSystem fileSystem, Path path) {
-    @Cleanup
-    val inputStream = getInputStream(fileSystem, path);
+      buckets.get(smallest).add(status.getPath().toString());
+      bucketSizes[smallest] += status.getLen();
+    }
 
-    return SMILE_READER.readValue(inputStream);
+    return buckets;
   }
 
   private Collection<Path> getFiles(TaskContext taskContext) {
@@ -111,6 +135,10 @@ public class IndexBigFilesTask extends GenericTask {
     return lsFile(fileSystem, bigFilesPath, compile(".*" + IndexTasks.GZIP_EXTENSION + "$"));
   }
 
+  private static Map<String, String> getFileSystemConfig(TaskContext taskContext) {
+    return Configurations.getSettings(taskContext.getFileSystem().getConf());
+  }
+
   @Override
   public TaskType getType() {
     return TaskType.FILE_TYPE;
@@ -17,11 +17,22 @@
  */
 package org.icgc.dcc.release.job.index.task;
 
+import static com.google.common.base.Stopwatch.createStarted;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.icgc.dcc.common.core.util.Formats.formatCount;
+import static org.icgc.dcc.release.core.task.TaskMetricsCollector.METRICS_DIR_NAME;
+import static org.icgc.dcc.release.core.util.ObjectNodes.MAPPER;
+
 import java.util.Map;
 
+import lombok.Cleanup;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
+import org.apache.hadoop.fs.Path;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.release.core.document.Document;
 import org.icgc.dcc.release.core.document.DocumentType;
@@ -32,11 +43,15 @@ import org.icgc.dcc.release.core.task.TaskType;
 import org.icgc.dcc.release.core.util.Configurations;
 import org.icgc.dcc.release.job.index.function.CreateDocument;
 import org.icgc.dcc.release.job.index.function.DocumentIndexer;
+import org.icgc.dcc.release.job.index.io.BulkSettings;
+import org.icgc.dcc.release.job.index.io.IndexingStats;
 
+@Slf4j
 @RequiredArgsConstructor
 public class IndexTask extends GenericIndexTask {
 
   private static final int PARTITION_SIZE_MB = 256;
+  private static final String STATS_DIR_NAME = "index";
 
   @NonNull
   private final String esUri;
@@ -45,6 +60,8 @@ public class IndexTask extends GenericIndexTask {
   @NonNull
   private final DocumentType documentType;
   private final int bigDocumentThresholdMb;
+  @NonNull
+  private final BulkSettings bulkSettings;
 
   @Override
   public TaskType getType() {
@@ -73,16 +90,46 @@ public class IndexTask extends GenericIndexTask {
       documents = documents.coalesce(documentType.getParallelism());
     }
 
-    documents.mapPartitions(new DocumentIndexer(
+    val watch = createStarted();
+    val stats = documents.mapPartitions(new DocumentIndexer(
         esUri,
         indexName,
         getFileSystemConfig(taskContext),
         bigDocumentThresholdMb,
-        taskContext.getJobContext().getWorkingDir()))
+        taskContext.getJobContext().getWorkingDir(),
+        bulkSettings))
+
+        // Folding the per-partition stats iterates over the whole partition. first(), for example, would stop after
+        // processing of the first element.
+        .fold(new IndexingStats(), IndexingStats::merge);
+    stats.setElapsedMillis(watch.elapsed(MILLISECONDS));
+
+    logThroughput(stats);
+    writeStats(taskContext, stats);
+  }
+
+  /**
+   * Writes the {@code stats} to {@code <workingDir>/_metrics/index/<type>[.<project>].json}, next to the task metrics
+   * of the job.
+   */
+  @SneakyThrows
+  private void writeStats(TaskContext taskContext, IndexingStats stats) {
+    val statsDir = new Path(new Path(taskContext.getJobContext().getWorkingDir(), METRICS_DIR_NAME), STATS_DIR_NAME);
+    val projectName = taskContext.getProjectName();
+    val fileName = documentType.getName() + (projectName.isPresent() ? "." + projectName.get() : "") + ".json";
+
+    @Cleanup
+    val outputStream = taskContext.getFileSystem().create(new Path(statsDir, fileName), true);
+    MAPPER.writerWithDefaultPrettyPrinter().writeValue(outputStream, stats);
+  }
 
-        // Calling count() to trigger calculation of the RDD. Using the count() action to iterate over the whole
-        // partition. first(), for example, will stop after processing of the first element.
-        .count();
+  private void logThroughput(IndexingStats stats) {
+    log.info("Indexed {} '{}' documents ({} MB, {} big) in {} ms: {} docs/s, {} MB/s. "
+        + "Bulk requests: {}, rejected items: {}, retries: {}",
+        formatCount(stats.getDocuments()), documentType.getName(), stats.getBytes() / 1024 / 1024,
+        formatCount(stats.getBigDocuments()), formatCount(stats.getElapsedMillis()),
+        formatCount(stats.getDocumentsPerSecond()), String.format("%.1f", stats.getMegabytesPerSecond()),
+        formatCount(stats.getBulks()), formatCount(stats.getRejections()), formatCount(stats.getRetries()));
   }
 
   private JavaRDD<Document> readDocuments(TaskContext taskContext) {
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.utils;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.Cleanup;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Utilities for building an Elasticsearch export {@code tar.gz} archive out of independently written parts.
+ * <p>
+ * Each part is a gzip member holding whole tar entries but no end of archive records. A concatenation of such members
+ * is a valid multi-member gzip stream of a single tar stream, so the archive is completed by appending the parts in
+ * order followed by a member holding the end of archive records.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class EsExportArchives {
+
+  /**
+   * Constants.
+   */
+  private static final int RECORD_SIZE = 512;
+  private static final byte[] END_OF_ARCHIVE = createEndOfArchive();
+
+  /**
+   * Creates a tar stream writing each entry through to {@code outputStream} as soon as it is closed. The stream must
+   * not be finished or closed, as that would write the end of archive records.
+   */
+  public static TarArchiveOutputStream createPartOutputStream(@NonNull OutputStream outputStream) {
+    // One record per block so that nothing stays buffered in the tar stream
+    val tarOutputStream = new TarArchiveOutputStream(outputStream, RECORD_SIZE, RECORD_SIZE);
+    tarOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_GNU);
+    tarOutputStream.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+
+    return tarOutputStream;
+  }
+
+  public static void concatenate(@NonNull FileSystem fileSystem, @NonNull List<Path> parts, @NonNull Path archive)
+      throws IOException {
+    @Cleanup
+    val outputStream = fileSystem.create(archive);
+    for (val part : parts) {
+      @Cleanup
+      val inputStream = fileSystem.open(part);
+      ByteStreams.copy(inputStream, outputStream);
+    }
+
+    outputStream.write(END_OF_ARCHIVE);
+  }
+
+  @SneakyThrows
+  private static byte[] createEndOfArchive() {
+    val buffer = new ByteArrayOutputStream();
+    val gzipOutputStream = new GZIPOutputStream(buffer);
+    gzipOutputStream.write(new byte[2 * RECORD_SIZE]);
+    gzipOutputStream.close();
+
+    return buffer.toByteArray();
+  }
+
+}
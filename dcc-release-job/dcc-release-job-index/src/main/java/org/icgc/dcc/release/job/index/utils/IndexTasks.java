@@ -60,6 +60,15 @@ public final class IndexTasks {
     return indexName + UNDERSCORE + id + GZIP_EXTENSION;
   }
 
+  public static Path getEsExportPartsPath(@NonNull String workingDir, @NonNull String indexName,
+      @NonNull String documentTypeName) {
+    return new Path(getEsExportDir(workingDir), "_" + indexName.toLowerCase() + UNDERSCORE + documentTypeName + "_parts");
+  }
+
+  public static String getEsExportArchiveName(@NonNull String indexName, @NonNull String documentTypeName) {
+    return String.format("%s_%s.tar.gz", indexName.toLowerCase(), documentTypeName);
+  }
+
   public static String getIndexName(@NonNull String releaseName) {
     return releaseName.toLowerCase();
   }
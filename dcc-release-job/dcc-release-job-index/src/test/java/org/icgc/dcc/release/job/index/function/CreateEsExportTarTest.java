@@ -26,6 +26,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.zip.GZIPInputStream;
 
@@ -35,17 +36,22 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.util.Joiners;
 import org.icgc.dcc.common.hadoop.fs.FileSystems;
 import org.icgc.dcc.release.core.document.Document;
 import org.icgc.dcc.release.core.util.Configurations;
+import org.icgc.dcc.release.job.index.utils.EsExportArchives;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
 
 @Slf4j
 public class CreateEsExportTarTest {
@@ -83,10 +89,10 @@ public class CreateEsExportTarTest {
   public void testCall() throws Exception {
     val docSource = $("{_donor_id:'DO1'}");
     val doc = new Document(DONOR_TYPE, "DO1", docSource);
-    exportTarFunction.call(Collections.singleton(doc).iterator());
+    val parts = exportTarFunction.call(0, Collections.singleton(doc).iterator());
 
     @Cleanup
-    val tarIn = getTarReader();
+    val tarIn = getTarReader(ImmutableList.copyOf(parts));
     TarArchiveEntry tarEntry = null;
     int documentIndex = 0;
 
@@ -114,7 +120,42 @@ public class CreateEsExportTarTest {
     }
   }
 
-  private TarArchiveInputStream getTarReader() throws IOException {
+  @Test
+  public void testCallParts() throws Exception {
+    val parts = Lists.<String> newArrayList();
+    parts.addAll(ImmutableList.copyOf(exportTarFunction.call(0, Collections.<Document> emptyIterator())));
+    parts.addAll(ImmutableList.copyOf(exportTarFunction.call(1, Iterators.forArray(createDocument("DO1"),
+        createDocument("DO2")))));
+    parts.addAll(ImmutableList.copyOf(exportTarFunction.call(2, Collections.<Document> emptyIterator())));
+    parts.addAll(ImmutableList.copyOf(exportTarFunction.call(3, Iterators.forArray(createDocument("DO3")))));
+
+    // The empty first part still holds the settings and mapping, other empty parts are skipped
+    assertThat(parts).hasSize(3);
+
+    @Cleanup
+    val tarIn = getTarReader(parts);
+    val fileNames = Lists.<String> newArrayList();
+    TarArchiveEntry tarEntry = null;
+    while ((tarEntry = tarIn.getNextTarEntry()) != null) {
+      fileNames.add(tarEntry.getName());
+    }
+
+    assertThat(fileNames).containsExactly(
+        "icgc21/_settings",
+        "icgc21/donor/_mapping",
+        "icgc21/donor/DO1",
+        "icgc21/donor/DO2",
+        "icgc21/donor/DO3");
+  }
+
+  private static Document createDocument(String donorId) {
+    return new Document(DONOR_TYPE, donorId, $("{_donor_id:'" + donorId + "'}"));
+  }
+
+  private TarArchiveInputStream getTarReader(List<String> parts) throws IOException {
+    val archive = new Path(Joiners.PATH.join(workingDir.getAbsolutePath(), "es_export", "icgc21_donor.tar.gz"));
+    EsExportArchives.concatenate(FileSystems.getDefaultLocalFileSystem(), Lists.transform(parts, Path::new), archive);
+
     val inputFileName = Joiners.PATH.join(workingDir.getAbsolutePath(), "es_export", "icgc21_donor.tar.gz");
     val gzipIn = new GZIPInputStream(new FileInputStream(new File(inputFileName)));
 
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.io;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+public class AdaptiveBulkWriterTest {
+
+  private static final String INDEX_NAME = "test-index";
+  private static final int DOCUMENT_COUNT = 2000;
+
+  @Test
+  public void testWriteSaturated() throws IOException {
+    val client = new StandInBulkClient(1, 0, 10);
+    val sizer = new BulkSizer(1024, 64 * 1024, 8 * 1024, 4, 1000);
+
+    val stats = writeDocuments(client, sizer);
+
+    assertThat(client.getIndexed()).hasSize(DOCUMENT_COUNT);
+    assertThat(client.getIndexed().values()).containsOnly(1);
+    assertThat(client.getMaxActive()).isEqualTo(1);
+    assertThat(stats.getDocuments()).isEqualTo(DOCUMENT_COUNT);
+    assertThat(stats.getRejections()).isGreaterThan(0);
+  }
+
+  @Test
+  public void testWriteRetriesRejected() throws IOException {
+    val client = new StandInBulkClient(Integer.MAX_VALUE, 3, 0);
+    val sizer = new BulkSizer(1024, 64 * 1024, 8 * 1024, 1, 1000);
+
+    val stats = writeDocuments(client, sizer);
+
+    assertThat(client.getIndexed()).hasSize(DOCUMENT_COUNT);
+    assertThat(client.getIndexed().values()).containsOnly(1);
+    assertThat(stats.getRetries()).isEqualTo(3);
+    assertThat(stats.getDocuments()).isEqualTo(DOCUMENT_COUNT);
+  }
+
+  @Test(expected = IOException.class)
+  public void testWriteFailure() throws IOException {
+    val client = new StandInBulkClient(Integer.MAX_VALUE, 0, 0) {
+
+      @Override
+      public BulkResult execute(String indexName, List<BulkItem> items) {
+        return new BulkResult(ImmutableList.of(), ImmutableList.of("mapper_parsing_exception"));
+      }
+
+    };
+
+    writeDocuments(client, new BulkSizer());
+  }
+
+  @Test
+  public void testSizer() {
+    val sizer = new BulkSizer(1024, 8 * 1024, 2 * 1024, 4, 100);
+    assertThat(sizer.getMaxInFlight()).isEqualTo(1);
+
+    // Fast responses grow the bulk size and, once every slot succeeded, the concurrency
+    sizer.onSuccess(10);
+    assertThat(sizer.getBulkBytes()).isEqualTo(3 * 1024);
+    assertThat(sizer.getMaxInFlight()).isEqualTo(2);
+    for (int i = 0; i < 20; i++) {
+      sizer.onSuccess(10);
+    }
+    assertThat(sizer.getBulkBytes()).isEqualTo(8 * 1024);
+    assertThat(sizer.getMaxInFlight()).isEqualTo(4);
+
+    // Slow responses shrink the bulk size only
+    sizer.onSuccess(500);
+    assertThat(sizer.getBulkBytes()).isEqualTo(4 * 1024);
+    assertThat(sizer.getMaxInFlight()).isEqualTo(4);
+
+    // Rejections shrink both
+    sizer.onRejected();
+    sizer.onRejected();
+    sizer.onRejected();
+    assertThat(sizer.getBulkBytes()).isEqualTo(1024);
+    assertThat(sizer.getMaxInFlight()).isEqualTo(1);
+  }
+
+  private static IndexingStats writeDocuments(BulkClient client, BulkSizer sizer) throws IOException {
+    val writer = new AdaptiveBulkWriter(client, INDEX_NAME, sizer);
+    try {
+      for (int i = 0; i < DOCUMENT_COUNT; i++) {
+        writer.write("DO" + i, "donor", ("{\"_donor_id\":\"DO" + i + "\",\"padding\":\"" + pad(i) + "\"}").getBytes());
+      }
+    } finally {
+      writer.close();
+    }
+
+    return writer.getStats();
+  }
+
+  private static String pad(int i) {
+    return String.format("%0" + (50 + i % 50) + "d", i);
+  }
+
+  /**
+   * Stands in for a cluster with a bounded number of bulk threads and no queue: the items of the requests exceeding
+   * {@code capacity} are rejected, as are all the items of the first {@code rejectedRequests} requests.
+   */
+  @RequiredArgsConstructor
+  private static class StandInBulkClient implements BulkClient {
+
+    private final int capacity;
+    private final int rejectedRequests;
+    private final long latencyMillis;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final ConcurrentMap<String, Integer> indexed = Maps.newConcurrentMap();
+
+    @Override
+    @SneakyThrows
+    public BulkResult execute(String indexName, List<BulkItem> items) {
+      try {
+        val current = active.incrementAndGet();
+        if (current > capacity || requests.incrementAndGet() <= rejectedRequests) {
+          return rejectAll(items);
+        }
+
+        maxActive.accumulateAndGet(current, Math::max);
+        MILLISECONDS.sleep(latencyMillis);
+        for (val item : items) {
+          indexed.merge(item.getId(), 1, Integer::sum);
+        }
+
+        return BulkResult.success();
+      } finally {
+        active.decrementAndGet();
+      }
+    }
+
+    public ConcurrentMap<String, Integer> getIndexed() {
+      return indexed;
+    }
+
+    public int getMaxActive() {
+      return maxActive.get();
+    }
+
+    @Override
+    public void close() {
+      // No-op
+    }
+
+    private static BulkResult rejectAll(List<BulkItem> items) {
+      val rejected = Lists.<Integer> newArrayList();
+      IntStream.range(0, items.size()).forEach(rejected::add);
+
+      return new BulkResult(rejected, ImmutableList.of());
+    }
+
+  }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import lombok.val;
+
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.transport.RemoteTransportException;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class TransportBulkClientTest {
+
+  private static final List<BulkItem> ITEMS = ImmutableList.of(
+      new BulkItem("DO1", "donor", "{}".getBytes()),
+      new BulkItem("DO2", "donor", "{}".getBytes()));
+
+  Client client;
+  BulkRequestBuilder request;
+
+  /**
+   * Class under test.
+   */
+  TransportBulkClient bulkClient;
+
+  @Before
+  public void setUp() {
+    client = mock(Client.class);
+    request = mock(BulkRequestBuilder.class);
+    when(client.prepareBulk()).thenReturn(request);
+    bulkClient = new TransportBulkClient(client);
+  }
+
+  @Test
+  public void testExecuteRemoteRejection() {
+    val cause = new EsRejectedExecutionException("rejected execution of bulk");
+    when(request.get()).thenThrow(new RemoteTransportException("[node][bulk]", cause));
+
+    val result = bulkClient.execute("test-index", ITEMS);
+
+    assertThat(result.getRejected()).containsExactly(0, 1);
+    assertThat(result.getFailures()).isEmpty();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testExecuteFailure() {
+    when(request.get()).thenThrow(new IllegalStateException("Cluster is down"));
+
+    bulkClient.execute("test-index", ITEMS);
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.index.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.job.index.utils.IndexTasks.getBigFileName;
+import static org.icgc.dcc.release.job.index.utils.IndexTasks.getBigFilesDir;
+import static org.icgc.dcc.release.job.index.utils.IndexTasks.getIndexName;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.Cleanup;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.node.Node;
+import org.elasticsearch.node.internal.InternalSettingsPreparer;
+import org.elasticsearch.transport.Netty4Plugin;
+import org.icgc.dcc.release.core.document.DocumentType;
+import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.util.JacksonFactory;
+import org.icgc.dcc.release.test.job.AbstractJobTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class IndexBigFilesTaskTest extends AbstractJobTest {
+
+  private static final DocumentType TYPE = DocumentType.DONOR_TYPE;
+
+  /**
+   * Class under test.
+   */
+  IndexBigFilesTask task;
+
+  Node node;
+  String index;
+
+  @Override
+  @Before
+  @SneakyThrows
+  public void setUp() {
+    super.setUp();
+    val port = getFreePort();
+    this.node = new EmbeddedNode(tmp.newFolder("es"), port).start();
+    this.index = getIndexName(RELEASE_VERSION);
+    this.task = new IndexBigFilesTask("es://localhost:" + port, 2);
+  }
+
+  @After
+  @SneakyThrows
+  public void tearDown() {
+    node.close();
+  }
+
+  @Test
+  public void testExecute() {
+    for (int i = 1; i <= 5; i++) {
+      createBigFile("DO" + i, i * 100);
+    }
+
+    task.execute(createTaskContext(JobType.INDEX));
+
+    val client = node.client();
+    client.admin().indices().prepareRefresh(index).get();
+
+    val hits = client.prepareSearch(index).setTypes(TYPE.getName()).setSize(0).get().getHits().getTotalHits();
+    assertThat(hits).isEqualTo(5);
+
+    val source = client.prepareGet(index, TYPE.getName(), "DO3").get().getSourceAsMap();
+    assertThat(source.get("_donor_id")).isEqualTo("DO3");
+    assertThat((Iterable<?>) source.get("gene")).hasSize(300);
+  }
+
+  @Test
+  public void testExecuteNoFiles() {
+    task.execute(createTaskContext(JobType.INDEX));
+
+    assertThat(node.client().admin().indices().prepareExists(index).get().isExists()).isFalse();
+  }
+
+  @SneakyThrows
+  private void createBigFile(String id, int geneCount) {
+    val document = JacksonFactory.MAPPER.createObjectNode();
+    document.put("_donor_id", id);
+    val genes = document.putArray("gene");
+    for (int i = 0; i < geneCount; i++) {
+      genes.addObject().put("_gene_id", "ENSG" + i);
+    }
+
+    writeBigFile(getBigFileName(TYPE.getName(), id), document);
+  }
+
+  @SneakyThrows
+  private void writeBigFile(String fileName, ObjectNode document) {
+    val bigFilesDir = new File(getBigFilesDir(workingDir.getAbsolutePath()));
+    bigFilesDir.mkdirs();
+
+    @Cleanup
+    val out = new GZIPOutputStream(new FileOutputStream(new File(bigFilesDir, fileName)));
+    JacksonFactory.SMILE_WRITER.writeValue(out, document);
+  }
+
+  @SneakyThrows
+  private static int getFreePort() {
+    // Lets concurrent builds on the same host run the test
+    @Cleanup
+    val socket = new ServerSocket(0);
+
+    return socket.getLocalPort();
+  }
+
+  private static class EmbeddedNode extends Node {
+
+    public EmbeddedNode(File home, int port) {
+      super(InternalSettingsPreparer.prepareEnvironment(Settings.builder()
+          .put("path.home", home.getAbsolutePath())
+          .put("transport.type", "netty4")
+          .put("transport.tcp.port", port)
+          .put("http.enabled", false)
+          .build(), null),
+          Collections.singletonList(Netty4Plugin.class));
+    }
+
+  }
+
+}
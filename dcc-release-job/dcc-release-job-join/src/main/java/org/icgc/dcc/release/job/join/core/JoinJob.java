@@ -60,6 +60,7 @@ import org.icgc.dcc.release.job.join.task.ResolveRawSequenceDataTask;
 import org.icgc.dcc.release.job.join.task.ResolveSampleSurrogateSampleIds;
 import org.icgc.dcc.release.job.join.task.SecondaryJoinTask;
 import org.icgc.dcc.release.job.join.task.SgvJoinTask;
+import org.icgc.dcc.release.job.join.utils.SampleLookup;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -112,6 +113,21 @@ public class JoinJob extends GenericJob {
   private static final String SEQUENTIAL_PROPERTY = "joinjob.sequential";
   private static final String CLEAN_PROPERTY = "joinjob.clean";
 
+  /**
+   * Input size in bytes up to which the reference data of a project, or the build side of a join, is broadcast and
+   * looked up on the executors. Bigger inputs are kept partitioned and joined with the records by key, so the driver
+   * never collects them.
+   */
+  private static final String BROADCAST_THRESHOLD_PROPERTY = "joinjob.broadcast.threshold";
+  private static final long DEFAULT_BROADCAST_THRESHOLD = 256L * 1024 * 1024;
+
+  /**
+   * Input size in bytes per partition up to which a partition of the smaller side of a join is hashed in memory. Bigger
+   * inputs are joined by sorting and merging both sides.
+   */
+  private static final String SHUFFLE_HASH_THRESHOLD_PROPERTY = "joinjob.shuffle.hash.threshold";
+  private static final long DEFAULT_SHUFFLE_HASH_THRESHOLD = 64L * 1024 * 1024;
+
   /**
    * Helps to define what dependencies the task requires.
    */
@@ -140,6 +156,37 @@ public class JoinJob extends GenericJob {
     return JobType.JOIN;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    val result = ImmutableSet.<FileType> builder()
+        .add(
+            FileType.DONOR_SURROGATE_KEY,
+            FileType.SPECIMEN_SURROGATE_KEY_IMAGE,
+            FileType.SAMPLE_SURROGATE_KEY,
+            FileType.SSM_P_MASKED_SURROGATE_KEY,
+            FileType.SGV_P_MASKED,
+            FileType.METH_ARRAY_PROBES)
+        .add(
+            FileType.BIOMARKER,
+            FileType.FAMILY,
+            FileType.EXPOSURE,
+            FileType.SURGERY,
+            FileType.THERAPY);
+
+    for (val fileType : FileType.values()) {
+      if (isAnalysisInputFileType(fileType)) {
+        result.add(fileType);
+      }
+    }
+
+    return result.build();
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.copyOf(getDeleteFileTypes());
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     clean(jobContext);
@@ -169,14 +216,37 @@ public class JoinJob extends GenericJob {
     }
 
     // Resolve reference data required downstream
-    val resolveDonorSamplesTask = new ResolveDonorSamplesTask();
-    val resolveSampleIds = new ResolveSampleSurrogateSampleIds();
-    jobContext.execute(resolveDonorSamplesTask);
-    val donorSamples = createBroadcast(resolveDonorSamplesTask.getProjectDonorSamples());
+    val donorSamples = resolveDonorSamples(jobContext);
+    val sampleSurrogateSampleIds = executeFileTypes.stream().allMatch(JoinJob::isPrimaryTask) ?
+        Optional.<SampleLookup<String>> empty() :
+        Optional.of(resolveSampleSurrogateSampleIds(jobContext));
 
     // Create and execute join tasks
-    val tasks = createTasks(jobContext, executeFileTypes, resolveSampleIds, donorSamples);
+    val joinPlanner = new JoinPlanner(getBroadcastThreshold(), getShuffleHashThreshold());
+    val tasks = createTasks(executeFileTypes, donorSamples, sampleSurrogateSampleIds, joinPlanner);
     executeTasks(jobContext, tasks);
+
+    // Discard the reference data
+    donorSamples.destroy();
+    sampleSurrogateSampleIds.ifPresent(SampleLookup::destroy);
+  }
+
+  private SampleLookup<DonorSample> resolveDonorSamples(JobContext jobContext) {
+    val resolveDonorSamplesTask = new ResolveDonorSamplesTask(getBroadcastThreshold());
+    jobContext.execute(resolveDonorSamplesTask);
+
+    return new SampleLookup<>(
+        createBroadcast(resolveDonorSamplesTask.getProjectDonorSamples()),
+        resolveDonorSamplesTask.getPartitionedProjectDonorSamples());
+  }
+
+  private SampleLookup<String> resolveSampleSurrogateSampleIds(JobContext jobContext) {
+    val resolveSampleIds = new ResolveSampleSurrogateSampleIds(getBroadcastThreshold());
+    jobContext.execute(resolveSampleIds);
+
+    return new SampleLookup<>(
+        createBroadcast(resolveSampleIds.getSampleSurrogateSampleId()),
+        resolveSampleIds.getPartitionedSampleSurrogateSampleId());
   }
 
   private static void executeTasks(JobContext jobContext, List<Task> tasks) {
@@ -202,40 +272,33 @@ public class JoinJob extends GenericJob {
     return sequential && (task instanceof ObservationJoinTask || task instanceof SgvJoinTask);
   }
 
-  private List<Task> createTasks(JobContext jobContext, List<FileType> executeFileTypes,
-      ResolveSampleSurrogateSampleIds resolveSampleIds,
-      Broadcast<Map<String, Map<String, DonorSample>>> donorSamples) {
+  private List<Task> createTasks(List<FileType> executeFileTypes, SampleLookup<DonorSample> donorSamples,
+      Optional<SampleLookup<String>> sampleSurrogateSampleIds, JoinPlanner joinPlanner) {
     val tasks = ImmutableList.<Task> builder();
 
-    boolean hasResolvedSamples = false;
     for (val executeFileType : executeFileTypes) {
       if (isPrimaryTask(executeFileType)) {
-        tasks.add(createPrimaryTask(executeFileType, donorSamples));
-
+        tasks.add(createPrimaryTask(executeFileType, donorSamples, joinPlanner));
       } else {
-        if (!hasResolvedSamples) {
-          jobContext.execute(resolveSampleIds);
-        }
-
-        val sampleSurrogateSampleIds = createBroadcast(resolveSampleIds.getSampleSurrogateSampleId());
-        tasks.add(createSecondaryTask(executeFileType, donorSamples, sampleSurrogateSampleIds));
+        tasks.add(createSecondaryTask(executeFileType, donorSamples, sampleSurrogateSampleIds.get(),
+            joinPlanner));
       }
     }
 
     return tasks.build();
   }
 
-  private Task createSecondaryTask(FileType executeFileType,
-      Broadcast<Map<String, Map<String, DonorSample>>> donorSamples,
-      Broadcast<Map<String, Map<String, String>>> sampleSurrogateSampleIds) {
+  private Task createSecondaryTask(FileType executeFileType, SampleLookup<DonorSample> donorSamples,
+      SampleLookup<String> sampleSurrogateSampleIds, JoinPlanner joinPlanner) {
     switch (executeFileType) {
     case SSM_P:
-      return new ObservationJoinTask(donorSamples, sampleSurrogateSampleIds, resolveControlledFields());
+      return new ObservationJoinTask(donorSamples, sampleSurrogateSampleIds, joinPlanner,
+          resolveControlledFields());
     case SGV_P:
-      return new SgvJoinTask(donorSamples, sampleSurrogateSampleIds);
+      return new SgvJoinTask(donorSamples, sampleSurrogateSampleIds, joinPlanner);
       // return new SecondaryJoinTask(donorSamples, sampleSurrogateSampleIds, FileType.SGV_P_MASKED);
     default:
-      return new SecondaryJoinTask(donorSamples, sampleSurrogateSampleIds, executeFileType);
+      return new SecondaryJoinTask(donorSamples, sampleSurrogateSampleIds, joinPlanner, executeFileType);
     }
   }
 
@@ -255,13 +318,13 @@ public class JoinJob extends GenericJob {
         && !field.getName().equals(FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE);
   }
 
-  private static Task createPrimaryTask(FileType executeFileType,
-      Broadcast<Map<String, Map<String, DonorSample>>> donorSamples) {
+  private static Task createPrimaryTask(FileType executeFileType, SampleLookup<DonorSample> donorSamples,
+      JoinPlanner joinPlanner) {
     if (executeFileType == FileType.METH_ARRAY_P) {
-      return new MethArrayJoinTask(donorSamples);
+      return new MethArrayJoinTask(donorSamples, joinPlanner);
     }
 
-    return new PrimaryMetaJoinTask(donorSamples, executeFileType);
+    return new PrimaryMetaJoinTask(donorSamples, joinPlanner, executeFileType);
   }
 
   private static boolean isPrimaryTask(FileType executeFileType) {
@@ -309,10 +372,24 @@ public class JoinJob extends GenericJob {
     return result.toArray(new FileType[result.size()]);
   }
 
+  private static boolean isAnalysisInputFileType(FileType fileType) {
+    // Meta, primary and secondary submission files of the analysis types
+    return ANALYSIS_FILE_TYPES.stream()
+        .anyMatch(analysisFileType -> fileType.name().matches(analysisFileType.name() + "_[MPS]"));
+  }
+
   private <T> Broadcast<T> createBroadcast(T value) {
     return sparkContext.broadcast(value);
   }
 
+  private static long getBroadcastThreshold() {
+    return Long.getLong(BROADCAST_THRESHOLD_PROPERTY, DEFAULT_BROADCAST_THRESHOLD);
+  }
+
+  private static long getShuffleHashThreshold() {
+    return Long.getLong(SHUFFLE_HASH_THRESHOLD_PROPERTY, DEFAULT_SHUFFLE_HASH_THRESHOLD);
+  }
+
   private static boolean isClean() {
     val cleanProperty = getProperty(CLEAN_PROPERTY, "true");
     boolean clean = true;
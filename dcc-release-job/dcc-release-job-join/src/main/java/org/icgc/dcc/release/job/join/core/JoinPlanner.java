@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.core;
+
+import static java.lang.Math.max;
+import static org.icgc.dcc.common.core.util.Formats.formatBytes;
+import static org.icgc.dcc.release.core.util.Partitions.getPartitionsCount;
+import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
+import static org.icgc.dcc.release.job.join.core.JoinStrategy.BROADCAST_HASH;
+import static org.icgc.dcc.release.job.join.core.JoinStrategy.SHUFFLE_HASH;
+import static org.icgc.dcc.release.job.join.core.JoinStrategy.SORT_MERGE;
+import static org.icgc.dcc.release.job.join.utils.Tasks.getInputSize;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.spark.HashPartitioner;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.Function;
+import org.apache.spark.broadcast.Broadcast;
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.util.SparkWorkaroundUtils;
+import org.icgc.dcc.release.job.join.function.HashJoinPartitions;
+import org.icgc.dcc.release.job.join.function.MergeJoinPartitions;
+
+import scala.Tuple2;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Ordering;
+
+/**
+ * Plans and executes left outer joins of a big streamed side with a smaller build side keyed by a unique key.
+ * <p>
+ * The {@link JoinStrategy} is chosen per project from the size of the input files of the build side:
+ * <ul>
+ * <li>up to {@code broadcastThreshold} the build side is broadcast</li>
+ * <li>up to {@code shuffleHashThreshold} per partition each build partition is hashed in memory</li>
+ * <li>otherwise both sides are sorted and merged</li>
+ * </ul>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JoinPlanner {
+
+  /**
+   * Constants.
+   */
+  private static final Comparator<String> KEY_ORDERING = Ordering.<String> natural().nullsFirst();
+
+  /**
+   * Configuration.
+   */
+  private final long broadcastThreshold;
+  private final long shuffleHashThreshold;
+
+  public <P, M> JavaRDD<Tuple2<P, Optional<M>>> join(@NonNull TaskContext taskContext,
+      @NonNull FileType streamedFileType, @NonNull JavaPairRDD<String, P> streamed,
+      @NonNull FileType buildFileType, @NonNull JavaPairRDD<String, M> build) {
+    val partitions = max(getPartitionsCount(streamed), 1);
+    val streamedSize = getInputSize(taskContext, streamedFileType);
+    val buildSize = getInputSize(taskContext, buildFileType);
+    val strategy = plan(buildSize, partitions);
+
+    log.info("[{}] Joining {} ({}) with {} ({}) using {} join", resolveProjectName(taskContext),
+        streamedFileType.getId(), formatBytes(streamedSize), buildFileType.getId(), formatBytes(buildSize), strategy);
+
+    return join(taskContext, strategy, streamed, build);
+  }
+
+  JoinStrategy plan(long buildSize, int partitions) {
+    if (buildSize <= broadcastThreshold) {
+      return BROADCAST_HASH;
+    }
+
+    return buildSize / partitions <= shuffleHashThreshold ? SHUFFLE_HASH : SORT_MERGE;
+  }
+
+  static <P, M> JavaRDD<Tuple2<P, Optional<M>>> join(TaskContext taskContext, JoinStrategy strategy,
+      JavaPairRDD<String, P> streamed, JavaPairRDD<String, M> build) {
+    val partitions = max(getPartitionsCount(streamed), 1);
+
+    switch (strategy) {
+    case BROADCAST_HASH:
+      return broadcastHashJoin(taskContext, streamed, build);
+    case SHUFFLE_HASH:
+      return shuffleHashJoin(streamed, build, partitions);
+    default:
+      return sortMergeJoin(streamed, build, partitions);
+    }
+  }
+
+  private static <P, M> JavaRDD<Tuple2<P, Optional<M>>> broadcastHashJoin(TaskContext taskContext,
+      JavaPairRDD<String, P> streamed, JavaPairRDD<String, M> build) {
+    val table = SparkWorkaroundUtils.toHashMap(build.collectAsMap());
+    final Broadcast<Map<String, M>> tableBroadcast = taskContext.getSparkContext().broadcast(table);
+
+    return streamed.map(lookup(tableBroadcast));
+  }
+
+  private static <P, M> JavaRDD<Tuple2<P, Optional<M>>> shuffleHashJoin(JavaPairRDD<String, P> streamed,
+      JavaPairRDD<String, M> build, int partitions) {
+    val partitioner = new HashPartitioner(partitions);
+
+    return streamed.partitionBy(partitioner)
+        .zipPartitions(build.partitionBy(partitioner), new HashJoinPartitions<P, M>());
+  }
+
+  private static <P, M> JavaRDD<Tuple2<P, Optional<M>>> sortMergeJoin(JavaPairRDD<String, P> streamed,
+      JavaPairRDD<String, M> build, int partitions) {
+    val partitioner = new HashPartitioner(partitions);
+
+    return streamed.repartitionAndSortWithinPartitions(partitioner, KEY_ORDERING)
+        .zipPartitions(build.repartitionAndSortWithinPartitions(partitioner, KEY_ORDERING),
+            new MergeJoinPartitions<P, M>(KEY_ORDERING));
+  }
+
+  private static <P, M> Function<Tuple2<String, P>, Tuple2<P, Optional<M>>> lookup(
+      Broadcast<Map<String, M>> tableBroadcast) {
+    return record -> {
+      M match = record._1 == null ? null : tableBroadcast.value().get(record._1);
+
+      return tuple(record._2, Optional.fromNullable(match));
+    };
+  }
+
+}
@@ -18,35 +18,77 @@
 package org.icgc.dcc.release.job.join.function;
 
 import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SPECIMEN;
+import static org.icgc.dcc.common.core.model.FieldNames.LoaderFieldNames.PROJECT_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_DONOR_ID;
+import static org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames.BIOMARKER;
+import static org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames.EXPOSURE;
+import static org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames.FAMILY;
+import static org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames.SURGERY;
+import static org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames.THERAPY;
 import static org.icgc.dcc.release.job.join.utils.JsonNodes.populateArrayNode;
+
+import java.util.List;
+
 import lombok.val;
 
-import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.FlatMapFunction;
 
 import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.base.Optional;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
 
 /**
- * Joins {@code specimen} to {@code donor}.
+ * Combines {@code donor} with its supplemental file types and {@code specimen}s in a single pass over all the clinical
+ * records of the donor. The records are tagged with their type by the {@link KeyClinicalRecord}.
  */
 public class CombineClinical
-    implements Function<Tuple2<String, Tuple2<ObjectNode, Optional<Iterable<ObjectNode>>>>, ObjectNode> {
+    implements FlatMapFunction<Tuple2<String, Iterable<Tuple2<String, ObjectNode>>>, ObjectNode> {
+
+  /**
+   * Constants.
+   */
+  public static final String DONOR_TYPE = "donor";
+  public static final String SPECIMEN_TYPE = DONOR_SPECIMEN;
+
+  /**
+   * Supplemental types in the order their arrays are added to the donor.
+   */
+  private static final List<String> SUPPLEMENTAL_TYPES =
+      ImmutableList.of(THERAPY, FAMILY, EXPOSURE, BIOMARKER, SURGERY);
 
   @Override
-  public ObjectNode call(Tuple2<String, Tuple2<ObjectNode, Optional<Iterable<ObjectNode>>>> tuple) throws Exception {
-    val donorSpecimen = tuple._2;
-    val specimenOpt = donorSpecimen._2;
-    val donor = donorSpecimen._1;
-
-    if (specimenOpt.isPresent()) {
-      val specimen = donor.withArray(DONOR_SPECIMEN);
-      populateArrayNode(specimen, specimenOpt.get(), CombineClinical::trimSpecimen);
+  public Iterable<ObjectNode> call(Tuple2<String, Iterable<Tuple2<String, ObjectNode>>> tuple) throws Exception {
+    val records = ArrayListMultimap.<String, ObjectNode> create();
+    for (val record : tuple._2) {
+      records.put(record._1, record._2);
+    }
+
+    // Supplemental records without a donor are dropped
+    val donors = records.get(DONOR_TYPE);
+    for (val donor : donors) {
+      for (val type : SUPPLEMENTAL_TYPES) {
+        val supplemental = records.get(type);
+        if (!supplemental.isEmpty()) {
+          populateArrayNode(donor.withArray(type), supplemental, CombineClinical::trimDuplicateFields);
+        }
+      }
+
+      val specimens = records.get(SPECIMEN_TYPE);
+      if (!specimens.isEmpty()) {
+        populateArrayNode(donor.withArray(DONOR_SPECIMEN), specimens, CombineClinical::trimSpecimen);
+      }
     }
 
-    return donor;
+    return donors;
+  }
+
+  private static ObjectNode trimDuplicateFields(ObjectNode node) {
+    node.remove(SUBMISSION_DONOR_ID);
+    node.remove(PROJECT_ID);
+
+    return node;
   }
 
   private static ObjectNode trimSpecimen(ObjectNode node) {
@@ -22,30 +22,32 @@ import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUB
 import static org.icgc.dcc.release.job.join.utils.JsonNodes.populateArrayNode;
 import lombok.val;
 
-import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.FlatMapFunction;
 
 import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.base.Optional;
+import com.google.common.collect.Iterables;
 
 /**
- * Joins {@code specimen} and {@code sample}s.
+ * Joins {@code specimen} and {@code sample}s co-grouped by the specimen ID. Samples without a specimen are dropped.
  */
 public class CombineSpecimen
-    implements Function<Tuple2<String, Tuple2<ObjectNode, Optional<Iterable<ObjectNode>>>>, ObjectNode> {
+    implements FlatMapFunction<Tuple2<String, Tuple2<Iterable<ObjectNode>, Iterable<ObjectNode>>>, ObjectNode> {
 
   @Override
-  public ObjectNode call(Tuple2<String, Tuple2<ObjectNode, Optional<Iterable<ObjectNode>>>> tuple) throws Exception {
-    val specimenSampleTuple = tuple._2;
-    val specimen = specimenSampleTuple._1;
-
-    if (specimenSampleTuple._2.isPresent()) {
-      val samples = specimen.withArray(DONOR_SAMPLE);
-      populateArrayNode(samples, specimenSampleTuple._2.get(), CombineSpecimen::trimSample);
+  public Iterable<ObjectNode> call(Tuple2<String, Tuple2<Iterable<ObjectNode>, Iterable<ObjectNode>>> tuple)
+      throws Exception {
+    val specimens = tuple._2._1;
+    val samples = tuple._2._2;
+
+    if (!Iterables.isEmpty(samples)) {
+      for (val specimen : specimens) {
+        populateArrayNode(specimen.withArray(DONOR_SAMPLE), samples, CombineSpecimen::trimSample);
+      }
     }
 
-    return specimen;
+    return specimens;
   }
 
   private static ObjectNode trimSample(ObjectNode node) {
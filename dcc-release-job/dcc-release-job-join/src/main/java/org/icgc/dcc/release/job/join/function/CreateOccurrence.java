@@ -22,17 +22,11 @@ import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Map;
 
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import org.apache.spark.api.java.function.Function2;
-import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.release.core.model.Observation;
-import org.icgc.dcc.release.core.util.Keys;
-import org.icgc.dcc.release.job.join.model.DonorSample;
 import org.icgc.dcc.release.job.join.model.SsmMetaFeatureType;
 import org.icgc.dcc.release.job.join.model.SsmOccurrence;
 import org.icgc.dcc.release.job.join.model.SsmOccurrence.Consequence;
@@ -47,31 +41,23 @@ import com.google.common.collect.Sets;
 
 /**
  * Creates {@link SsmOccurrence}. At this point {@code SsmOccurrence.Observation} has only 1 {@link Observation} because
- * the SSM primary feature type was joined with the SSM secondary feature type.
+ * the SSM primary feature type was joined with the SSM meta and secondary feature types.
  */
-@RequiredArgsConstructor
 public final class CreateOccurrence implements
-    Function2<SsmOccurrence, Tuple2<SsmPrimaryFeatureType, Optional<Collection<Consequence>>>, SsmOccurrence> {
-
-  /**
-   * Dependencies.
-   */
-  @NonNull
-  private final Broadcast<Map<String, SsmMetaFeatureType>> metaPairsBroadcast;
-  @NonNull
-  private final Map<String, DonorSample> donorSamples;
-  @NonNull
-  private final Map<String, String> sampleSurrogageSampleIds;
+    Function2<SsmOccurrence,
+    Tuple2<Tuple2<SsmPrimaryFeatureType, Optional<SsmMetaFeatureType>>, Optional<Collection<Consequence>>>,
+    SsmOccurrence> {
 
   @Override
   public SsmOccurrence call(SsmOccurrence aggregator,
-      Tuple2<SsmPrimaryFeatureType, Optional<Collection<Consequence>>> tuple) throws Exception {
+      Tuple2<Tuple2<SsmPrimaryFeatureType, Optional<SsmMetaFeatureType>>, Optional<Collection<Consequence>>> tuple)
+      throws Exception {
     // Get primary
-    val primary = tuple._1;
+    val primary = tuple._1._1;
     checkState(aggregator == null, "There should be only one instance of primary record: '%s'", primary);
 
     // Get meta
-    val meta = getMeta(getPrimaryMetaKey(primary));
+    val meta = tuple._1._2.orNull();
     checkNotNull(meta, "A primary record must have a corresponding meta record. %s", primary);
 
     // Create occurrence
@@ -79,13 +65,12 @@ public final class CreateOccurrence implements
 
     // Enrich observation
     val observation = Occurrences.getObservation(occurrence);
-    val matchedSampleId = meta.getMatched_sample_id();
-    val analyzedSampleId = primary.getAnalyzed_sample_id();
-    enrichObservation(analyzedSampleId, observation, matchedSampleId);
+    checkState(meta.get_donor_id() != null, "Failed to resolve donor info for sample id '%s' from ssm_p: '%s'",
+        primary.getAnalyzed_sample_id(), primary);
+    enrichObservation(observation, meta);
 
     // Enrich occurrence
-    val surrogateDonorId = donorSamples.get(analyzedSampleId).getDonorId();
-    occurrence.set_donor_id(surrogateDonorId);
+    occurrence.set_donor_id(meta.get_donor_id());
 
     // Set consequences
     val consequencesOpt = tuple._2;
@@ -99,22 +84,10 @@ public final class CreateOccurrence implements
     return occurrence;
   }
 
-  private void enrichObservation(String analyzedSampleId, Observation observation, String matchedSampleId) {
-    val surrogateSpecimenId = donorSamples.get(analyzedSampleId).getSpecimenId();
-    val surrogateSampleId = donorSamples.get(analyzedSampleId).getSampleId();
-    observation.set_specimen_id(surrogateSpecimenId);
-    observation.set_sample_id(surrogateSampleId);
-
-    val surrogateMatchedSampleId = sampleSurrogageSampleIds.get(matchedSampleId);
-    observation.set_matched_sample_id(surrogateMatchedSampleId);
-  }
-
-  private SsmMetaFeatureType getMeta(String key) {
-    return metaPairsBroadcast.value().get(key);
-  }
-
-  private static String getPrimaryMetaKey(SsmPrimaryFeatureType primary) {
-    return Keys.getKey(primary.getAnalysis_id(), primary.getAnalyzed_sample_id());
+  private static void enrichObservation(Observation observation, SsmMetaFeatureType meta) {
+    observation.set_specimen_id(meta.get_specimen_id());
+    observation.set_sample_id(meta.get_sample_id());
+    observation.set_matched_sample_id(meta.get_matched_sample_id());
   }
 
 }
\ No newline at end of file
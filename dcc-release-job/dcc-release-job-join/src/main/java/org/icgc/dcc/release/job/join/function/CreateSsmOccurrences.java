@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.function;
+
+import static com.google.common.base.Preconditions.checkState;
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
+
+import java.util.Collection;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.val;
+
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.icgc.dcc.common.core.model.Marking;
+import org.icgc.dcc.release.job.join.model.SsmMetaFeatureType;
+import org.icgc.dcc.release.job.join.model.SsmOccurrence;
+import org.icgc.dcc.release.job.join.model.SsmOccurrence.Consequence;
+import org.icgc.dcc.release.job.join.model.SsmPrimaryFeatureType;
+
+import scala.Tuple2;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Creates both the controlled and the open {@link SsmOccurrence} of a joined primary record in a single pass.
+ * <p>
+ * Output keys are {@code (donorMutationKey, open)} pairs so that both outputs can be aggregated by a single shuffle and
+ * split afterwards. Open occurrences are only emitted for records which are not controlled.
+ */
+public final class CreateSsmOccurrences implements
+    PairFlatMapFunction<Tuple2<String,
+    Tuple2<Tuple2<SsmPrimaryFeatureType, Optional<SsmMetaFeatureType>>, Optional<Collection<Consequence>>>>,
+    Tuple2<String, Boolean>, SsmOccurrence> {
+
+  /**
+   * Dependencies.
+   */
+  private final CreateOccurrence createOccurrence;
+  private final KeyDonorMutataionId keyDonorMutationId;
+  private final RemoveControlledFields removeControlledFields;
+
+  public CreateSsmOccurrences(@NonNull List<String> controlledFields) {
+    this.createOccurrence = new CreateOccurrence();
+    this.keyDonorMutationId = new KeyDonorMutataionId();
+    this.removeControlledFields = new RemoveControlledFields(controlledFields);
+  }
+
+  @Override
+  public Iterable<Tuple2<Tuple2<String, Boolean>, SsmOccurrence>> call(
+      Tuple2<String, Tuple2<Tuple2<SsmPrimaryFeatureType, Optional<SsmMetaFeatureType>>,
+          Optional<Collection<Consequence>>>> tuple)
+      throws Exception {
+    val observationId = tuple._1;
+    val primaryMeta = tuple._2._1;
+    val primary = primaryMeta._1;
+    val consequences = tuple._2._2;
+
+    // Occurrences copy the primary values, so the primary may be safely modified once the controlled one is created
+    val controlled = createOccurrence(observationId, primaryMeta, consequences, false);
+    if (isControlled(primary)) {
+      return ImmutableList.of(controlled);
+    }
+
+    removeControlledFields.call(primary);
+    val open = createOccurrence(observationId, primaryMeta, consequences, true);
+
+    return ImmutableList.of(controlled, open);
+  }
+
+  private Tuple2<Tuple2<String, Boolean>, SsmOccurrence> createOccurrence(String observationId,
+      Tuple2<SsmPrimaryFeatureType, Optional<SsmMetaFeatureType>> primaryMeta,
+      Optional<Collection<Consequence>> consequences, boolean open) throws Exception {
+    val occurrence = createOccurrence.call(null, tuple(primaryMeta, consequences));
+    val key = keyDonorMutationId.call(tuple(observationId, occurrence))._1;
+
+    return tuple(tuple(key, open), occurrence);
+  }
+
+  private static boolean isControlled(SsmPrimaryFeatureType primary) {
+    val marking = Marking.from(primary.getMarking());
+    checkState(marking.isPresent(), "Failed to resolve marking from %s", primary);
+
+    return marking.get().isControlled();
+  }
+
+}
@@ -21,10 +21,6 @@ import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_TYPE;
 import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_DONOR_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SAMPLE_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SPECIMEN_ID;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID;
-import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
-
-import java.util.Map;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -33,23 +29,24 @@ import lombok.val;
 import org.apache.spark.api.java.function.Function;
 import org.icgc.dcc.release.job.join.model.DonorSample;
 
+import scala.Tuple2;
+
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Optional;
 
 @RequiredArgsConstructor
-public class EnrichPrimaryMeta implements Function<ObjectNode, ObjectNode> {
+public class EnrichPrimaryMeta implements Function<Tuple2<ObjectNode, Optional<DonorSample>>, ObjectNode> {
 
   @NonNull
   private final String type;
-  @NonNull
-  private final Map<String, DonorSample> donorSamples;
 
   @Override
-  public ObjectNode call(ObjectNode node) throws Exception {
+  public ObjectNode call(Tuple2<ObjectNode, Optional<DonorSample>> tuple) throws Exception {
+    val node = tuple._1;
     node.put(OBSERVATION_TYPE, type);
 
-    val sampleId = textValue(node, SUBMISSION_ANALYZED_SAMPLE_ID);
-    val sample = donorSamples.get(sampleId);
-    if (sample != null) {
+    if (tuple._2.isPresent()) {
+      val sample = tuple._2.get();
       node.put(SURROGATE_SPECIMEN_ID, sample.getSpecimenId());
       node.put(SURROGATE_SAMPLE_ID, sample.getSampleId());
       node.put(SURROGATE_DONOR_ID, sample.getDonorId());
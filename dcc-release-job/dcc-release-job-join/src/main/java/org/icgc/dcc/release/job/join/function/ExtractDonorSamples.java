@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.function;
+
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SAMPLE;
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SPECIMEN;
+import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_DONOR_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SAMPLE_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SPECIMEN_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID;
+import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
+import lombok.val;
+
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.icgc.dcc.release.job.join.model.DonorSample;
+
+import scala.Tuple2;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Extracts {@code analyzed_sample_id -> (_donor_id, _specimen_id, _sample_id)} pairs from a clinical donor.
+ */
+public class ExtractDonorSamples implements PairFlatMapFunction<ObjectNode, String, DonorSample> {
+
+  @Override
+  public Iterable<Tuple2<String, DonorSample>> call(ObjectNode donor) throws Exception {
+    val donorSamples = ImmutableList.<Tuple2<String, DonorSample>> builder();
+    val surrogateDonorId = donor.get(SURROGATE_DONOR_ID).textValue();
+
+    for (val specimen : donor.withArray(DONOR_SPECIMEN)) {
+      for (val sample : specimen.withArray(DONOR_SAMPLE)) {
+        val sampleId = textValue(sample, SUBMISSION_ANALYZED_SAMPLE_ID);
+        val surrogateSpecimenId = textValue(specimen, SURROGATE_SPECIMEN_ID);
+        val surrogateSampleId = textValue(sample, SURROGATE_SAMPLE_ID);
+
+        donorSamples.add(tuple(sampleId, new DonorSample(surrogateDonorId, surrogateSpecimenId, surrogateSampleId)));
+      }
+    }
+
+    return donorSamples.build();
+  }
+
+}
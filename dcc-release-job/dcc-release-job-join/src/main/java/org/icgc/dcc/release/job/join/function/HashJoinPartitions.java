@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -15,47 +15,41 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.summarize.function;
+package org.icgc.dcc.release.job.join.function;
 
-import static org.icgc.dcc.common.core.model.FieldNames.GENE_DONORS;
-import static org.icgc.dcc.release.core.util.ObjectNodes.createObject;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
+
+import java.util.Iterator;
+
 import lombok.val;
 
-import org.apache.spark.api.java.function.PairFunction;
+import org.apache.spark.api.java.function.FlatMapFunction2;
 
 import scala.Tuple2;
 
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Optional;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
 
-public final class MergeGeneSummaries implements PairFunction<Tuple2<String, Tuple2<Optional<ObjectNode>,
-    Optional<ObjectNode>>>, String, ObjectNode> {
+/**
+ * Left outer joins co-partitioned sides by loading the partition of the build side into a hash table and streaming the
+ * other side through it. Records with a {@code null} key never match.
+ */
+public class HashJoinPartitions<P, M> implements
+    FlatMapFunction2<Iterator<Tuple2<String, P>>, Iterator<Tuple2<String, M>>, Tuple2<P, Optional<M>>> {
 
   @Override
-  public Tuple2<String, ObjectNode> call(Tuple2<String, Tuple2<Optional<ObjectNode>, Optional<ObjectNode>>> tuple)
-      throws Exception {
-    val merged = createObject();
-    val donors = merged.withArray(GENE_DONORS);
-    val geneStatsTuple = tuple._2;
-
-    if (geneStatsTuple._1.isPresent()) {
-      addDonors(donors, geneStatsTuple._1.get());
-    }
-
-    if (geneStatsTuple._2.isPresent()) {
-      addDonors(donors, geneStatsTuple._2.get());
+  public Iterable<Tuple2<P, Optional<M>>> call(Iterator<Tuple2<String, P>> streamed,
+      Iterator<Tuple2<String, M>> build) throws Exception {
+    val table = Maps.<String, M> newHashMap();
+    while (build.hasNext()) {
+      val record = build.next();
+      if (record._1 != null) {
+        table.put(record._1, record._2);
+      }
     }
 
-    val geneId = tuple._1;
-
-    return tuple(geneId, merged);
-  }
-
-  private static void addDonors(ArrayNode donorsArray, ObjectNode objectNode) {
-    val donors = objectNode.withArray(GENE_DONORS);
-    donorsArray.addAll(donors);
+    return () -> Iterators.transform(streamed, record -> tuple(record._2, Optional.fromNullable(table.get(record._1))));
   }
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -15,28 +15,25 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.summarize.function;
+package org.icgc.dcc.release.job.join.function;
 
-import static org.icgc.dcc.common.core.model.FieldNames.GENE_DONORS;
-import static org.icgc.dcc.release.core.util.ObjectNodes.MAPPER;
-import lombok.val;
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
 
-import org.apache.spark.api.java.function.Function2;
+import org.icgc.dcc.common.core.model.FieldNames;
+import org.icgc.dcc.release.core.function.KeyFieldsFunction;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
-
-public class AggregateGeneStats implements Function2<ObjectNode, ObjectNode, ObjectNode> {
+import scala.Tuple2;
 
-  @Override
-  public ObjectNode call(ObjectNode aggr, ObjectNode next) throws Exception { // NOPMD
-    if (aggr == null) {
-      aggr = MAPPER.createObjectNode();
-    }
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
-    val donorsArray = aggr.withArray(GENE_DONORS);
-    donorsArray.add(next);
+/**
+ * Keys a clinical record by the donor ID and tags it with its {@code type}, so records of different types can be
+ * grouped together by the {@link CombineClinical}.
+ */
+public class KeyClinicalRecord extends KeyFieldsFunction<Tuple2<String, ObjectNode>> {
 
-    return aggr;
+  public KeyClinicalRecord(String type) {
+    super(row -> tuple(type, row), FieldNames.SubmissionFieldNames.SUBMISSION_DONOR_ID);
   }
 
-}
\ No newline at end of file
+}
@@ -21,37 +21,24 @@ import static com.google.common.base.Preconditions.checkState;
 import static org.icgc.dcc.release.core.util.Keys.getKey;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
 
-import java.util.Map;
-
-import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import org.apache.spark.api.java.function.PairFunction;
-import org.icgc.dcc.release.job.join.model.DonorSample;
 import org.icgc.dcc.release.job.join.model.SsmOccurrence;
 import org.icgc.dcc.release.job.join.utils.Occurrences;
 
 import scala.Tuple2;
 
-@RequiredArgsConstructor
 public final class KeyDonorMutataionId implements PairFunction<Tuple2<String, SsmOccurrence>, String, SsmOccurrence> {
 
-  /**
-   * Used to resolve {@code _donor_id}.
-   */
-  @NonNull
-  private final Map<String, DonorSample> donorSamples;
-
   @Override
   public Tuple2<String, SsmOccurrence> call(Tuple2<String, SsmOccurrence> tuple) throws Exception {
     val primary = tuple._2;
     val mutationId = primary.get_mutation_id();
-    val sampleId = resolveSampleId(primary);
-
-    val donorInfo = donorSamples.get(sampleId);
-    checkState(donorInfo != null, "Failed to resolve donor info for sample id '%s' from ssm_p: '%s'", sampleId, primary);
-    val key = getKey(donorInfo.getDonorId(), mutationId);
+    val donorId = primary.get_donor_id();
+    checkState(donorId != null, "Failed to resolve donor info for sample id '%s' from ssm_p: '%s'",
+        resolveSampleId(primary), primary);
+    val key = getKey(donorId, mutationId);
 
     return tuple(key, primary);
   }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -15,58 +15,74 @@
  * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
  * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-package org.icgc.dcc.release.job.summarize.function;
+package org.icgc.dcc.release.job.join.function;
 
-import static org.icgc.dcc.common.core.model.FieldNames.DONOR_ID;
-import static org.icgc.dcc.common.core.model.FieldNames.PROJECT_ID;
-import static org.icgc.dcc.release.core.util.Keys.KEY_SEPARATOR;
-import static org.icgc.dcc.release.core.util.ObjectNodes.createObject;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
+
+import java.util.Comparator;
+import java.util.Iterator;
+
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
-import org.apache.spark.api.java.function.PairFunction;
+import org.apache.spark.api.java.function.FlatMapFunction2;
 
 import scala.Tuple2;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Optional;
+import com.google.common.collect.AbstractIterator;
 
+/**
+ * Left outer joins co-partitioned sides which are sorted by the {@code keyOrdering} by merging them. Neither side is
+ * held in memory. Records with a {@code null} key never match.
+ */
 @RequiredArgsConstructor
-public final class ConvertToTempGeneSummaryObject implements PairFunction<Tuple2<String, Integer>, String, ObjectNode> {
-
-  private static final int DONOR_ID_INDEX = 0;
-  private static final int TYPE_INDEX = 1;
-  private static final int GENE_ID_INDEX = 2;
+public class MergeJoinPartitions<P, M> implements
+    FlatMapFunction2<Iterator<Tuple2<String, P>>, Iterator<Tuple2<String, M>>, Tuple2<P, Optional<M>>> {
 
+  /**
+   * Configuration.
+   */
   @NonNull
-  private final String projectName;
+  private final Comparator<String> keyOrdering;
 
   @Override
-  public Tuple2<String, ObjectNode> call(Tuple2<String, Integer> tuple) throws Exception {
-    val donorTypeGene = tuple._1;
-    val count = tuple._2;
-    val donorId = getDonorId(donorTypeGene);
-    val type = getType(donorTypeGene);
-    val resultObject = createObject();
-    resultObject.put(DONOR_ID, donorId);
-    resultObject.put(type, count);
-    resultObject.put(PROJECT_ID, projectName);
-    val geneId = getGeneId(donorTypeGene);
-
-    return tuple(geneId, resultObject);
+  public Iterable<Tuple2<P, Optional<M>>> call(Iterator<Tuple2<String, P>> streamed,
+      Iterator<Tuple2<String, M>> build) throws Exception {
+    return () -> new MergeIterator(streamed, build);
   }
 
-  private static String getDonorId(String donorTypeGene) {
-    return donorTypeGene.split(KEY_SEPARATOR)[DONOR_ID_INDEX];
-  }
+  @RequiredArgsConstructor
+  private class MergeIterator extends AbstractIterator<Tuple2<P, Optional<M>>> {
 
-  private static String getType(String donorTypeGene) {
-    return donorTypeGene.split(KEY_SEPARATOR)[TYPE_INDEX];
-  }
+    private final Iterator<Tuple2<String, P>> streamed;
+    private final Iterator<Tuple2<String, M>> build;
+
+    private Tuple2<String, M> current;
+
+    @Override
+    protected Tuple2<P, Optional<M>> computeNext() {
+      if (!streamed.hasNext()) {
+        return endOfData();
+      }
+
+      val record = streamed.next();
+      val key = record._1;
+      if (key == null) {
+        return tuple(record._2, Optional.absent());
+      }
+
+      // Both sides are sorted, so the build side only moves forward
+      while ((current == null || keyOrdering.compare(current._1, key) < 0) && build.hasNext()) {
+        current = build.next();
+      }
+
+      val match = current != null && key.equals(current._1);
+
+      return tuple(record._2, match ? Optional.of(current._2) : Optional.<M> absent());
+    }
 
-  private static String getGeneId(String donorTypeGene) {
-    return donorTypeGene.split(KEY_SEPARATOR)[GENE_ID_INDEX];
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import lombok.NonNull;
+import lombok.val;
+
+import org.apache.spark.api.java.function.Function;
+import org.icgc.dcc.release.job.join.model.SsmPrimaryFeatureType;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Unsets the controlled fields of a primary record in place.
+ * <p>
+ * The fields are resolved against a table of compiled setters when the function is created, so that unknown fields
+ * fail the driver rather than the executors and no reflection is involved per record.
+ */
+public final class RemoveControlledFields implements Function<SsmPrimaryFeatureType, SsmPrimaryFeatureType> {
+
+  /**
+   * Constants.
+   */
+  private static final Map<String, Consumer<SsmPrimaryFeatureType>> UNSETTERS =
+      ImmutableMap.<String, Consumer<SsmPrimaryFeatureType>> builder()
+      .put("_mutation_id", p -> p.set_mutation_id(null))
+      .put("_project_id", p -> p.set_project_id(null))
+      .put("analysis_id", p -> p.setAnalysis_id(null))
+      .put("analyzed_sample_id", p -> p.setAnalyzed_sample_id(null))
+      .put("biological_validation_platform", p -> p.setBiological_validation_platform(null))
+      .put("biological_validation_status", p -> p.setBiological_validation_status(null))
+      .put("chromosome", p -> p.setChromosome(null))
+      .put("chromosome_end", p -> p.setChromosome_end(null))
+      .put("chromosome_start", p -> p.setChromosome_start(null))
+      .put("chromosome_strand", p -> p.setChromosome_strand(null))
+      .put("control_genotype", p -> p.setControl_genotype(null))
+      .put("expressed_allele", p -> p.setExpressed_allele(null))
+      .put("marking", p -> p.setMarking(null))
+      .put("mutant_allele_read_count", p -> p.setMutant_allele_read_count(null))
+      .put("mutated_from_allele", p -> p.setMutated_from_allele(null))
+      .put("mutated_to_allele", p -> p.setMutated_to_allele(null))
+      .put("mutation", p -> p.setMutation(null))
+      .put("mutation_type", p -> p.setMutation_type(null))
+      .put("observation_id", p -> p.setObservation_id(null))
+      .put("probability", p -> p.setProbability(null))
+      .put("quality_score", p -> p.setQuality_score(null))
+      .put("reference_genome_allele", p -> p.setReference_genome_allele(null))
+      .put("total_read_count", p -> p.setTotal_read_count(null))
+      .put("tumour_genotype", p -> p.setTumour_genotype(null))
+      .put("verification_platform", p -> p.setVerification_platform(null))
+      .put("verification_status", p -> p.setVerification_status(null))
+      .put("_study", p -> p.set_study(null))
+      .build();
+
+  /**
+   * Configuration.
+   */
+  private final List<String> controlledFields;
+
+  /**
+   * State.
+   */
+  private transient List<Consumer<SsmPrimaryFeatureType>> unsetters;
+
+  public RemoveControlledFields(@NonNull List<String> controlledFields) {
+    this.controlledFields = ImmutableList.copyOf(controlledFields);
+    this.unsetters = resolveUnsetters(controlledFields);
+  }
+
+  @Override
+  public SsmPrimaryFeatureType call(SsmPrimaryFeatureType primary) {
+    if (unsetters == null) {
+      unsetters = resolveUnsetters(controlledFields);
+    }
+
+    for (val unsetter : unsetters) {
+      unsetter.accept(primary);
+    }
+
+    return primary;
+  }
+
+  private static List<Consumer<SsmPrimaryFeatureType>> resolveUnsetters(List<String> fields) {
+    val unsetters = ImmutableList.<Consumer<SsmPrimaryFeatureType>> builder();
+    for (val field : fields) {
+      val unsetter = UNSETTERS.get(field);
+      checkArgument(unsetter != null, "Unknown %s field '%s'", SsmPrimaryFeatureType.class.getSimpleName(), field);
+      unsetters.add(unsetter);
+    }
+
+    return unsetters.build();
+  }
+
+}
@@ -41,4 +41,10 @@ public class SsmMetaFeatureType implements Serializable {
   private String variation_calling_algorithm;
   private String _study;
 
+  // Surrogate IDs of the referenced samples, resolved by the join
+  private String _donor_id;
+  private String _specimen_id;
+  private String _sample_id;
+  private String _matched_sample_id;
+
 }
@@ -27,6 +27,8 @@ import static org.icgc.dcc.release.core.job.FileType.SURGERY;
 import static org.icgc.dcc.release.core.job.FileType.THERAPY;
 import static org.icgc.dcc.release.core.util.Partitions.getPartitionsCount;
 import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
+import static org.icgc.dcc.release.job.join.function.CombineClinical.DONOR_TYPE;
+import static org.icgc.dcc.release.job.join.function.CombineClinical.SPECIMEN_TYPE;
 
 import java.util.Map;
 
@@ -34,26 +36,28 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
-import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.HashPartitioner;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames;
 import org.icgc.dcc.release.job.join.function.CombineClinical;
-import org.icgc.dcc.release.job.join.function.CombineDonor;
 import org.icgc.dcc.release.job.join.function.CombineSampleFunctions;
 import org.icgc.dcc.release.job.join.function.CombineSpecimen;
-import org.icgc.dcc.release.job.join.function.ExtractDonorId;
-import org.icgc.dcc.release.job.join.function.ExtractSpecimenId;
-import org.icgc.dcc.release.job.join.function.KeyDonorIdField;
+import org.icgc.dcc.release.job.join.function.KeyClinicalRecord;
 import org.icgc.dcc.release.job.join.function.KeySpecimenIdField;
 
-import scala.Tuple2;
-
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.base.Optional;
 
+/**
+ * Joins the clinical file types into {@link FileType#CLINICAL} donor documents.
+ * <p>
+ * Specimens are co-grouped with their samples first. Afterwards, the donors, their supplemental file types and the
+ * specimens are hash-partitioned by the donor ID once and each donor document is built in a single pass over its
+ * records.
+ */
 @RequiredArgsConstructor
 public class ClinicalJoinTask extends GenericTask {
 
@@ -63,12 +67,15 @@ public class ClinicalJoinTask extends GenericTask {
   @Override
   public void execute(TaskContext taskContext) {
     val outputFileType = FileType.CLINICAL;
+    val output = join(taskContext);
 
+    writeOutput(taskContext, output, outputFileType);
+  }
+
+  JavaRDD<ObjectNode> join(TaskContext taskContext) {
     val joinedSpecimen = joinSpecimen(taskContext);
-    val joined = joinClinical(taskContext, joinedSpecimen);
-    val output = joined.map(new CombineClinical());
 
-    writeOutput(taskContext, output, outputFileType);
+    return joinClinical(taskContext, joinedSpecimen);
   }
 
   private JavaRDD<ObjectNode> joinSpecimen(TaskContext taskContext) {
@@ -76,55 +83,34 @@ public class ClinicalJoinTask extends GenericTask {
     val sample = readInput(taskContext, SAMPLE_SURROGATE_KEY);
     val joinedSample = joinSampleAndRawSequenceData(taskContext, sample);
 
-    val joinedSpecimen = joinSpecimenSample(specimen, joinedSample);
-
-    return joinedSpecimen.map(new CombineSpecimen());
-  }
-
-  private JavaPairRDD<String, Tuple2<ObjectNode, Optional<Iterable<ObjectNode>>>> joinClinical(
-      TaskContext taskContext, JavaRDD<ObjectNode> joinedSpecimen) {
-    val donor = joinDonor(taskContext);
-    val donorPartitions = getPartitionsCount(donor);
-    val pairedSpecimen = joinedSpecimen
-        .mapToPair(new KeyDonorIdField())
-        .groupByKey(donorPartitions);
+    val keySpecimenId = new KeySpecimenIdField();
+    val specimenPairs = specimen.mapToPair(keySpecimenId);
+    val partitioner = new HashPartitioner(getPartitionsCount(specimenPairs));
 
-    return donor.leftOuterJoin(pairedSpecimen);
+    return specimenPairs
+        .cogroup(joinedSample.mapToPair(keySpecimenId), partitioner)
+        .flatMap(new CombineSpecimen());
   }
 
   /**
-   * Joins donor and its supplemental file types.
+   * Joins donor, its supplemental file types and specimens.
    */
-  private JavaPairRDD<String, ObjectNode> joinDonor(
-      TaskContext taskContext) {
+  private JavaRDD<ObjectNode> joinClinical(TaskContext taskContext, JavaRDD<ObjectNode> joinedSpecimen) {
     val donor = readInput(taskContext, DONOR_SURROGATE_KEY);
-    val therapy = readInput(taskContext, THERAPY);
-    val family = readInput(taskContext, FAMILY);
-    val exposure = readInput(taskContext, EXPOSURE);
-    val biomarker = readInput(taskContext, BIOMARKER);
-    val surgery = readInput(taskContext, SURGERY);
-    val extractDonorId = new ExtractDonorId();
-    val donorPairs = donor.mapToPair(new KeyDonorIdField());
-    val donorPartitions = getPartitionsCount(donorPairs);
-
-    val donorWithSupplementalFiles = donorPairs
-        .leftOuterJoin(therapy.groupBy(extractDonorId, donorPartitions))
-        .leftOuterJoin(family.groupBy(extractDonorId, donorPartitions))
-        .leftOuterJoin(exposure.groupBy(extractDonorId, donorPartitions))
-        .leftOuterJoin(biomarker.groupBy(extractDonorId, donorPartitions))
-        .leftOuterJoin(surgery.groupBy(extractDonorId, donorPartitions));
-
-    return donorWithSupplementalFiles.mapToPair(new CombineDonor());
-  }
-
-  private static JavaPairRDD<String, Tuple2<ObjectNode, Optional<Iterable<ObjectNode>>>> joinSpecimenSample(
-      JavaRDD<ObjectNode> specimen, JavaRDD<ObjectNode> sample) {
-    val extractSpecimenId = new ExtractSpecimenId();
-    val specimenPairs = specimen.mapToPair(new KeySpecimenIdField());
-    val specimenPartitions = getPartitionsCount(specimenPairs);
-
-    return specimenPairs
-        .leftOuterJoin(sample.groupBy(extractSpecimenId, specimenPartitions));
+    val partitioner = new HashPartitioner(getPartitionsCount(donor));
+
+    // Tagged union of all the records of a donor, which is shuffled only once
+    val clinical = donor.mapToPair(new KeyClinicalRecord(DONOR_TYPE))
+        .union(readInput(taskContext, THERAPY).mapToPair(new KeyClinicalRecord(JoinFieldNames.THERAPY)))
+        .union(readInput(taskContext, FAMILY).mapToPair(new KeyClinicalRecord(JoinFieldNames.FAMILY)))
+        .union(readInput(taskContext, EXPOSURE).mapToPair(new KeyClinicalRecord(JoinFieldNames.EXPOSURE)))
+        .union(readInput(taskContext, BIOMARKER).mapToPair(new KeyClinicalRecord(JoinFieldNames.BIOMARKER)))
+        .union(readInput(taskContext, SURGERY).mapToPair(new KeyClinicalRecord(JoinFieldNames.SURGERY)))
+        .union(joinedSpecimen.mapToPair(new KeyClinicalRecord(SPECIMEN_TYPE)));
+
+    return clinical
+        .groupByKey(partitioner)
+        .flatMap(new CombineClinical());
   }
 
   private JavaRDD<ObjectNode> joinSampleAndRawSequenceData(TaskContext taskContext, JavaRDD<ObjectNode> sample) {
@@ -19,69 +19,57 @@ package org.icgc.dcc.release.job.join.task;
 
 import static org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames.ARRAY_PLATFORM;
 import static org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames.PROBE_ID;
-import static org.icgc.dcc.release.core.util.Keys.getKey;
-
-import java.util.Map;
-
 import lombok.val;
 
 import org.apache.spark.api.java.JavaRDD;
-import org.apache.spark.api.java.function.Function;
-import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.release.core.function.KeyFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.TaskContext;
-import org.icgc.dcc.release.core.util.SparkWorkaroundUtils;
+import org.icgc.dcc.release.job.join.core.JoinPlanner;
 import org.icgc.dcc.release.job.join.model.DonorSample;
+import org.icgc.dcc.release.job.join.utils.SampleLookup;
+
+import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Optional;
 
 public class MethArrayJoinTask extends PrimaryMetaJoinTask {
 
   private static final FileType PRIMARY_FILE_TYPE = FileType.METH_ARRAY_P;
   private static final String[] PROBE_JOIN_KEYS = { ARRAY_PLATFORM, PROBE_ID };
 
-  public MethArrayJoinTask(Broadcast<Map<String, Map<String, DonorSample>>> donorSamplesByProject) {
-    super(donorSamplesByProject, PRIMARY_FILE_TYPE);
+  public MethArrayJoinTask(SampleLookup<DonorSample> donorSampleLookup, JoinPlanner joinPlanner) {
+    super(donorSampleLookup, joinPlanner, PRIMARY_FILE_TYPE);
   }
 
   @Override
   public void execute(TaskContext taskContext) {
     val primaryMeta = joinPrimaryMeta(taskContext);
-    val probes = resolveProbes(taskContext);
-    val output = joinPrimaryMetaProbes(primaryMeta, probes);
+    val output = joinPrimaryMetaProbes(taskContext, primaryMeta);
 
     writeOutput(taskContext, output, FileType.METH_ARRAY);
   }
 
-  private Broadcast<Map<String, ObjectNode>> resolveProbes(TaskContext taskContext) {
-    val probes = readInput(taskContext, FileType.METH_ARRAY_PROBES)
-        .mapToPair(new KeyFields(PROBE_JOIN_KEYS))
-        .collectAsMap();
-    val sparkContext = taskContext.getSparkContext();
+  private JavaRDD<ObjectNode> joinPrimaryMetaProbes(TaskContext taskContext, JavaRDD<ObjectNode> primaryMeta) {
+    val keyFunction = new KeyFields(PROBE_JOIN_KEYS);
+    val probes = readInput(taskContext, FileType.METH_ARRAY_PROBES);
 
-    return sparkContext.broadcast(SparkWorkaroundUtils.toHashMap(probes));
+    // Rows without the probe keys are left as is
+    return joinPlanner.join(taskContext,
+        PRIMARY_FILE_TYPE, primaryMeta.mapToPair(keyFunction),
+        FileType.METH_ARRAY_PROBES, probes.mapToPair(keyFunction))
+        .map(MethArrayJoinTask::setProbe);
   }
 
-  private static JavaRDD<ObjectNode> joinPrimaryMetaProbes(JavaRDD<ObjectNode> primaryMeta,
-      Broadcast<Map<String, ObjectNode>> probes) {
-    return primaryMeta.map(joinProbes(probes));
-  }
-
-  private static Function<ObjectNode, ObjectNode> joinProbes(Broadcast<Map<String, ObjectNode>> probes) {
-    return row -> {
-      String key = getKey(row, PROBE_JOIN_KEYS);
-      if (key == null) {
-        return row;
-      }
-
-      ObjectNode probe = probes.value().get(key);
-      if (probe != null) {
-        row.setAll(probe);
-      }
+  private static ObjectNode setProbe(Tuple2<ObjectNode, Optional<ObjectNode>> rowProbe) {
+    val row = rowProbe._1;
+    val probe = rowProbe._2;
+    if (probe.isPresent()) {
+      row.setAll(probe.get());
+    }
 
-      return row;
-    };
+    return row;
   }
 
 }
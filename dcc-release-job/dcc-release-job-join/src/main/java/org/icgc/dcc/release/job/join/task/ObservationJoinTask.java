@@ -17,47 +17,36 @@
  */
 package org.icgc.dcc.release.job.join.task;
 
-import static com.google.common.base.Preconditions.checkState;
 import static org.icgc.dcc.release.core.util.Partitions.getPartitionsCount;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
-import static org.icgc.dcc.release.job.join.utils.Tasks.getSampleSurrogateSampleIds;
-import static org.icgc.dcc.release.job.join.utils.Tasks.resolveDonorSamples;
 
-import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.val;
 
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
-import org.apache.spark.api.java.function.Function;
-import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFunction;
-import org.apache.spark.broadcast.Broadcast;
 import org.apache.spark.storage.StorageLevel;
-import org.icgc.dcc.common.core.model.Marking;
-import org.icgc.dcc.common.core.util.Separators;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.core.util.CombineFunctions;
 import org.icgc.dcc.release.core.util.JacksonFactory;
 import org.icgc.dcc.release.core.util.Keys;
-import org.icgc.dcc.release.core.util.SparkWorkaroundUtils;
+import org.icgc.dcc.release.job.join.core.JoinPlanner;
 import org.icgc.dcc.release.job.join.function.AggregateObservationConsequences;
 import org.icgc.dcc.release.job.join.function.AggregateOccurrences;
-import org.icgc.dcc.release.job.join.function.CreateOccurrence;
-import org.icgc.dcc.release.job.join.function.KeyDonorMutataionId;
+import org.icgc.dcc.release.job.join.function.CreateSsmOccurrences;
 import org.icgc.dcc.release.job.join.model.DonorSample;
 import org.icgc.dcc.release.job.join.model.SsmMetaFeatureType;
 import org.icgc.dcc.release.job.join.model.SsmOccurrence;
 import org.icgc.dcc.release.job.join.model.SsmOccurrence.Consequence;
 import org.icgc.dcc.release.job.join.model.SsmPrimaryFeatureType;
+import org.icgc.dcc.release.job.join.utils.SampleLookup;
 
 import scala.Tuple2;
 
@@ -68,97 +57,90 @@ import com.google.common.collect.Sets;
 public class ObservationJoinTask extends GenericTask {
 
   @NonNull
-  private final Broadcast<Map<String, Map<String, DonorSample>>> donorSamplesBroadcast;
+  private final SampleLookup<DonorSample> donorSampleLookup;
   @NonNull
-  private final Broadcast<Map<String, Map<String, String>>> sampleSurrogateSampleIdsBroadcast;
+  private final SampleLookup<String> sampleSurrogateSampleIdLookup;
+  @NonNull
+  private final JoinPlanner joinPlanner;
   @NonNull
   private final List<String> controlledFields;
 
   @Override
   public void execute(TaskContext taskContext) {
-    // Resolve loop-up info
-    val donorSamples = resolveDonorSamples(taskContext, donorSamplesBroadcast);
-    val sampleToSurrogageSampleId = getSampleSurrogateSampleIds(taskContext, sampleSurrogateSampleIdsBroadcast);
-
-    // Prepare primaries
-    val primary = parseSsmP(taskContext)
-        .mapToPair(o -> tuple(o.getObservation_id(), o));
+    // Prepare primaries joined with their meta. The join strategy depends on the size of the meta file
+    val primary = parseSsmP(taskContext);
+    val meta = addSurrogateIds(taskContext, parseSsmM(taskContext));
+    val primaryMeta = joinPlanner.join(taskContext,
+        FileType.SSM_P_MASKED_SURROGATE_KEY, primary.mapToPair(keyPrimary()),
+        FileType.SSM_M, meta.mapToPair(keyMeta()))
+        .mapToPair(t -> tuple(t._1.getObservation_id(), t));
 
     val primaryPartitions = getPartitionsCount(primary);
-    primary.persist(StorageLevel.MEMORY_ONLY_SER());
 
     // Aggregate consequences
     val consequences = aggregateConsequences(taskContext, primaryPartitions);
-    consequences.persist(StorageLevel.MEMORY_ONLY_SER());
-
-    // Prepare meta
-    val metaPairsBroadcast = resolveMeta(taskContext);
-
-    // Join SSM
-    val ssm = join(donorSamples, sampleToSurrogageSampleId, primary, consequences, metaPairsBroadcast);
-    writeSsm(taskContext, ssm);
 
-    // Join Observations
-    val primaryOpen = filterControlledData(primary, controlledFields);
-    val observations = join(donorSamples, sampleToSurrogageSampleId, primaryOpen, consequences, metaPairsBroadcast);
-    writeObservation(taskContext, observations);
+    // Join SSM and Observations at once. Keys are tagged with the open flag
+    val occurrences = join(primaryMeta, consequences, controlledFields);
+    occurrences.persist(StorageLevel.MEMORY_AND_DISK_SER());
 
-    primary.unpersist(false);
-    consequences.unpersist(false);
-  }
+    writeSsm(taskContext, occurrences.filter(t -> !t._1._2).values());
+    writeObservation(taskContext, occurrences.filter(t -> t._1._2).values());
 
-  private static JavaPairRDD<String, SsmPrimaryFeatureType> filterControlledData(
-      JavaPairRDD<String, SsmPrimaryFeatureType> primary,
-      List<String> controlledFields) {
-    return primary
-        .filter(filterControlledRecords())
-        .mapValues(removeControlledFields(controlledFields));
+    occurrences.unpersist(false);
   }
 
-  private static Function<Tuple2<String, SsmPrimaryFeatureType>, Boolean> filterControlledRecords() {
-    return t -> {
-      SsmPrimaryFeatureType row = t._2;
-      Optional<Marking> marking = Marking.from(row.getMarking());
-      checkState(marking.isPresent(), "Failed to resolve marking from %s", row);
-
-      return !marking.get().isControlled();
-    };
-  }
-
-  private static JavaRDD<SsmOccurrence> join(
-      Map<String, DonorSample> donorSamples,
-      Map<String, String> sampleToSurrogageSampleId,
-      JavaPairRDD<String, SsmPrimaryFeatureType> primary,
+  private static JavaPairRDD<Tuple2<String, Boolean>, SsmOccurrence> join(
+      JavaPairRDD<String, Tuple2<SsmPrimaryFeatureType, Optional<SsmMetaFeatureType>>> primaryMeta,
       JavaPairRDD<String, Collection<Consequence>> consequences,
-      Broadcast<Map<String, SsmMetaFeatureType>> metaPairsBroadcast)
+      List<String> controlledFields)
   {
     SsmOccurrence zeroValue = null;
-    val createOccurrences = new CreateOccurrence(metaPairsBroadcast, donorSamples, sampleToSurrogageSampleId);
+    val createOccurrences = new CreateSsmOccurrences(controlledFields);
 
-    val occurrences = primary
+    val occurrences = primaryMeta
         .leftOuterJoin(consequences)
-        .aggregateByKey(zeroValue, createOccurrences, combinePrimarySecondary())
-        .mapToPair(new KeyDonorMutataionId(donorSamples));
+        .flatMapToPair(createOccurrences);
 
     // Merge occurrences
     val aggregateFunction = new AggregateOccurrences();
 
     return occurrences
-        .aggregateByKey(zeroValue, aggregateFunction, aggregateFunction)
-        .values();
-  }
+        .aggregateByKey(zeroValue, aggregateFunction, aggregateFunction);
+  }
+
+  /**
+   * Adds the surrogate IDs of the samples referenced by the {@code meta} records, which are much fewer than the primary
+   * ones.
+   */
+  private JavaRDD<SsmMetaFeatureType> addSurrogateIds(TaskContext taskContext, JavaRDD<SsmMetaFeatureType> meta) {
+    val donorSampleMeta = donorSampleLookup
+        .join(taskContext, meta, SsmMetaFeatureType::getAnalyzed_sample_id)
+        .map(ObservationJoinTask::setDonorSample);
+
+    return sampleSurrogateSampleIdLookup
+        .join(taskContext, donorSampleMeta, SsmMetaFeatureType::getMatched_sample_id)
+        .map(ObservationJoinTask::setSurrogateMatchedSampleId);
+  }
+
+  private static SsmMetaFeatureType setDonorSample(Tuple2<SsmMetaFeatureType, Optional<DonorSample>> metaDonorSample) {
+    val meta = metaDonorSample._1;
+    if (metaDonorSample._2.isPresent()) {
+      val donorSample = metaDonorSample._2.get();
+      meta.set_donor_id(donorSample.getDonorId());
+      meta.set_specimen_id(donorSample.getSpecimenId());
+      meta.set_sample_id(donorSample.getSampleId());
+    }
 
-  private Broadcast<Map<String, SsmMetaFeatureType>> resolveMeta(TaskContext taskContext) {
-    // Meta files are small. Put them in memory and distribute to workers.
-    val metaPairs = parseSsmM(taskContext)
-        .mapToPair(keyMeta())
-        .collectAsMap();
+    return meta;
+  }
 
-    final Broadcast<Map<String, SsmMetaFeatureType>> metaPairsBroadcast = taskContext
-        .getSparkContext()
-        .broadcast(SparkWorkaroundUtils.toHashMap(metaPairs));
+  private static SsmMetaFeatureType setSurrogateMatchedSampleId(
+      Tuple2<SsmMetaFeatureType, Optional<String>> metaSurrogateMatchedSampleId) {
+    val meta = metaSurrogateMatchedSampleId._1;
+    meta.set_matched_sample_id(metaSurrogateMatchedSampleId._2.orNull());
 
-    return metaPairsBroadcast;
+    return meta;
   }
 
   private JavaPairRDD<String, Collection<Consequence>> aggregateConsequences(TaskContext taskContext,
@@ -173,60 +155,14 @@ public class ObservationJoinTask extends GenericTask {
             CombineFunctions::combineCollections);
   }
 
-  private static Function2<SsmOccurrence, SsmOccurrence, SsmOccurrence> combinePrimarySecondary() {
-    return (a, b) -> {
-      throw new IllegalStateException("This function should never be called, as primary and secondary files should be"
-          + " located on the same partition");
-    };
-  }
-
-  private static Function<SsmPrimaryFeatureType, SsmPrimaryFeatureType> removeControlledFields(
-      List<String> controlledFields) {
-    return row -> {
-      for (String field : controlledFields) {
-        Class<?> clazz = getParamType(row, field);
-        unsetField(row, field, clazz);
-      }
+  private static PairFunction<SsmPrimaryFeatureType, String, SsmPrimaryFeatureType> keyPrimary() {
+    return primary -> {
+      String key = Keys.getKey(primary.getAnalysis_id(), primary.getAnalyzed_sample_id());
 
-      return row;
+      return tuple(key, primary);
     };
   }
 
-  @SneakyThrows
-  private static void unsetField(SsmPrimaryFeatureType primary, String field, Class<?> clazz) {
-    val setter = getMethod(primary, field, "set", clazz);
-    setter.invoke(primary, new Object[] { null });
-  }
-
-  @SneakyThrows
-  private static Class<?> getParamType(SsmPrimaryFeatureType primary, String field) {
-    val getter = getMethod(primary, field, "get");
-
-    return getter.getReturnType();
-  }
-
-  private static Method getMethod(SsmPrimaryFeatureType primary, String field, String prefix, Class<?>... params)
-      throws NoSuchMethodException {
-    val methodName = resolveMethodName(field, prefix);
-    val method = primary.getClass().getMethod(methodName, params);
-
-    return method;
-  }
-
-  private static String resolveMethodName(String field, String prefix) {
-    val methodName = field.startsWith(Separators.UNDERSCORE) ? field : capitalizeFirstLetter(field);
-
-    return prefix + methodName;
-  }
-
-  private static String capitalizeFirstLetter(String original) {
-    if (original == null || original.length() == 0) {
-      return original;
-    }
-
-    return original.substring(0, 1).toUpperCase() + original.substring(1);
-  }
-
   private static PairFunction<SsmMetaFeatureType, String, SsmMetaFeatureType> keyMeta() {
     return meta -> {
       String key = Keys.getKey(meta.getAnalysis_id(), meta.getAnalyzed_sample_id());
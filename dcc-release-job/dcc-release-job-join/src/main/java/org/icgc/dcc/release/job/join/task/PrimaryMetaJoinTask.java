@@ -20,27 +20,26 @@ package org.icgc.dcc.release.job.join.task;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_ANALYSIS_ID;
-import static org.icgc.dcc.release.core.util.Keys.getKey;
-import static org.icgc.dcc.release.job.join.utils.Tasks.resolveDonorSamples;
-
-import java.util.Map;
+import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
 import org.apache.spark.api.java.JavaRDD;
-import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
-import org.icgc.dcc.release.core.util.SparkWorkaroundUtils;
+import org.icgc.dcc.release.job.join.core.JoinPlanner;
 import org.icgc.dcc.release.job.join.function.EnrichPrimaryMeta;
 import org.icgc.dcc.release.job.join.function.KeyAnalysisIdAnalyzedSampleIdField;
 import org.icgc.dcc.release.job.join.model.DonorSample;
+import org.icgc.dcc.release.job.join.utils.SampleLookup;
+
+import scala.Tuple2;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Optional;
 
 @RequiredArgsConstructor
 public class PrimaryMetaJoinTask extends GenericTask {
@@ -50,7 +49,9 @@ public class PrimaryMetaJoinTask extends GenericTask {
   private static final String PRIMARY_FILE_TYPE_REGEX = "_P(_(\\w)*)*$";
 
   @NonNull
-  private final Broadcast<Map<String, Map<String, DonorSample>>> donorSamplesbyProject;
+  private final SampleLookup<DonorSample> donorSampleLookup;
+  @NonNull
+  protected final JoinPlanner joinPlanner;
   @NonNull
   protected final FileType primaryFileType;
 
@@ -67,50 +68,49 @@ public class PrimaryMetaJoinTask extends GenericTask {
   }
 
   protected JavaRDD<ObjectNode> joinPrimaryMeta(TaskContext taskContext) {
+    return joinPrimaryMeta(taskContext, parseMeta(taskContext));
+  }
+
+  protected JavaRDD<ObjectNode> joinPrimaryMeta(TaskContext taskContext, JavaRDD<ObjectNode> meta) {
     val primary = parsePrimary(primaryFileType, taskContext);
-    val meta = parseMeta(resolveMetaFileType(primaryFileType), taskContext);
-    val donorSamples = resolveDonorSamples(taskContext, donorSamplesbyProject);
-    val output = join(primary, meta, donorSamples, taskContext);
+    val type = resolveOutputFileType(primaryFileType).getId();
+
+    // Enrich the meta records, which are much fewer than the primary ones
+    val enrichedMeta = donorSampleLookup
+        .join(taskContext, meta, row -> textValue(row, SUBMISSION_ANALYZED_SAMPLE_ID))
+        .map(new EnrichPrimaryMeta(type));
+    val output = join(primary, enrichedMeta, taskContext);
 
     return output;
   }
 
-  private JavaRDD<ObjectNode> join(JavaRDD<ObjectNode> primary, JavaRDD<ObjectNode> meta,
-      Map<String, DonorSample> donorSamples, TaskContext taskContext) {
+  private JavaRDD<ObjectNode> join(JavaRDD<ObjectNode> primary, JavaRDD<ObjectNode> meta, TaskContext taskContext) {
     val keyFunction = new KeyAnalysisIdAnalyzedSampleIdField();
-    val outputFileType = resolveOutputFileType(primaryFileType);
-    val type = outputFileType.getId();
 
-    // Meta file type is small. We are going to put it in memory and distribute between the workers.
-    val metaPairs = meta.mapToPair(keyFunction).collectAsMap();
-    final Broadcast<Map<String, ObjectNode>> metaPairsBroadcast = taskContext
-        .getSparkContext()
-        .broadcast(SparkWorkaroundUtils.toHashMap(metaPairs));
+    // The join strategy depends on the size of the meta file
+    val primaryMeta = joinPlanner.join(taskContext,
+        primaryFileType, primary.mapToPair(keyFunction),
+        resolveMetaFileType(primaryFileType), meta.mapToPair(keyFunction));
 
-    return joinPrimaryMeta(primary, metaPairsBroadcast)
-        .map(new EnrichPrimaryMeta(type, donorSamples));
+    return primaryMeta
+        .map(PrimaryMetaJoinTask::setMeta);
   }
 
-  private static JavaRDD<ObjectNode> joinPrimaryMeta(
-      JavaRDD<ObjectNode> primary,
-      Broadcast<Map<String, ObjectNode>> metaPairsBroadcast) {
-    return primary
-        .map(p -> {
-          String key = getKey(p, SUBMISSION_OBSERVATION_ANALYSIS_ID, SUBMISSION_ANALYZED_SAMPLE_ID);
-          ObjectNode metaValue = metaPairsBroadcast.value().get(key);
-          checkState(metaValue != null, "A primary record must have a corresponding record in the meta file");
-          p.setAll(metaValue);
-
-          return p;
-        });
+  private static ObjectNode setMeta(Tuple2<ObjectNode, Optional<ObjectNode>> primaryMeta) {
+    val primary = primaryMeta._1;
+    val meta = primaryMeta._2;
+    checkState(meta.isPresent(), "A primary record must have a corresponding record in the meta file");
+    primary.setAll(meta.get());
+
+    return primary;
   }
 
   private JavaRDD<ObjectNode> parsePrimary(FileType primaryFileType, TaskContext taskContext) {
     return readInput(taskContext, primaryFileType);
   }
 
-  private JavaRDD<ObjectNode> parseMeta(FileType metaFileType, TaskContext taskContext) {
-    return readInput(taskContext, metaFileType);
+  protected JavaRDD<ObjectNode> parseMeta(TaskContext taskContext) {
+    return readInput(taskContext, resolveMetaFileType(primaryFileType));
   }
 
   protected static FileType resolveOutputFileType(FileType primaryFileType) {
@@ -17,69 +17,71 @@
  */
 package org.icgc.dcc.release.job.join.task;
 
-import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SAMPLE;
-import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SPECIMEN;
-import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_DONOR_ID;
-import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SAMPLE_ID;
-import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SPECIMEN_ID;
-import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID;
-import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
+import static org.icgc.dcc.common.core.util.Formats.formatBytes;
 import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
+import static org.icgc.dcc.release.job.join.utils.Tasks.getInputSize;
 
 import java.util.Map;
 
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
-import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.storage.StorageLevel;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.util.SparkWorkaroundUtils;
+import org.icgc.dcc.release.job.join.function.ExtractDonorSamples;
 import org.icgc.dcc.release.job.join.model.DonorSample;
 
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Maps;
 
 /**
  * Creates mapping from {@code 'analyzed_sample_id'} to {@code (_donor_id, _specimen_id, _sample_id)}. This reference
  * data is required to enrich meta file type.
+ * <p>
+ * Projects whose {@code clinical} input is smaller than the {@code broadcastThreshold} are collected to the driver to
+ * be broadcast. The mapping of bigger projects stays partitioned.
  */
+@Slf4j
+@RequiredArgsConstructor
 public class ResolveDonorSamplesTask extends GenericTask {
 
+  /**
+   * Configuration.
+   */
+  private final long broadcastThreshold;
+
+  /**
+   * State.
+   */
   @Getter
   private final Map<String, Map<String, DonorSample>> projectDonorSamples = Maps.newConcurrentMap();
+  @Getter
+  private final Map<String, JavaPairRDD<String, DonorSample>> partitionedProjectDonorSamples =
+      Maps.newConcurrentMap();
 
   @Override
   public void execute(TaskContext taskContext) {
     val donorSamples = resolveDonorSamples(taskContext);
     val projectName = resolveProjectName(taskContext);
-    projectDonorSamples.put(projectName, donorSamples);
-  }
-
-  private Map<String, DonorSample> resolveDonorSamples(TaskContext taskContext) {
-    val clinical = parseClinical(taskContext);
-    val donors = clinical.collect();
+    val inputSize = getInputSize(taskContext, FileType.CLINICAL);
 
-    val donorSamples = Maps.<String, DonorSample> newHashMap();
-    for (val donor : donors) {
-      val surrogateDonorId = donor.get(SURROGATE_DONOR_ID).textValue();
-
-      for (val specimen : donor.withArray(DONOR_SPECIMEN)) {
-        for (val sample : specimen.withArray(DONOR_SAMPLE)) {
-          val sampleId = textValue(sample, SUBMISSION_ANALYZED_SAMPLE_ID);
-          val surrogateSpecimenId = textValue(specimen, SURROGATE_SPECIMEN_ID);
-          val surrogateSampleId = textValue(sample, SURROGATE_SAMPLE_ID);
-
-          donorSamples.put(sampleId, new DonorSample(surrogateDonorId, surrogateSpecimenId, surrogateSampleId));
-        }
-      }
+    if (inputSize <= broadcastThreshold) {
+      projectDonorSamples.put(projectName, SparkWorkaroundUtils.toHashMap(donorSamples.collectAsMap()));
+    } else {
+      log.info("Keeping donor samples of '{}' partitioned. Clinical size: {}", projectName, formatBytes(inputSize));
+      donorSamples.persist(StorageLevel.MEMORY_AND_DISK_SER());
+      partitionedProjectDonorSamples.put(projectName, donorSamples);
     }
-
-    return donorSamples;
   }
 
-  private JavaRDD<ObjectNode> parseClinical(TaskContext taskContext) {
-    return readInput(taskContext, FileType.CLINICAL);
+  private JavaPairRDD<String, DonorSample> resolveDonorSamples(TaskContext taskContext) {
+    return readInput(taskContext, FileType.CLINICAL)
+        .flatMapToPair(new ExtractDonorSamples());
   }
 
 }
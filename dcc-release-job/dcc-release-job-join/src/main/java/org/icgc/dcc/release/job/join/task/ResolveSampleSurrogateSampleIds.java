@@ -19,47 +19,76 @@ package org.icgc.dcc.release.job.join.task;
 
 import static org.icgc.dcc.common.core.model.FieldNames.IdentifierFieldNames.SURROGATE_SAMPLE_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_ANALYZED_SAMPLE_ID;
+import static org.icgc.dcc.common.core.util.Formats.formatBytes;
 import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
 import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
+import static org.icgc.dcc.release.job.join.utils.Tasks.getInputSize;
 
 import java.util.Map;
 
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.val;
+import lombok.extern.slf4j.Slf4j;
 
+import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.storage.StorageLevel;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.core.util.SparkWorkaroundUtils;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Maps;
 
 /**
  * Creates mapping {@code analyzed_sample_id -> _sample_id}
+ * <p>
+ * Projects whose {@code sample} input is smaller than the {@code broadcastThreshold} are collected to the driver to be
+ * broadcast. The mapping of bigger projects stays partitioned.
  */
+@Slf4j
+@RequiredArgsConstructor
 public class ResolveSampleSurrogateSampleIds extends GenericTask {
 
+  /**
+   * Configuration.
+   */
+  private final long broadcastThreshold;
+
+  /**
+   * State.
+   */
+  @Getter
+  private final Map<String, Map<String, String>> sampleSurrogateSampleId = Maps.newConcurrentMap();
   @Getter
-  private Map<String, Map<String, String>> sampleSurrogateSampleId = Maps.newConcurrentMap();
+  private final Map<String, JavaPairRDD<String, String>> partitionedSampleSurrogateSampleId = Maps.newConcurrentMap();
 
   @Override
   public void execute(TaskContext taskContext) {
     val sampleIds = resolveSampleIds(taskContext);
     val projectName = resolveProjectName(taskContext);
-    sampleSurrogateSampleId.put(projectName, sampleIds);
+    val inputSize = getInputSize(taskContext, FileType.SAMPLE_SURROGATE_KEY);
+
+    if (inputSize <= broadcastThreshold) {
+      sampleSurrogateSampleId.put(projectName, SparkWorkaroundUtils.toHashMap(sampleIds.collectAsMap()));
+    } else {
+      log.info("Keeping sample ids of '{}' partitioned. Sample size: {}", projectName, formatBytes(inputSize));
+      sampleIds.persist(StorageLevel.MEMORY_AND_DISK_SER());
+      partitionedSampleSurrogateSampleId.put(projectName, sampleIds);
+    }
   }
 
   private JavaRDD<ObjectNode> parseSample(TaskContext taskContext) {
     return readInput(taskContext, FileType.SAMPLE_SURROGATE_KEY);
   }
 
-  private Map<String, String> resolveSampleIds(TaskContext taskContext) {
+  private JavaPairRDD<String, String> resolveSampleIds(TaskContext taskContext) {
     val samples = parseSample(taskContext);
     return samples
-        .mapToPair(s -> tuple(textValue(s, SUBMISSION_ANALYZED_SAMPLE_ID), textValue(s, SURROGATE_SAMPLE_ID)))
-        .collectAsMap();
+        .mapToPair(s -> tuple(textValue(s, SUBMISSION_ANALYZED_SAMPLE_ID), textValue(s, SURROGATE_SAMPLE_ID)));
   }
 
 }
@@ -33,23 +33,24 @@ import static org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames.PLACEMENT
 import static org.icgc.dcc.release.core.util.FieldNames.JoinFieldNames.SV_ID;
 import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
 import static org.icgc.dcc.release.core.util.Partitions.getPartitionsCount;
-import static org.icgc.dcc.release.job.join.utils.Tasks.getSampleSurrogateSampleIds;
 
 import java.util.Collection;
 import java.util.Map;
 
+import lombok.NonNull;
 import lombok.val;
 
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.function.Function;
-import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.common.core.json.Jackson;
 import org.icgc.dcc.release.core.function.KeyFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.core.util.CombineFunctions;
+import org.icgc.dcc.release.job.join.core.JoinPlanner;
 import org.icgc.dcc.release.job.join.function.AggregateConsequences;
 import org.icgc.dcc.release.job.join.model.DonorSample;
+import org.icgc.dcc.release.job.join.utils.SampleLookup;
 
 import scala.Tuple2;
 
@@ -70,37 +71,44 @@ public class SecondaryJoinTask extends PrimaryMetaJoinTask {
   /**
    * Dependencies.
    */
-  protected final Broadcast<Map<String, Map<String, String>>> sampleSurrogateSampleIdsByProject;
+  protected final SampleLookup<String> sampleSurrogateSampleIdLookup;
 
   public SecondaryJoinTask(
-      Broadcast<Map<String, Map<String, DonorSample>>> donorSamplesbyProject,
-      Broadcast<Map<String, Map<String, String>>> sampleSurrogateSampleIdsByProject,
+      @NonNull SampleLookup<DonorSample> donorSampleLookup,
+      @NonNull SampleLookup<String> sampleSurrogateSampleIdLookup,
+      JoinPlanner joinPlanner,
       FileType primaryFileType)
   {
-    super(donorSamplesbyProject, primaryFileType);
-    this.sampleSurrogateSampleIdsByProject = sampleSurrogateSampleIdsByProject;
+    super(donorSampleLookup, joinPlanner, primaryFileType);
+    this.sampleSurrogateSampleIdLookup = sampleSurrogateSampleIdLookup;
   }
 
   @Override
   public void execute(TaskContext taskContext) {
-    val primaryMeta = joinPrimaryMeta(taskContext);
+    val meta = addSurrogateMatchingIds(taskContext, parseMeta(taskContext));
+    val primaryMeta = joinPrimaryMeta(taskContext, meta);
     val secondaryFileType = resolveSecondaryFileType(primaryFileType);
-    val sampleSurrogageSampleIds = getSampleSurrogateSampleIds(taskContext, sampleSurrogateSampleIdsByProject);
 
-    val output = joinSecondary(primaryMeta, secondaryFileType, taskContext)
-        .map(addSurrogateMatchingId(sampleSurrogageSampleIds));
+    val output = joinSecondary(primaryMeta, secondaryFileType, taskContext);
     writeOutput(taskContext, output, resolveOutputFileType(primaryFileType));
   }
 
-  public static Function<ObjectNode, ObjectNode> addSurrogateMatchingId(Map<String, String> sampleSurrogageSampleIds) {
-    return occurrence -> {
-      String matchedSampleId = textValue(occurrence, SUBMISSION_MATCHED_SAMPLE_ID);
-      if (matchedSampleId != null) {
-        occurrence.put(SURROGATE_MATCHED_SAMPLE_ID, sampleSurrogageSampleIds.get(matchedSampleId));
-      }
+  public static ObjectNode addSurrogateMatchingId(Tuple2<ObjectNode, Optional<String>> metaSurrogateMatchingId) {
+    val meta = metaSurrogateMatchingId._1;
+    if (textValue(meta, SUBMISSION_MATCHED_SAMPLE_ID) != null) {
+      meta.put(SURROGATE_MATCHED_SAMPLE_ID, metaSurrogateMatchingId._2.orNull());
+    }
 
-      return occurrence;
-    };
+    return meta;
+  }
+
+  /**
+   * Adds the surrogate matched sample IDs to the {@code meta} records, which carry them over to the primary ones.
+   */
+  protected JavaRDD<ObjectNode> addSurrogateMatchingIds(TaskContext taskContext, JavaRDD<ObjectNode> meta) {
+    return sampleSurrogateSampleIdLookup
+        .join(taskContext, meta, row -> textValue(row, SUBMISSION_MATCHED_SAMPLE_ID))
+        .map(SecondaryJoinTask::addSurrogateMatchingId);
   }
 
   protected static FileType resolveSecondaryFileType(FileType primaryFileType) {
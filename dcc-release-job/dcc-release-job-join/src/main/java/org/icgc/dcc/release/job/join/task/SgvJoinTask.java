@@ -18,24 +18,23 @@
 package org.icgc.dcc.release.job.join.task;
 
 import static org.icgc.dcc.release.core.util.Partitions.getPartitionsCount;
-import static org.icgc.dcc.release.job.join.utils.Tasks.getSampleSurrogateSampleIds;
 
 import java.util.Collection;
-import java.util.Map;
 
 import lombok.val;
 
 import org.apache.spark.api.java.JavaRDD;
-import org.apache.spark.broadcast.Broadcast;
 import org.icgc.dcc.release.core.function.KeyFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.core.util.AggregateFunctions;
 import org.icgc.dcc.release.core.util.CombineFunctions;
 import org.icgc.dcc.release.core.util.Tuples;
+import org.icgc.dcc.release.job.join.core.JoinPlanner;
 import org.icgc.dcc.release.job.join.function.CreateSgvOccurrence;
 import org.icgc.dcc.release.job.join.model.DonorSample;
 import org.icgc.dcc.release.job.join.model.SgvConsequence;
+import org.icgc.dcc.release.job.join.utils.SampleLookup;
 
 import com.google.common.collect.Sets;
 
@@ -43,15 +42,15 @@ public class SgvJoinTask extends SecondaryJoinTask {
 
   public static final FileType PRIMARY_FILE_TYPE = FileType.SGV_P_MASKED;
 
-  public SgvJoinTask(
-      Broadcast<Map<String, Map<String, DonorSample>>> donorSamplesbyProject,
-      Broadcast<Map<String, Map<String, String>>> sampleSurrogateSampleIdsByProject) {
-    super(donorSamplesbyProject, sampleSurrogateSampleIdsByProject, PRIMARY_FILE_TYPE);
+  public SgvJoinTask(SampleLookup<DonorSample> donorSampleLookup, SampleLookup<String> sampleSurrogateSampleIdLookup,
+      JoinPlanner joinPlanner) {
+    super(donorSampleLookup, sampleSurrogateSampleIdLookup, joinPlanner, PRIMARY_FILE_TYPE);
   }
 
   @Override
   public void execute(TaskContext taskContext) {
-    val primaryMeta = joinPrimaryMeta(taskContext);
+    val meta = addSurrogateMatchingIds(taskContext, parseMeta(taskContext));
+    val primaryMeta = joinPrimaryMeta(taskContext, meta);
 
     val keyFunction = new KeyFields(getSecondaryJoinKeys(PRIMARY_FILE_TYPE));
     val primaryPairs = primaryMeta.mapToPair(keyFunction);
@@ -64,11 +63,9 @@ public class SgvJoinTask extends SecondaryJoinTask {
             AggregateFunctions::aggregateCollection,
             CombineFunctions::combineCollections);
 
-    val sampleSurrogageSampleIds = getSampleSurrogateSampleIds(taskContext, sampleSurrogateSampleIdsByProject);
     val output = primaryPairs
         .leftOuterJoin(consequences)
-        .map(new CreateSgvOccurrence())
-        .map(addSurrogateMatchingId(sampleSurrogageSampleIds));
+        .map(new CreateSgvOccurrence());
 
     writeOutput(taskContext, output, resolveOutputFileType(PRIMARY_FILE_TYPE));
   }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+
+import org.apache.spark.serializer.KryoRegistrator;
+import org.icgc.dcc.release.core.model.Observation;
+import org.icgc.dcc.release.job.join.model.DonorSample;
+import org.icgc.dcc.release.job.join.model.SgvConsequence;
+import org.icgc.dcc.release.job.join.model.SsmMetaFeatureType;
+import org.icgc.dcc.release.job.join.model.SsmOccurrence;
+import org.icgc.dcc.release.job.join.model.SsmOccurrence.Consequence;
+import org.icgc.dcc.release.job.join.model.SsmPrimaryFeatureType;
+
+import com.esotericsoftware.kryo.Kryo;
+
+/**
+ * Registers the models shuffled by the join job, so that Kryo writes a class id rather than the class name with every
+ * record.
+ */
+public class JoinKryoRegistrator implements KryoRegistrator {
+
+  @Override
+  public void registerClasses(Kryo kryo) {
+    kryo.register(DonorSample.class);
+    kryo.register(SsmPrimaryFeatureType.class);
+    kryo.register(SsmMetaFeatureType.class);
+    kryo.register(SsmOccurrence.class);
+    kryo.register(Consequence.class);
+    kryo.register(Observation.class);
+    kryo.register(SgvConsequence.class);
+
+    // Collections of the models above
+    kryo.register(ArrayList.class);
+    kryo.register(HashSet.class);
+  }
+
+}
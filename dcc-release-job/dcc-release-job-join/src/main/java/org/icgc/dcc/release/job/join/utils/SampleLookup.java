@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.utils;
+
+import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
+
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.function.Function;
+import org.apache.spark.broadcast.Broadcast;
+import org.icgc.dcc.release.core.task.TaskContext;
+
+import scala.Tuple2;
+
+import com.google.common.base.Optional;
+
+/**
+ * Per-project reference data keyed by {@code analyzed_sample_id}.
+ * <p>
+ * Projects with small reference data are broadcast and looked up where the records are. Projects with big reference
+ * data are kept as partitioned RDDs and joined with the records by sample ID, so the driver never holds a full release
+ * worth of samples.
+ */
+@RequiredArgsConstructor
+public class SampleLookup<V> {
+
+  /**
+   * Dependencies.
+   */
+  @NonNull
+  private final Broadcast<Map<String, Map<String, V>>> broadcast;
+  @NonNull
+  private final Map<String, JavaPairRDD<String, V>> partitioned;
+
+  /**
+   * Pairs each of the {@code records} with the entry of the sample ID returned by {@code sampleIdFunction} for the
+   * project of the {@code taskContext}.
+   */
+  public <T> JavaRDD<Tuple2<T, Optional<V>>> join(@NonNull TaskContext taskContext, @NonNull JavaRDD<T> records,
+      @NonNull Function<T, String> sampleIdFunction) {
+    val projectName = resolveProjectName(taskContext);
+
+    val rdd = partitioned.get(projectName);
+    if (rdd != null) {
+      return records
+          .keyBy(sampleIdFunction)
+          .leftOuterJoin(rdd)
+          .values();
+    }
+
+    // Capture the broadcast only, the lookup itself is not serializable
+    val entries = broadcast;
+    return records.map(record -> {
+      Map<String, V> projectEntries = entries.value().get(projectName);
+      V value = projectEntries == null ? null : projectEntries.get(sampleIdFunction.call(record));
+
+      return new Tuple2<T, Optional<V>>(record, Optional.fromNullable(value));
+    });
+  }
+
+  public void destroy() {
+    for (val rdd : partitioned.values()) {
+      rdd.unpersist(false);
+    }
+
+    broadcast.destroy(false);
+  }
+
+}
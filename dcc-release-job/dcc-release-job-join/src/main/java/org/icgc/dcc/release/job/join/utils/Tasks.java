@@ -17,38 +17,30 @@
  */
 package org.icgc.dcc.release.job.join.utils;
 
-import static java.util.Collections.emptyMap;
 import static lombok.AccessLevel.PRIVATE;
-import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
-
-import java.util.Map;
 
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
+import lombok.SneakyThrows;
 import lombok.val;
 
-import org.apache.spark.broadcast.Broadcast;
+import org.apache.hadoop.fs.Path;
+import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.TaskContext;
-import org.icgc.dcc.release.job.join.model.DonorSample;
 
 @NoArgsConstructor(access = PRIVATE)
 public class Tasks {
 
+  /**
+   * Returns the size in bytes of the {@code fileType} input of the project of the {@code taskContext}.
+   */
   @NonNull
-  public static Map<String, DonorSample> resolveDonorSamples(TaskContext taskContext,
-      Broadcast<Map<String, Map<String, DonorSample>>> broadcast) {
-    val projectName = resolveProjectName(taskContext);
-    val result = broadcast.value().get(projectName);
-
-    return result == null ? emptyMap() : result;
-  }
-
-  public static Map<String, String> getSampleSurrogateSampleIds(TaskContext taskContext,
-      Broadcast<Map<String, Map<String, String>>> broadcast) {
-    val projectName = resolveProjectName(taskContext);
-    val result = broadcast.value().get(projectName);
+  @SneakyThrows
+  public static long getInputSize(TaskContext taskContext, FileType fileType) {
+    val fileSystem = taskContext.getFileSystem();
+    val path = new Path(taskContext.getPath(fileType));
 
-    return result == null ? emptyMap() : result;
+    return fileSystem.exists(path) ? fileSystem.getContentSummary(path).getLength() : 0L;
   }
 
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
+import static org.icgc.dcc.release.job.join.core.JoinStrategy.BROADCAST_HASH;
+import static org.icgc.dcc.release.job.join.core.JoinStrategy.SHUFFLE_HASH;
+import static org.icgc.dcc.release.job.join.core.JoinStrategy.SORT_MERGE;
+
+import java.util.List;
+
+import lombok.val;
+
+import org.apache.spark.api.java.JavaPairRDD;
+import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.test.job.AbstractJobTest;
+import org.junit.Test;
+
+import scala.Tuple2;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+public class JoinPlannerTest extends AbstractJobTest {
+
+  private static final String PROJECT_NAME = "BRCA-UK";
+
+  JoinPlanner planner = new JoinPlanner(100, 10);
+
+  @Test
+  public void testPlan() {
+    assertThat(planner.plan(0, 1)).isEqualTo(BROADCAST_HASH);
+    assertThat(planner.plan(100, 1)).isEqualTo(BROADCAST_HASH);
+    assertThat(planner.plan(101, 11)).isEqualTo(SHUFFLE_HASH);
+    assertThat(planner.plan(101, 10)).isEqualTo(SORT_MERGE);
+  }
+
+  @Test
+  public void testJoin() {
+    for (val strategy : JoinStrategy.values()) {
+      val result = join(strategy);
+
+      assertThat(result).as(strategy.name()).containsOnly(
+          tuple("p1", Optional.of("m1")),
+          tuple("p2", Optional.of("m1")),
+          tuple("p3", Optional.of("m3")),
+          tuple("p4", Optional.<String> absent()),
+          tuple("p5", Optional.<String> absent()));
+    }
+  }
+
+  private List<Tuple2<String, Optional<String>>> join(JoinStrategy strategy) {
+    JavaPairRDD<String, String> streamed = sparkContext.parallelizePairs(ImmutableList.of(
+        tuple("k1", "p1"),
+        tuple("k1", "p2"),
+        tuple("k3", "p3"),
+        tuple("k4", "p4"),
+        tuple((String) null, "p5")), 2);
+    JavaPairRDD<String, String> build = sparkContext.parallelizePairs(ImmutableList.of(
+        tuple("k1", "m1"),
+        tuple("k2", "m2"),
+        tuple("k3", "m3"),
+        tuple((String) null, "m0")), 3);
+
+    return JoinPlanner.join(createTaskContext(JobType.JOIN, PROJECT_NAME), strategy, streamed, build).collect();
+  }
+
+}
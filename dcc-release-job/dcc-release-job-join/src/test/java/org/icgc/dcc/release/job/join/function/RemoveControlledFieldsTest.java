@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.val;
+
+import org.icgc.dcc.release.job.join.model.SsmPrimaryFeatureType;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class RemoveControlledFieldsTest {
+
+  @Test
+  public void testCall() throws Exception {
+    val function = new RemoveControlledFields(ImmutableList.of("control_genotype", "mutant_allele_read_count", "_study"));
+
+    val primary = new SsmPrimaryFeatureType();
+    primary.setObservation_id("1");
+    primary.setControl_genotype("A/A");
+    primary.setMutant_allele_read_count(10);
+    primary.set_study("PCAWG");
+
+    val result = function.call(primary);
+    assertThat(result).isSameAs(primary);
+    assertThat(result.getObservation_id()).isEqualTo("1");
+    assertThat(result.getControl_genotype()).isNull();
+    assertThat(result.getMutant_allele_read_count()).isNull();
+    assertThat(result.get_study()).isNull();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownField() {
+    new RemoveControlledFields(ImmutableList.of("unknown_field"));
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.val;
+
+import org.apache.spark.ShuffleDependency;
+import org.apache.spark.rdd.RDD;
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.test.function.DonorJsonComparator;
+import org.icgc.dcc.release.test.job.AbstractJobTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import scala.collection.JavaConversions;
+
+import com.google.common.collect.Sets;
+
+public class ClinicalJoinTaskTest extends AbstractJobTest {
+
+  private static final String PROJECT_NAME = "BRCA-UK";
+
+  /**
+   * Shuffles of the raw sequence data {@code distinct()}, the sample and raw sequence data join, the specimen and
+   * sample co-group and the single donor level grouping.
+   */
+  private static final int EXPECTED_SHUFFLES = 6;
+
+  ClinicalJoinTask task;
+
+  TaskContext taskContext;
+
+  @Before
+  @Override
+  public void setUp() {
+    super.setUp();
+    given(new File(INPUT_TEST_FIXTURES_DIR));
+    taskContext = createTaskContext(JobType.JOIN, PROJECT_NAME);
+
+    val resolveRawSequenceDataTask = new ResolveRawSequenceDataTask();
+    resolveRawSequenceDataTask.execute(taskContext);
+    val rawSequenceData = resolveRawSequenceDataTask.getProjectRawSequenceData();
+
+    task = new ClinicalJoinTask(taskContext.getSparkContext().broadcast(rawSequenceData));
+  }
+
+  @Test
+  public void testExecute() {
+    task.execute(taskContext);
+
+    verifyResult(Optional.of(PROJECT_NAME), FileType.CLINICAL, new DonorJsonComparator());
+  }
+
+  @Test
+  public void testShuffleCount() {
+    val output = task.join(taskContext);
+
+    assertThat(countShuffles(output.rdd(), Sets.newHashSet())).isEqualTo(EXPECTED_SHUFFLES);
+  }
+
+  private static int countShuffles(RDD<?> rdd, Set<Integer> shuffleIds) {
+    for (val dependency : JavaConversions.seqAsJavaList(rdd.dependencies())) {
+      if (dependency instanceof ShuffleDependency) {
+        shuffleIds.add(((ShuffleDependency<?, ?, ?>) dependency).shuffleId());
+      }
+
+      countShuffles(dependency.rdd(), shuffleIds);
+    }
+
+    return shuffleIds.size();
+  }
+
+}
@@ -21,6 +21,7 @@ import static java.util.Collections.emptyMap;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
+import java.util.Map;
 
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.JobType;
 import org.icgc.dcc.release.core.task.TaskContext;
+import org.icgc.dcc.release.job.join.core.JoinPlanner;
+import org.icgc.dcc.release.job.join.utils.SampleLookup;
 import org.icgc.dcc.release.test.job.AbstractJobTest;
 import org.junit.Before;
 import org.junit.Test;
@@ -47,9 +50,8 @@ public class SgvJoinTaskTest extends AbstractJobTest {
     super.setUp();
     given(new File(INPUT_TEST_FIXTURES_DIR));
     taskContext = createTaskContext(JobType.JOIN, PROJECT_NAME);
-    val sparkContext = taskContext.getSparkContext();
 
-    task = new SgvJoinTask(sparkContext.broadcast(emptyMap()), sparkContext.broadcast(emptyMap()));
+    task = new SgvJoinTask(emptyLookup(), emptyLookup(), new JoinPlanner(Long.MAX_VALUE, Long.MAX_VALUE));
   }
 
   @Test
@@ -60,4 +62,10 @@ public class SgvJoinTaskTest extends AbstractJobTest {
     assertThat(sgv).isNotEmpty();
   }
 
+  private <V> SampleLookup<V> emptyLookup() {
+    Map<String, Map<String, V>> entries = emptyMap();
+
+    return new SampleLookup<>(sparkContext.broadcast(entries), emptyMap());
+  }
+
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.utils;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.core.util.JacksonFactory.MAPPER;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+import org.icgc.dcc.release.core.util.CustomKryoRegistrator;
+import org.icgc.dcc.release.core.util.SmileSerializer;
+import org.icgc.dcc.release.job.join.model.SsmPrimaryFeatureType;
+import org.junit.Test;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Measures the bytes Kryo writes for the join input fixtures, record by record as a shuffle does.
+ */
+@Slf4j
+public class JoinKryoRegistratorTest {
+
+  private static final File INPUT_TEST_FIXTURES_DIR = new File("src/test/resources/fixtures/input");
+  private static final String SSM_P_DIR = "ssm_p_masked_surrogate_key";
+
+  @Test
+  public void testObjectNodeShuffleBytes() {
+    val smileKryo = new Kryo();
+    smileKryo.register(ObjectNode.class, new SmileSerializer());
+    val kryo = createKryo();
+
+    long totalSmileBytes = 0;
+    long totalBytes = 0;
+    for (val dir : INPUT_TEST_FIXTURES_DIR.listFiles(File::isDirectory)) {
+      val records = readRecords(dir);
+      val smileBytes = serialize(smileKryo, records);
+      val bytes = serialize(kryo, records);
+      log.info("{}: {} records, {} bytes with Smile, {} bytes with field name ids", dir.getName(), records.size(),
+          smileBytes, bytes);
+
+      totalSmileBytes += smileBytes;
+      totalBytes += bytes;
+    }
+
+    log.info("Total: {} bytes with Smile, {} bytes with field name ids ({}%)", totalSmileBytes, totalBytes,
+        100 * totalBytes / totalSmileBytes);
+    assertThat(totalBytes).isLessThan(totalSmileBytes);
+  }
+
+  @Test
+  public void testObjectNodeRoundTrip() {
+    val kryo = createKryo();
+    val records = readRecords(new File(INPUT_TEST_FIXTURES_DIR, SSM_P_DIR));
+
+    assertThat(roundTrip(kryo, records)).isEqualTo(records);
+  }
+
+  @Test
+  public void testModelShuffleBytes() {
+    val records = ImmutableList.<Object> builder();
+    for (val record : readRecords(new File(INPUT_TEST_FIXTURES_DIR, SSM_P_DIR))) {
+      records.add(toPrimary(record));
+    }
+
+    val unregisteredBytes = serialize(new Kryo(), records.build());
+    val bytes = serialize(createKryo(), records.build());
+    log.info("{}: {} bytes unregistered, {} bytes registered", SsmPrimaryFeatureType.class.getSimpleName(),
+        unregisteredBytes, bytes);
+
+    assertThat(bytes).isLessThan(unregisteredBytes);
+    assertThat(roundTrip(createKryo(), records.build())).isEqualTo(records.build());
+  }
+
+  private static Kryo createKryo() {
+    val kryo = new Kryo();
+    new CustomKryoRegistrator().registerClasses(kryo);
+    new JoinKryoRegistrator().registerClasses(kryo);
+
+    return kryo;
+  }
+
+  private static long serialize(Kryo kryo, List<?> records) {
+    val output = new Output(4096, -1);
+    long bytes = 0;
+    for (val record : records) {
+      output.clear();
+      kryo.writeClassAndObject(output, record);
+      bytes += output.position();
+    }
+
+    return bytes;
+  }
+
+  private static List<Object> roundTrip(Kryo kryo, List<?> records) {
+    val output = new Output(4096, -1);
+    for (val record : records) {
+      kryo.writeClassAndObject(output, record);
+    }
+
+    val input = new Input(output.toBytes());
+    val result = ImmutableList.builder();
+    for (int i = 0; i < records.size(); i++) {
+      result.add(kryo.readClassAndObject(input));
+    }
+
+    return result.build();
+  }
+
+  @SneakyThrows
+  private static List<ObjectNode> readRecords(File dir) {
+    val records = ImmutableList.<ObjectNode> builder();
+    for (val projectDir : dir.listFiles(File::isDirectory)) {
+      for (val file : projectDir.listFiles(File::isFile)) {
+        for (val line : Files.readAllLines(file.toPath(), UTF_8)) {
+          if (!line.isEmpty()) {
+            records.add((ObjectNode) MAPPER.readTree(line));
+          }
+        }
+      }
+    }
+
+    return records.build();
+  }
+
+  @SneakyThrows
+  private static SsmPrimaryFeatureType toPrimary(ObjectNode record) {
+    return MAPPER.treeToValue(record, SsmPrimaryFeatureType.class);
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.join.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.release.core.util.Tuples.tuple;
+
+import java.util.Map;
+
+import lombok.val;
+
+import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.test.job.AbstractJobTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
+public class SampleLookupTest extends AbstractJobTest {
+
+  private static final String SMALL_PROJECT_NAME = "SMALL";
+  private static final String BIG_PROJECT_NAME = "BIG";
+
+  SampleLookup<String> lookup;
+
+  @Before
+  @Override
+  public void setUp() {
+    super.setUp();
+    Map<String, Map<String, String>> broadcastEntries = ImmutableMap.of(
+        SMALL_PROJECT_NAME, ImmutableMap.of("ASID1", "SA1", "ASID2", "SA2"));
+    val partitionedEntries = sparkContext.parallelizePairs(ImmutableList.of(
+        tuple("ASID3", "SA3"),
+        tuple("ASID4", "SA4")));
+
+    lookup = new SampleLookup<>(sparkContext.broadcast(broadcastEntries),
+        ImmutableMap.of(BIG_PROJECT_NAME, partitionedEntries));
+  }
+
+  @Test
+  public void testJoinBroadcast() {
+    val result = join(SMALL_PROJECT_NAME, "ASID1", "ASID5");
+
+    assertThat(result).isEqualTo(ImmutableMap.of("ASID1", Optional.of("SA1"), "ASID5", Optional.absent()));
+  }
+
+  @Test
+  public void testJoinPartitioned() {
+    val result = join(BIG_PROJECT_NAME, "ASID3", "ASID5");
+
+    assertThat(result).isEqualTo(ImmutableMap.of("ASID3", Optional.of("SA3"), "ASID5", Optional.absent()));
+  }
+
+  @Test
+  public void testJoinUnknownProject() {
+    val result = join("UNKNOWN", "ASID1");
+
+    assertThat(result).isEqualTo(ImmutableMap.of("ASID1", Optional.absent()));
+  }
+
+  private Map<String, Optional<String>> join(String projectName, String... sampleIds) {
+    val taskContext = createTaskContext(JobType.JOIN, projectName);
+    val records = sparkContext.parallelize(ImmutableList.copyOf(sampleIds));
+
+    val result = Maps.<String, Optional<String>> newHashMap();
+    for (val tuple : lookup.join(taskContext, records, sampleId -> sampleId).collect()) {
+      result.put(tuple._1, tuple._2);
+    }
+
+    return result;
+  }
+
+}
@@ -17,6 +17,8 @@
  */
 package org.icgc.dcc.release.job.mask.core;
 
+import java.util.Set;
+
 import lombok.NonNull;
 
 import org.icgc.dcc.release.core.job.FileType;
@@ -27,6 +29,8 @@ import org.icgc.dcc.release.job.mask.task.SgvPMaskingTask;
 import org.icgc.dcc.release.job.mask.task.SsmPMaskingTask;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableSet;
+
 @Component
 public class MaskJob extends GenericJob {
 
@@ -35,6 +39,16 @@ public class MaskJob extends GenericJob {
     return JobType.MASK;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return ImmutableSet.of(FileType.SSM_P, FileType.SGV_P);
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.of(FileType.SSM_P_MASKED, FileType.SGV_P_MASKED);
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     clean(jobContext);
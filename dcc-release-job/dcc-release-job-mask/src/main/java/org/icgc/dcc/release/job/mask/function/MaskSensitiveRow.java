@@ -20,57 +20,89 @@ package org.icgc.dcc.release.job.mask.function;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MARKING;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_OBSERVATION_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_CONTROL_GENOTYPE;
+import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE;
 import static org.icgc.dcc.common.core.model.FieldNames.SubmissionFieldNames.SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE;
 import static org.icgc.dcc.common.core.model.Marking.CONTROLLED;
+import static org.icgc.dcc.common.core.model.Marking.MASKED;
 import static org.icgc.dcc.common.core.model.Marking.OPEN;
 
+import java.util.Collections;
 import java.util.Set;
+import java.util.UUID;
 
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-import org.apache.spark.api.java.function.Function;
-import org.icgc.dcc.common.core.model.Marking;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.icgc.dcc.common.core.model.SpecialValue;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
-
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Masks the {@code ssm_p} observations in a single pass over each row.
+ * <p>
+ * Every row gets a surrogate observation id, its marking and its mutation. A sensitive row (i.e. one revealing control
+ * or tumour alleles other than the reference and the mutated to alleles) is marked as controlled and followed by a
+ * masked counterpart (see
+ * https://wiki.oicr.on.ca/display/DCCSOFT/Data+Normalizer+Component?focusedCommentId=53182773#comment-53182773).
+ * <p>
+ * The counterpart is not a deep copy: it shares the immutable values of the row and only holds new values for the
+ * masked fields.
+ */
 @Slf4j
-public class MarkSensitiveRow implements Function<ObjectNode, ObjectNode> {
+public class MaskSensitiveRow implements FlatMapFunction<ObjectNode, ObjectNode> {
 
+  /**
+   * Constants.
+   */
   private static final Splitter ALLELES_SPLITTER = Splitter.on("/");
+  private static final Joiner MUTATION_JOINER = Joiner.on(">");
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
+  public Iterable<ObjectNode> call(ObjectNode row) throws Exception {
     val referenceGenomeAllele = row.get(SUBMISSION_OBSERVATION_REFERENCE_GENOME_ALLELE).textValue();
     val controlGenotype = row.get(SUBMISSION_OBSERVATION_CONTROL_GENOTYPE).textValue();
     val tumourGenotype = row.get(SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE).textValue();
+    val mutatedFromAllele = row.get(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE).textValue();
     val mutatedToAllele = row.get(SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE).textValue();
 
-    // Mark if applicable
-    final Marking masking;
-    if (!matchesAllControlAlleles(referenceGenomeAllele, controlGenotype)
-        || !matchesAllTumourAllelesButTo(referenceGenomeAllele, tumourGenotype, mutatedToAllele)) {
-
-      log.debug("Marking sensitive row: '{}'", row); // Should be rare enough
-      masking = CONTROLLED;
+    val sensitive = !matchesAllControlAlleles(referenceGenomeAllele, controlGenotype)
+        || !matchesAllTumourAllelesButTo(referenceGenomeAllele, tumourGenotype, mutatedToAllele);
 
-    } else {
-      log.debug("Marking open-access row: '{}'", row);
-      masking = OPEN;
+    row.put(NORMALIZER_OBSERVATION_ID, generateId());
+    row.put(NORMALIZER_MARKING, (sensitive ? CONTROLLED : OPEN).getTupleValue());
+    row.put(NORMALIZER_MUTATION, MUTATION_JOINER.join(mutatedFromAllele, mutatedToAllele));
+    if (!sensitive) {
+      return Collections.singletonList(row);
     }
 
-    row.put(NORMALIZER_MARKING, masking.getTupleValue());
+    log.debug("Masking sensitive row: '{}'", row); // Should be rare enough
+    val mask = row.objectNode();
+    row.fields().forEachRemaining(field -> mask.set(field.getKey(), share(field.getValue())));
 
-    return row;
+    // Empty the two genotype fields
+    mask.put(SUBMISSION_OBSERVATION_CONTROL_GENOTYPE, (String) SpecialValue.NO_VALUE);
+    mask.put(SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE, (String) SpecialValue.NO_VALUE);
+
+    mask.put(SUBMISSION_OBSERVATION_MUTATED_FROM_ALLELE, referenceGenomeAllele);
+    mask.put(NORMALIZER_MARKING, MASKED.getTupleValue());
+    mask.put(NORMALIZER_OBSERVATION_ID, generateId());
+    mask.put(NORMALIZER_MUTATION, MUTATION_JOINER.join(referenceGenomeAllele, mutatedToAllele));
+
+    return ImmutableList.of(row, mask);
   }
 
-  private boolean matchesAllControlAlleles(String referenceGenomeAllele, String controlGenotype) {
-    val controlAlleles = getUniqueAlleles(controlGenotype);
-    for (val controlAllele : controlAlleles) {
+  private static boolean matchesAllControlAlleles(String referenceGenomeAllele, String controlGenotype) {
+    for (val controlAllele : getUniqueAlleles(controlGenotype)) {
       if (!referenceGenomeAllele.equals(controlAllele)) {
         return false;
       }
@@ -79,17 +111,18 @@ public class MarkSensitiveRow implements Function<ObjectNode, ObjectNode> {
     return true;
   }
 
-  private boolean matchesAllTumourAllelesButTo(String referenceGenomeAllele, String tumourGenotype,
+  private static boolean matchesAllTumourAllelesButTo(String referenceGenomeAllele, String tumourGenotype,
       String mutatedToAllele) {
     for (val tumourAllele : getTumourAllelesMinusToAllele(tumourGenotype, mutatedToAllele)) {
       if (!referenceGenomeAllele.equals(tumourAllele)) {
         return false;
       }
     }
+
     return true;
   }
 
-  private Set<String> getTumourAllelesMinusToAllele(String tumourGenotype, String mutatedToAllele) {
+  private static Set<String> getTumourAllelesMinusToAllele(String tumourGenotype, String mutatedToAllele) {
     val alleles = getUniqueAlleles(tumourGenotype);
     val removed = alleles.remove(mutatedToAllele);
     checkState(
@@ -97,11 +130,23 @@ public class MarkSensitiveRow implements Function<ObjectNode, ObjectNode> {
         "'%s' ('%s') is expected to be in '%s' ('%s') as per primary validation rules",
         mutatedToAllele, SUBMISSION_OBSERVATION_MUTATED_TO_ALLELE, tumourGenotype,
         SUBMISSION_OBSERVATION_TUMOUR_GENOTYPE);
+
     return alleles;
   }
 
-  private static Set<String> getUniqueAlleles(String controlGenotype) {
-    return newLinkedHashSet(ALLELES_SPLITTER.split(controlGenotype));
+  private static Set<String> getUniqueAlleles(String genotype) {
+    return newLinkedHashSet(ALLELES_SPLITTER.split(genotype));
+  }
+
+  /**
+   * Value nodes are immutable and can be shared between the row and its counterpart, containers cannot.
+   */
+  private static JsonNode share(JsonNode value) {
+    return value.isContainerNode() ? value.deepCopy() : value;
+  }
+
+  private static String generateId() {
+    return UUID.randomUUID().toString();
   }
 
-}
\ No newline at end of file
+}
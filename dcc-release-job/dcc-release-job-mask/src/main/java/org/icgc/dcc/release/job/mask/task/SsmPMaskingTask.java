@@ -20,10 +20,7 @@ package org.icgc.dcc.release.job.mask.task;
 import org.apache.spark.api.java.JavaRDD;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericProcessTask;
-import org.icgc.dcc.release.job.mask.function.AddSurrogateObservationId;
-import org.icgc.dcc.release.job.mask.function.GenerateMaskedRow;
-import org.icgc.dcc.release.job.mask.function.MarkSensitiveRow;
-import org.icgc.dcc.release.job.mask.function.RebuildMutation;
+import org.icgc.dcc.release.job.mask.function.MaskSensitiveRow;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
@@ -35,11 +32,8 @@ public class SsmPMaskingTask extends GenericProcessTask {
 
   @Override
   protected JavaRDD<ObjectNode> process(JavaRDD<ObjectNode> input) {
-    return input
-        .map(new AddSurrogateObservationId())
-        .map(new MarkSensitiveRow())
-        .flatMap(new GenerateMaskedRow())
-        .map(new RebuildMutation());
+    // Surrogate ids, markings, masked counterparts and mutations are generated in a single pass
+    return input.flatMap(new MaskSensitiveRow());
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.mask.function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MARKING;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_MUTATION;
+import static org.icgc.dcc.common.core.model.FieldNames.NormalizerFieldNames.NORMALIZER_OBSERVATION_ID;
+import static org.icgc.dcc.release.test.util.TestJsonNodes.$;
+
+import lombok.val;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class MaskSensitiveRowTest {
+
+  MaskSensitiveRow maskSensitiveRow = new MaskSensitiveRow();
+
+  @Test
+  public void testOpen() throws Exception {
+    val row = $("{reference_genome_allele:'G',control_genotype:'G/G',mutated_from_allele:'G',mutated_to_allele:'A',"
+        + "tumour_genotype:'G/A'}");
+
+    val rows = ImmutableList.copyOf(maskSensitiveRow.call(row));
+
+    assertThat(rows).hasSize(1);
+    assertThat(rows.get(0).get(NORMALIZER_MARKING).textValue()).isEqualTo("OPEN");
+    assertThat(rows.get(0).get(NORMALIZER_MUTATION).textValue()).isEqualTo("G>A");
+    assertThat(rows.get(0).get(NORMALIZER_OBSERVATION_ID).textValue()).isNotEmpty();
+  }
+
+  @Test
+  public void testControlled() throws Exception {
+    val row = $("{analysis_id:'a1',reference_genome_allele:'G',control_genotype:'G/T',mutated_from_allele:'T',"
+        + "mutated_to_allele:'A',tumour_genotype:'G/A',consequence:[{gene_affected:'g1'}]}");
+
+    val rows = ImmutableList.copyOf(maskSensitiveRow.call(row));
+
+    assertThat(rows).hasSize(2);
+    val controlled = rows.get(0);
+    val masked = rows.get(1);
+    assertThat(controlled.get(NORMALIZER_MARKING).textValue()).isEqualTo("CONTROLLED");
+    assertThat(controlled.get("control_genotype").textValue()).isEqualTo("G/T");
+    assertThat(controlled.get(NORMALIZER_MUTATION).textValue()).isEqualTo("T>A");
+
+    assertThat(masked.get(NORMALIZER_MARKING).textValue()).isEqualTo("MASKED");
+    assertThat(masked.get("control_genotype").isNull()).isTrue();
+    assertThat(masked.get("tumour_genotype").isNull()).isTrue();
+    assertThat(masked.get("mutated_from_allele").textValue()).isEqualTo("G");
+    assertThat(masked.get(NORMALIZER_MUTATION).textValue()).isEqualTo("G>A");
+    assertThat(masked.get(NORMALIZER_OBSERVATION_ID)).isNotEqualTo(controlled.get(NORMALIZER_OBSERVATION_ID));
+
+    // Unmasked values are shared, containers are not
+    assertThat(masked.get("analysis_id")).isSameAs(controlled.get("analysis_id"));
+    assertThat(masked.get("consequence")).isEqualTo(controlled.get("consequence"));
+    assertThat(masked.get("consequence")).isNotSameAs(controlled.get("consequence"));
+    assertThat(ImmutableList.copyOf(masked.fieldNames())).isEqualTo(ImmutableList.copyOf(controlled.fieldNames()));
+  }
+
+}
@@ -18,6 +18,7 @@
 package org.icgc.dcc.release.job.stage.core;
 
 import java.util.List;
+import java.util.Set;
 
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.common.core.model.ValueType;
+import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.job.Job;
 import org.icgc.dcc.release.core.job.JobContext;
 import org.icgc.dcc.release.core.job.JobType;
@@ -39,6 +41,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Table;
 
 @Slf4j
@@ -57,6 +60,17 @@ public class StageJob implements Job {
     return JobType.STAGE;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return ImmutableSet.of();
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    // Staging starts by deleting the whole working directory
+    return ImmutableSet.copyOf(FileType.values());
+  }
+
   @Override
   public void execute(@NonNull JobContext jobContext) {
     clean(jobContext);
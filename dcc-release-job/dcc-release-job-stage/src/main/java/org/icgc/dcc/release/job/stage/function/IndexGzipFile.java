@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015 The Ontario Institute for Cancer Research. All rights reserved.                             
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
  *                                                                                                               
  * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
  * You should have received a copy of the GNU General Public License along with                                  
@@ -17,47 +17,35 @@
  */
 package org.icgc.dcc.release.job.stage.function;
 
-import java.util.Map;
-
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
-import org.apache.spark.api.java.function.Function;
-import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
-
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.collect.Maps;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.api.java.function.VoidFunction;
+import org.icgc.dcc.release.core.hadoop.GzipIndexes;
 
+/**
+ * Builds and caches the {@link org.icgc.dcc.release.core.hadoop.GzipIndex} of a submission file.
+ */
 @RequiredArgsConstructor
-public class TranslateCodeListTerm implements Function<ObjectNode, ObjectNode> {
+public class IndexGzipFile implements VoidFunction<String> {
 
+  /**
+   * Configuration.
+   */
   @NonNull
-  private final Map<String, Map<String, String>> fieldTerms = Maps.newHashMap();
-
-  public TranslateCodeListTerm(@NonNull SubmissionFileSchema schema) {
-    for (val field : schema.getFields()) {
-      if (field.getTerms() != null) {
-        fieldTerms.put(field.getName(), field.getTerms());
-      }
-    }
-  }
+  private final String indexDir;
+  private final long splitSize;
 
   @Override
-  public ObjectNode call(ObjectNode row) throws Exception {
-    for (val entry : fieldTerms.entrySet()) {
-      val fieldName = entry.getKey();
-      val terms = entry.getValue();
-
-      val originalValue = row.get(fieldName).textValue();
-      // Translate term code to value
-      if (originalValue != null && terms.containsKey(originalValue)) {
-        val translated = terms.get(originalValue);
-        row.put(fieldName, translated);
-      }
-    }
+  public void call(String file) throws Exception {
+    val path = new Path(file);
+    val fileSystem = path.getFileSystem(new Configuration());
 
-    return row;
+    // A first member larger than a split leaves nothing worth splitting in a plain gzip file
+    GzipIndexes.writeIndex(fileSystem, new Path(indexDir), fileSystem.getFileStatus(path), splitSize);
   }
 
-}
\ No newline at end of file
+}
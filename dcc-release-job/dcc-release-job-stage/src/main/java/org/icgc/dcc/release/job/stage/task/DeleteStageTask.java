@@ -17,11 +17,9 @@
  */
 package org.icgc.dcc.release.job.stage.task;
 
-import lombok.SneakyThrows;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
-import org.apache.hadoop.fs.Path;
 import org.icgc.dcc.release.core.task.Task;
 import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.core.task.TaskType;
@@ -35,13 +33,11 @@ public class DeleteStageTask implements Task {
   }
 
   @Override
-  @SneakyThrows
   public void execute(TaskContext taskContext) {
     val stagingDir = taskContext.getJobContext().getWorkingDir();
-    val fileSystem = taskContext.getFileSystem();
 
     log.info("Deleting staging dir '{}'", stagingDir);
-    fileSystem.delete(new Path(stagingDir), true);
+    taskContext.delete(stagingDir);
   }
 
 }
@@ -18,6 +18,8 @@
 package org.icgc.dcc.release.job.stage.task;
 
 import static org.icgc.dcc.common.core.util.Joiners.COMMA;
+import static org.icgc.dcc.release.core.hadoop.IndexedGzipInputFormat.DEFAULT_SPLIT_SIZE;
+import static org.icgc.dcc.release.core.hadoop.IndexedGzipInputFormat.SPLIT_SIZE_PROPERTY;
 
 import java.util.List;
 
@@ -28,27 +30,34 @@ import nl.basjes.hadoop.io.compress.SplittableGzipCodec;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
 import org.apache.spark.api.java.JavaRDD;
-import org.icgc.dcc.release.core.function.TranslateMissingCode;
+import org.icgc.dcc.release.core.hadoop.GzipIndexes;
+import org.icgc.dcc.release.core.hadoop.IndexedGzipInputFormat;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
 import org.icgc.dcc.release.core.task.GenericTask;
+import org.icgc.dcc.release.core.task.TaskCheckpoints;
 import org.icgc.dcc.release.core.task.TaskContext;
 import org.icgc.dcc.release.core.task.TaskType;
 import org.icgc.dcc.release.core.util.Configurations;
 import org.icgc.dcc.release.core.util.JavaRDDs;
 import org.icgc.dcc.release.core.util.Partitions;
-import org.icgc.dcc.release.job.stage.function.CleanSensitiveFields;
-import org.icgc.dcc.release.job.stage.function.ConvertValueType;
+import org.icgc.dcc.release.job.stage.function.IndexGzipFile;
 import org.icgc.dcc.release.job.stage.function.ParseFileSplit;
-import org.icgc.dcc.release.job.stage.function.TranslateCodeListTerm;
-import org.icgc.dcc.release.job.stage.function.TrimValues;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Lists;
 
 @Slf4j
 public class StageFileSchemaProjectTask extends GenericTask {
 
+  /**
+   * Constants.
+   */
+  private static final long LARGE_FILE_LENGTH = 128L * 1024L * 1024L;
+  private static final String GZIP_INDEX_DIR_NAME = "gzip";
+
   /**
    * Configuration.
    */
@@ -70,26 +79,32 @@ public class StageFileSchemaProjectTask extends GenericTask {
 
   @Override
   public void execute(TaskContext taskContext) {
+    // Rows are cleaned, translated and typed while being parsed
     val input = readInput(taskContext);
-    val processed = transform(input);
 
-    writeOutput(processed, getOutputPath(taskContext), taskContext.isCompressOutput());
+    val outputPath = getOutputPath(taskContext);
+    taskContext.addOutput(outputPath);
+    writeOutput(input, outputPath, taskContext.isCompressOutput());
   }
 
   private JavaRDD<ObjectNode> readInput(TaskContext taskContext) {
     val sparkContext = taskContext.getSparkContext();
     val paths = formatInputPaths(schemaProjectPaths);
+    schemaProjectPaths.forEach(path -> taskContext.addInput(path.toString()));
 
     val conf = createJobConf(taskContext);
 
     val minLength = getMinInputFileLength(taskContext.getFileSystem());
-    val large = minLength > 128L * 1024L * 1024L;
+    val large = minLength > LARGE_FILE_LENGTH;
     if (large) {
       // Add splittable gzip codec
       Configurations.addCompressionCodec(conf, SplittableGzipCodec.class);
     }
 
-    val input = JavaRDDs.textFile(sparkContext, paths, conf);
+    // Large multi-member gzip files are split at member boundaries whatever the size of the other files
+    indexGzipFiles(taskContext, conf);
+
+    val input = JavaRDDs.indexedTextFile(sparkContext, paths, conf);
 
     log.info("Input paths: {}", paths);
     JavaRDDs.logPartitions(log, input.partitions());
@@ -97,6 +112,41 @@ public class StageFileSchemaProjectTask extends GenericTask {
     return input.mapPartitionsWithInputSplit(new ParseFileSplit(schema), false);
   }
 
+  /**
+   * Pre-pass building the missing gzip indexes of the large input files, one Spark task per file. Plain single-member
+   * files are only read up to the split size.
+   */
+  @SneakyThrows
+  private void indexGzipFiles(TaskContext taskContext, JobConf conf) {
+    val fileSystem = taskContext.getFileSystem();
+    val indexDir = getGzipIndexDir(taskContext);
+
+    boolean indexable = false;
+    val unindexed = Lists.<String> newArrayList();
+    for (val path : schemaProjectPaths) {
+      val status = fileSystem.getFileStatus(path);
+      if (isGzip(path) && status.getLen() > LARGE_FILE_LENGTH) {
+        indexable = true;
+        if (!GzipIndexes.exists(fileSystem, indexDir, status)) {
+          unindexed.add(path.toString());
+        }
+      }
+    }
+
+    if (!indexable) {
+      return;
+    }
+
+    if (!unindexed.isEmpty()) {
+      log.info("Indexing gzip files: {}", unindexed);
+      val sparkContext = taskContext.getSparkContext();
+      val splitSize = conf.getLong(SPLIT_SIZE_PROPERTY, DEFAULT_SPLIT_SIZE);
+      sparkContext.parallelize(unindexed, unindexed.size()).foreach(new IndexGzipFile(indexDir.toString(), splitSize));
+    }
+
+    conf.set(IndexedGzipInputFormat.INDEX_DIR_PROPERTY, indexDir.toString());
+  }
+
   @SneakyThrows
   private long getMinInputFileLength(FileSystem fileSystem) {
     long minLength = Long.MAX_VALUE;
@@ -110,15 +160,6 @@ public class StageFileSchemaProjectTask extends GenericTask {
     return minLength;
   }
 
-  private JavaRDD<ObjectNode> transform(JavaRDD<ObjectNode> input) {
-    return input
-        .map(new TrimValues())
-        .map(new TranslateMissingCode())
-        .map(new TranslateCodeListTerm(schema))
-        .map(new ConvertValueType(schema))
-        .map(new CleanSensitiveFields(schema));
-  }
-
   private String getOutputPath(TaskContext taskContext) {
     val outputFileType = getOutputFileType();
     val outputDir = new Path(taskContext.getJobContext().getWorkingDir(), outputFileType.getDirName());
@@ -126,6 +167,17 @@ public class StageFileSchemaProjectTask extends GenericTask {
     return new Path(outputDir, Partitions.getPartitionName(projectName)).toString();
   }
 
+  private static Path getGzipIndexDir(TaskContext taskContext) {
+    // Kept with the task manifests, so it survives the clean up of the working directory
+    val manifestsDir = new Path(taskContext.getJobContext().getWorkingDir(), TaskCheckpoints.MANIFESTS_DIR_NAME);
+
+    return new Path(manifestsDir, GZIP_INDEX_DIR_NAME);
+  }
+
+  private static boolean isGzip(Path path) {
+    return path.getName().endsWith(".gz");
+  }
+
   private FileType getOutputFileType() {
     return FileType.valueOf(schema.getName().toUpperCase());
   }
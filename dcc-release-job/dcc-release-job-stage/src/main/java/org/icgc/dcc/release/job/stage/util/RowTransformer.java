@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.util;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static java.lang.Double.parseDouble;
+import static java.lang.Long.parseLong;
+import static lombok.AccessLevel.PRIVATE;
+import static org.icgc.dcc.release.core.function.TranslateMissingCode.isMissingCode;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import org.icgc.dcc.common.core.model.FieldNames;
+import org.icgc.dcc.common.core.model.ValueType;
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.submission.SubmissionFileField;
+import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+/**
+ * Creates the staged rows of a {@link SubmissionFileSchema} from the lines of a submission file.
+ * <p>
+ * The schema is compiled once into an array of per-column operations, so that each value is trimmed, translated from a
+ * missing code or a code list term, converted to its value type and dropped if controlled in a single pass. The line is
+ * read by a {@link TabTokenizer}, so values are only materialized as {@code String}s when they are stored as text or
+ * can't be handled on the bytes of the line.
+ */
+@RequiredArgsConstructor(access = PRIVATE)
+public final class RowTransformer implements Serializable {
+
+  /**
+   * Constants.
+   */
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  /**
+   * Don't clean SSM_P and SGV_P as their controlled fields required to run annotation.
+   */
+  private static final List<String> SKIP_CLEANUP_FILE_TYPES = ImmutableList.of(
+      FileType.SSM_P.getId(), FileType.SGV_P.getId(), FileType.SGV_M.getId());
+
+  /**
+   * Metadata.
+   */
+  @NonNull
+  private final Field[] fields;
+
+  public static RowTransformer compile(@NonNull SubmissionFileSchema schema) {
+    val cleanup = !SKIP_CLEANUP_FILE_TYPES.contains(schema.getName());
+    val schemaFields = schema.getFields();
+    val fields = Lists.<Field> newArrayListWithCapacity(schemaFields.size());
+    for (int column = 0; column < schemaFields.size(); column++) {
+      val schemaField = schemaFields.get(column);
+      if (cleanup && schemaField.isControlled()) {
+        continue;
+      }
+
+      fields.add(compileField(schemaField, column));
+    }
+
+    return new RowTransformer(fields.toArray(new Field[fields.size()]));
+  }
+
+  public ObjectNode transform(@NonNull TabTokenizer line, @NonNull String projectName) {
+    val row = MAPPER.createObjectNode();
+    for (val field : fields) {
+      if (line.advanceTo(field.column)) {
+        field.put(row, line);
+      } else {
+        // Pad missing columns in data if schema is expecting more
+        row.putNull(field.name);
+      }
+    }
+
+    putText(row, FieldNames.PROJECT_ID, projectName);
+
+    return row;
+  }
+
+  private static Field compileField(SubmissionFileField schemaField, int column) {
+    val terms = schemaField.getTerms() == null ? ImmutableMap.<String, String> of() : schemaField.getTerms();
+    val codes = Lists.<byte[]> newArrayList();
+    val values = Lists.<String> newArrayList();
+    for (val term : terms.entrySet()) {
+      // Missing codes take precedence over the terms
+      if (!isMissingCode(term.getKey())) {
+        codes.add(term.getKey().getBytes(UTF_8));
+        values.add(term.getValue());
+      }
+    }
+
+    return new Field(schemaField.getName(), column, schemaField.getType(),
+        codes.toArray(new byte[codes.size()][]), values.toArray(new String[values.size()]));
+  }
+
+  private static void putText(ObjectNode row, String fieldName, String value) {
+    val trimmed = value.trim();
+    if (isMissingCode(trimmed)) {
+      row.putNull(fieldName);
+    } else {
+      row.put(fieldName, trimmed);
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static final class Field implements Serializable {
+
+    private final String name;
+    private final int column;
+    private final ValueType type;
+
+    /**
+     * Code list codes as UTF-8 bytes and the terms they translate to, by index.
+     */
+    private final byte[][] codes;
+    private final String[] terms;
+
+    private void put(ObjectNode row, TabTokenizer line) {
+      if (line.isEmpty()) {
+        row.putNull(name);
+
+        return;
+      }
+
+      for (int i = 0; i < codes.length; i++) {
+        if (line.isValue(codes[i])) {
+          // Translate term code to value
+          convert(row, terms[i]);
+
+          return;
+        }
+      }
+
+      // Missing codes are negative, so non-negative integers can be converted on the bytes of the line
+      if (type == ValueType.INTEGER && line.isUnsignedLong()) {
+        row.put(name, line.getLongValue());
+
+        return;
+      }
+
+      val value = line.getValue();
+      if (isMissingCode(value)) {
+        // Replace any empty value, missing code or former missing code with null
+        row.putNull(name);
+      } else {
+        convert(row, value);
+      }
+    }
+
+    private void convert(ObjectNode row, String value) {
+      try {
+        if (type == ValueType.DECIMAL) {
+          row.put(name, parseDouble(value));
+        } else if (type == ValueType.INTEGER) {
+          row.put(name, parseLong(value));
+        } else {
+          row.put(name, value);
+        }
+      } catch (Exception e) {
+        throw new IllegalArgumentException("Could not convert value " + "'" + value + "' in field " + name
+            + "' with type " + type, e);
+      }
+    }
+
+  }
+
+}
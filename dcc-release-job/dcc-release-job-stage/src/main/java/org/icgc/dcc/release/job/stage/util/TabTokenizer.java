@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import lombok.NonNull;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import org.apache.hadoop.io.Text;
+
+/**
+ * Streaming tokenizer of the tab separated values of a line, which works over the UTF-8 bytes of the line record.
+ * <p>
+ * Columns are visited in ascending order and their values are trimmed the way {@link String#trim()} does. No
+ * {@code String} is created unless a value is requested with {@link #getValue()}. Instances are reused across lines and
+ * are not thread-safe.
+ */
+public final class TabTokenizer {
+
+  /**
+   * Constants.
+   */
+  private static final byte TAB = '\t';
+  private static final int SPACE = ' ';
+
+  /**
+   * The maximum number of digits which always fit into a {@code long}.
+   */
+  private static final int MAX_LONG_DIGITS = 18;
+
+  /**
+   * State.
+   */
+  private byte[] bytes;
+  private int length;
+  private int column;
+  private int end;
+  private int valueStart;
+  private int valueEnd;
+
+  public TabTokenizer reset(@NonNull Text line) {
+    bytes = line.getBytes();
+    length = line.getLength();
+    column = 0;
+    select(0);
+
+    return this;
+  }
+
+  /**
+   * Advances to the value of {@code targetColumn}.
+   * 
+   * @return {@code false} if the line has fewer columns
+   */
+  public boolean advanceTo(int targetColumn) {
+    checkArgument(targetColumn >= column, "Column %s was already passed, current column is %s", targetColumn, column);
+    while (column < targetColumn) {
+      if (end >= length) {
+        return false;
+      }
+
+      select(end + 1);
+      column++;
+    }
+
+    return true;
+  }
+
+  public boolean isEmpty() {
+    return valueStart == valueEnd;
+  }
+
+  public boolean isValue(@NonNull byte[] value) {
+    if (value.length != valueEnd - valueStart) {
+      return false;
+    }
+
+    for (int i = 0; i < value.length; i++) {
+      if (value[i] != bytes[valueStart + i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * @return {@code true} if the value is a non-negative integer which can be read with {@link #getLongValue()}
+   */
+  public boolean isUnsignedLong() {
+    val digits = valueEnd - valueStart;
+    if (digits == 0 || digits > MAX_LONG_DIGITS) {
+      return false;
+    }
+
+    for (int i = valueStart; i < valueEnd; i++) {
+      if (bytes[i] < '0' || bytes[i] > '9') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  public long getLongValue() {
+    long value = 0;
+    for (int i = valueStart; i < valueEnd; i++) {
+      value = value * 10 + (bytes[i] - '0');
+    }
+
+    return value;
+  }
+
+  @SneakyThrows
+  public String getValue() {
+    return Text.decode(bytes, valueStart, valueEnd - valueStart, true);
+  }
+
+  @Override
+  @SneakyThrows
+  public String toString() {
+    return bytes == null ? "" : Text.decode(bytes, 0, length, true);
+  }
+
+  private void select(int start) {
+    end = indexOfTab(start);
+
+    // Trim the way String.trim() does. Bytes of multi-byte UTF-8 characters are never <= ' '
+    valueStart = start;
+    valueEnd = end;
+    while (valueStart < valueEnd && (bytes[valueStart] & 0xFF) <= SPACE) {
+      valueStart++;
+    }
+    while (valueEnd > valueStart && (bytes[valueEnd - 1] & 0xFF) <= SPACE) {
+      valueEnd--;
+    }
+  }
+
+  private int indexOfTab(int start) {
+    for (int i = start; i < length; i++) {
+      if (bytes[i] == TAB) {
+        return i;
+      }
+    }
+
+    return length;
+  }
+
+}
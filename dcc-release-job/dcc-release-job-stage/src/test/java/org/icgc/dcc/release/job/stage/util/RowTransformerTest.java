@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.json.Jackson.toObjectNode;
+
+import lombok.val;
+
+import org.apache.hadoop.io.Text;
+import org.icgc.dcc.common.core.model.ValueType;
+import org.icgc.dcc.release.core.submission.SubmissionFileField;
+import org.icgc.dcc.release.core.submission.SubmissionFileSchema;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public class RowTransformerTest {
+
+  private static final String PROJECT_NAME = "LIRI-JP";
+
+  @Test
+  public void testTransform() {
+    val transformer = RowTransformer.compile(createSchema("ssm_m"));
+    val row = transformer.transform(line(" AI1 \t2\t-888\t1.5\tsecret"), PROJECT_NAME);
+
+    assertThat(row).isEqualTo(toObjectNode(
+        "{\"analysis_id\":\"AI1\",\"platform\":\"Illumina\",\"seq_coverage\":null,\"quality\":1.5,"
+            + "\"_project_id\":\"LIRI-JP\"}"));
+  }
+
+  @Test
+  public void testTransformPadded() {
+    val transformer = RowTransformer.compile(createSchema("ssm_m"));
+    val row = transformer.transform(line("AI1\t7"), PROJECT_NAME);
+
+    assertThat(row).isEqualTo(toObjectNode(
+        "{\"analysis_id\":\"AI1\",\"platform\":\"7\",\"seq_coverage\":null,\"quality\":null,"
+            + "\"_project_id\":\"LIRI-JP\"}"));
+  }
+
+  @Test
+  public void testTransformSkipCleanup() {
+    val transformer = RowTransformer.compile(createSchema("ssm_p"));
+    val row = transformer.transform(line("AI1\t2\t10\t\tsecret"), PROJECT_NAME);
+
+    assertThat(row.get("controlled").textValue()).isEqualTo("secret");
+    assertThat(row.get("seq_coverage").longValue()).isEqualTo(10L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTransformInvalidValue() {
+    val transformer = RowTransformer.compile(createSchema("ssm_m"));
+    transformer.transform(line("AI1\t2\tten"), PROJECT_NAME);
+  }
+
+  private static TabTokenizer line(String line) {
+    return new TabTokenizer().reset(new Text(line));
+  }
+
+  private static SubmissionFileSchema createSchema(String name) {
+    return new SubmissionFileSchema(name, name + ".*", ImmutableList.of(
+        new SubmissionFileField("analysis_id", ValueType.TEXT, false, null),
+        new SubmissionFileField("platform", ValueType.TEXT, false, ImmutableMap.of("2", "Illumina")),
+        new SubmissionFileField("seq_coverage", ValueType.INTEGER, false, null),
+        new SubmissionFileField("quality", ValueType.DECIMAL, false, null),
+        new SubmissionFileField("controlled", ValueType.TEXT, true, null)));
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.stage.util;
+
+import static com.google.common.base.Charsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import lombok.val;
+
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+public class TabTokenizerTest {
+
+  TabTokenizer tokenizer = new TabTokenizer();
+
+  @Test
+  public void testAdvanceTo() {
+    tokenizer.reset(new Text(" a \t\tcé \t"));
+
+    assertThat(tokenizer.getValue()).isEqualTo("a");
+    assertThat(tokenizer.advanceTo(1)).isTrue();
+    assertThat(tokenizer.isEmpty()).isTrue();
+    assertThat(tokenizer.advanceTo(2)).isTrue();
+    assertThat(tokenizer.getValue()).isEqualTo("cé");
+    assertThat(tokenizer.advanceTo(3)).isTrue();
+    assertThat(tokenizer.isEmpty()).isTrue();
+    assertThat(tokenizer.advanceTo(4)).isFalse();
+  }
+
+  @Test
+  public void testSkipColumns() {
+    tokenizer.reset(new Text("a\tb\tc"));
+
+    assertThat(tokenizer.advanceTo(2)).isTrue();
+    assertThat(tokenizer.getValue()).isEqualTo("c");
+  }
+
+  @Test
+  public void testReset() {
+    val text = new Text("a\tb");
+    tokenizer.reset(text);
+    tokenizer.advanceTo(1);
+
+    // Text buffers are reused by the record reader and may be longer than the line
+    text.set("c");
+    tokenizer.reset(text);
+
+    assertThat(tokenizer.getValue()).isEqualTo("c");
+    assertThat(tokenizer.advanceTo(1)).isFalse();
+  }
+
+  @Test
+  public void testIsValue() {
+    tokenizer.reset(new Text("12"));
+
+    assertThat(tokenizer.isValue("12".getBytes(UTF_8))).isTrue();
+    assertThat(tokenizer.isValue("1".getBytes(UTF_8))).isFalse();
+  }
+
+  @Test
+  public void testLongValue() {
+    tokenizer.reset(new Text("1234\t-1\t1.5\t1234567890123456789"));
+
+    assertThat(tokenizer.isUnsignedLong()).isTrue();
+    assertThat(tokenizer.getLongValue()).isEqualTo(1234L);
+    tokenizer.advanceTo(1);
+    assertThat(tokenizer.isUnsignedLong()).isFalse();
+    tokenizer.advanceTo(2);
+    assertThat(tokenizer.isUnsignedLong()).isFalse();
+    tokenizer.advanceTo(3);
+    assertThat(tokenizer.isUnsignedLong()).isFalse();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAdvanceBackwards() {
+    tokenizer.reset(new Text("a\tb"));
+    tokenizer.advanceTo(1);
+    tokenizer.advanceTo(0);
+  }
+
+}
@@ -18,6 +18,9 @@
 package org.icgc.dcc.release.job.summarize.core;
 
 import static com.google.common.base.Stopwatch.createStarted;
+
+import java.util.Set;
+
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -42,6 +45,8 @@ import org.icgc.dcc.release.job.summarize.task.ResolveProjectSummaryTask;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.google.common.collect.ImmutableSet;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -50,6 +55,13 @@ public class SummarizeJob extends GenericJob {
   @NonNull
   private final JavaSparkContext sparkContext;
 
+  private static final Set<FileType> INPUT_FILE_TYPES = ImmutableSet.of(
+      FileType.CLINICAL,
+      FileType.OBSERVATION_FI,
+      FileType.PROJECT,
+      FileType.GENE,
+      FileType.GENE_SET);
+
   private static final FileType[] OUTPUT_FILE_TYPES = {
       FileType.DONOR_SUMMARY,
       FileType.GENE_SET_SUMMARY,
@@ -63,6 +75,16 @@ public class SummarizeJob extends GenericJob {
     return JobType.SUMMARIZE;
   }
 
+  @Override
+  public Set<FileType> getConsumedFileTypes() {
+    return INPUT_FILE_TYPES;
+  }
+
+  @Override
+  public Set<FileType> getProducedFileTypes() {
+    return ImmutableSet.copyOf(OUTPUT_FILE_TYPES);
+  }
+
   @Override
   @SneakyThrows
   public void execute(@NonNull JobContext jobContext) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.summarize.model;
+
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.GENE_DONORS;
+import static org.icgc.dcc.common.core.model.FieldNames.PROJECT_ID;
+import static org.icgc.dcc.release.core.util.ObjectNodes.createObject;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Combinable per-gene statistics: the distinct mutations of each donor grouped by observation type.
+ */
+public class GeneStats implements Serializable {
+
+  /**
+   * Donor ID to donor statistics.
+   */
+  private final Map<String, DonorStats> donors = Maps.newHashMap();
+
+  public GeneStats add(@NonNull String projectId, @NonNull String donorId, @NonNull String type,
+      @NonNull String mutationId) {
+    DonorStats donor = donors.get(donorId);
+    if (donor == null) {
+      donor = new DonorStats(projectId);
+      donors.put(donorId, donor);
+    }
+
+    donor.add(type, mutationId);
+
+    return this;
+  }
+
+  public GeneStats merge(@NonNull GeneStats other) {
+    for (val entry : other.donors.entrySet()) {
+      val donor = donors.get(entry.getKey());
+      if (donor == null) {
+        donors.put(entry.getKey(), entry.getValue());
+      } else {
+        donor.merge(entry.getValue());
+      }
+    }
+
+    return this;
+  }
+
+  /**
+   * @return <pre>
+   * {donors:[{_donor_id:D1, ssm:2, _project_id:P1},{...}]}
+   * </pre>
+   */
+  public ObjectNode toObjectNode() {
+    val result = createObject();
+    val donorsArray = result.withArray(GENE_DONORS);
+    for (val entry : donors.entrySet()) {
+      val donor = entry.getValue();
+      for (val typeMutations : donor.typeMutations.entrySet()) {
+        val donorObject = donorsArray.addObject();
+        donorObject.put(DONOR_ID, entry.getKey());
+        donorObject.put(typeMutations.getKey(), typeMutations.getValue().size());
+        donorObject.put(PROJECT_ID, donor.projectId);
+      }
+    }
+
+    return result;
+  }
+
+  @RequiredArgsConstructor
+  private static class DonorStats implements Serializable {
+
+    @NonNull
+    private final String projectId;
+    private final Map<String, Set<String>> typeMutations = Maps.newHashMap();
+
+    private void add(String type, String mutationId) {
+      Set<String> mutations = typeMutations.get(type);
+      if (mutations == null) {
+        mutations = Sets.newHashSet();
+        typeMutations.put(type, mutations);
+      }
+
+      mutations.add(mutationId);
+    }
+
+    private void merge(DonorStats other) {
+      for (val entry : other.typeMutations.entrySet()) {
+        val mutations = typeMutations.get(entry.getKey());
+        if (mutations == null) {
+          typeMutations.put(entry.getKey(), entry.getValue());
+        } else {
+          mutations.addAll(entry.getValue());
+        }
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.summarize.model;
+
+import static org.icgc.dcc.common.core.model.FieldNames.AVAILABLE_DATA_TYPES;
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SAMPLE;
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SPECIMEN;
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SUMMARY;
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SUMMARY_EXPERIMENTAL_ANALYSIS_SAMPLE_COUNTS;
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SUMMARY_REPOSITORY;
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_SUMMARY_STATE;
+import static org.icgc.dcc.release.core.util.FeatureTypes.getFeatureTypes;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.val;
+
+import org.icgc.dcc.common.core.model.FeatureTypes.FeatureType;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Combinable project level statistics over {@code DONOR_SUMMARY} records.
+ * <p>
+ * Designed for {@code JavaRDD.aggregate()} so that all project summary statistics are resolved in a single pass.
+ */
+@Getter
+public class ProjectSummaryAccumulator implements Serializable {
+
+  /**
+   * Counts.
+   */
+  private long donorCount;
+  private long liveDonorCount;
+  private long specimenCount;
+  private long sampleCount;
+  private final Map<FeatureType, Long> testedTypeCounts = new EnumMap<FeatureType, Long>(FeatureType.class);
+
+  /**
+   * Distinct values.
+   */
+  private final Set<String> availableDataTypes = Sets.newHashSet();
+  private final Set<String> repositories = Sets.newHashSet();
+
+  /**
+   * Library strategy histograms.
+   */
+  private final Map<String, Long> libraryStrategyDonorCounts = Maps.newHashMap();
+  private final Map<String, Long> libraryStrategySampleCounts = Maps.newHashMap();
+
+  public ProjectSummaryAccumulator add(@NonNull ObjectNode donor) {
+    val summary = donor.path(DONOR_SUMMARY);
+
+    donorCount++;
+    if ("live".equals(summary.path(DONOR_SUMMARY_STATE).textValue())) {
+      liveDonorCount++;
+    }
+
+    for (val featureType : getFeatureTypes()) {
+      if (isTested(summary, featureType)) {
+        increment(testedTypeCounts, featureType, 1L);
+      }
+    }
+
+    addValues(availableDataTypes, summary.path(AVAILABLE_DATA_TYPES));
+    addValues(repositories, summary.path(DONOR_SUMMARY_REPOSITORY));
+
+    val libraryStrategies = summary.path(DONOR_SUMMARY_EXPERIMENTAL_ANALYSIS_SAMPLE_COUNTS);
+    val fields = libraryStrategies.fields();
+    while (fields.hasNext()) {
+      val field = fields.next();
+      increment(libraryStrategyDonorCounts, field.getKey(), 1L);
+      increment(libraryStrategySampleCounts, field.getKey(), (long) field.getValue().asInt());
+    }
+
+    for (val specimen : donor.path(DONOR_SPECIMEN)) {
+      specimenCount++;
+      sampleCount += specimen.path(DONOR_SAMPLE).size();
+    }
+
+    return this;
+  }
+
+  public ProjectSummaryAccumulator merge(@NonNull ProjectSummaryAccumulator other) {
+    donorCount += other.donorCount;
+    liveDonorCount += other.liveDonorCount;
+    specimenCount += other.specimenCount;
+    sampleCount += other.sampleCount;
+    for (val entry : other.testedTypeCounts.entrySet()) {
+      increment(testedTypeCounts, entry.getKey(), entry.getValue());
+    }
+
+    availableDataTypes.addAll(other.availableDataTypes);
+    repositories.addAll(other.repositories);
+
+    for (val entry : other.libraryStrategyDonorCounts.entrySet()) {
+      increment(libraryStrategyDonorCounts, entry.getKey(), entry.getValue());
+    }
+    for (val entry : other.libraryStrategySampleCounts.entrySet()) {
+      increment(libraryStrategySampleCounts, entry.getKey(), entry.getValue());
+    }
+
+    return this;
+  }
+
+  public long getTestedTypeCount(@NonNull FeatureType featureType) {
+    val count = testedTypeCounts.get(featureType);
+
+    return count == null ? 0L : count;
+  }
+
+  private static boolean isTested(JsonNode summary, FeatureType featureType) {
+    val summaryField = summary.path(featureType.getSummaryFieldName());
+
+    return featureType.isCountSummary() ? summaryField.asLong() > 0L : summaryField.asBoolean();
+  }
+
+  private static void addValues(Set<String> values, JsonNode array) {
+    for (val element : array) {
+      values.add(element.textValue());
+    }
+  }
+
+  private static <K> void increment(Map<K, Long> counts, K key, long delta) {
+    val count = counts.get(key);
+    counts.put(key, count == null ? delta : count + delta);
+  }
+
+}
@@ -78,6 +78,12 @@ public class DonorSummarizeTask extends GenericTask {
   private final Map<String, Long> _donorsCount = Maps.newHashMap();
   private final Map<String, Long> _liveDonorsCount = Maps.newHashMap();
 
+  @Override
+  public boolean isCheckpointable() {
+    // Donor counts are consumed by the release summary
+    return false;
+  }
+
   @Override
   public void execute(TaskContext taskContext) {
     val outputFileType = FileType.DONOR_SUMMARY;
@@ -17,14 +17,17 @@
  */
 package org.icgc.dcc.release.job.summarize.task;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newCopyOnWriteArrayList;
 import static org.icgc.dcc.common.core.model.FieldNames.GENE_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.MUTATION_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_CONSEQUENCES;
 import static org.icgc.dcc.common.core.model.FieldNames.OBSERVATION_DONOR_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.PROJECT_ID;
 import static org.icgc.dcc.common.core.model.FieldNames.LoaderFieldNames.OBSERVATION_TYPE;
 import static org.icgc.dcc.release.core.function.Unwind.unwindToParent;
 import static org.icgc.dcc.release.core.util.FieldNames.SummarizeFieldNames.FAKE_GENE_ID;
+import static org.icgc.dcc.release.core.util.Keys.NULL_KEY;
 import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
 import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
 import static org.icgc.dcc.release.core.util.Tuples.tuple;
@@ -35,67 +38,79 @@ import lombok.val;
 
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.api.java.function.Function;
-import org.icgc.dcc.release.core.function.KeyFieldsFunction;
+import org.apache.spark.api.java.function.PairFunction;
 import org.icgc.dcc.release.core.function.RetainFields;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
-import org.icgc.dcc.release.job.summarize.function.AggregateGeneStats;
-import org.icgc.dcc.release.job.summarize.function.CombineGeneStats;
-import org.icgc.dcc.release.job.summarize.function.ConvertToTempGeneSummaryObject;
-import org.icgc.dcc.release.job.summarize.function.MergeGeneSummaries;
-
-import scala.Tuple2;
+import org.icgc.dcc.release.job.summarize.model.GeneStats;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+/**
+ * Resolves per-gene donor statistics of all projects.
+ * <p>
+ * Each project contributes a narrow {@code (geneId, observation)} RDD. All of them are unioned and combined by gene in
+ * a single shuffle, no matter how many projects are processed.
+ */
 public class ResolveGeneSummaryTask extends GenericTask {
 
-  private static final String MATCH_MUTATION_ID_REGEX = "[\\d\\w]*#";
-
-  private final List<JavaPairRDD<String, ObjectNode>> geneDonorTypeCounts = newCopyOnWriteArrayList();
+  private final List<JavaPairRDD<String, ObjectNode>> geneObservations = newCopyOnWriteArrayList();
+  private volatile JavaSparkContext sparkContext;
 
   @Override
   public void execute(TaskContext taskContext) {
-    // Order is important, as MUTATION_ID is removed later
-    val keyGeneFieldsFunction = new KeyFieldsFunction<Integer>(o -> 1, MUTATION_ID, OBSERVATION_DONOR_ID,
-        OBSERVATION_TYPE, GENE_ID);
     val projectName = resolveProjectName(taskContext);
-    val geneStats = readObservations(taskContext)
+    val projectGeneObservations = readObservations(taskContext)
         .filter(filterFakeGeneIds())
-        .mapToPair(keyGeneFieldsFunction)
-        .distinct()
-        .mapToPair(ResolveGeneSummaryTask::removeMutation)
-        .reduceByKey((a, b) -> a + b)
-        .mapToPair(new ConvertToTempGeneSummaryObject(projectName))
-        .aggregateByKey(null, new AggregateGeneStats(), new CombineGeneStats());
-
-    this.geneDonorTypeCounts.add(geneStats);
+        .mapToPair(keyGeneId(projectName));
+
+    this.sparkContext = taskContext.getSparkContext();
+    this.geneObservations.add(projectGeneObservations);
   }
 
   public JavaPairRDD<String, ObjectNode> getGeneDonorTypeCounts() {
-    return joinGeneStats();
+    // ETL runs on at least one project
+    val first = geneObservations.get(0);
+    val rest = geneObservations.subList(1, geneObservations.size());
+
+    return sparkContext.union(first, rest)
+        .combineByKey(
+            ResolveGeneSummaryTask::createGeneStats,
+            ResolveGeneSummaryTask::addGeneStats,
+            GeneStats::merge)
+        .mapValues(GeneStats::toObjectNode);
   }
 
-  private JavaPairRDD<String, ObjectNode> joinGeneStats() {
-    // ETL runs on at least one project
-    JavaPairRDD<String, ObjectNode> resultRdd = geneDonorTypeCounts.get(0);
-    for (int i = 1; i < geneDonorTypeCounts.size(); i++) {
-      val currentRdd = geneDonorTypeCounts.get(i);
-      resultRdd = resultRdd
-          .fullOuterJoin(currentRdd)
-          .mapToPair(new MergeGeneSummaries());
-    }
+  private static PairFunction<ObjectNode, String, ObjectNode> keyGeneId(String projectName) {
+    return o -> {
+      o.put(PROJECT_ID, projectName);
+
+      return tuple(keyValue(o, GENE_ID), o);
+    };
+  }
+
+  private static GeneStats createGeneStats(ObjectNode observation) {
+    return addGeneStats(new GeneStats(), observation);
+  }
 
-    return resultRdd;
+  private static GeneStats addGeneStats(GeneStats geneStats, ObjectNode observation) {
+    return geneStats.add(
+        textValue(observation, PROJECT_ID),
+        keyValue(observation, OBSERVATION_DONOR_ID),
+        keyValue(observation, OBSERVATION_TYPE),
+        keyValue(observation, MUTATION_ID));
   }
 
-  private static Tuple2<String, Integer> removeMutation(Tuple2<String, Integer> tuple) {
-    val oldKey = tuple._1;
-    val newKey = oldKey.replaceFirst(MATCH_MUTATION_ID_REGEX, "");
+  /**
+   * Missing values are treated the same way as in {@link org.icgc.dcc.release.core.util.Keys#getKey}.
+   */
+  private static String keyValue(ObjectNode observation, String fieldName) {
+    val value = textValue(observation, fieldName);
 
-    return tuple(newKey, tuple._2);
+    return isNullOrEmpty(value) ? NULL_KEY : value;
   }
 
   private static Function<ObjectNode, Boolean> filterFakeGeneIds() {
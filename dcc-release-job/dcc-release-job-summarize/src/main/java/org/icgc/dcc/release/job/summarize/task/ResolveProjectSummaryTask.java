@@ -17,9 +17,6 @@
  */
 package org.icgc.dcc.release.job.summarize.task;
 
-import static com.google.common.collect.Lists.newArrayList;
-import static org.icgc.dcc.common.core.json.Jackson.asArrayNode;
-import static org.icgc.dcc.common.core.json.Jackson.from;
 import static org.icgc.dcc.common.core.json.Jackson.to;
 import static org.icgc.dcc.common.core.model.FieldNames.AVAILABLE_DATA_TYPES;
 import static org.icgc.dcc.common.core.model.FieldNames.AVAILABLE_EXPERIMENTAL_ANALYSIS_PERFORMED;
@@ -27,40 +24,29 @@ import static org.icgc.dcc.common.core.model.FieldNames.EXPERIMENTAL_ANALYSIS_PE
 import static org.icgc.dcc.common.core.model.FieldNames.EXPERIMENTAL_ANALYSIS_PERFORMED_SAMPLE_COUNT;
 import static org.icgc.dcc.common.core.model.FieldNames.getTestedTypeCountFieldName;
 import static org.icgc.dcc.release.core.util.FeatureTypes.getFeatureTypes;
-import static org.icgc.dcc.release.core.util.ObjectNodes.textValue;
 import static org.icgc.dcc.release.core.util.Tasks.resolveProjectName;
 import static org.icgc.dcc.release.job.summarize.util.Projects.createDefaultProjectSummary;
 
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import lombok.Getter;
 import lombok.val;
 
 import org.apache.spark.api.java.JavaRDD;
-import org.apache.spark.api.java.function.FlatMapFunction;
-import org.apache.spark.api.java.function.Function;
-import org.apache.spark.api.java.function.PairFlatMapFunction;
-import org.icgc.dcc.common.core.model.FeatureTypes.FeatureType;
 import org.icgc.dcc.common.core.model.FieldNames;
-import org.icgc.dcc.release.core.function.PullUpField;
-import org.icgc.dcc.release.core.function.RetainFields;
-import org.icgc.dcc.release.core.function.Unwind;
 import org.icgc.dcc.release.core.job.FileType;
 import org.icgc.dcc.release.core.task.GenericTask;
 import org.icgc.dcc.release.core.task.TaskContext;
-import org.icgc.dcc.release.core.util.Tuples;
+import org.icgc.dcc.release.job.summarize.model.ProjectSummaryAccumulator;
 
-import scala.Tuple2;
-
-import com.clearspring.analytics.util.Lists;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Maps;
 
+/**
+ * Resolves project summaries from {@code DONOR_SUMMARY} records in a single aggregation pass.
+ */
 public class ResolveProjectSummaryTask extends GenericTask {
 
   @Getter
@@ -68,148 +54,49 @@ public class ResolveProjectSummaryTask extends GenericTask {
 
   @Override
   public void execute(TaskContext taskContext) {
-    val projectSummary = createDefaultProjectSummary();
-    val donorSummaries = readDonorSummary(taskContext);
-
-    donorSummaries.cache();
-    summarizeAvailableTypes(donorSummaries, projectSummary);
-    summarizeTotalDonorCounts(donorSummaries, projectSummary);
-    summarizeTotalLiveDonorCounts(donorSummaries, projectSummary);
-    summarizeTestedTypeCounts(donorSummaries, projectSummary);
-    summarizeRepositories(donorSummaries, projectSummary);
-    summarizeLibraryStrategyCounts(donorSummaries, projectSummary);
-    donorSummaries.unpersist(false);
-
-    summarizeSpecimenSampleCounts(taskContext, projectSummary);
+    val accumulator = readDonors(taskContext).aggregate(new ProjectSummaryAccumulator(),
+        ProjectSummaryAccumulator::add,
+        ProjectSummaryAccumulator::merge);
+    val projectSummary = createProjectSummary(accumulator);
 
     val projectName = resolveProjectName(taskContext);
     this.projectSummaries.put(projectName, projectSummary);
   }
 
-  private void summarizeTestedTypeCounts(JavaRDD<ObjectNode> donorSummaries, ObjectNode projectSummary) {
-    for (val featureType : getFeatureTypes()) {
-      val featureTypeCount = donorSummaries
-          .filter(filterFeatureType(featureType))
-          .count();
-      projectSummary.put(getTestedTypeCountFieldName(featureType), featureTypeCount);
-    }
-  }
-
-  private Function<ObjectNode, Boolean> filterFeatureType(FeatureType featureType) {
-    val summaryFieldName = featureType.getSummaryFieldName();
-
-    return o -> {
-      JsonNode summaryField = o.get(summaryFieldName);
-      return featureType.isCountSummary() ?
-          summaryField.asLong() > 0L :
-          summaryField.asBoolean();
-    };
-  }
-
-  private void summarizeLibraryStrategyCounts(JavaRDD<ObjectNode> donorSummaries, ObjectNode projectSummary) {
-    val donorLibStrategies = donorSummaries
-        .map(new RetainFields(FieldNames.DONOR_SUMMARY_EXPERIMENTAL_ANALYSIS_SAMPLE_COUNTS))
-        .map(new PullUpField(FieldNames.DONOR_SUMMARY_EXPERIMENTAL_ANALYSIS_SAMPLE_COUNTS));
-    donorLibStrategies.cache();
-
-    val uniqueLibStrategies = donorLibStrategies
-        .flatMap(o -> newArrayList(o.fieldNames()))
-        .distinct()
-        .collect();
-
-    val donorLibraryStrategyCounts = ImmutableMap.<String, Long> builder();
-    for (val libStrategy : uniqueLibStrategies) {
-      val donorLibStrategy = donorLibStrategies.filter(o -> !o.path(libStrategy).isMissingNode());
-      val donorCount = donorLibStrategy.count();
-      donorLibraryStrategyCounts.put(libStrategy, donorCount);
-    }
-
-    val sampleLibraryStrategyCounts = donorLibStrategies
-        .flatMapToPair(flattenLibStrategyToPair())
-        .reduceByKey((a, b) -> a + b)
-        .collectAsMap();
-
-    projectSummary.putPOJO(EXPERIMENTAL_ANALYSIS_PERFORMED_DONOR_COUNT, to(donorLibraryStrategyCounts.build()));
-    projectSummary.putPOJO(AVAILABLE_EXPERIMENTAL_ANALYSIS_PERFORMED, to(uniqueLibStrategies));
-    projectSummary.set(EXPERIMENTAL_ANALYSIS_PERFORMED_SAMPLE_COUNT, to(sampleLibraryStrategyCounts));
-
-    donorLibStrategies.unpersist(false);
-  }
-
-  private PairFlatMapFunction<ObjectNode, String, Integer> flattenLibStrategyToPair() {
-    return o -> {
-      List<Tuple2<String, Integer>> result = Lists.<Tuple2<String, Integer>> newArrayList();
-      Iterator<Map.Entry<String, JsonNode>> iterator = o.fields();
-      while (iterator.hasNext()) {
-        Entry<String, JsonNode> entry = iterator.next();
-        result.add(Tuples.tuple(entry.getKey(), entry.getValue().asInt()));
-      }
-      return result;
-    };
-  }
-
-  private void summarizeRepositories(JavaRDD<ObjectNode> donorSummaries, ObjectNode projectSummary) {
-    val donorRepositories = donorSummaries
-        .flatMap(unwindArray(FieldNames.DONOR_SUMMARY_REPOSITORY))
-        .distinct()
-        .collect();
-
-    projectSummary.putPOJO(FieldNames.PROJECT_SUMMARY_REPOSITORY, to(donorRepositories));
-  }
+  /**
+   * Arrays and maps of the summary are populated in natural order, so the output is stable across runs.
+   */
+  private static ObjectNode createProjectSummary(ProjectSummaryAccumulator accumulator) {
+    val projectSummary = createDefaultProjectSummary();
 
-  private void summarizeSpecimenSampleCounts(TaskContext taskContext, ObjectNode projectSummary) {
-    val specimens = readDonors(taskContext)
-        .flatMap(Unwind.unwind(FieldNames.DONOR_SPECIMEN))
-        .map(new RetainFields(FieldNames.DONOR_SPECIMEN_ID, FieldNames.DONOR_SAMPLE));
-    specimens.cache();
-    val specimenCount = specimens.count();
-    val samples = specimens
-        .flatMap(Unwind.unwind(FieldNames.DONOR_SAMPLE))
-        .map(new RetainFields(FieldNames.DONOR_SAMPLE_ID));
-    val samplesCount = samples.count();
-    specimens.unpersist(false);
-
-    projectSummary.put(FieldNames.TOTAL_SPECIMEN_COUNT, specimenCount);
-    projectSummary.put(FieldNames.TOTAL_SAMPLE_COUNT, samplesCount);
-  }
+    val availableDataTypes = ImmutableSortedSet.copyOf(accumulator.getAvailableDataTypes());
+    projectSummary.putPOJO(AVAILABLE_DATA_TYPES, to(availableDataTypes));
 
-  private void summarizeTotalLiveDonorCounts(JavaRDD<ObjectNode> donorSummaries, ObjectNode projectSummary) {
-    val totalLiveDonors = donorSummaries
-        .filter(o -> textValue(o, FieldNames.DONOR_SUMMARY_STATE).equals("live"))
-        .count();
+    projectSummary.put(FieldNames.TOTAL_DONOR_COUNT, accumulator.getDonorCount());
 
+    val totalLiveDonors = accumulator.getLiveDonorCount();
     projectSummary.put(FieldNames.TOTAL_LIVE_DONOR_COUNT, totalLiveDonors);
     val state = totalLiveDonors > 0 ? "live" : "pending";
     projectSummary.put(FieldNames.PROJECT_SUMMARY_STATE, state);
-  }
 
-  private void summarizeTotalDonorCounts(JavaRDD<ObjectNode> donorSummaries, ObjectNode projectSummary) {
-    val donorsCount = donorSummaries.count();
-    projectSummary.put(FieldNames.TOTAL_DONOR_COUNT, donorsCount);
-  }
-
-  private void summarizeAvailableTypes(JavaRDD<ObjectNode> donorSummaries, ObjectNode projectSummary) {
-    val availableDataTypes = donorSummaries
-        .flatMap(unwindArray(AVAILABLE_DATA_TYPES))
-        .distinct()
-        .collect();
+    for (val featureType : getFeatureTypes()) {
+      projectSummary.put(getTestedTypeCountFieldName(featureType), accumulator.getTestedTypeCount(featureType));
+    }
 
-    projectSummary.putPOJO(AVAILABLE_DATA_TYPES, to(availableDataTypes));
-  }
+    val repositories = ImmutableSortedSet.copyOf(accumulator.getRepositories());
+    projectSummary.putPOJO(FieldNames.PROJECT_SUMMARY_REPOSITORY, to(repositories));
 
-  private FlatMapFunction<ObjectNode, String> unwindArray(String unwindField) {
+    val donorLibraryStrategyCounts = ImmutableSortedMap.copyOf(accumulator.getLibraryStrategyDonorCounts());
+    val sampleLibraryStrategyCounts = ImmutableSortedMap.copyOf(accumulator.getLibraryStrategySampleCounts());
 
-    return o -> {
-      JsonNode availableDataType = o.get(unwindField);
+    projectSummary.putPOJO(EXPERIMENTAL_ANALYSIS_PERFORMED_DONOR_COUNT, to(donorLibraryStrategyCounts));
+    projectSummary.putPOJO(AVAILABLE_EXPERIMENTAL_ANALYSIS_PERFORMED, to(donorLibraryStrategyCounts.keySet()));
+    projectSummary.set(EXPERIMENTAL_ANALYSIS_PERFORMED_SAMPLE_COUNT, to(sampleLibraryStrategyCounts));
 
-      return from(asArrayNode(availableDataType), String.class);
-    };
-  }
+    projectSummary.put(FieldNames.TOTAL_SPECIMEN_COUNT, accumulator.getSpecimenCount());
+    projectSummary.put(FieldNames.TOTAL_SAMPLE_COUNT, accumulator.getSampleCount());
 
-  private JavaRDD<ObjectNode> readDonorSummary(TaskContext taskContext) {
-    return readInput(taskContext, FileType.DONOR_SUMMARY)
-        .map(new RetainFields(FieldNames.DONOR_SUMMARY))
-        .map(new PullUpField(FieldNames.DONOR_SUMMARY));
+    return projectSummary;
   }
 
   private JavaRDD<ObjectNode> readDonors(TaskContext taskContext) {
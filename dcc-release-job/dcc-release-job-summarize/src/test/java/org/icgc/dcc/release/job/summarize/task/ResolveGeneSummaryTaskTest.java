@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.summarize.task;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.icgc.dcc.common.core.model.FieldNames.DONOR_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.GENE_DONORS;
+import static org.icgc.dcc.common.core.model.FieldNames.PROJECT_ID;
+
+import java.util.List;
+
+import lombok.val;
+
+import org.apache.spark.Dependency;
+import org.apache.spark.ShuffleDependency;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.rdd.RDD;
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.test.job.AbstractJobTest;
+import org.junit.Test;
+
+import scala.collection.JavaConversions;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+public class ResolveGeneSummaryTaskTest extends AbstractJobTest {
+
+  private static final String SHARED_GENE_ID = "G0";
+
+  @Test
+  public void testExecute() {
+    val geneStats = resolveGeneStats(2);
+
+    assertThat(countShuffles(geneStats.rdd())).isEqualTo(1);
+    assertSharedGene(geneStats.collectAsMap().get(SHARED_GENE_ID), 2);
+  }
+
+  @Test
+  public void testExecuteManyProjects() {
+    val projectCount = 40;
+    val geneStats = resolveGeneStats(projectCount);
+
+    // The number of shuffles (and therefore stages) must not depend on the number of projects
+    assertThat(countShuffles(geneStats.rdd())).isEqualTo(1);
+
+    val result = geneStats.collectAsMap();
+    assertThat(result).hasSize(projectCount + 1);
+    assertSharedGene(result.get(SHARED_GENE_ID), projectCount);
+  }
+
+  private JavaPairRDD<String, ObjectNode> resolveGeneStats(int projectCount) {
+    val projectNames = Lists.<String> newArrayList();
+    for (int i = 0; i < projectCount; i++) {
+      val projectName = format("P%d-TEST", i);
+      projectNames.add(projectName);
+      given(inputFile(projectName)
+          .fileType(FileType.OBSERVATION_FI)
+          .rows(createObservations(i)));
+    }
+
+    val task = new ResolveGeneSummaryTask();
+    for (val projectName : projectNames) {
+      task.execute(createTaskContext(JobType.SUMMARIZE, projectName));
+    }
+
+    return task.getGeneDonorTypeCounts();
+  }
+
+  private static void assertSharedGene(ObjectNode geneStats, int projectCount) {
+    val donors = geneStats.withArray(GENE_DONORS);
+    assertThat(donors).hasSize(projectCount);
+    for (val donor : donors) {
+      // Two distinct mutations, one of which affects the gene through two consequences
+      assertThat(donor.get("ssm").asInt()).isEqualTo(2);
+      assertThat(donor.get(PROJECT_ID).textValue()).startsWith("P");
+      assertThat(donor.get(DONOR_ID).textValue()).startsWith("DO");
+    }
+  }
+
+  private static List<ObjectNode> createObservations(int projectIndex) {
+    val donorId = "DO" + projectIndex;
+    val projectGeneId = "G" + (projectIndex + 1);
+
+    return ImmutableList.of(
+        row(format("{_donor_id:'%s',_type:'ssm',_mutation_id:'MU%d-1',"
+            + "consequence:[{_gene_id:'%s'},{_gene_id:'%s'},{_gene_id:'%s'}]}",
+            donorId, projectIndex, SHARED_GENE_ID, SHARED_GENE_ID, projectGeneId)),
+        row(format("{_donor_id:'%s',_type:'ssm',_mutation_id:'MU%d-2',consequence:[{_gene_id:'%s'},{}]}",
+            donorId, projectIndex, SHARED_GENE_ID)));
+  }
+
+  private static int countShuffles(RDD<?> rdd) {
+    int count = 0;
+    for (Dependency<?> dependency : JavaConversions.seqAsJavaList(rdd.dependencies())) {
+      if (dependency instanceof ShuffleDependency) {
+        count++;
+      }
+
+      count += countShuffles(dependency.rdd());
+    }
+
+    return count;
+  }
+
+}
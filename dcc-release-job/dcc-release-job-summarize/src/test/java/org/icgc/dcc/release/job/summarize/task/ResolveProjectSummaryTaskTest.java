@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2017 The Ontario Institute for Cancer Research. All rights reserved.                             
+ *                                                                                                               
+ * This program and the accompanying materials are made available under the terms of the GNU Public License v3.0.
+ * You should have received a copy of the GNU General Public License along with                                  
+ * this program. If not, see <http://www.gnu.org/licenses/>.                                                     
+ *                                                                                                               
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY                           
+ * EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED WARRANTIES                          
+ * OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT                           
+ * SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT,                                
+ * INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED                          
+ * TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;                               
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER                              
+ * IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN                         
+ * ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.icgc.dcc.release.job.summarize.task;
+
+import static net.javacrumbs.jsonunit.JsonAssert.assertJsonEquals;
+import static org.icgc.dcc.common.core.model.FieldNames.PROJECT_ID;
+import static org.icgc.dcc.common.core.model.FieldNames.PROJECT_SUMMARY;
+
+import java.io.File;
+import java.util.List;
+
+import lombok.val;
+
+import org.icgc.dcc.release.core.job.FileType;
+import org.icgc.dcc.release.core.job.JobType;
+import org.icgc.dcc.release.test.job.AbstractJobTest;
+import org.icgc.dcc.release.test.util.TestFiles;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+public class ResolveProjectSummaryTaskTest extends AbstractJobTest {
+
+  private static final List<String> PROJECT_NAMES = ImmutableList.of("BRCA-UK", "TEST0-DCC");
+
+  /**
+   * Class under test.
+   */
+  ResolveProjectSummaryTask task = new ResolveProjectSummaryTask();
+
+  @Test
+  public void testExecute() {
+    for (val projectName : PROJECT_NAMES) {
+      given(inputFile(projectName)
+          .fileType(FileType.DONOR_SUMMARY)
+          .fileName("part-00000")
+          .path(OUTPUT_TEST_FIXTURES_DIR + "/project_name=" + projectName + "/donor_summary"));
+    }
+
+    for (val projectName : PROJECT_NAMES) {
+      task.execute(createTaskContext(JobType.SUMMARIZE, projectName));
+    }
+
+    val projects = TestFiles.readInputFile(new File(OUTPUT_TEST_FIXTURES_DIR, "project_summary"));
+    for (val project : projects) {
+      val projectName = project.get(PROJECT_ID).textValue();
+      if (PROJECT_NAMES.contains(projectName)) {
+        assertJsonEquals(project.get(PROJECT_SUMMARY), task.getProjectSummaries().get(projectName));
+      }
+    }
+  }
+
+}